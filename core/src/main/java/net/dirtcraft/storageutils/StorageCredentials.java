@@ -20,12 +20,21 @@ public class StorageCredentials {
     private final int maxLifetime;
     private final int keepAliveTime;
     private final int connectionTimeout;
+    private final int leakDetectionThreshold;
     private final Map<String, String> properties;
 
     public StorageCredentials(final String address, final String database, final String username,
             final String password, final int maxPoolSize, final int minIdleConnections,
             final int maxLifetime, final int keepAliveTime, final int connectionTimeout,
             final Map<String, String> properties) {
+        this(address, database, username, password, maxPoolSize, minIdleConnections, maxLifetime,
+                keepAliveTime, connectionTimeout, 0, properties);
+    }
+
+    public StorageCredentials(final String address, final String database, final String username,
+            final String password, final int maxPoolSize, final int minIdleConnections,
+            final int maxLifetime, final int keepAliveTime, final int connectionTimeout,
+            final int leakDetectionThreshold, final Map<String, String> properties) {
         this.address = address;
         this.database = database;
         this.username = username;
@@ -35,6 +44,7 @@ public class StorageCredentials {
         this.maxLifetime = maxLifetime;
         this.keepAliveTime = keepAliveTime;
         this.connectionTimeout = connectionTimeout;
+        this.leakDetectionThreshold = leakDetectionThreshold;
         this.properties = properties;
     }
 
@@ -74,6 +84,16 @@ public class StorageCredentials {
         return this.connectionTimeout;
     }
 
+    /**
+     * Gets the time in milliseconds a connection may be out of the pool before a possible leak
+     * is logged.
+     *
+     * @return the threshold, 0 if disabled
+     */
+    public int getLeakDetectionThreshold() {
+        return this.leakDetectionThreshold;
+    }
+
     public Map<String, String> getProperties() {
         return this.properties;
     }
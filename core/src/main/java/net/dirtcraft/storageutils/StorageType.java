@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2025 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * ALL RIGHTS RESERVED.
+ */
+
+package net.dirtcraft.storageutils;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+public enum StorageType {
+
+    MARIADB("mariadb", "org.mariadb.jdbc.Driver", "org.mariadb.jdbc:mariadb-java-client", 3306,
+            false),
+    MYSQL("mysql", "com.mysql.jdbc.Driver", "mysql:mysql-connector-java", 3306, false),
+    POSTGRESQL("postgresql", "org.postgresql.Driver", "org.postgresql:postgresql", 5432, false),
+    /**
+     * Embedded H2 database running in MySQL compatibility mode.
+     */
+    H2("h2", "org.h2.Driver", "com.h2database:h2", 0, true),
+    /**
+     * Embedded SQLite database. Hibernate does not ship a dialect for it.
+     */
+    SQLITE("sqlite", "org.sqlite.JDBC", "org.xerial:sqlite-jdbc", 0, true);
+
+    private final String jdbcDriverIdentifier;
+    private final String driver;
+    private final String driverArtifact;
+    private final int defaultPort;
+    private final boolean embedded;
+
+    StorageType(final String jdbcDriverIdentifier, final String driver,
+            final String driverArtifact, final int defaultPort, final boolean embedded) {
+        this.jdbcDriverIdentifier = jdbcDriverIdentifier;
+        this.driver = driver;
+        this.driverArtifact = driverArtifact;
+        this.defaultPort = defaultPort;
+        this.embedded = embedded;
+    }
+
+    public static StorageType parse(final String name, @NonNull final StorageType def) {
+        for (final StorageType type : values()) {
+            if (type.name().equalsIgnoreCase(name)) {
+                return type;
+            }
+        }
+
+        return def;
+    }
+
+    /**
+     * Determines the type of a database from its JDBC URL.
+     *
+     * @param url the JDBC URL, e.g. {@code jdbc:mariadb://localhost:3306/db}
+     * @return the type, or null if the URL is not supported
+     */
+    @Nullable
+    public static StorageType fromJdbcUrl(@NonNull final String url) {
+        for (final StorageType type : values()) {
+            if (url.startsWith("jdbc:" + type.jdbcDriverIdentifier + ':')) {
+                return type;
+            }
+        }
+
+        return null;
+    }
+
+    public String getJdbcDriverIdentifier() {
+        return this.jdbcDriverIdentifier;
+    }
+
+    public String getDriver() {
+        return this.driver;
+    }
+
+    /**
+     * Gets the Maven coordinates of the driver, excluding the version.
+     *
+     * @return the coordinates, e.g. {@code org.mariadb.jdbc:mariadb-java-client}
+     */
+    public String getDriverArtifact() {
+        return this.driverArtifact;
+    }
+
+    /**
+     * Checks whether the driver is on the classpath. Drivers are optional dependencies, consumers
+     * only ship the drivers of the types they support, see {@code StorageFactory#getRequiredTypes}.
+     *
+     * @return true, if the driver is available
+     */
+    public boolean isDriverAvailable() {
+        try {
+            // does not initialize the driver, which would register it with the DriverManager
+            Class.forName(this.driver, false, StorageType.class.getClassLoader());
+            return true;
+        } catch (final ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Fails early with a helpful message if the driver is missing.
+     *
+     * @throws IllegalStateException if the driver is not on the classpath
+     */
+    public void requireDriver() {
+        if (!this.isDriverAvailable()) {
+            throw new IllegalStateException(
+                    "Driver " + this.driver + " of storage type " + this.name() + " is missing,"
+                            + " add " + this.driverArtifact + " to the classpath.");
+        }
+    }
+
+    /**
+     * Gets the port the database listens on by default.
+     *
+     * @return the default port, 0 for embedded databases
+     */
+    public int getDefaultPort() {
+        return this.defaultPort;
+    }
+
+    /**
+     * Whether the database runs inside this process and is stored in a local file.
+     *
+     * @return true, if the database is embedded
+     */
+    public boolean isEmbedded() {
+        return this.embedded;
+    }
+}
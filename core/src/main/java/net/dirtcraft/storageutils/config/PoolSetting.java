@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2025 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * ALL RIGHTS RESERVED.
+ */
+
+package net.dirtcraft.storageutils.config;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * The pool settings which can be applied to a running pool, named after their configuration
+ * keys.
+ */
+public enum PoolSetting {
+
+    MAXIMUM_POOL_SIZE("maximum-pool-size"),
+    MINIMUM_IDLE("minimum-idle"),
+    CONNECTION_TIMEOUT("connection-timeout"),
+    LEAK_DETECTION_THRESHOLD("leak-detection-threshold");
+
+    /**
+     * All settings, for pools applying every setting.
+     */
+    public static final Set<PoolSetting> ALL =
+            Collections.unmodifiableSet(EnumSet.allOf(PoolSetting.class));
+    /**
+     * No settings, for pools which were not updated.
+     */
+    public static final Set<PoolSetting> NONE =
+            Collections.unmodifiableSet(EnumSet.noneOf(PoolSetting.class));
+
+    private final String key;
+
+    PoolSetting(final String key) {
+        this.key = key;
+    }
+
+    @NonNull
+    public String getKey() {
+        return this.key;
+    }
+
+    @Override
+    public String toString() {
+        return this.key;
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2025 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * ALL RIGHTS RESERVED.
+ */
+
+package net.dirtcraft.storageutils.config;
+
+/**
+ * How often and after which delays failed tasks are retried.
+ */
+public final class RetrySettings {
+
+    private final int retriesUponConnectionLoss;
+    private final int retriesUponException;
+    private final long sleepUponRetry;
+    private final long sleepUponRetryIncrement;
+
+    /**
+     * @param retriesUponConnectionLoss the retries if no connection could be established
+     * @param retriesUponException      the retries if a persistence exception occurred
+     * @param sleepUponRetry            the delay before a retry in milliseconds
+     * @param sleepUponRetryIncrement   the milliseconds added to the delay for every retry
+     */
+    public RetrySettings(final int retriesUponConnectionLoss, final int retriesUponException,
+            final long sleepUponRetry, final long sleepUponRetryIncrement) {
+        this.retriesUponConnectionLoss = retriesUponConnectionLoss;
+        this.retriesUponException = retriesUponException;
+        this.sleepUponRetry = sleepUponRetry;
+        this.sleepUponRetryIncrement = sleepUponRetryIncrement;
+    }
+
+    public int getRetriesUponConnectionLoss() {
+        return this.retriesUponConnectionLoss;
+    }
+
+    public int getRetriesUponException() {
+        return this.retriesUponException;
+    }
+
+    public long getSleepUponRetry() {
+        return this.sleepUponRetry;
+    }
+
+    public long getSleepUponRetryIncrement() {
+        return this.sleepUponRetryIncrement;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+
+        if (!(o instanceof RetrySettings)) {
+            return false;
+        }
+
+        final RetrySettings that = (RetrySettings) o;
+
+        return this.retriesUponConnectionLoss == that.retriesUponConnectionLoss
+                && this.retriesUponException == that.retriesUponException
+                && this.sleepUponRetry == that.sleepUponRetry
+                && this.sleepUponRetryIncrement == that.sleepUponRetryIncrement;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = this.retriesUponConnectionLoss;
+
+        result = 31 * result + this.retriesUponException;
+        result = 31 * result + Long.hashCode(this.sleepUponRetry);
+        result = 31 * result + Long.hashCode(this.sleepUponRetryIncrement);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "RetrySettings{retriesUponConnectionLoss=" + this.retriesUponConnectionLoss
+                + ", retriesUponException=" + this.retriesUponException + ", sleepUponRetry="
+                + this.sleepUponRetry + ", sleepUponRetryIncrement="
+                + this.sleepUponRetryIncrement + '}';
+    }
+}
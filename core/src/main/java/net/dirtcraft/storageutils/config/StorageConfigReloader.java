@@ -0,0 +1,333 @@
+/*
+ * Copyright (c) 2025 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * ALL RIGHTS RESERVED.
+ */
+
+package net.dirtcraft.storageutils.config;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import net.dirtcraft.storageutils.StorageCredentials;
+import net.dirtcraft.storageutils.logging.LoggerAdapter;
+import ninja.leaping.configurate.ConfigurationNode;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Watches a HOCON storage configuration and applies changes at runtime.
+ * <p>
+ * The pool size, the minimum of idle connections, the connection timeout and the leak
+ * detection threshold are applied to the registered pools without dropping connections, retry
+ * settings are passed to the registered listeners. All other changes require a restart and are
+ * only logged. Settings a pool does not apply, e.g. the size of a shared pool, are logged as
+ * well.
+ * <p>
+ * Requires the {@code storageutils-core-hocon} feature.
+ */
+public final class StorageConfigReloader implements Closeable {
+
+    private static final long DEBOUNCE_MILLIS = 250;
+
+    private final LoggerAdapter logger;
+    private final Path file;
+    private final Object[] path;
+    private final RetrySettings defaultRetrySettings;
+    private final List<PoolTarget> pools = new CopyOnWriteArrayList<>();
+    private final List<Consumer<RetrySettings>> retryListeners = new CopyOnWriteArrayList<>();
+    private volatile StorageCredentials credentials;
+    private volatile RetrySettings retrySettings;
+    @Nullable
+    private WatchService watchService;
+    @Nullable
+    private Thread watcher;
+
+    /**
+     * Loads the configuration.
+     *
+     * @param logger               the logger
+     * @param file                 the HOCON file
+     * @param defaultRetrySettings the retry settings to use for missing values
+     * @param path                 the path of the storage node within the file, empty for root
+     * @throws IOException if the file could not be loaded
+     */
+    public StorageConfigReloader(final LoggerAdapter logger, final Path file,
+            final RetrySettings defaultRetrySettings, final Object... path) throws IOException {
+        this.logger = logger;
+        this.file = file.toAbsolutePath();
+        this.path = path;
+        this.defaultRetrySettings = defaultRetrySettings;
+
+        final ConfigurationNode node = this.loadNode();
+
+        this.credentials = StorageCredentialsLoader.load(node);
+        this.retrySettings = StorageCredentialsLoader.loadRetrySettings(node, defaultRetrySettings);
+    }
+
+    /**
+     * Gets the settings which changed and can be applied at runtime.
+     *
+     * @param previous the previous credentials
+     * @param updated  the updated credentials
+     * @return the changed settings
+     */
+    @NonNull
+    public static Set<PoolSetting> getRuntimeChanges(@NonNull final StorageCredentials previous,
+            @NonNull final StorageCredentials updated) {
+        final Set<PoolSetting> changes = EnumSet.noneOf(PoolSetting.class);
+
+        addIfChanged(changes, PoolSetting.MAXIMUM_POOL_SIZE, previous.getMaxPoolSize(),
+                updated.getMaxPoolSize());
+        addIfChanged(changes, PoolSetting.MINIMUM_IDLE, previous.getMinIdleConnections(),
+                updated.getMinIdleConnections());
+        addIfChanged(changes, PoolSetting.CONNECTION_TIMEOUT, previous.getConnectionTimeout(),
+                updated.getConnectionTimeout());
+        addIfChanged(changes, PoolSetting.LEAK_DETECTION_THRESHOLD,
+                previous.getLeakDetectionThreshold(), updated.getLeakDetectionThreshold());
+        return changes;
+    }
+
+    /**
+     * Gets the names of the settings which changed and require a restart.
+     *
+     * @param previous the previous credentials
+     * @param updated  the updated credentials
+     * @return the names of the changed settings
+     */
+    @NonNull
+    public static List<String> getRestartChanges(@NonNull final StorageCredentials previous,
+            @NonNull final StorageCredentials updated) {
+        final List<String> changes = new ArrayList<>();
+
+        addIfChanged(changes, "address", previous.getAddress(), updated.getAddress());
+        addIfChanged(changes, "database", previous.getDatabase(), updated.getDatabase());
+        addIfChanged(changes, "username", previous.getUsername(), updated.getUsername());
+        addIfChanged(changes, "password", previous.getPassword(), updated.getPassword());
+        addIfChanged(changes, "maximum-lifetime", previous.getMaxLifetime(),
+                updated.getMaxLifetime());
+        addIfChanged(changes, "keepalive-time", previous.getKeepAliveTime(),
+                updated.getKeepAliveTime());
+        addIfChanged(changes, "properties", previous.getProperties(), updated.getProperties());
+        return changes;
+    }
+
+    private static <T> void addIfChanged(final Collection<T> changes, final T name,
+            final Object previous, final Object updated) {
+        if (!Objects.equals(previous, updated)) {
+            changes.add(name);
+        }
+    }
+
+    @NonNull
+    public StorageCredentials getCredentials() {
+        return this.credentials;
+    }
+
+    @NonNull
+    public RetrySettings getRetrySettings() {
+        return this.retrySettings;
+    }
+
+    /**
+     * Registers a pool changes are applied to, e.g.
+     * {@code AbstractHikariConnectionFactory::applyPoolSettings}.
+     *
+     * @param pool the pool
+     */
+    public void addPool(@NonNull final PoolTarget pool) {
+        this.pools.add(pool);
+    }
+
+    public void removePool(@NonNull final PoolTarget pool) {
+        this.pools.remove(pool);
+    }
+
+    /**
+     * Registers a listener for changed retry settings. It is called with the current settings
+     * immediately.
+     *
+     * @param listener the listener
+     */
+    public void addRetrySettingsListener(@NonNull final Consumer<RetrySettings> listener) {
+        this.retryListeners.add(listener);
+        listener.accept(this.retrySettings);
+    }
+
+    public void removeRetrySettingsListener(@NonNull final Consumer<RetrySettings> listener) {
+        this.retryListeners.remove(listener);
+    }
+
+    /**
+     * Reloads the file and applies the changes.
+     *
+     * @return true, if anything changed
+     * @throws IOException if the file could not be loaded
+     */
+    public synchronized boolean reload() throws IOException {
+        final ConfigurationNode node = this.loadNode();
+        final StorageCredentials previous = this.credentials;
+        final StorageCredentials updated = StorageCredentialsLoader.load(node);
+        final RetrySettings retrySettings =
+                StorageCredentialsLoader.loadRetrySettings(node, this.defaultRetrySettings);
+        final Set<PoolSetting> runtimeChanges = getRuntimeChanges(previous, updated);
+        final List<String> restartChanges = getRestartChanges(previous, updated);
+        final boolean retryChanged = !retrySettings.equals(this.retrySettings);
+
+        this.credentials = updated;
+        this.retrySettings = retrySettings;
+
+        if (!runtimeChanges.isEmpty()) {
+            final Set<PoolSetting> applied = EnumSet.noneOf(PoolSetting.class);
+            final Set<PoolSetting> ignored = EnumSet.noneOf(PoolSetting.class);
+            int updatedPools = 0;
+
+            for (final PoolTarget pool : this.pools) {
+                Set<PoolSetting> settings;
+
+                try {
+                    settings = pool.applyPoolSettings(updated);
+                } catch (final RuntimeException e) {
+                    this.logger.severe("Could not apply pool settings.", e);
+                    settings = PoolSetting.NONE;
+                }
+
+                boolean updatedPool = false;
+
+                for (final PoolSetting change : runtimeChanges) {
+                    if (settings.contains(change)) {
+                        applied.add(change);
+                        updatedPool = true;
+                    } else {
+                        ignored.add(change);
+                    }
+                }
+
+                if (updatedPool) {
+                    updatedPools++;
+                }
+            }
+
+            if (!applied.isEmpty()) {
+                this.logger.info("Applied changes to {} to {} of {} pools.", applied,
+                        updatedPools, this.pools.size());
+            }
+
+            if (!ignored.isEmpty()) {
+                this.logger.warn("Changes to {} were not applied to all pools.", ignored);
+            }
+        }
+
+        if (retryChanged) {
+            for (final Consumer<RetrySettings> listener : this.retryListeners) {
+                listener.accept(retrySettings);
+            }
+
+            this.logger.info("Applied {}.", retrySettings);
+        }
+
+        if (!restartChanges.isEmpty()) {
+            this.logger.warn("Changes to {} require a restart to take effect.", restartChanges);
+        }
+
+        return !runtimeChanges.isEmpty() || !restartChanges.isEmpty() || retryChanged;
+    }
+
+    /**
+     * Starts watching the file for changes.
+     *
+     * @throws IOException if the file cannot be watched
+     */
+    public synchronized void start() throws IOException {
+        if (this.watcher != null) {
+            return;
+        }
+
+        final WatchService watchService = this.file.getFileSystem().newWatchService();
+
+        this.file.getParent().register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_MODIFY);
+        this.watchService = watchService;
+        this.watcher = new Thread(() -> this.watch(watchService), "storage-config-watcher");
+        this.watcher.setDaemon(true);
+        this.watcher.start();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (this.watchService != null) {
+            this.watchService.close();
+            this.watchService = null;
+            this.watcher = null;
+        }
+    }
+
+    private ConfigurationNode loadNode() throws IOException {
+        final ConfigurationNode root = StorageCredentialsLoader.loadFile(this.file);
+
+        return this.path.length == 0 ? root : root.getNode(this.path);
+    }
+
+    private void watch(final WatchService watchService) {
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                boolean changed = false;
+
+                // editors tend to write files in several steps, wait for them to settle
+                while (key != null) {
+                    for (final WatchEvent<?> event : key.pollEvents()) {
+                        changed |= this.file.getFileName().equals(event.context());
+                    }
+
+                    key.reset();
+                    key = watchService.poll(DEBOUNCE_MILLIS, TimeUnit.MILLISECONDS);
+                }
+
+                if (!changed) {
+                    continue;
+                }
+
+                try {
+                    this.reload();
+                } catch (final Exception e) {
+                    this.logger.severe("Could not reload storage configuration " + this.file
+                            + '.', e);
+                }
+            }
+        } catch (final InterruptedException | ClosedWatchServiceException ignored) {
+            // closed
+        }
+    }
+
+    /**
+     * A pool runtime safe settings are applied to.
+     */
+    @FunctionalInterface
+    public interface PoolTarget {
+
+        /**
+         * Applies the pool size, minimum idle connections, connection timeout and leak
+         * detection threshold, as far as the pool supports them.
+         *
+         * @param credentials the updated credentials
+         * @return the applied settings
+         */
+        @NonNull
+        Set<PoolSetting> applyPoolSettings(@NonNull StorageCredentials credentials);
+    }
+}
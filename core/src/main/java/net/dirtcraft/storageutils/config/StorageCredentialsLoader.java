@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2025 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * ALL RIGHTS RESERVED.
+ */
+
+package net.dirtcraft.storageutils.config;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import net.dirtcraft.storageutils.StorageCredentials;
+import ninja.leaping.configurate.ConfigurationNode;
+import ninja.leaping.configurate.hocon.HoconConfigurationLoader;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * Reads {@link StorageCredentials} and {@link RetrySettings} from configuration nodes. Requires
+ * the {@code storageutils-core-hocon} feature.
+ * <p>
+ * Expected layout, all keys are optional:
+ * <pre>
+ * address = "localhost:3306"
+ * database = "minecraft"
+ * username = "root"
+ * password = ""
+ * pool {
+ *   maximum-pool-size = 10
+ *   minimum-idle = 10
+ *   maximum-lifetime = 1800000
+ *   keepalive-time = 0
+ *   connection-timeout = 5000
+ *   leak-detection-threshold = 0
+ * }
+ * properties {
+ *   useUnicode = true
+ * }
+ * retry {
+ *   upon-connection-loss = 3
+ *   upon-exception = 3
+ *   sleep = 100
+ *   sleep-increment = 100
+ * }
+ * </pre>
+ */
+public final class StorageCredentialsLoader {
+
+    public static final String POOL = "pool";
+    public static final String PROPERTIES = "properties";
+    public static final String RETRY = "retry";
+
+    private StorageCredentialsLoader() {}
+
+    /**
+     * Loads a HOCON file.
+     *
+     * @param file the file
+     * @return the root node
+     * @throws IOException if the file could not be read or parsed
+     */
+    @NonNull
+    public static ConfigurationNode loadFile(@NonNull final Path file) throws IOException {
+        return HoconConfigurationLoader.builder().setPath(file).build().load();
+    }
+
+    /**
+     * Reads the credentials from a node.
+     *
+     * @param node the node
+     * @return the credentials
+     */
+    @NonNull
+    public static StorageCredentials load(@NonNull final ConfigurationNode node) {
+        final ConfigurationNode pool = node.getNode(POOL);
+        final Map<String, String> properties = new LinkedHashMap<>();
+
+        for (final Map.Entry<Object, ? extends ConfigurationNode> entry : node.getNode(PROPERTIES)
+                .getChildrenMap().entrySet()) {
+            properties.put(String.valueOf(entry.getKey()), entry.getValue().getString());
+        }
+
+        return new StorageCredentials(node.getNode("address").getString("localhost"),
+                node.getNode("database").getString("minecraft"),
+                node.getNode("username").getString("root"),
+                node.getNode("password").getString(""),
+                pool.getNode("maximum-pool-size").getInt(10),
+                pool.getNode("minimum-idle").getInt(10),
+                pool.getNode("maximum-lifetime").getInt((int) TimeUnit.MINUTES.toMillis(30)),
+                pool.getNode("keepalive-time").getInt(0),
+                pool.getNode("connection-timeout").getInt((int) TimeUnit.SECONDS.toMillis(5)),
+                pool.getNode("leak-detection-threshold").getInt(0),
+                Collections.unmodifiableMap(properties));
+    }
+
+    /**
+     * Reads the retry settings from the {@code retry} child of a node.
+     *
+     * @param node the node
+     * @param def  the settings to use for missing values
+     * @return the retry settings
+     */
+    @NonNull
+    public static RetrySettings loadRetrySettings(@NonNull final ConfigurationNode node,
+            @NonNull final RetrySettings def) {
+        final ConfigurationNode retry = node.getNode(RETRY);
+
+        return new RetrySettings(
+                retry.getNode("upon-connection-loss").getInt(def.getRetriesUponConnectionLoss()),
+                retry.getNode("upon-exception").getInt(def.getRetriesUponException()),
+                retry.getNode("sleep").getLong(def.getSleepUponRetry()),
+                retry.getNode("sleep-increment").getLong(def.getSleepUponRetryIncrement()));
+    }
+}
@@ -16,11 +16,23 @@ public abstract class AbstractConnectionFactory<T> implements ConnectionFactory<
     protected final StorageCredentials credentials;
     protected final String address;
     protected final int port;
+    private final int defaultPort;
 
     protected AbstractConnectionFactory(final LoggerAdapter logger,
             final StorageCredentials credentials) {
+        this(logger, credentials, 3306);
+    }
+
+    /**
+     * @param logger      the logger
+     * @param credentials the credentials
+     * @param defaultPort the port used if the address does not contain one
+     */
+    protected AbstractConnectionFactory(final LoggerAdapter logger,
+            final StorageCredentials credentials, final int defaultPort) {
         this.logger = logger;
         this.credentials = credentials;
+        this.defaultPort = defaultPort;
 
         final String[] addressSplit = credentials.getAddress().split(":");
         this.address = addressSplit[0];
@@ -74,6 +86,6 @@ public abstract class AbstractConnectionFactory<T> implements ConnectionFactory<
     }
 
     protected int getDefaultPort() {
-        return 3306;
+        return this.defaultPort;
     }
 }
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2025 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * ALL RIGHTS RESERVED.
+ */
+
+package net.dirtcraft.storageutils.executor;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Immutable point-in-time metrics of a {@link TaskPriority} lane.
+ */
+public class LaneMetrics {
+
+    private final TaskPriority priority;
+    private final long submitted;
+    private final long completed;
+    private final long failed;
+    private final long rejected;
+    private final long shed;
+    private final int queued;
+    private final int active;
+    private final long queueLatencyNanos;
+    private final long maxQueueLatencyNanos;
+    private final long totalQueueLatencyNanos;
+
+    public LaneMetrics(final TaskPriority priority, final long submitted, final long completed,
+            final long failed, final long rejected, final long shed, final int queued,
+            final int active, final long queueLatencyNanos, final long maxQueueLatencyNanos,
+            final long totalQueueLatencyNanos) {
+        this.priority = priority;
+        this.submitted = submitted;
+        this.completed = completed;
+        this.failed = failed;
+        this.rejected = rejected;
+        this.shed = shed;
+        this.queued = queued;
+        this.active = active;
+        this.queueLatencyNanos = queueLatencyNanos;
+        this.maxQueueLatencyNanos = maxQueueLatencyNanos;
+        this.totalQueueLatencyNanos = totalQueueLatencyNanos;
+    }
+
+    public TaskPriority getPriority() {
+        return this.priority;
+    }
+
+    public long getSubmitted() {
+        return this.submitted;
+    }
+
+    public long getCompleted() {
+        return this.completed;
+    }
+
+    public long getFailed() {
+        return this.failed;
+    }
+
+    public long getRejected() {
+        return this.rejected;
+    }
+
+    public long getShed() {
+        return this.shed;
+    }
+
+    public int getQueued() {
+        return this.queued;
+    }
+
+    public int getActive() {
+        return this.active;
+    }
+
+    /**
+     * Gets the time the oldest queued task has been waiting for.
+     *
+     * @param unit the time unit
+     * @return the current queue latency
+     */
+    public long getQueueLatency(final TimeUnit unit) {
+        return unit.convert(this.queueLatencyNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public long getMaxQueueLatency(final TimeUnit unit) {
+        return unit.convert(this.maxQueueLatencyNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public long getAverageQueueLatency(final TimeUnit unit) {
+        final long started = this.completed + this.failed;
+
+        return started == 0 ? 0
+                : unit.convert(this.totalQueueLatencyNanos / started, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public String toString() {
+        return "LaneMetrics{" + "priority=" + this.priority + ", submitted=" + this.submitted
+                + ", completed=" + this.completed + ", failed=" + this.failed + ", rejected="
+                + this.rejected + ", shed=" + this.shed + ", queued=" + this.queued + ", active="
+                + this.active + ", queueLatencyMs=" + this.getQueueLatency(TimeUnit.MILLISECONDS)
+                + '}';
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) 2025 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * ALL RIGHTS RESERVED.
+ */
+
+package net.dirtcraft.storageutils.executor;
+
+/**
+ * Settings of a single {@link TaskPriority} lane.
+ * <p>
+ * Every worker of a lane holds at most one connection at a time, hence the amount of threads
+ * is the connection quota of the lane. The sum of all quotas should not exceed the pool size.
+ */
+public class LaneSettings {
+
+    private final int threads;
+    private final int queueCapacity;
+    private final boolean sheddable;
+
+    /**
+     * @param threads       the amount of worker threads, i.e. the connection quota
+     * @param queueCapacity the maximum amount of queued tasks
+     * @param sheddable     whether tasks of this lane are rejected or shed while the critical
+     *                      lane is under pressure
+     */
+    public LaneSettings(final int threads, final int queueCapacity, final boolean sheddable) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("threads must be at least 1");
+        }
+
+        if (queueCapacity < 1) {
+            throw new IllegalArgumentException("queueCapacity must be at least 1");
+        }
+
+        this.threads = threads;
+        this.queueCapacity = queueCapacity;
+        this.sheddable = sheddable;
+    }
+
+    public int getThreads() {
+        return this.threads;
+    }
+
+    public int getQueueCapacity() {
+        return this.queueCapacity;
+    }
+
+    public boolean isSheddable() {
+        return this.sheddable;
+    }
+}
@@ -0,0 +1,307 @@
+/*
+ * Copyright (c) 2025 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * ALL RIGHTS RESERVED.
+ */
+
+package net.dirtcraft.storageutils.executor;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import net.dirtcraft.storageutils.logging.LoggerAdapter;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * Executes storage tasks in separate bounded lanes per {@link TaskPriority}.
+ * <p>
+ * Each lane has its own workers and queue, so background work can never occupy the connections
+ * reserved for latency-critical work. While the oldest queued {@link TaskPriority#CRITICAL} task
+ * has been waiting longer than the configured threshold, new tasks of sheddable lanes are
+ * rejected and already queued ones are shed when they are dequeued.
+ */
+public class PriorityTaskExecutor {
+
+    private static final long KEEP_ALIVE_SECONDS = 60;
+
+    protected final LoggerAdapter logger;
+    protected final long criticalLatencyThresholdNanos;
+    private final Map<TaskPriority, TaskLane> lanes = new EnumMap<>(TaskPriority.class);
+
+    /**
+     * @param logger                    the logger
+     * @param settings                  the settings per lane, every priority has to be present
+     * @param criticalLatencyThreshold  the queue latency of the critical lane after which
+     *                                  sheddable work is rejected
+     * @param unit                      the unit of the threshold
+     */
+    public PriorityTaskExecutor(final LoggerAdapter logger,
+            final Map<TaskPriority, LaneSettings> settings, final long criticalLatencyThreshold,
+            final TimeUnit unit) {
+        this.logger = logger;
+        this.criticalLatencyThresholdNanos = unit.toNanos(criticalLatencyThreshold);
+
+        for (final TaskPriority priority : TaskPriority.values()) {
+            final LaneSettings laneSettings = settings.get(priority);
+
+            if (laneSettings == null) {
+                throw new IllegalArgumentException("Missing lane settings for " + priority);
+            }
+
+            this.lanes.put(priority, new TaskLane(priority, laneSettings));
+        }
+    }
+
+    /**
+     * Creates an executor with default lanes whose quotas fit into a pool of the given size.
+     *
+     * @param logger   the logger
+     * @param poolSize the size of the connection pool
+     * @return the executor
+     */
+    @NonNull
+    public static PriorityTaskExecutor withDefaults(final LoggerAdapter logger,
+            final int poolSize) {
+        final int available = Math.max(3, poolSize);
+        final int bulk = Math.max(1, available / 5);
+        final int critical = Math.max(1, (available - bulk) / 2);
+        final int normal = Math.max(1, available - bulk - critical);
+        final Map<TaskPriority, LaneSettings> settings = new EnumMap<>(TaskPriority.class);
+
+        settings.put(TaskPriority.CRITICAL, new LaneSettings(critical, 1_000, false));
+        settings.put(TaskPriority.NORMAL, new LaneSettings(normal, 10_000, false));
+        settings.put(TaskPriority.BULK, new LaneSettings(bulk, 1_000, true));
+
+        return new PriorityTaskExecutor(logger, settings, 100, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Submits a task to the lane of the given priority.
+     *
+     * @param priority the priority
+     * @param task     the task
+     * @return a future completed with the result of the task, or exceptionally with a
+     *         {@link RejectedExecutionException} if the task was rejected or shed
+     */
+    @NonNull
+    public <R> CompletableFuture<R> submit(@NonNull final TaskPriority priority,
+            @NonNull final Callable<R> task) {
+        return this.lanes.get(priority).submit(task);
+    }
+
+    /**
+     * Checks whether the critical lane is currently under pressure.
+     *
+     * @return true, if sheddable work is currently rejected
+     */
+    public boolean isUnderPressure() {
+        return this.lanes.get(TaskPriority.CRITICAL).getQueueLatencyNanos()
+                > this.criticalLatencyThresholdNanos;
+    }
+
+    @NonNull
+    public LaneMetrics getMetrics(@NonNull final TaskPriority priority) {
+        return this.lanes.get(priority).getMetrics();
+    }
+
+    @NonNull
+    public Map<TaskPriority, LaneMetrics> getMetrics() {
+        final Map<TaskPriority, LaneMetrics> metrics = new EnumMap<>(TaskPriority.class);
+
+        for (final TaskLane lane : this.lanes.values()) {
+            metrics.put(lane.priority, lane.getMetrics());
+        }
+
+        return Collections.unmodifiableMap(metrics);
+    }
+
+    /**
+     * Completes all queued tasks exceptionally instead of executing them.
+     *
+     * @param cause the cause to complete the tasks with
+     * @return the amount of released tasks
+     */
+    public int failQueued(@NonNull final Throwable cause) {
+        int released = 0;
+
+        for (final TaskLane lane : this.lanes.values()) {
+            final List<Runnable> drained = new ArrayList<>();
+
+            lane.queue.drainTo(drained);
+
+            for (final Runnable runnable : drained) {
+                if (runnable instanceof LaneTask
+                        && ((LaneTask<?>) runnable).future.completeExceptionally(cause)) {
+                    lane.failed.incrementAndGet();
+                    released++;
+                }
+            }
+        }
+
+        return released;
+    }
+
+    /**
+     * Stops accepting tasks and waits for the queued tasks to finish.
+     *
+     * @param timeout the maximum time to wait per lane
+     * @param unit    the unit of the timeout
+     */
+    public void shutdown(final long timeout, final TimeUnit unit) {
+        for (final TaskLane lane : this.lanes.values()) {
+            lane.executor.shutdown();
+        }
+
+        for (final TaskLane lane : this.lanes.values()) {
+            try {
+                if (!lane.executor.awaitTermination(timeout, unit)) {
+                    this.logger.warn("Lane {} did not finish its queued tasks in time.",
+                            lane.priority);
+                    lane.executor.shutdownNow();
+                }
+            } catch (final InterruptedException e) {
+                lane.executor.shutdownNow();
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private final class TaskLane {
+
+        private final TaskPriority priority;
+        private final LaneSettings settings;
+        private final BlockingQueue<Runnable> queue;
+        private final ThreadPoolExecutor executor;
+        private final AtomicLong submitted = new AtomicLong();
+        private final AtomicLong completed = new AtomicLong();
+        private final AtomicLong failed = new AtomicLong();
+        private final AtomicLong rejected = new AtomicLong();
+        private final AtomicLong shed = new AtomicLong();
+        private final AtomicLong maxQueueLatencyNanos = new AtomicLong();
+        private final AtomicLong totalQueueLatencyNanos = new AtomicLong();
+
+        private TaskLane(final TaskPriority priority, final LaneSettings settings) {
+            this.priority = priority;
+            this.settings = settings;
+            this.queue = new LinkedBlockingQueue<>(settings.getQueueCapacity());
+            this.executor = new ThreadPoolExecutor(settings.getThreads(), settings.getThreads(),
+                    KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, this.queue,
+                    new LaneThreadFactory(priority));
+            this.executor.allowCoreThreadTimeOut(true);
+        }
+
+        private <R> CompletableFuture<R> submit(final Callable<R> task) {
+            final CompletableFuture<R> future = new CompletableFuture<>();
+
+            this.submitted.incrementAndGet();
+
+            if (this.settings.isSheddable() && PriorityTaskExecutor.this.isUnderPressure()) {
+                this.rejected.incrementAndGet();
+                future.completeExceptionally(new RejectedExecutionException(
+                        "Critical lane is under pressure, rejecting " + this.priority
+                                + " task."));
+                return future;
+            }
+
+            try {
+                this.executor.execute(new LaneTask<>(this, task, future));
+            } catch (final RejectedExecutionException e) {
+                this.rejected.incrementAndGet();
+                future.completeExceptionally(e);
+            }
+
+            return future;
+        }
+
+        private long getQueueLatencyNanos() {
+            final Runnable head = this.queue.peek();
+
+            return head instanceof LaneTask ? System.nanoTime() - ((LaneTask<?>) head).enqueuedAt
+                    : 0;
+        }
+
+        private void recordQueueLatency(final long latencyNanos) {
+            this.totalQueueLatencyNanos.addAndGet(latencyNanos);
+            this.maxQueueLatencyNanos.accumulateAndGet(latencyNanos, Math::max);
+        }
+
+        private LaneMetrics getMetrics() {
+            return new LaneMetrics(this.priority, this.submitted.get(), this.completed.get(),
+                    this.failed.get(), this.rejected.get(), this.shed.get(), this.queue.size(),
+                    this.executor.getActiveCount(), this.getQueueLatencyNanos(),
+                    this.maxQueueLatencyNanos.get(), this.totalQueueLatencyNanos.get());
+        }
+    }
+
+    private final class LaneTask<R> implements Runnable {
+
+        private final TaskLane lane;
+        private final Callable<R> task;
+        private final CompletableFuture<R> future;
+        private final long enqueuedAt = System.nanoTime();
+
+        private LaneTask(final TaskLane lane, final Callable<R> task,
+                final CompletableFuture<R> future) {
+            this.lane = lane;
+            this.task = task;
+            this.future = future;
+        }
+
+        @Override
+        public void run() {
+            if (this.future.isDone()) {
+                return;
+            }
+
+            if (this.lane.settings.isSheddable() && PriorityTaskExecutor.this.isUnderPressure()) {
+                this.lane.shed.incrementAndGet();
+                this.future.completeExceptionally(new RejectedExecutionException(
+                        "Critical lane is under pressure, shedding " + this.lane.priority
+                                + " task."));
+                return;
+            }
+
+            this.lane.recordQueueLatency(System.nanoTime() - this.enqueuedAt);
+
+            try {
+                this.future.complete(this.task.call());
+                this.lane.completed.incrementAndGet();
+            } catch (final Throwable t) {
+                this.lane.failed.incrementAndGet();
+                this.future.completeExceptionally(t);
+            }
+        }
+    }
+
+    private static final class LaneThreadFactory implements ThreadFactory {
+
+        private final String prefix;
+        private final AtomicInteger counter = new AtomicInteger();
+
+        private LaneThreadFactory(final TaskPriority priority) {
+            this.prefix = "storage-" + priority.name().toLowerCase(Locale.ROOT) + '-';
+        }
+
+        @Override
+        public Thread newThread(@NonNull final Runnable runnable) {
+            final Thread thread =
+                    new Thread(runnable, this.prefix + this.counter.incrementAndGet());
+
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
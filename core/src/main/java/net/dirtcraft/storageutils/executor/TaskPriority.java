@@ -0,0 +1,26 @@
+/*
+ * Copyright (c) 2025 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * ALL RIGHTS RESERVED.
+ */
+
+package net.dirtcraft.storageutils.executor;
+
+/**
+ * The priority lanes a storage task can be submitted to.
+ */
+public enum TaskPriority {
+
+    /**
+     * Latency-critical work, e.g. saving a player on join or quit.
+     */
+    CRITICAL,
+    /**
+     * Regular work without special latency requirements.
+     */
+    NORMAL,
+    /**
+     * Background work, e.g. purges and rollups. May be shed under pressure.
+     */
+    BULK
+}
@@ -0,0 +1,428 @@
+/*
+ * Copyright (c) 2025 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * ALL RIGHTS RESERVED.
+ */
+
+package net.dirtcraft.storageutils.logging;
+
+import java.io.Closeable;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * Hands log records to a background thread through a bounded lock-free ring buffer, which logs
+ * them to the delegate. Records are stored in preallocated slots, so logging with the
+ * fixed-arity overloads does not allocate. Arguments are formatted by the delegate on the
+ * background thread, so they must not be mutated after being logged.
+ * <p>
+ * If the buffer is full, records are dropped and counted, except for severe records, which are
+ * logged on the calling thread instead.
+ */
+public class AsyncLoggerAdapter implements LoggerAdapter, Closeable {
+
+    private static final long MAX_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final int SPINS = 64;
+    private static final int VARARGS = -1;
+    private static final int THROWABLE = -2;
+    private static final int LONG = -3;
+
+    protected final LoggerAdapter delegate;
+    private final Record[] records;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final Thread consumer;
+    private volatile boolean running = true;
+    private volatile boolean closed;
+    private long head;
+
+    /**
+     * Creates a new adapter and starts its background thread.
+     *
+     * @param delegate the adapter records are logged to
+     * @param capacity the capacity of the buffer, rounded up to the next power of two
+     */
+    public AsyncLoggerAdapter(@NonNull final LoggerAdapter delegate, final int capacity) {
+        final int size = capacity <= 2 ? 2 : Integer.highestOneBit(capacity - 1) << 1;
+
+        this.delegate = delegate;
+        this.records = new Record[size];
+        this.sequences = new AtomicLongArray(size);
+        this.mask = size - 1;
+
+        for (int i = 0; i < size; i++) {
+            this.records[i] = new Record();
+            this.sequences.set(i, i);
+        }
+
+        this.consumer = new Thread(this::consume, "storage-logger");
+        this.consumer.setDaemon(true);
+        this.consumer.start();
+    }
+
+    /**
+     * Gets the amount of records dropped as the buffer was full.
+     *
+     * @return the amount of dropped records
+     */
+    public long getDropped() {
+        return this.dropped.get();
+    }
+
+    @Override
+    public boolean isEnabled(@NonNull final LogLevel level) {
+        return this.delegate.isEnabled(level);
+    }
+
+    @Override
+    public void debug(final String s, final Object... args) {
+        this.publish(LogLevel.DEBUG, s, VARARGS, 0, null, null, null, args, null);
+    }
+
+    @Override
+    public void debug(final String s, final Object arg) {
+        this.publish(LogLevel.DEBUG, s, 1, 0, arg, null, null, null, null);
+    }
+
+    @Override
+    public void debug(final String s, final Object arg1, final Object arg2) {
+        this.publish(LogLevel.DEBUG, s, 2, 0, arg1, arg2, null, null, null);
+    }
+
+    @Override
+    public void debug(final String s, final Object arg1, final Object arg2, final Object arg3) {
+        this.publish(LogLevel.DEBUG, s, 3, 0, arg1, arg2, arg3, null, null);
+    }
+
+    @Override
+    public void debug(final String s, final long arg) {
+        this.publish(LogLevel.DEBUG, s, LONG, arg, null, null, null, null, null);
+    }
+
+    @Override
+    public void info(final String s, final Object... args) {
+        this.publish(LogLevel.INFO, s, VARARGS, 0, null, null, null, args, null);
+    }
+
+    @Override
+    public void info(final String s, final Object arg) {
+        this.publish(LogLevel.INFO, s, 1, 0, arg, null, null, null, null);
+    }
+
+    @Override
+    public void info(final String s, final Object arg1, final Object arg2) {
+        this.publish(LogLevel.INFO, s, 2, 0, arg1, arg2, null, null, null);
+    }
+
+    @Override
+    public void info(final String s, final Object arg1, final Object arg2, final Object arg3) {
+        this.publish(LogLevel.INFO, s, 3, 0, arg1, arg2, arg3, null, null);
+    }
+
+    @Override
+    public void info(final String s, final long arg) {
+        this.publish(LogLevel.INFO, s, LONG, arg, null, null, null, null, null);
+    }
+
+    @Override
+    public void warn(final String s, final Object... args) {
+        this.publish(LogLevel.WARN, s, VARARGS, 0, null, null, null, args, null);
+    }
+
+    @Override
+    public void warn(final String s, final Object arg) {
+        this.publish(LogLevel.WARN, s, 1, 0, arg, null, null, null, null);
+    }
+
+    @Override
+    public void warn(final String s, final Object arg1, final Object arg2) {
+        this.publish(LogLevel.WARN, s, 2, 0, arg1, arg2, null, null, null);
+    }
+
+    @Override
+    public void warn(final String s, final Object arg1, final Object arg2, final Object arg3) {
+        this.publish(LogLevel.WARN, s, 3, 0, arg1, arg2, arg3, null, null);
+    }
+
+    @Override
+    public void warn(final String s, final long arg) {
+        this.publish(LogLevel.WARN, s, LONG, arg, null, null, null, null, null);
+    }
+
+    @Override
+    public void severe(final String s, final Object... args) {
+        this.publish(LogLevel.SEVERE, s, VARARGS, 0, null, null, null, args, null);
+    }
+
+    @Override
+    public void severe(final String s, final Throwable t) {
+        this.publish(LogLevel.SEVERE, s, THROWABLE, 0, null, null, null, null, t);
+    }
+
+    @Override
+    public void severe(final String s, final Object arg) {
+        this.publish(LogLevel.SEVERE, s, 1, 0, arg, null, null, null, null);
+    }
+
+    @Override
+    public void severe(final String s, final Object arg1, final Object arg2) {
+        this.publish(LogLevel.SEVERE, s, 2, 0, arg1, arg2, null, null, null);
+    }
+
+    @Override
+    public void severe(final String s, final Object arg1, final Object arg2,
+            final Object arg3) {
+        this.publish(LogLevel.SEVERE, s, 3, 0, arg1, arg2, arg3, null, null);
+    }
+
+    @Override
+    public void severe(final String s, final long arg) {
+        this.publish(LogLevel.SEVERE, s, LONG, arg, null, null, null, null, null);
+    }
+
+    /**
+     * Stops the background thread after it logged the records already in the buffer. Records
+     * logged afterwards are logged on the calling thread.
+     */
+    @Override
+    public void close() {
+        this.running = false;
+        LockSupport.unpark(this.consumer);
+
+        try {
+            this.consumer.join();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+
+        this.closed = true;
+        this.drain();
+    }
+
+    private void publish(final LogLevel level, final String s, final int arity, final long value,
+            final Object arg1, final Object arg2, final Object arg3, final Object[] args,
+            final Throwable throwable) {
+        if (!this.delegate.isEnabled(level)) {
+            return;
+        }
+
+        if (this.running) {
+            long position = this.tail.get();
+
+            while (true) {
+                final int index = (int) position & this.mask;
+                final long difference = this.sequences.get(index) - position;
+
+                if (difference == 0) {
+                    if (this.tail.compareAndSet(position, position + 1)) {
+                        this.records[index].set(level, s, arity, value, arg1, arg2, arg3, args,
+                                throwable);
+                        // publishes the record to the consumer
+                        this.sequences.lazySet(index, position + 1);
+
+                        // the consumer may have stopped since, log the record on this thread
+                        if (this.closed) {
+                            this.drain();
+                        }
+
+                        return;
+                    }
+
+                    position = this.tail.get();
+                } else if (difference < 0) {
+                    // the slot still holds a record of the previous lap, the buffer is full
+                    break;
+                } else {
+                    position = this.tail.get();
+                }
+            }
+
+            if (level != LogLevel.SEVERE) {
+                this.dropped.incrementAndGet();
+                return;
+            }
+        }
+
+        log(this.delegate, level, s, arity, value, arg1, arg2, arg3, args, throwable);
+    }
+
+    private void consume() {
+        int idle = 0;
+
+        while (this.running) {
+            if (this.poll()) {
+                idle = 0;
+            } else if (idle < SPINS) {
+                idle++;
+                Thread.yield();
+            } else {
+                LockSupport.parkNanos(this, MAX_PARK_NANOS);
+            }
+        }
+    }
+
+    /**
+     * Logs the records still in the buffer on the calling thread, including those of producers
+     * which claimed a slot while the adapter was closed. Only called once the consumer stopped.
+     */
+    private synchronized void drain() {
+        while (this.head < this.tail.get()) {
+            if (!this.poll()) {
+                Thread.yield();
+            }
+        }
+    }
+
+    /**
+     * Logs the next record, if it has been published.
+     *
+     * @return true, if a record has been logged
+     */
+    private boolean poll() {
+        final int index = (int) this.head & this.mask;
+
+        if (this.sequences.get(index) != this.head + 1) {
+            return false;
+        }
+
+        final Record record = this.records[index];
+
+        try {
+            record.logTo(this.delegate);
+        } catch (final RuntimeException e) {
+            this.delegate.severe("Could not log record.", e);
+        }
+
+        record.clear();
+        // hands the slot back to the producers
+        this.sequences.lazySet(index, this.head + this.records.length);
+        this.head++;
+        return true;
+    }
+
+    private static void log(final LoggerAdapter logger, final LogLevel level, final String s,
+            final int arity, final long value, final Object arg1, final Object arg2,
+            final Object arg3, final Object[] args, final Throwable throwable) {
+        switch (arity) {
+            case THROWABLE:
+                logger.severe(s, throwable);
+                break;
+            case LONG:
+                switch (level) {
+                    case DEBUG:
+                        logger.debug(s, value);
+                        break;
+                    case INFO:
+                        logger.info(s, value);
+                        break;
+                    case WARN:
+                        logger.warn(s, value);
+                        break;
+                    default:
+                        logger.severe(s, value);
+                }
+                break;
+            case 1:
+                switch (level) {
+                    case DEBUG:
+                        logger.debug(s, arg1);
+                        break;
+                    case INFO:
+                        logger.info(s, arg1);
+                        break;
+                    case WARN:
+                        logger.warn(s, arg1);
+                        break;
+                    default:
+                        logger.severe(s, arg1);
+                }
+                break;
+            case 2:
+                switch (level) {
+                    case DEBUG:
+                        logger.debug(s, arg1, arg2);
+                        break;
+                    case INFO:
+                        logger.info(s, arg1, arg2);
+                        break;
+                    case WARN:
+                        logger.warn(s, arg1, arg2);
+                        break;
+                    default:
+                        logger.severe(s, arg1, arg2);
+                }
+                break;
+            case 3:
+                switch (level) {
+                    case DEBUG:
+                        logger.debug(s, arg1, arg2, arg3);
+                        break;
+                    case INFO:
+                        logger.info(s, arg1, arg2, arg3);
+                        break;
+                    case WARN:
+                        logger.warn(s, arg1, arg2, arg3);
+                        break;
+                    default:
+                        logger.severe(s, arg1, arg2, arg3);
+                }
+                break;
+            default:
+                switch (level) {
+                    case DEBUG:
+                        logger.debug(s, args);
+                        break;
+                    case INFO:
+                        logger.info(s, args);
+                        break;
+                    case WARN:
+                        logger.warn(s, args);
+                        break;
+                    default:
+                        logger.severe(s, args);
+                }
+        }
+    }
+
+    private static final class Record {
+
+        private LogLevel level;
+        private String message;
+        private int arity;
+        private long value;
+        private Object arg1;
+        private Object arg2;
+        private Object arg3;
+        private Object[] args;
+        private Throwable throwable;
+
+        private void set(final LogLevel level, final String message, final int arity,
+                final long value, final Object arg1, final Object arg2, final Object arg3,
+                final Object[] args, final Throwable throwable) {
+            this.level = level;
+            this.message = message;
+            this.arity = arity;
+            this.value = value;
+            this.arg1 = arg1;
+            this.arg2 = arg2;
+            this.arg3 = arg3;
+            this.args = args;
+            this.throwable = throwable;
+        }
+
+        private void logTo(final LoggerAdapter logger) {
+            log(logger, this.level, this.message, this.arity, this.value, this.arg1, this.arg2,
+                    this.arg3, this.args, this.throwable);
+        }
+
+        private void clear() {
+            this.set(null, null, 0, 0, null, null, null, null, null);
+        }
+    }
+}
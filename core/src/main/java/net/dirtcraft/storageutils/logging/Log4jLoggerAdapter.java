@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2025 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * ALL RIGHTS RESERVED.
+ */
+
+package net.dirtcraft.storageutils.logging;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * Logs to a log4j2 logger, which uses the same '{}' placeholders. The fixed-arity overloads map
+ * to those of log4j2 and do not allocate. To log asynchronously, configure the logger as an
+ * {@code AsyncLogger} or use the {@code AsyncLoggerContextSelector}; both require the LMAX
+ * Disruptor. Otherwise wrap this adapter in an {@link AsyncLoggerAdapter}.
+ * <p>
+ * Severe messages are logged at the error level.
+ */
+public class Log4jLoggerAdapter implements LoggerAdapter {
+
+    protected final Logger logger;
+
+    public Log4jLoggerAdapter(@NonNull final Logger logger) {
+        this.logger = logger;
+    }
+
+    public Log4jLoggerAdapter(@NonNull final String name) {
+        this(LogManager.getLogger(name));
+    }
+
+    @NonNull
+    protected static Level toLevel(@NonNull final LogLevel level) {
+        switch (level) {
+            case DEBUG:
+                return Level.DEBUG;
+            case INFO:
+                return Level.INFO;
+            case WARN:
+                return Level.WARN;
+            default:
+                return Level.ERROR;
+        }
+    }
+
+    @Override
+    public boolean isEnabled(@NonNull final LogLevel level) {
+        return this.logger.isEnabled(toLevel(level));
+    }
+
+    @Override
+    public void debug(final String s, final Object... args) {
+        this.logger.log(Level.DEBUG, s, args);
+    }
+
+    @Override
+    public void debug(final String s, final Object arg) {
+        this.logger.log(Level.DEBUG, s, arg);
+    }
+
+    @Override
+    public void debug(final String s, final Object arg1, final Object arg2) {
+        this.logger.log(Level.DEBUG, s, arg1, arg2);
+    }
+
+    @Override
+    public void debug(final String s, final Object arg1, final Object arg2, final Object arg3) {
+        this.logger.log(Level.DEBUG, s, arg1, arg2, arg3);
+    }
+
+    @Override
+    public void info(final String s, final Object... args) {
+        this.logger.log(Level.INFO, s, args);
+    }
+
+    @Override
+    public void info(final String s, final Object arg) {
+        this.logger.log(Level.INFO, s, arg);
+    }
+
+    @Override
+    public void info(final String s, final Object arg1, final Object arg2) {
+        this.logger.log(Level.INFO, s, arg1, arg2);
+    }
+
+    @Override
+    public void info(final String s, final Object arg1, final Object arg2, final Object arg3) {
+        this.logger.log(Level.INFO, s, arg1, arg2, arg3);
+    }
+
+    @Override
+    public void warn(final String s, final Object... args) {
+        this.logger.log(Level.WARN, s, args);
+    }
+
+    @Override
+    public void warn(final String s, final Object arg) {
+        this.logger.log(Level.WARN, s, arg);
+    }
+
+    @Override
+    public void warn(final String s, final Object arg1, final Object arg2) {
+        this.logger.log(Level.WARN, s, arg1, arg2);
+    }
+
+    @Override
+    public void warn(final String s, final Object arg1, final Object arg2, final Object arg3) {
+        this.logger.log(Level.WARN, s, arg1, arg2, arg3);
+    }
+
+    @Override
+    public void severe(final String s, final Object... args) {
+        this.logger.log(Level.ERROR, s, args);
+    }
+
+    @Override
+    public void severe(final String s, final Throwable t) {
+        this.logger.log(Level.ERROR, s, t);
+    }
+
+    @Override
+    public void severe(final String s, final Object arg) {
+        this.logger.log(Level.ERROR, s, arg);
+    }
+
+    @Override
+    public void severe(final String s, final Object arg1, final Object arg2) {
+        this.logger.log(Level.ERROR, s, arg1, arg2);
+    }
+
+    @Override
+    public void severe(final String s, final Object arg1, final Object arg2,
+            final Object arg3) {
+        this.logger.log(Level.ERROR, s, arg1, arg2, arg3);
+    }
+}
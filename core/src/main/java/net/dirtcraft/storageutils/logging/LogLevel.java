@@ -0,0 +1,18 @@
+/*
+ * Copyright (c) 2025 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * ALL RIGHTS RESERVED.
+ */
+
+package net.dirtcraft.storageutils.logging;
+
+/**
+ * The levels of a {@link LoggerAdapter}, from the most to the least verbose.
+ */
+public enum LogLevel {
+
+    DEBUG,
+    INFO,
+    WARN,
+    SEVERE
+}
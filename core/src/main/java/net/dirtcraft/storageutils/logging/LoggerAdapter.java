@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2025 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * ALL RIGHTS RESERVED.
+ */
+
+package net.dirtcraft.storageutils.logging;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * Represents a logger instance.
+ * <p>
+ * Functions use '{}' as a placeholder for arguments.
+ * <p>
+ * The fixed-arity and primitive overloads do not allocate while their level is disabled. By
+ * default they delegate to the varargs functions, implementations may override them to avoid
+ * allocating while enabled as well. Debug logging is disabled unless
+ * {@link #isEnabled(LogLevel)} is overridden.
+ */
+public interface LoggerAdapter {
+
+    void info(String s, Object... args);
+
+    void warn(String s, Object... args);
+
+    void severe(String s, Object... args);
+
+    void severe(String s, Throwable t);
+
+    /**
+     * Checks whether messages of the given level are logged.
+     *
+     * @param level the level
+     * @return true, if the level is enabled
+     */
+    default boolean isEnabled(@NonNull final LogLevel level) {
+        return level != LogLevel.DEBUG;
+    }
+
+    /**
+     * Logs a message used for tracing single tasks. Logged as info by default.
+     *
+     * @param s    the message
+     * @param args the arguments
+     */
+    default void debug(final String s, final Object... args) {
+        if (this.isEnabled(LogLevel.DEBUG)) {
+            this.info(s, args);
+        }
+    }
+
+    default void debug(final String s, final Object arg) {
+        if (this.isEnabled(LogLevel.DEBUG)) {
+            this.debug(s, new Object[] {arg});
+        }
+    }
+
+    default void debug(final String s, final Object arg1, final Object arg2) {
+        if (this.isEnabled(LogLevel.DEBUG)) {
+            this.debug(s, new Object[] {arg1, arg2});
+        }
+    }
+
+    default void debug(final String s, final Object arg1, final Object arg2, final Object arg3) {
+        if (this.isEnabled(LogLevel.DEBUG)) {
+            this.debug(s, new Object[] {arg1, arg2, arg3});
+        }
+    }
+
+    default void debug(final String s, final long arg) {
+        if (this.isEnabled(LogLevel.DEBUG)) {
+            this.debug(s, new Object[] {arg});
+        }
+    }
+
+    default void info(final String s, final Object arg) {
+        if (this.isEnabled(LogLevel.INFO)) {
+            this.info(s, new Object[] {arg});
+        }
+    }
+
+    default void info(final String s, final Object arg1, final Object arg2) {
+        if (this.isEnabled(LogLevel.INFO)) {
+            this.info(s, new Object[] {arg1, arg2});
+        }
+    }
+
+    default void info(final String s, final Object arg1, final Object arg2, final Object arg3) {
+        if (this.isEnabled(LogLevel.INFO)) {
+            this.info(s, new Object[] {arg1, arg2, arg3});
+        }
+    }
+
+    default void info(final String s, final long arg) {
+        if (this.isEnabled(LogLevel.INFO)) {
+            this.info(s, new Object[] {arg});
+        }
+    }
+
+    default void warn(final String s, final Object arg) {
+        if (this.isEnabled(LogLevel.WARN)) {
+            this.warn(s, new Object[] {arg});
+        }
+    }
+
+    default void warn(final String s, final Object arg1, final Object arg2) {
+        if (this.isEnabled(LogLevel.WARN)) {
+            this.warn(s, new Object[] {arg1, arg2});
+        }
+    }
+
+    default void warn(final String s, final Object arg1, final Object arg2, final Object arg3) {
+        if (this.isEnabled(LogLevel.WARN)) {
+            this.warn(s, new Object[] {arg1, arg2, arg3});
+        }
+    }
+
+    default void warn(final String s, final long arg) {
+        if (this.isEnabled(LogLevel.WARN)) {
+            this.warn(s, new Object[] {arg});
+        }
+    }
+
+    default void severe(final String s, final Object arg) {
+        if (this.isEnabled(LogLevel.SEVERE)) {
+            this.severe(s, new Object[] {arg});
+        }
+    }
+
+    default void severe(final String s, final Object arg1, final Object arg2) {
+        if (this.isEnabled(LogLevel.SEVERE)) {
+            this.severe(s, new Object[] {arg1, arg2});
+        }
+    }
+
+    default void severe(final String s, final Object arg1, final Object arg2,
+            final Object arg3) {
+        if (this.isEnabled(LogLevel.SEVERE)) {
+            this.severe(s, new Object[] {arg1, arg2, arg3});
+        }
+    }
+
+    default void severe(final String s, final long arg) {
+        if (this.isEnabled(LogLevel.SEVERE)) {
+            this.severe(s, new Object[] {arg});
+        }
+    }
+}
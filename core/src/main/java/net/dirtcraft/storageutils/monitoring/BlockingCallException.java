@@ -0,0 +1,20 @@
+/*
+ * Copyright (c) 2025 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * ALL RIGHTS RESERVED.
+ */
+
+package net.dirtcraft.storageutils.monitoring;
+
+/**
+ * Thrown if a blocking storage call is made from a thread guarded by a
+ * {@link BlockingCallWatchdog}.
+ */
+public class BlockingCallException extends IllegalStateException {
+
+    private static final long serialVersionUID = 1L;
+
+    public BlockingCallException(final String message) {
+        super(message);
+    }
+}
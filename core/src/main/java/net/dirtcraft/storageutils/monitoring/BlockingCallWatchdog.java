@@ -0,0 +1,242 @@
+/*
+ * Copyright (c) 2025 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * ALL RIGHTS RESERVED.
+ */
+
+package net.dirtcraft.storageutils.monitoring;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import net.dirtcraft.storageutils.logging.LoggerAdapter;
+import net.dirtcraft.storageutils.util.LatencyHistogram;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Detects blocking storage calls from threads that must not block, e.g. the server tick thread.
+ * <p>
+ * Calls from other threads only cost a set lookup. Calls from guarded threads either throw, or
+ * are sampled and logged or recorded into a histogram per call site.
+ */
+public class BlockingCallWatchdog {
+
+    private static final String OWN_PACKAGE = "net.dirtcraft.storageutils.";
+
+    protected final LoggerAdapter logger;
+    protected final Action action;
+    protected final double sampleRate;
+    private final Set<Thread> threads = ConcurrentHashMap.newKeySet();
+    private final List<Predicate<Thread>> predicates = new CopyOnWriteArrayList<>();
+    private final Map<String, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+    private volatile boolean guarding;
+
+    /**
+     * @param logger     the logger
+     * @param action     the action to take upon a blocking call
+     * @param sampleRate the share of blocking calls between 0 and 1 which are logged or
+     *                   recorded, ignored for {@link Action#THROW}
+     */
+    public BlockingCallWatchdog(final LoggerAdapter logger, final Action action,
+            final double sampleRate) {
+        if (sampleRate < 0 || sampleRate > 1) {
+            throw new IllegalArgumentException("sampleRate must be between 0 and 1");
+        }
+
+        this.logger = logger;
+        this.action = action;
+        this.sampleRate = sampleRate;
+    }
+
+    /**
+     * Enters a blocking call if the watchdog is set.
+     *
+     * @param watchdog  the watchdog, may be null
+     * @param operation the name of the blocking operation
+     * @return the probe to close once the call returns, or null if the call is not sampled
+     */
+    @Nullable
+    public static Probe enter(@Nullable final BlockingCallWatchdog watchdog,
+            @NonNull final String operation) {
+        return watchdog == null ? null : watchdog.enter(operation);
+    }
+
+    /**
+     * Exits a blocking call entered with {@link #enter(BlockingCallWatchdog, String)}.
+     *
+     * @param probe the probe, may be null
+     */
+    public static void exit(@Nullable final Probe probe) {
+        if (probe != null) {
+            probe.close();
+        }
+    }
+
+    @NonNull
+    private static String findCallSite(final StackTraceElement[] stackTrace) {
+        for (final StackTraceElement element : stackTrace) {
+            if (!element.getClassName().startsWith(OWN_PACKAGE)) {
+                return element.getClassName() + '.' + element.getMethodName() + ':'
+                        + element.getLineNumber();
+            }
+        }
+
+        return "unknown";
+    }
+
+    /**
+     * Marks a thread as must not block.
+     *
+     * @param thread the thread
+     */
+    public void guard(@NonNull final Thread thread) {
+        this.threads.add(thread);
+        this.guarding = true;
+    }
+
+    /**
+     * Marks all threads matching a predicate as must not block.
+     *
+     * @param predicate the predicate
+     */
+    public void guard(@NonNull final Predicate<Thread> predicate) {
+        this.predicates.add(predicate);
+        this.guarding = true;
+    }
+
+    public void unguard(@NonNull final Thread thread) {
+        this.threads.remove(thread);
+    }
+
+    public void unguard(@NonNull final Predicate<Thread> predicate) {
+        this.predicates.remove(predicate);
+    }
+
+    public boolean isGuarded(@NonNull final Thread thread) {
+        if (this.threads.contains(thread)) {
+            return true;
+        }
+
+        for (final Predicate<Thread> predicate : this.predicates) {
+            if (predicate.test(thread)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Enters a blocking call.
+     *
+     * @param operation the name of the blocking operation
+     * @return the probe to close once the call returns, or null if the call is not sampled
+     * @throws BlockingCallException if the action is {@link Action#THROW} and the current
+     *                               thread is guarded
+     */
+    @Nullable
+    public Probe enter(@NonNull final String operation) {
+        if (!this.guarding) {
+            return null;
+        }
+
+        final Thread thread = Thread.currentThread();
+
+        if (!this.isGuarded(thread)) {
+            return null;
+        }
+
+        if (this.action == Action.THROW) {
+            throw new BlockingCallException(
+                    "Blocking call to " + operation + " on guarded thread " + thread.getName());
+        }
+
+        if (this.sampleRate < 1 && ThreadLocalRandom.current().nextDouble() >= this.sampleRate) {
+            return null;
+        }
+
+        return new Probe(operation, thread, new Throwable().getStackTrace());
+    }
+
+    /**
+     * Gets the recorded blocking durations per call site.
+     *
+     * @return an immutable copy of the histograms
+     */
+    @NonNull
+    public Map<String, LatencyHistogram> getHistograms() {
+        return Collections.unmodifiableMap(new HashMap<>(this.histograms));
+    }
+
+    public void reset() {
+        this.histograms.clear();
+    }
+
+    protected void onExit(final Probe probe, final long durationNanos) {
+        final String callSite = findCallSite(probe.stackTrace);
+
+        this.histograms.computeIfAbsent(callSite, key -> new LatencyHistogram())
+                .recordNanos(durationNanos);
+
+        if (this.action != Action.WARN) {
+            return;
+        }
+
+        final StringBuilder builder = new StringBuilder();
+
+        for (final StackTraceElement element : probe.stackTrace) {
+            builder.append("\n\tat ").append(element);
+        }
+
+        this.logger.warn("Guarded thread {} blocked for {} ms in {} at {}:{}",
+                probe.thread.getName(), TimeUnit.NANOSECONDS.toMillis(durationNanos),
+                probe.operation, callSite, builder);
+    }
+
+    public enum Action {
+
+        /**
+         * Throws a {@link BlockingCallException} before the call blocks.
+         */
+        THROW,
+        /**
+         * Logs sampled calls with their stack trace and records them.
+         */
+        WARN,
+        /**
+         * Records sampled calls into a histogram per call site.
+         */
+        RECORD
+    }
+
+    /**
+     * A sampled blocking call.
+     */
+    public final class Probe implements AutoCloseable {
+
+        private final String operation;
+        private final Thread thread;
+        private final StackTraceElement[] stackTrace;
+        private final long start = System.nanoTime();
+
+        private Probe(final String operation, final Thread thread,
+                final StackTraceElement[] stackTrace) {
+            this.operation = operation;
+            this.thread = thread;
+            this.stackTrace = stackTrace;
+        }
+
+        @Override
+        public void close() {
+            BlockingCallWatchdog.this.onExit(this, System.nanoTime() - this.start);
+        }
+    }
+}
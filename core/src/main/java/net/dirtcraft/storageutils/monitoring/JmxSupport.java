@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2025 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * ALL RIGHTS RESERVED.
+ */
+
+package net.dirtcraft.storageutils.monitoring;
+
+import java.lang.management.ManagementFactory;
+import java.util.Set;
+import javax.management.Attribute;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import net.dirtcraft.storageutils.StorageCredentials;
+import net.dirtcraft.storageutils.config.PoolSetting;
+import net.dirtcraft.storageutils.logging.LoggerAdapter;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Helpers to register MBeans under stable names and to read Hikari pool metrics without a
+ * compile time dependency on Hikari.
+ */
+public final class JmxSupport {
+
+    public static final String DOMAIN = "net.dirtcraft.storageutils";
+
+    private JmxSupport() {}
+
+    /**
+     * Creates the object name of an MBean of this library.
+     *
+     * @param type the type, e.g. {@code Hibernate}
+     * @param name the name, e.g. the pool or database name
+     * @return the object name
+     */
+    @NonNull
+    public static ObjectName objectName(@NonNull final String type, @NonNull final String name) {
+        try {
+            return new ObjectName(DOMAIN + ":type=" + type + ",name=" + ObjectName.quote(name));
+        } catch (final JMException e) {
+            throw new IllegalArgumentException("Invalid MBean name: " + name, e);
+        }
+    }
+
+    /**
+     * Registers an MBean, replacing a previously registered MBean of the same name.
+     *
+     * @param mbean  the MBean
+     * @param name   the object name
+     * @param logger the logger to report failures to
+     * @return true, if the MBean was registered
+     */
+    public static boolean register(@NonNull final Object mbean, @NonNull final ObjectName name,
+            @NonNull final LoggerAdapter logger) {
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+
+        try {
+            if (server.isRegistered(name)) {
+                server.unregisterMBean(name);
+            }
+
+            server.registerMBean(mbean, name);
+            return true;
+        } catch (final JMException e) {
+            logger.warn("Could not register MBean {}: {}", name, e.getMessage());
+            return false;
+        }
+    }
+
+    public static void unregister(@Nullable final ObjectName name) {
+        if (name == null) {
+            return;
+        }
+
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+
+        try {
+            if (server.isRegistered(name)) {
+                server.unregisterMBean(name);
+            }
+        } catch (final JMException ignored) {
+            // already gone
+        }
+    }
+
+    /**
+     * Reads the metrics of a Hikari pool registered with {@code registerMbeans}.
+     *
+     * @param poolName the pool name
+     * @param builder  the builder to add the gauges to
+     */
+    public static void collectHikariPool(@NonNull final String poolName,
+            final StorageStats.@NonNull Builder builder) {
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+
+        try {
+            final ObjectName name =
+                    new ObjectName("com.zaxxer.hikari:type=Pool (" + poolName + ')');
+
+            if (!server.isRegistered(name)) {
+                return;
+            }
+
+            builder.gauge(StorageStats.POOL_ACTIVE,
+                            ((Number) server.getAttribute(name, "ActiveConnections")).longValue())
+                    .gauge(StorageStats.POOL_IDLE,
+                            ((Number) server.getAttribute(name, "IdleConnections")).longValue())
+                    .gauge(StorageStats.POOL_TOTAL,
+                            ((Number) server.getAttribute(name, "TotalConnections")).longValue())
+                    .gauge(StorageStats.POOL_AWAITING,
+                            ((Number) server.getAttribute(name,
+                                    "ThreadsAwaitingConnection")).longValue());
+        } catch (final JMException ignored) {
+            // pool is not available (anymore)
+        }
+    }
+
+    /**
+     * Applies the runtime safe pool settings to a Hikari pool registered with
+     * {@code registerMbeans}. Existing connections are kept.
+     *
+     * @param poolName    the pool name
+     * @param credentials the credentials to take the settings from
+     * @return the applied settings, none if the pool was not found
+     */
+    @NonNull
+    public static Set<PoolSetting> applyHikariPoolSettings(@NonNull final String poolName,
+            @NonNull final StorageCredentials credentials) {
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+
+        try {
+            final ObjectName name =
+                    new ObjectName("com.zaxxer.hikari:type=PoolConfig (" + poolName + ')');
+
+            if (!server.isRegistered(name)) {
+                return PoolSetting.NONE;
+            }
+
+            final int maxPoolSize = credentials.getMaxPoolSize();
+            final Attribute maximumPoolSize = new Attribute("MaximumPoolSize", maxPoolSize);
+            final Attribute minimumIdle =
+                    new Attribute("MinimumIdle", credentials.getMinIdleConnections());
+
+            // never let the minimum exceed the maximum in between
+            if (maxPoolSize < ((Number) server.getAttribute(name, "MinimumIdle")).intValue()) {
+                server.setAttribute(name, minimumIdle);
+                server.setAttribute(name, maximumPoolSize);
+            } else {
+                server.setAttribute(name, maximumPoolSize);
+                server.setAttribute(name, minimumIdle);
+            }
+
+            server.setAttribute(name, new Attribute("ConnectionTimeout",
+                    (long) credentials.getConnectionTimeout()));
+            server.setAttribute(name, new Attribute("LeakDetectionThreshold",
+                    (long) credentials.getLeakDetectionThreshold()));
+            return PoolSetting.ALL;
+        } catch (final JMException ignored) {
+            // pool is not available (anymore)
+            return PoolSetting.NONE;
+        }
+    }
+}
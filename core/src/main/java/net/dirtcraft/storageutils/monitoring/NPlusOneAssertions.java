@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2025 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * ALL RIGHTS RESERVED.
+ */
+
+package net.dirtcraft.storageutils.monitoring;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * Test helpers failing with an {@link AssertionError}, which JUnit and other test frameworks
+ * report as a regular failure, if code runs into N+1 queries.
+ * <pre>{@code
+ * NPlusOneDetector detector = new NPlusOneDetector(null, 5);
+ * storage.setNPlusOneDetector(detector);
+ * NPlusOneAssertions.assertNoNPlusOne(detector, () -> storage.performTask(...));
+ * }</pre>
+ */
+public final class NPlusOneAssertions {
+
+    private NPlusOneAssertions() {}
+
+    /**
+     * Runs the action and fails if any task run by it on the current thread exceeded the
+     * threshold of the detector.
+     *
+     * @param detector the detector set on the storage
+     * @param action   the action
+     * @throws AssertionError if N+1 queries were detected
+     */
+    public static void assertNoNPlusOne(@NonNull final NPlusOneDetector detector,
+            @NonNull final Runnable action) {
+        final List<NPlusOneDetector.Report> reports = record(detector, action);
+
+        if (reports.isEmpty()) {
+            return;
+        }
+
+        final StringBuilder message = new StringBuilder("Detected N+1 queries in ")
+                .append(reports.size()).append(" task(s), threshold is ")
+                .append(detector.getThreshold()).append(':');
+
+        for (final NPlusOneDetector.Report report : reports) {
+            message.append('\n').append(report);
+        }
+
+        throw new AssertionError(message.toString());
+    }
+
+    /**
+     * Runs the action and collects the reports of all tasks run by it on the current thread.
+     *
+     * @param detector the detector set on the storage
+     * @param action   the action
+     * @return the reports, empty if there were no N+1 queries
+     */
+    @NonNull
+    public static List<NPlusOneDetector.Report> record(@NonNull final NPlusOneDetector detector,
+            @NonNull final Runnable action) {
+        final List<NPlusOneDetector.Report> reports = new ArrayList<>();
+        final Thread thread = Thread.currentThread();
+        final NPlusOneDetector.Handler handler = report -> {
+            // other tests may use the same storage concurrently
+            if (Thread.currentThread() == thread) {
+                reports.add(report);
+            }
+        };
+
+        detector.addHandler(handler);
+
+        try {
+            action.run();
+        } finally {
+            detector.removeHandler(handler);
+        }
+
+        return reports;
+    }
+}
@@ -0,0 +1,275 @@
+/*
+ * Copyright (c) 2025 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * ALL RIGHTS RESERVED.
+ */
+
+package net.dirtcraft.storageutils.monitoring;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import net.dirtcraft.storageutils.logging.LoggerAdapter;
+import net.dirtcraft.storageutils.util.SqlNormalizer;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Counts the statements of each task grouped by their normalized text and reports tasks running
+ * the same statement more often than a threshold, which usually means lazy associations are
+ * loaded one by one in a loop.
+ * <p>
+ * Set it with {@code AbstractHibernateStorage#setNPlusOneDetector}. Reports are logged unless
+ * the detector is created without a logger, use {@link #addHandler(Handler)} or
+ * {@link NPlusOneAssertions} to process them otherwise.
+ */
+public class NPlusOneDetector {
+
+    private static final String[] FRAMEWORK_PACKAGES =
+            {"net.dirtcraft.storageutils.", "org.hibernate.", "java.", "javax.", "jdk.", "sun.",
+                    "com.sun.", "com.zaxxer.", "javassist."};
+
+    @Nullable
+    protected final LoggerAdapter logger;
+    protected final int threshold;
+    private final List<Handler> handlers = new CopyOnWriteArrayList<>();
+
+    /**
+     * @param logger    the logger reports are logged to, null to only pass them to the handlers
+     * @param threshold the amount of executions of the same statement within a task which is
+     *                  still accepted
+     */
+    public NPlusOneDetector(@Nullable final LoggerAdapter logger, final int threshold) {
+        this.logger = logger;
+        this.threshold = threshold;
+    }
+
+    public int getThreshold() {
+        return this.threshold;
+    }
+
+    public void addHandler(@NonNull final Handler handler) {
+        this.handlers.add(handler);
+    }
+
+    public void removeHandler(@NonNull final Handler handler) {
+        this.handlers.remove(handler);
+    }
+
+    /**
+     * Begins counting the statements of a task. The returned scope has to be passed to the
+     * session of the task and must only be used by a single thread.
+     *
+     * @return the scope
+     */
+    @NonNull
+    public Scope begin() {
+        return new Scope();
+    }
+
+    /**
+     * Completes a task, reporting it if any statement exceeded the threshold. Called on the
+     * thread which ran the task.
+     *
+     * @param scope the scope of the task
+     */
+    public void complete(@NonNull final Scope scope) {
+        final List<Finding> findings = new ArrayList<>();
+
+        for (final Counter counter : scope.counters.values()) {
+            if (counter.count > this.threshold) {
+                findings.add(new Finding(counter.normalizedSql, counter.count, counter.callSite));
+            }
+        }
+
+        if (findings.isEmpty()) {
+            return;
+        }
+
+        findings.sort((a, b) -> Integer.compare(b.count, a.count));
+
+        final Report report = new Report(findings, scope.statements);
+
+        if (this.logger != null) {
+            this.logger.warn("Possible N+1 queries, {}", report);
+        }
+
+        for (final Handler handler : this.handlers) {
+            handler.onReport(report);
+        }
+    }
+
+    @Nullable
+    private static StackTraceElement findCallSite() {
+        for (final StackTraceElement element : new Throwable().getStackTrace()) {
+            final String className = element.getClassName();
+
+            if (!isFramework(className)) {
+                return element;
+            }
+        }
+
+        return null;
+    }
+
+    private static boolean isFramework(final String className) {
+        // runtime generated proxies of lazy associations
+        if (className.contains("$HibernateProxy$") || className.contains("_$$_")) {
+            return true;
+        }
+
+        for (final String frameworkPackage : FRAMEWORK_PACKAGES) {
+            if (className.startsWith(frameworkPackage)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Processes reports, called on the thread which ran the task.
+     */
+    @FunctionalInterface
+    public interface Handler {
+
+        void onReport(@NonNull Report report);
+    }
+
+    /**
+     * Counts the statements of a single task.
+     */
+    public static final class Scope implements StatementObserver {
+
+        private final Map<String, Counter> counters = new HashMap<>();
+        private int statements;
+
+        private Scope() {}
+
+        @Override
+        public void onStatement(@NonNull final String sql, final int parameters, final long rows,
+                final long durationNanos) {
+            final Counter counter =
+                    this.counters.computeIfAbsent(SqlNormalizer.normalize(sql), Counter::new);
+
+            this.statements++;
+
+            // the first execution is usually the query loading the parent entities
+            if (++counter.count == 2) {
+                counter.callSite = findCallSite();
+            }
+        }
+
+        /**
+         * Discards the statements counted so far, e.g. when the task is retried.
+         */
+        public void reset() {
+            this.counters.clear();
+            this.statements = 0;
+        }
+    }
+
+    /**
+     * The statements of a task exceeding the threshold.
+     */
+    public static final class Report {
+
+        private final List<Finding> findings;
+        private final int statements;
+
+        private Report(final List<Finding> findings, final int statements) {
+            this.findings = Collections.unmodifiableList(findings);
+            this.statements = statements;
+        }
+
+        /**
+         * Gets the statements exceeding the threshold, ordered by their count.
+         *
+         * @return the findings
+         */
+        @NonNull
+        public List<Finding> getFindings() {
+            return this.findings;
+        }
+
+        /**
+         * Gets the total amount of statements executed by the task.
+         *
+         * @return the amount of statements
+         */
+        public int getStatements() {
+            return this.statements;
+        }
+
+        @Override
+        public String toString() {
+            final StringBuilder builder = new StringBuilder().append(this.statements)
+                    .append(" statements in task:");
+
+            for (final Finding finding : this.findings) {
+                builder.append("\n  ").append(finding);
+            }
+
+            return builder.toString();
+        }
+    }
+
+    /**
+     * A normalized statement executed more often than the threshold.
+     */
+    public static final class Finding {
+
+        private final String normalizedSql;
+        private final int count;
+        @Nullable
+        private final StackTraceElement callSite;
+
+        private Finding(final String normalizedSql, final int count,
+                @Nullable final StackTraceElement callSite) {
+            this.normalizedSql = normalizedSql;
+            this.count = count;
+            this.callSite = callSite;
+        }
+
+        @NonNull
+        public String getNormalizedSql() {
+            return this.normalizedSql;
+        }
+
+        public int getCount() {
+            return this.count;
+        }
+
+        /**
+         * Gets the first frame outside of Hibernate and this library which executed the
+         * statement repeatedly.
+         *
+         * @return the call site, or null if it could not be determined
+         */
+        @Nullable
+        public StackTraceElement getCallSite() {
+            return this.callSite;
+        }
+
+        @Override
+        public String toString() {
+            return this.count + "x at " + (this.callSite == null ? "unknown" : this.callSite)
+                    + ": " + this.normalizedSql;
+        }
+    }
+
+    private static final class Counter {
+
+        private final String normalizedSql;
+        private int count;
+        @Nullable
+        private StackTraceElement callSite;
+
+        private Counter(final String normalizedSql) {
+            this.normalizedSql = normalizedSql;
+        }
+    }
+}
@@ -0,0 +1,259 @@
+/*
+ * Copyright (c) 2025 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * ALL RIGHTS RESERVED.
+ */
+
+package net.dirtcraft.storageutils.monitoring;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+import net.dirtcraft.storageutils.logging.LoggerAdapter;
+import net.dirtcraft.storageutils.util.SqlNormalizer;
+import net.dirtcraft.storageutils.util.TokenBucket;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * Records per-statement timings, logs statements exceeding a threshold and keeps a table of the
+ * slowest normalized statements. Once the table is full, a new statement replaces the fastest
+ * of a few randomly sampled ones, so the table approximately keeps the slowest statements.
+ * <p>
+ * Register it with {@code addStatementObserver} on a Hibernate or Hikari connection factory.
+ */
+public class SlowQueryLog implements StatementObserver {
+
+    private static final int EVICTION_SAMPLES = 8;
+
+    protected final LoggerAdapter logger;
+    protected final long thresholdNanos;
+    protected final int capacity;
+    private final TokenBucket rateLimiter;
+    private final AtomicLong suppressed = new AtomicLong();
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    // guards the admission of new statements, the slots below and their count
+    private final Object admissionLock = new Object();
+    private final Entry[] slots;
+    private int size;
+
+    /**
+     * @param logger        the logger
+     * @param threshold     the duration after which a statement is logged
+     * @param unit          the unit of the threshold
+     * @param logsPerSecond the maximum amount of log messages per second
+     * @param capacity      the maximum amount of normalized statements kept in the table
+     */
+    public SlowQueryLog(final LoggerAdapter logger, final long threshold, final TimeUnit unit,
+            final double logsPerSecond, final int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity has to be positive.");
+        }
+
+        this.logger = logger;
+        this.thresholdNanos = unit.toNanos(threshold);
+        this.capacity = capacity;
+        this.slots = new Entry[capacity];
+        this.rateLimiter = new TokenBucket(logsPerSecond);
+    }
+
+    @Override
+    public void onStatement(@NonNull final String sql, final int parameters, final long rows,
+            final long durationNanos) {
+        final String normalized = SqlNormalizer.normalize(sql);
+        Entry entry = this.entries.get(normalized);
+
+        if (entry == null) {
+            entry = this.admit(normalized);
+        }
+
+        entry.record(sql, rows, durationNanos);
+
+        if (durationNanos < this.thresholdNanos) {
+            return;
+        }
+
+        if (!this.rateLimiter.tryAcquire()) {
+            this.suppressed.incrementAndGet();
+            return;
+        }
+
+        this.logger.warn("Slow statement took {} ms ({} parameters, {} rows, {} suppressed): {}",
+                TimeUnit.NANOSECONDS.toMillis(durationNanos), parameters, rows,
+                this.suppressed.getAndSet(0), sql);
+    }
+
+    /**
+     * Gets the slowest normalized statements, ordered by their maximum duration.
+     *
+     * @param limit the maximum amount of statements
+     * @return the statements
+     */
+    @NonNull
+    public List<StatementStats> getSlowest(final int limit) {
+        return this.entries.values().stream().map(Entry::snapshot)
+                .sorted(Comparator.comparingLong(StatementStats::getMaxNanos).reversed())
+                .limit(limit).collect(Collectors.toList());
+    }
+
+    /**
+     * Gets the normalized statements with the highest total time spent.
+     *
+     * @param limit the maximum amount of statements
+     * @return the statements
+     */
+    @NonNull
+    public List<StatementStats> getMostExpensive(final int limit) {
+        return this.entries.values().stream().map(Entry::snapshot)
+                .sorted(Comparator.comparingLong(StatementStats::getTotalNanos).reversed())
+                .limit(limit).collect(Collectors.toList());
+    }
+
+    public void reset() {
+        synchronized (this.admissionLock) {
+            this.entries.clear();
+            Arrays.fill(this.slots, null);
+            this.size = 0;
+        }
+    }
+
+    @NonNull
+    private Entry admit(@NonNull final String normalizedSql) {
+        synchronized (this.admissionLock) {
+            final Entry existing = this.entries.get(normalizedSql);
+
+            if (existing != null) {
+                return existing;
+            }
+
+            final Entry entry = new Entry(normalizedSql);
+            int slot = this.size;
+
+            if (slot < this.slots.length) {
+                this.size++;
+            } else {
+                slot = this.sampleFastest();
+                this.entries.remove(this.slots[slot].normalizedSql);
+            }
+
+            this.slots[slot] = entry;
+            this.entries.put(normalizedSql, entry);
+            return entry;
+        }
+    }
+
+    private int sampleFastest() {
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        int fastest = random.nextInt(this.slots.length);
+
+        for (int i = 1; i < EVICTION_SAMPLES; i++) {
+            final int candidate = random.nextInt(this.slots.length);
+
+            if (this.slots[candidate].maxNanos.get() < this.slots[fastest].maxNanos.get()) {
+                fastest = candidate;
+            }
+        }
+
+        return fastest;
+    }
+
+    /**
+     * Immutable statistics of a normalized statement.
+     */
+    public static final class StatementStats {
+
+        private final String normalizedSql;
+        private final String slowestSql;
+        private final long count;
+        private final long totalNanos;
+        private final long maxNanos;
+        private final long maxRows;
+
+        private StatementStats(final String normalizedSql, final String slowestSql,
+                final long count, final long totalNanos, final long maxNanos,
+                final long maxRows) {
+            this.normalizedSql = normalizedSql;
+            this.slowestSql = slowestSql;
+            this.count = count;
+            this.totalNanos = totalNanos;
+            this.maxNanos = maxNanos;
+            this.maxRows = maxRows;
+        }
+
+        public String getNormalizedSql() {
+            return this.normalizedSql;
+        }
+
+        /**
+         * Gets the statement text of the slowest execution.
+         *
+         * @return the statement text
+         */
+        public String getSlowestSql() {
+            return this.slowestSql;
+        }
+
+        public long getCount() {
+            return this.count;
+        }
+
+        public long getTotalNanos() {
+            return this.totalNanos;
+        }
+
+        public long getMaxNanos() {
+            return this.maxNanos;
+        }
+
+        public long getMeanNanos() {
+            return this.count == 0 ? 0 : this.totalNanos / this.count;
+        }
+
+        public long getMaxRows() {
+            return this.maxRows;
+        }
+
+        @Override
+        public String toString() {
+            return "StatementStats{" + "count=" + this.count + ", meanMs="
+                    + TimeUnit.NANOSECONDS.toMillis(this.getMeanNanos()) + ", maxMs="
+                    + TimeUnit.NANOSECONDS.toMillis(this.maxNanos) + ", maxRows=" + this.maxRows
+                    + ", sql='" + this.normalizedSql + '\'' + '}';
+        }
+    }
+
+    private static final class Entry {
+
+        private final String normalizedSql;
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+        private final AtomicLong maxRows = new AtomicLong(-1);
+        private volatile String slowestSql;
+
+        private Entry(final String normalizedSql) {
+            this.normalizedSql = normalizedSql;
+        }
+
+        private void record(final String sql, final long rows, final long durationNanos) {
+            this.count.increment();
+            this.totalNanos.add(durationNanos);
+            this.maxRows.accumulateAndGet(rows, Math::max);
+
+            if (this.maxNanos.getAndAccumulate(durationNanos, Math::max) < durationNanos) {
+                this.slowestSql = sql;
+            }
+        }
+
+        private StatementStats snapshot() {
+            return new StatementStats(this.normalizedSql, this.slowestSql, this.count.sum(),
+                    this.totalNanos.sum(), this.maxNanos.get(), this.maxRows.get());
+        }
+    }
+}
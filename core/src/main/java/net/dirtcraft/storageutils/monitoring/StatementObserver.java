@@ -0,0 +1,26 @@
+/*
+ * Copyright (c) 2025 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * ALL RIGHTS RESERVED.
+ */
+
+package net.dirtcraft.storageutils.monitoring;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * Observes executed SQL statements.
+ */
+@FunctionalInterface
+public interface StatementObserver {
+
+    /**
+     * Called after a statement has been executed.
+     *
+     * @param sql           the statement text
+     * @param parameters    the amount of bound parameters
+     * @param rows          the amount of affected or read rows, -1 if unknown
+     * @param durationNanos the execution time in nanoseconds
+     */
+    void onStatement(@NonNull String sql, int parameters, long rows, long durationNanos);
+}
@@ -0,0 +1,182 @@
+/*
+ * Copyright (c) 2025 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * ALL RIGHTS RESERVED.
+ */
+
+package net.dirtcraft.storageutils.monitoring;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Immutable snapshot of storage statistics.
+ * <p>
+ * Counters only ever grow, the delta of a counter is the difference to the previous snapshot.
+ * Gauges are point-in-time values, e.g. the amount of active connections.
+ */
+public final class StorageStats {
+
+    public static final String ENTITY_LOADS = "hibernate.entity.loads";
+    public static final String ENTITY_FETCHES = "hibernate.entity.fetches";
+    public static final String ENTITY_INSERTS = "hibernate.entity.inserts";
+    public static final String ENTITY_UPDATES = "hibernate.entity.updates";
+    public static final String ENTITY_DELETES = "hibernate.entity.deletes";
+    public static final String COLLECTION_LOADS = "hibernate.collection.loads";
+    public static final String FLUSHES = "hibernate.flushes";
+    public static final String QUERIES = "hibernate.queries";
+    public static final String PREPARED_STATEMENTS = "hibernate.statements.prepared";
+    public static final String SESSIONS_OPENED = "hibernate.sessions.opened";
+    public static final String TRANSACTIONS = "hibernate.transactions";
+    public static final String SUCCESSFUL_TRANSACTIONS = "hibernate.transactions.successful";
+    public static final String OPTIMISTIC_FAILURES = "hibernate.optimistic.failures";
+    public static final String SECOND_LEVEL_CACHE_HITS = "hibernate.cache.hits";
+    public static final String SECOND_LEVEL_CACHE_MISSES = "hibernate.cache.misses";
+    public static final String SECOND_LEVEL_CACHE_PUTS = "hibernate.cache.puts";
+    public static final String QUERY_CACHE_HITS = "hibernate.query.cache.hits";
+    public static final String QUERY_CACHE_MISSES = "hibernate.query.cache.misses";
+    public static final String POOL_ACTIVE = "pool.connections.active";
+    public static final String POOL_IDLE = "pool.connections.idle";
+    public static final String POOL_TOTAL = "pool.connections.total";
+    public static final String POOL_AWAITING = "pool.threads.awaiting";
+
+    private static final StorageStats EMPTY =
+            new StorageStats(0, 0, Collections.emptyMap(), Collections.emptyMap(),
+                    Collections.emptyMap());
+
+    private final long timestamp;
+    private final long intervalMillis;
+    private final Map<String, Long> counters;
+    private final Map<String, Long> deltas;
+    private final Map<String, Long> gauges;
+
+    private StorageStats(final long timestamp, final long intervalMillis,
+            final Map<String, Long> counters, final Map<String, Long> deltas,
+            final Map<String, Long> gauges) {
+        this.timestamp = timestamp;
+        this.intervalMillis = intervalMillis;
+        this.counters = counters;
+        this.deltas = deltas;
+        this.gauges = gauges;
+    }
+
+    @NonNull
+    public static StorageStats empty() {
+        return EMPTY;
+    }
+
+    @NonNull
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Gets the time the snapshot was taken at.
+     *
+     * @return the epoch millis
+     */
+    public long getTimestamp() {
+        return this.timestamp;
+    }
+
+    /**
+     * Gets the time passed since the previous snapshot.
+     *
+     * @return the interval in millis, 0 for the first snapshot
+     */
+    public long getIntervalMillis() {
+        return this.intervalMillis;
+    }
+
+    public long getCounter(@NonNull final String name) {
+        return this.counters.getOrDefault(name, 0L);
+    }
+
+    public long getDelta(@NonNull final String name) {
+        return this.deltas.getOrDefault(name, 0L);
+    }
+
+    public long getGauge(@NonNull final String name) {
+        return this.gauges.getOrDefault(name, 0L);
+    }
+
+    @NonNull
+    public Map<String, Long> getCounters() {
+        return this.counters;
+    }
+
+    @NonNull
+    public Map<String, Long> getDeltas() {
+        return this.deltas;
+    }
+
+    @NonNull
+    public Map<String, Long> getGauges() {
+        return this.gauges;
+    }
+
+    /**
+     * Gets the second level cache hit ratio since the previous snapshot.
+     *
+     * @return the ratio between 0 and 1, or 0 if there were no cache accesses
+     */
+    public double getSecondLevelCacheHitRatio() {
+        final long hits = this.getDelta(SECOND_LEVEL_CACHE_HITS);
+        final long total = hits + this.getDelta(SECOND_LEVEL_CACHE_MISSES);
+
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    @Override
+    public String toString() {
+        return "StorageStats{" + "intervalMillis=" + this.intervalMillis + ", deltas="
+                + this.deltas + ", gauges=" + this.gauges + '}';
+    }
+
+    public static final class Builder {
+
+        private final Map<String, Long> counters = new LinkedHashMap<>();
+        private final Map<String, Long> gauges = new LinkedHashMap<>();
+
+        private Builder() {}
+
+        @NonNull
+        public Builder counter(@NonNull final String name, final long value) {
+            this.counters.put(name, value);
+            return this;
+        }
+
+        @NonNull
+        public Builder gauge(@NonNull final String name, final long value) {
+            this.gauges.put(name, value);
+            return this;
+        }
+
+        /**
+         * Builds the snapshot.
+         *
+         * @param previous the previous snapshot to compute the deltas against
+         * @return the snapshot
+         */
+        @NonNull
+        public StorageStats build(@Nullable final StorageStats previous) {
+            final long now = System.currentTimeMillis();
+            final Map<String, Long> deltas = new LinkedHashMap<>();
+
+            for (final Map.Entry<String, Long> entry : this.counters.entrySet()) {
+                final long before = previous == null ? 0 : previous.getCounter(entry.getKey());
+
+                deltas.put(entry.getKey(), entry.getValue() - before);
+            }
+
+            return new StorageStats(now,
+                    previous == null || previous.timestamp == 0 ? 0 : now - previous.timestamp,
+                    Collections.unmodifiableMap(new LinkedHashMap<>(this.counters)),
+                    Collections.unmodifiableMap(deltas),
+                    Collections.unmodifiableMap(new LinkedHashMap<>(this.gauges)));
+        }
+    }
+}
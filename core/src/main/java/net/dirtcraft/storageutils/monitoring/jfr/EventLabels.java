@@ -0,0 +1,39 @@
+/*
+ * Copyright (c) 2025 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * ALL RIGHTS RESERVED.
+ */
+
+package net.dirtcraft.storageutils.monitoring.jfr;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * Derives the labels of storage events. Only used while events are enabled.
+ */
+public final class EventLabels {
+
+    private static final ClassValue<String> CLASS_LABELS = new ClassValue<String>() {
+        @Override
+        protected String computeValue(final Class<?> type) {
+            final String name = type.getName();
+            // Outer$$Lambda$12/0x... is labelled as the class declaring the lambda
+            final int lambda = name.indexOf("$$Lambda");
+
+            return lambda < 0 ? name : name.substring(0, lambda);
+        }
+    };
+
+    private EventLabels() {}
+
+    /**
+     * Gets the label of the source of an event, e.g. a task.
+     *
+     * @param source the source, strings are used as is
+     * @return the label
+     */
+    @NonNull
+    public static String of(@NonNull final Object source) {
+        return source instanceof String ? (String) source : CLASS_LABELS.get(source.getClass());
+    }
+}
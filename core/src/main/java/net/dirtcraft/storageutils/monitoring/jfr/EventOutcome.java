@@ -0,0 +1,18 @@
+/*
+ * Copyright (c) 2025 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * ALL RIGHTS RESERVED.
+ */
+
+package net.dirtcraft.storageutils.monitoring.jfr;
+
+/**
+ * The outcome recorded with a storage event.
+ */
+public enum EventOutcome {
+
+    SUCCESS,
+    FAILURE,
+    TIMEOUT,
+    CANCELLED
+}
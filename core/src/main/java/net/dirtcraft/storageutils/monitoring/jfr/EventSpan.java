@@ -0,0 +1,28 @@
+/*
+ * Copyright (c) 2025 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * ALL RIGHTS RESERVED.
+ */
+
+package net.dirtcraft.storageutils.monitoring.jfr;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * A storage operation in progress, see {@link StorageEvents}.
+ */
+@FunctionalInterface
+public interface EventSpan {
+
+    /**
+     * The span returned while events are disabled or unsupported.
+     */
+    EventSpan NOOP = outcome -> {};
+
+    /**
+     * Ends the operation and commits the event. Only the first call has an effect.
+     *
+     * @param outcome the outcome
+     */
+    void end(@NonNull EventOutcome outcome);
+}
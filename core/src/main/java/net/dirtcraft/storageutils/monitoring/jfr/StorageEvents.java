@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2025 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * ALL RIGHTS RESERVED.
+ */
+
+package net.dirtcraft.storageutils.monitoring.jfr;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * Emits JDK Flight Recorder events for storage operations, so database latency can be
+ * correlated with GC and thread states in one recording. This is the Java 8 version, which does
+ * nothing. On Java 11 and later it is replaced by the version in {@code META-INF/versions/11}
+ * of the multi-release jar, which records the events under the "Storage Utils" category.
+ */
+public final class StorageEvents {
+
+    private StorageEvents() {}
+
+    /**
+     * Whether events are recorded on this runtime at all.
+     *
+     * @return true, if JDK Flight Recorder events are supported
+     */
+    public static boolean isSupported() {
+        return false;
+    }
+
+    /**
+     * Begins an attempt of a task, from beginning until committing its transaction.
+     *
+     * @param task    the task
+     * @param attempt the attempt, starting at 1
+     * @return the span
+     */
+    @NonNull
+    public static EventSpan taskAttempt(@NonNull final Object task, final int attempt) {
+        return EventSpan.NOOP;
+    }
+
+    /**
+     * Begins the backoff before a task is retried.
+     *
+     * @param task    the task
+     * @param attempt the attempt which is about to be retried
+     * @return the span
+     */
+    @NonNull
+    public static EventSpan retry(@NonNull final Object task, final int attempt) {
+        return EventSpan.NOOP;
+    }
+
+    /**
+     * Begins the rollback of a failed attempt, including its rollback callbacks.
+     *
+     * @param task    the task
+     * @param attempt the attempt
+     * @return the span
+     */
+    @NonNull
+    public static EventSpan rollback(@NonNull final Object task, final int attempt) {
+        return EventSpan.NOOP;
+    }
+
+    /**
+     * Begins opening a session, until its first transaction acquired a connection.
+     *
+     * @param task    the task
+     * @param attempt the connection attempt, starting at 1
+     * @return the span
+     */
+    @NonNull
+    public static EventSpan sessionOpen(@NonNull final Object task, final int attempt) {
+        return EventSpan.NOOP;
+    }
+
+    /**
+     * Begins the callbacks of a task queued upon commit.
+     *
+     * @param task    the task
+     * @param attempt the attempt which was committed
+     * @return the span
+     */
+    @NonNull
+    public static EventSpan postCommit(@NonNull final Object task, final int attempt) {
+        return EventSpan.NOOP;
+    }
+
+    /**
+     * Begins acquiring a connection from a pool.
+     *
+     * @param pool the name of the pool
+     * @return the span
+     */
+    @NonNull
+    public static EventSpan connectionAcquire(@NonNull final String pool) {
+        return EventSpan.NOOP;
+    }
+
+    /**
+     * Begins applying the schema of a storage.
+     *
+     * @param storage the storage
+     * @return the span
+     */
+    @NonNull
+    public static EventSpan schemaApply(@NonNull final Object storage) {
+        return EventSpan.NOOP;
+    }
+}
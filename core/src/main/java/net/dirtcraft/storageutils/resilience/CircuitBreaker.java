@@ -0,0 +1,216 @@
+/*
+ * Copyright (c) 2025 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * ALL RIGHTS RESERVED.
+ */
+
+package net.dirtcraft.storageutils.resilience;
+
+import java.sql.SQLException;
+import java.sql.SQLNonTransientConnectionException;
+import java.sql.SQLTransientConnectionException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import net.dirtcraft.storageutils.logging.LoggerAdapter;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * Circuit breaker for database connections.
+ * <p>
+ * Opens after a number of consecutive connection failures. While open, callers fail fast with a
+ * {@link StorageUnavailableException}. After the open duration a single caller is let through
+ * as a probe; its outcome either closes the circuit or opens it again.
+ */
+public class CircuitBreaker {
+
+    protected final String name;
+    protected final LoggerAdapter logger;
+    protected final int failureThreshold;
+    protected final long openDurationNanos;
+    private final AtomicReference<State> state = new AtomicReference<>(State.CLOSED);
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private final AtomicLong rejected = new AtomicLong();
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+    private final AtomicLong stateChangedAt = new AtomicLong(System.nanoTime());
+
+    /**
+     * @param name             the name used in log messages
+     * @param logger           the logger
+     * @param failureThreshold the amount of consecutive failures after which the circuit opens
+     * @param openDuration     the time the circuit stays open before a probe is let through
+     * @param unit             the unit of the open duration
+     */
+    public CircuitBreaker(final String name, final LoggerAdapter logger,
+            final int failureThreshold, final long openDuration, final TimeUnit unit) {
+        if (failureThreshold < 1) {
+            throw new IllegalArgumentException("failureThreshold must be at least 1");
+        }
+
+        this.name = name;
+        this.logger = logger;
+        this.failureThreshold = failureThreshold;
+        this.openDurationNanos = unit.toNanos(openDuration);
+    }
+
+    /**
+     * Checks whether an exception indicates that the database could not be reached.
+     *
+     * @param e the exception
+     * @return true, if it is a connection failure
+     */
+    public static boolean isConnectionFailure(@NonNull final SQLException e) {
+        final String sqlState = e.getSQLState();
+
+        return e instanceof SQLTransientConnectionException
+                || e instanceof SQLNonTransientConnectionException
+                || (sqlState != null && sqlState.startsWith("08"));
+    }
+
+    /**
+     * Checks whether a call may be attempted. Lets a single probe through once the open
+     * duration has passed.
+     *
+     * @return true, if the call may be attempted
+     */
+    public boolean tryAcquire() {
+        final State current = this.state.get();
+
+        if (current == State.CLOSED) {
+            return true;
+        }
+
+        final long now = System.nanoTime();
+        final long changedAt = this.stateChangedAt.get();
+
+        // only a single caller wins the race and becomes the probe, a stuck probe must not keep
+        // the circuit half open forever though
+        if (now - changedAt >= this.openDurationNanos
+                && this.stateChangedAt.compareAndSet(changedAt, now)) {
+            if (current == State.OPEN) {
+                this.transition(State.OPEN, State.HALF_OPEN);
+            }
+
+            return true;
+        }
+
+        this.rejected.incrementAndGet();
+        return false;
+    }
+
+    /**
+     * Checks whether a call may be attempted.
+     *
+     * @throws StorageUnavailableException if the circuit is open
+     */
+    public void acquire() {
+        if (!this.tryAcquire()) {
+            throw new StorageUnavailableException(
+                    "Circuit breaker '" + this.name + "' is open, database is unavailable.");
+        }
+    }
+
+    /**
+     * Records a successful connection.
+     */
+    public void onSuccess() {
+        this.consecutiveFailures.set(0);
+
+        final State current = this.state.get();
+
+        if (current != State.CLOSED) {
+            this.transition(current, State.CLOSED);
+        }
+    }
+
+    /**
+     * Records a connection failure.
+     */
+    public void onFailure() {
+        final int failures = this.consecutiveFailures.incrementAndGet();
+        final State current = this.state.get();
+
+        if (current == State.HALF_OPEN
+                || (current == State.CLOSED && failures >= this.failureThreshold)) {
+            this.transition(current, State.OPEN);
+        }
+    }
+
+    @NonNull
+    public State getState() {
+        return this.state.get();
+    }
+
+    public boolean isOpen() {
+        return this.state.get() == State.OPEN;
+    }
+
+    public int getConsecutiveFailures() {
+        return this.consecutiveFailures.get();
+    }
+
+    /**
+     * Gets the amount of calls rejected while the circuit was not closed.
+     *
+     * @return the amount of rejected calls
+     */
+    public long getRejected() {
+        return this.rejected.get();
+    }
+
+    public void addListener(@NonNull final Listener listener) {
+        this.listeners.add(listener);
+    }
+
+    public void removeListener(@NonNull final Listener listener) {
+        this.listeners.remove(listener);
+    }
+
+    private boolean transition(final State from, final State to) {
+        if (!this.state.compareAndSet(from, to)) {
+            return false;
+        }
+
+        this.stateChangedAt.set(System.nanoTime());
+
+        if (to == State.OPEN) {
+            this.logger.warn("Circuit breaker '{}' opened after {} consecutive failures.",
+                    this.name, this.consecutiveFailures.get());
+        } else if (to == State.CLOSED) {
+            this.logger.info("Circuit breaker '{}' closed, database is available again.",
+                    this.name);
+        }
+
+        for (final Listener listener : this.listeners) {
+            try {
+                listener.onStateChange(from, to);
+            } catch (final Exception e) {
+                this.logger.severe("Circuit breaker listener failed.", e);
+            }
+        }
+
+        return true;
+    }
+
+    public enum State {
+
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    @FunctionalInterface
+    public interface Listener {
+
+        /**
+         * Called after the state of the circuit breaker changed.
+         *
+         * @param from the previous state
+         * @param to   the new state
+         */
+        void onStateChange(@NonNull State from, @NonNull State to);
+    }
+}
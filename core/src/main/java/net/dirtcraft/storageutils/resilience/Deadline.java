@@ -0,0 +1,188 @@
+/*
+ * Copyright (c) 2025 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * ALL RIGHTS RESERVED.
+ */
+
+package net.dirtcraft.storageutils.resilience;
+
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * The time budget of a task, which may also be cancelled cooperatively. Every statement of the
+ * task is bounded by the remaining budget and retries as well as their backoff count against it.
+ * A deadline belongs to a single task.
+ */
+public final class Deadline {
+
+    private final long deadlineNanos;
+    private final boolean bounded;
+    private final List<Runnable> cancelListeners = new CopyOnWriteArrayList<>();
+    private final CountDownLatch cancelled = new CountDownLatch(1);
+
+    private Deadline(final long deadlineNanos, final boolean bounded) {
+        this.deadlineNanos = deadlineNanos;
+        this.bounded = bounded;
+    }
+
+    /**
+     * Creates a deadline passing after the given timeout.
+     *
+     * @param timeout the timeout
+     * @param unit    the unit of the timeout
+     * @return the deadline
+     */
+    @NonNull
+    public static Deadline after(final long timeout, @NonNull final TimeUnit unit) {
+        return new Deadline(System.nanoTime() + unit.toNanos(timeout), true);
+    }
+
+    /**
+     * Creates a deadline which never passes, but can still be cancelled.
+     *
+     * @return the deadline
+     */
+    @NonNull
+    public static Deadline unbounded() {
+        return new Deadline(0, false);
+    }
+
+    public boolean isBounded() {
+        return this.bounded;
+    }
+
+    /**
+     * Gets the remaining budget.
+     *
+     * @param unit the unit
+     * @return the remaining budget, at least 0, or {@link Long#MAX_VALUE} if unbounded
+     */
+    public long remaining(@NonNull final TimeUnit unit) {
+        if (!this.bounded) {
+            return Long.MAX_VALUE;
+        }
+
+        return unit.convert(Math.max(0, this.deadlineNanos - System.nanoTime()),
+                TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Gets the remaining budget in whole seconds as used by JDBC query timeouts.
+     *
+     * @return the remaining seconds rounded up, at least 1, or 0 if unbounded
+     */
+    public int remainingSeconds() {
+        if (!this.bounded) {
+            return 0;
+        }
+
+        final long seconds = (this.remaining(TimeUnit.MILLISECONDS) + 999) / 1000;
+
+        return (int) Math.min(Integer.MAX_VALUE, Math.max(1, seconds));
+    }
+
+    public boolean isExpired() {
+        return this.bounded && this.deadlineNanos - System.nanoTime() <= 0;
+    }
+
+    public boolean isCancelled() {
+        return this.cancelled.getCount() == 0;
+    }
+
+    /**
+     * Cancels the task. Registered listeners, which cancel the running statement, are notified
+     * once.
+     */
+    public void cancel() {
+        if (this.isCancelled()) {
+            return;
+        }
+
+        this.cancelled.countDown();
+
+        for (final Runnable listener : this.cancelListeners) {
+            listener.run();
+        }
+    }
+
+    /**
+     * Registers a listener run upon cancellation, immediately if already cancelled.
+     *
+     * @param listener the listener
+     * @return the registration, closing it removes the listener
+     */
+    @NonNull
+    public Registration onCancel(@NonNull final Runnable listener) {
+        this.cancelListeners.add(listener);
+
+        if (this.isCancelled() && this.cancelListeners.remove(listener)) {
+            listener.run();
+        }
+
+        return () -> this.cancelListeners.remove(listener);
+    }
+
+    /**
+     * Sleeps for the given time, but at most until the deadline passes or it is cancelled.
+     *
+     * @param millis the time to sleep in milliseconds
+     * @throws InterruptedException if the thread was interrupted
+     */
+    public void sleep(final long millis) throws InterruptedException {
+        final long sleep = Math.min(TimeUnit.MILLISECONDS.toNanos(millis),
+                this.remaining(TimeUnit.NANOSECONDS));
+
+        if (sleep > 0) {
+            //noinspection ResultOfMethodCallIgnored
+            this.cancelled.await(sleep, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Checks whether the task may continue.
+     *
+     * @throws CancellationException     if the task was cancelled
+     * @throws DeadlineExceededException if the deadline has passed
+     */
+    public void check() {
+        this.check(null);
+    }
+
+    /**
+     * Checks whether the task may continue after it failed with the given cause, which is likely
+     * a consequence of the cancelled statement or of the query timeout.
+     *
+     * @param cause the cause
+     * @throws CancellationException     if the task was cancelled
+     * @throws DeadlineExceededException if the deadline has passed
+     */
+    public void check(@Nullable final Throwable cause) {
+        if (this.isCancelled()) {
+            final CancellationException exception =
+                    new CancellationException("Task has been cancelled.");
+
+            exception.initCause(cause);
+            throw exception;
+        }
+
+        if (this.isExpired()) {
+            throw new DeadlineExceededException("Deadline of the task has passed.", cause);
+        }
+    }
+
+    /**
+     * A registered cancellation listener.
+     */
+    @FunctionalInterface
+    public interface Registration extends AutoCloseable {
+
+        @Override
+        void close();
+    }
+}
@@ -0,0 +1,23 @@
+/*
+ * Copyright (c) 2025 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * ALL RIGHTS RESERVED.
+ */
+
+package net.dirtcraft.storageutils.resilience;
+
+/**
+ * Thrown once the {@link Deadline} of a task has passed, including the time spent on retries.
+ */
+public class DeadlineExceededException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public DeadlineExceededException(final String message) {
+        super(message);
+    }
+
+    public DeadlineExceededException(final String message, final Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,23 @@
+/*
+ * Copyright (c) 2025 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * ALL RIGHTS RESERVED.
+ */
+
+package net.dirtcraft.storageutils.resilience;
+
+/**
+ * Thrown instead of waiting for a connection while the {@link CircuitBreaker} is open.
+ */
+public class StorageUnavailableException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public StorageUnavailableException(final String message) {
+        super(message);
+    }
+
+    public StorageUnavailableException(final String message, final Throwable cause) {
+        super(message, cause);
+    }
+}
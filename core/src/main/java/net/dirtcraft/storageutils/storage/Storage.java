@@ -10,7 +10,10 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.concurrent.CompletableFuture;
 import net.dirtcraft.storageutils.logging.LoggerAdapter;
+import net.dirtcraft.storageutils.monitoring.StorageStats;
 import net.dirtcraft.storageutils.storage.implementation.StorageImplementation;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 /**
  * Provides a {@link CompletableFuture} based API for interacting with a
@@ -20,6 +23,8 @@ public class Storage<S extends StorageImplementation> {
 
     protected final LoggerAdapter logger;
     protected final S implementation;
+    @Nullable
+    private StorageStats lastSnapshot;
 
     public Storage(final LoggerAdapter logger, final S implementation) {
         this.logger = logger;
@@ -38,6 +43,24 @@ public class Storage<S extends StorageImplementation> {
         this.implementation.init();
     }
 
+    /**
+     * Takes a snapshot of the storage statistics. Deltas are relative to the previous snapshot.
+     *
+     * @return the snapshot
+     */
+    @NonNull
+    public synchronized StorageStats snapshot() {
+        final StorageStats.Builder builder = StorageStats.builder();
+
+        this.collectStats(builder);
+        this.lastSnapshot = builder.build(this.lastSnapshot);
+        return this.lastSnapshot;
+    }
+
+    protected void collectStats(final StorageStats.@NonNull Builder builder) {
+        this.implementation.collectStats(builder);
+    }
+
     public void shutdown() {
         try {
             this.implementation.shutdown();
@@ -0,0 +1,24 @@
+/*
+ * Copyright (c) 2025 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * ALL RIGHTS RESERVED.
+ */
+
+package net.dirtcraft.storageutils.storage.implementation;
+
+import net.dirtcraft.storageutils.monitoring.StorageStats;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+public interface StorageImplementation {
+
+    void init() throws Exception;
+
+    void shutdown();
+
+    /**
+     * Adds the current statistics of this implementation to the builder.
+     *
+     * @param builder the builder
+     */
+    default void collectStats(final StorageStats.@NonNull Builder builder) {}
+}
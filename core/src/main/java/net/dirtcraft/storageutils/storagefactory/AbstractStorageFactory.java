@@ -30,6 +30,7 @@ public abstract class AbstractStorageFactory<S extends Storage<?>> implements St
         final StorageType type = this.getStorageType();
 
         this.logger.info("Loading storage provider... [" + type.name() + "]");
+        type.requireDriver();
 
         final S storage = this.createStorage(type);
 
@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2025 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * ALL RIGHTS RESERVED.
+ */
+
+package net.dirtcraft.storageutils.util;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free histogram of durations with logarithmic buckets.
+ * <p>
+ * Each power of two is split into four sub-buckets, so percentiles are accurate to within 25%.
+ * Recording a value never allocates.
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 2;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = (64 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong totalNanos = new AtomicLong();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    private static int bucketOf(final long nanos) {
+        if (nanos < SUB_BUCKETS) {
+            return (int) Math.max(0, nanos);
+        }
+
+        final int exponent = 63 - Long.numberOfLeadingZeros(nanos);
+        final int subBucket =
+                (int) (nanos >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    private static long upperBoundOf(final int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+
+        final int exponent = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        final long subBucket = bucket % SUB_BUCKETS;
+
+        return ((SUB_BUCKETS + subBucket + 1) << (exponent - SUB_BUCKET_BITS)) - 1;
+    }
+
+    /**
+     * Records a duration.
+     *
+     * @param duration the duration
+     * @param unit     the unit of the duration
+     */
+    public void record(final long duration, final TimeUnit unit) {
+        this.recordNanos(unit.toNanos(duration));
+    }
+
+    public void recordNanos(final long nanos) {
+        this.counts.incrementAndGet(bucketOf(nanos));
+        this.count.incrementAndGet();
+        this.totalNanos.addAndGet(nanos);
+        this.maxNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    public long getCount() {
+        return this.count.get();
+    }
+
+    public long getMax(final TimeUnit unit) {
+        return unit.convert(this.maxNanos.get(), TimeUnit.NANOSECONDS);
+    }
+
+    public long getMean(final TimeUnit unit) {
+        final long count = this.count.get();
+
+        return count == 0 ? 0 : unit.convert(this.totalNanos.get() / count, TimeUnit.NANOSECONDS);
+    }
+
+    public long getTotal(final TimeUnit unit) {
+        return unit.convert(this.totalNanos.get(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Gets the value at the given percentile.
+     *
+     * @param percentile the percentile between 0 and 100
+     * @param unit       the unit of the result
+     * @return the upper bound of the bucket containing the percentile
+     */
+    public long getPercentile(final double percentile, final TimeUnit unit) {
+        final long count = this.count.get();
+
+        if (count == 0) {
+            return 0;
+        }
+
+        final long target = Math.max(1, (long) Math.ceil(count * percentile / 100D));
+        long seen = 0;
+
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += this.counts.get(i);
+
+            if (seen >= target) {
+                return unit.convert(Math.min(upperBoundOf(i), this.maxNanos.get()),
+                        TimeUnit.NANOSECONDS);
+            }
+        }
+
+        return this.getMax(unit);
+    }
+
+    /**
+     * Adds all values recorded by another histogram to this one.
+     *
+     * @param other the other histogram
+     */
+    public void add(final LatencyHistogram other) {
+        for (int i = 0; i < BUCKETS; i++) {
+            final long value = other.counts.get(i);
+
+            if (value != 0) {
+                this.counts.addAndGet(i, value);
+            }
+        }
+
+        this.count.addAndGet(other.count.get());
+        this.totalNanos.addAndGet(other.totalNanos.get());
+        this.maxNanos.accumulateAndGet(other.maxNanos.get(), Math::max);
+    }
+
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            this.counts.set(i, 0);
+        }
+
+        this.count.set(0);
+        this.totalNanos.set(0);
+        this.maxNanos.set(0);
+    }
+
+    @Override
+    public String toString() {
+        return "LatencyHistogram{" + "count=" + this.getCount() + ", meanMs="
+                + this.getMean(TimeUnit.MILLISECONDS) + ", p50Ms="
+                + this.getPercentile(50, TimeUnit.MILLISECONDS) + ", p99Ms="
+                + this.getPercentile(99, TimeUnit.MILLISECONDS) + ", maxMs="
+                + this.getMax(TimeUnit.MILLISECONDS) + '}';
+    }
+}
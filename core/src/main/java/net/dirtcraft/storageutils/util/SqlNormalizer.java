@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2025 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * ALL RIGHTS RESERVED.
+ */
+
+package net.dirtcraft.storageutils.util;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * Normalizes SQL statements to their shape, so statements only differing in literals or in the
+ * length of value lists are grouped together.
+ */
+public final class SqlNormalizer {
+
+    private static final int CACHE_LIMIT = 4096;
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^'\\\\]|\\\\.|'')*'");
+    private static final Pattern NUMERIC_LITERAL =
+            Pattern.compile("(?<![\\w.`\"])-?\\d+(?:\\.\\d+)?(?![\\w`\"])");
+    private static final Pattern PLACEHOLDER_LIST =
+            Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern ROW_LIST =
+            Pattern.compile("\\(\\?\\)(?:\\s*,\\s*\\(\\?\\))+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    // statements issued by Hibernate are constant strings, caching saves the regex work
+    private static final Map<String, String> CACHE = new ConcurrentHashMap<>();
+
+    private SqlNormalizer() {}
+
+    /**
+     * Normalizes a statement by replacing literals with placeholders, collapsing value lists and
+     * whitespace.
+     *
+     * @param sql the statement
+     * @return the normalized statement
+     */
+    @NonNull
+    public static String normalize(@NonNull final String sql) {
+        final String cached = CACHE.get(sql);
+
+        if (cached != null) {
+            return cached;
+        }
+
+        String normalized = STRING_LITERAL.matcher(sql).replaceAll("?");
+        normalized = NUMERIC_LITERAL.matcher(normalized).replaceAll("?");
+        normalized = WHITESPACE.matcher(normalized).replaceAll(" ").trim();
+        normalized = PLACEHOLDER_LIST.matcher(normalized).replaceAll("(?)");
+        normalized = ROW_LIST.matcher(normalized).replaceAll("(?)");
+
+        if (CACHE.size() >= CACHE_LIMIT) {
+            CACHE.clear();
+        }
+
+        CACHE.put(sql, normalized);
+        return normalized;
+    }
+
+    /**
+     * Counts the JDBC placeholders of a statement, ignoring question marks in string literals.
+     *
+     * @param sql the statement
+     * @return the amount of placeholders
+     */
+    public static int countPlaceholders(@NonNull final String sql) {
+        int count = 0;
+        boolean quoted = false;
+
+        for (int i = 0; i < sql.length(); i++) {
+            final char c = sql.charAt(i);
+
+            if (c == '\'') {
+                quoted = !quoted;
+            } else if (c == '?' && !quoted) {
+                count++;
+            }
+        }
+
+        return count;
+    }
+}
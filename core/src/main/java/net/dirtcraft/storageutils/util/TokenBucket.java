@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2025 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * ALL RIGHTS RESERVED.
+ */
+
+package net.dirtcraft.storageutils.util;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limits the rate of an operation to a fixed amount of permits per second.
+ * <p>
+ * Unused permits are stored for up to one second, so short bursts are not throttled. A blocking
+ * acquisition of more permits than available goes into debt, which later acquisitions wait
+ * for, hence large batches are throttled as well.
+ */
+public final class TokenBucket {
+
+    private final double permitsPerNano;
+    private final double capacity;
+    private double available;
+    private long refilledAt;
+
+    /**
+     * @param permitsPerSecond the amount of permits per second
+     */
+    public TokenBucket(final double permitsPerSecond) {
+        if (!(permitsPerSecond > 0)) {
+            throw new IllegalArgumentException("The rate has to be positive, got "
+                    + permitsPerSecond + '.');
+        }
+
+        this.permitsPerNano = permitsPerSecond / TimeUnit.SECONDS.toNanos(1);
+        this.capacity = Math.max(1, permitsPerSecond);
+        this.available = this.capacity;
+        this.refilledAt = System.nanoTime();
+    }
+
+    /**
+     * Acquires a permit if one is available.
+     *
+     * @return true, if a permit was acquired
+     */
+    public synchronized boolean tryAcquire() {
+        this.refill();
+
+        if (this.available < 1) {
+            return false;
+        }
+
+        this.available--;
+        return true;
+    }
+
+    /**
+     * Acquires permits, waiting until the debt of previous acquisitions has been paid off.
+     *
+     * @param permits the amount of permits
+     * @throws InterruptedException if the thread was interrupted while waiting
+     */
+    public void acquire(final int permits) throws InterruptedException {
+        final long waitNanos;
+
+        synchronized (this) {
+            this.refill();
+            this.available -= permits;
+            waitNanos = this.available >= 0 ? 0
+                    : (long) Math.ceil(-this.available / this.permitsPerNano);
+        }
+
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+
+    private void refill() {
+        final long now = System.nanoTime();
+
+        this.available = Math.min(this.capacity,
+                this.available + (now - this.refilledAt) * this.permitsPerNano);
+        this.refilledAt = now;
+    }
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright (c) 2025 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * ALL RIGHTS RESERVED.
+ */
+
+package net.dirtcraft.storageutils.warmup;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import net.dirtcraft.storageutils.logging.LoggerAdapter;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Warms up a storage after startup: connections are created up front instead of lazily, hot
+ * statements are prepared on each of them and user supplied actions are run to warm up the JIT.
+ */
+public final class WarmUp {
+
+    private WarmUp() {}
+
+    /**
+     * Starts a warm-up on a background thread.
+     *
+     * @param logger             the logger
+     * @param plan               the plan
+     * @param source             the pool, or null to only run the actions
+     * @param statementProcessor the statement processor applied to the hot statements
+     * @return a future completed once the warm-up is done. Failed connections, statements and
+     *         actions are part of the report, it is only completed exceptionally if the warm-up
+     *         itself failed unexpectedly
+     */
+    @NonNull
+    public static CompletableFuture<WarmUpReport> start(@NonNull final LoggerAdapter logger,
+            @NonNull final WarmUpPlan plan, @Nullable final ConnectionSource source,
+            @NonNull final Function<String, String> statementProcessor) {
+        final CompletableFuture<WarmUpReport> future = new CompletableFuture<>();
+        final Thread thread = new Thread(() -> {
+            try {
+                future.complete(run(logger, plan, source, statementProcessor));
+            } catch (final Throwable t) {
+                future.completeExceptionally(t);
+            }
+        }, "storage-warmup");
+
+        thread.setDaemon(true);
+        thread.start();
+        return future;
+    }
+
+    /**
+     * Runs a warm-up on the calling thread.
+     *
+     * @param logger             the logger
+     * @param plan               the plan
+     * @param source             the pool, or null to only run the actions
+     * @param statementProcessor the statement processor applied to the hot statements
+     * @return the report
+     */
+    @NonNull
+    public static WarmUpReport run(@NonNull final LoggerAdapter logger,
+            @NonNull final WarmUpPlan plan, @Nullable final ConnectionSource source,
+            @NonNull final Function<String, String> statementProcessor) {
+        final long start = System.currentTimeMillis();
+        final long deadline = start + plan.timeoutMillis;
+        final List<Connection> connections = new ArrayList<>();
+        final Set<String> failedStatements = new HashSet<>();
+        int prepared = 0;
+        int failures = 0;
+        int actionRuns = 0;
+
+        if (source != null) {
+            final int target = plan.connections >= 0 ? plan.connections
+                    : Math.max(1, source.getMinimumIdle());
+
+            try {
+                // holding the connections forces the pool to create new ones
+                while (connections.size() < target && System.currentTimeMillis() < deadline) {
+                    final Connection connection;
+
+                    try {
+                        connection = source.open();
+                    } catch (final SQLException e) {
+                        failures++;
+                        logger.warn("Could not open connection {} of {} during warm-up: {}",
+                                connections.size() + 1, target, e.getMessage());
+                        break;
+                    }
+
+                    connections.add(connection);
+
+                    for (final String statement : plan.statements) {
+                        try {
+                            // preparing is enough to warm up the statement caches
+                            connection.prepareStatement(statementProcessor.apply(statement))
+                                    .close();
+                            prepared++;
+                        } catch (final SQLException e) {
+                            failures++;
+
+                            if (failedStatements.add(statement)) {
+                                logger.warn("Could not prepare {} during warm-up: {}", statement,
+                                        e.getMessage());
+                            }
+                        }
+                    }
+                }
+            } finally {
+                for (final Connection connection : connections) {
+                    try {
+                        source.release(connection);
+                    } catch (final SQLException e) {
+                        logger.warn("Could not release connection after warm-up: {}",
+                                e.getMessage());
+                    }
+                }
+            }
+        }
+
+        actions:
+        for (final WarmUpPlan.NamedAction action : plan.actions) {
+            boolean logged = false;
+
+            for (int i = 0; i < action.iterations; i++) {
+                if (System.currentTimeMillis() >= deadline) {
+                    break actions;
+                }
+
+                try {
+                    action.action.run();
+                    actionRuns++;
+                } catch (final Exception e) {
+                    failures++;
+
+                    if (!logged) {
+                        logger.warn("Warm-up action '{}' failed: {}", action.name,
+                                e.getMessage());
+                        logged = true;
+                    }
+                }
+            }
+        }
+
+        final WarmUpReport report = new WarmUpReport(System.currentTimeMillis() - start,
+                connections.size(), prepared, actionRuns, failures,
+                System.currentTimeMillis() >= deadline);
+
+        logger.info("Storage warmed up in {} ms: {} connections, {} prepared statements, {} action"
+                        + " runs, {} failures{}.", report.getDurationMillis(),
+                report.getConnections(), report.getPreparedStatements(), report.getActionRuns(),
+                report.getFailures(), report.isTimedOut() ? ", timed out" : "");
+        return report;
+    }
+
+    /**
+     * The pool connections are taken from.
+     */
+    public interface ConnectionSource {
+
+        @NonNull
+        Connection open() throws SQLException;
+
+        void release(@NonNull Connection connection) throws SQLException;
+
+        /**
+         * Gets the minimum of idle connections the pool keeps, the default amount of
+         * connections opened by the warm-up.
+         *
+         * @return the minimum of idle connections
+         */
+        int getMinimumIdle();
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2025 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * ALL RIGHTS RESERVED.
+ */
+
+package net.dirtcraft.storageutils.warmup;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * Describes how a storage is warmed up after {@code init()}, see {@link WarmUp}.
+ * <pre>{@code
+ * storage.warmUp(WarmUpPlan.create()
+ *         .statement("SELECT * FROM {prefix}players WHERE uuid = ?")
+ *         .action("load player", 200, () -> storage.loadPlayer(WARM_UP_UUID)))
+ *         .thenRun(server::acceptPlayers);
+ * }</pre>
+ */
+public class WarmUpPlan {
+
+    protected final List<String> statements = new ArrayList<>();
+    protected final List<NamedAction> actions = new ArrayList<>();
+    protected int connections = -1;
+    protected long timeoutMillis = TimeUnit.MINUTES.toMillis(1);
+
+    protected WarmUpPlan() {}
+
+    @NonNull
+    public static WarmUpPlan create() {
+        return new WarmUpPlan();
+    }
+
+    /**
+     * Adds hot statements which are prepared on every connection, so the prepared statement
+     * caches of the driver and the server are filled. Statements executed by Hibernate have to
+     * match the generated SQL exactly, e.g. as logged by the {@code SlowQueryLog}.
+     *
+     * @param statements the statements
+     * @return this plan
+     */
+    @NonNull
+    public WarmUpPlan statement(@NonNull final String... statements) {
+        this.statements.addAll(Arrays.asList(statements));
+        return this;
+    }
+
+    /**
+     * Adds an action which is run repeatedly to warm up the JIT and the caches of the database,
+     * e.g. a representative task.
+     *
+     * @param name       the name used in the log
+     * @param iterations how often the action is run
+     * @param action     the action
+     * @return this plan
+     */
+    @NonNull
+    public WarmUpPlan action(@NonNull final String name, final int iterations,
+            @NonNull final Action action) {
+        this.actions.add(new NamedAction(name, iterations, action));
+        return this;
+    }
+
+    /**
+     * Sets the amount of connections opened up front.
+     *
+     * @param connections the amount of connections, by default the minimum of idle connections
+     * @return this plan
+     */
+    @NonNull
+    public WarmUpPlan connections(final int connections) {
+        this.connections = connections;
+        return this;
+    }
+
+    /**
+     * Sets the time after which the warm-up is completed even if not all steps have been run.
+     *
+     * @param timeout the timeout
+     * @param unit    the unit of the timeout
+     * @return this plan
+     */
+    @NonNull
+    public WarmUpPlan timeout(final long timeout, @NonNull final TimeUnit unit) {
+        this.timeoutMillis = unit.toMillis(timeout);
+        return this;
+    }
+
+    /**
+     * A user supplied warm-up action.
+     */
+    @FunctionalInterface
+    public interface Action {
+
+        void run() throws Exception;
+    }
+
+    protected static final class NamedAction {
+
+        final String name;
+        final int iterations;
+        final Action action;
+
+        private NamedAction(final String name, final int iterations, final Action action) {
+            this.name = name;
+            this.iterations = iterations;
+            this.action = action;
+        }
+    }
+}
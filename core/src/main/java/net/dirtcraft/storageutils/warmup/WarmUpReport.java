@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2025 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * ALL RIGHTS RESERVED.
+ */
+
+package net.dirtcraft.storageutils.warmup;
+
+/**
+ * The outcome of a warm-up. A warm-up never fails, failed steps are counted instead.
+ */
+public final class WarmUpReport {
+
+    private final long durationMillis;
+    private final int connections;
+    private final int preparedStatements;
+    private final int actionRuns;
+    private final int failures;
+    private final boolean timedOut;
+
+    WarmUpReport(final long durationMillis, final int connections, final int preparedStatements,
+            final int actionRuns, final int failures, final boolean timedOut) {
+        this.durationMillis = durationMillis;
+        this.connections = connections;
+        this.preparedStatements = preparedStatements;
+        this.actionRuns = actionRuns;
+        this.failures = failures;
+        this.timedOut = timedOut;
+    }
+
+    public long getDurationMillis() {
+        return this.durationMillis;
+    }
+
+    /**
+     * Gets the amount of connections which were held at the same time.
+     *
+     * @return the amount of connections
+     */
+    public int getConnections() {
+        return this.connections;
+    }
+
+    public int getPreparedStatements() {
+        return this.preparedStatements;
+    }
+
+    public int getActionRuns() {
+        return this.actionRuns;
+    }
+
+    public int getFailures() {
+        return this.failures;
+    }
+
+    public boolean isTimedOut() {
+        return this.timedOut;
+    }
+
+    @Override
+    public String toString() {
+        return "WarmUpReport{" + "durationMillis=" + this.durationMillis + ", connections="
+                + this.connections + ", preparedStatements=" + this.preparedStatements
+                + ", actionRuns=" + this.actionRuns + ", failures=" + this.failures
+                + ", timedOut=" + this.timedOut + '}';
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2025 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * ALL RIGHTS RESERVED.
+ */
+
+package net.dirtcraft.storageutils.monitoring.jfr;
+
+import java.util.Locale;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * Emits JDK Flight Recorder events for storage operations, so database latency can be
+ * correlated with GC and thread states in one recording. This is the Java 11 version packaged
+ * in {@code META-INF/versions/11}. While an event is disabled, beginning it only allocates the
+ * event, which is usually eliminated by escape analysis.
+ */
+public final class StorageEvents {
+
+    private static final String CATEGORY = "Storage Utils";
+
+    private StorageEvents() {}
+
+    public static boolean isSupported() {
+        return true;
+    }
+
+    @NonNull
+    public static EventSpan taskAttempt(@NonNull final Object task, final int attempt) {
+        return begin(new TaskAttemptEvent(), task, attempt);
+    }
+
+    @NonNull
+    public static EventSpan retry(@NonNull final Object task, final int attempt) {
+        return begin(new RetryEvent(), task, attempt);
+    }
+
+    @NonNull
+    public static EventSpan rollback(@NonNull final Object task, final int attempt) {
+        return begin(new RollbackEvent(), task, attempt);
+    }
+
+    @NonNull
+    public static EventSpan sessionOpen(@NonNull final Object task, final int attempt) {
+        return begin(new SessionOpenEvent(), task, attempt);
+    }
+
+    @NonNull
+    public static EventSpan postCommit(@NonNull final Object task, final int attempt) {
+        return begin(new PostCommitEvent(), task, attempt);
+    }
+
+    @NonNull
+    public static EventSpan connectionAcquire(@NonNull final String pool) {
+        return begin(new ConnectionAcquireEvent(), pool, 1);
+    }
+
+    @NonNull
+    public static EventSpan schemaApply(@NonNull final Object storage) {
+        return begin(new SchemaApplyEvent(), storage, 1);
+    }
+
+    @NonNull
+    private static EventSpan begin(@NonNull final StorageEvent event,
+            @NonNull final Object source, final int attempt) {
+        if (!event.isEnabled()) {
+            return EventSpan.NOOP;
+        }
+
+        event.label = EventLabels.of(source);
+        event.attempt = attempt;
+        event.begin();
+        return event;
+    }
+
+    @Category(CATEGORY)
+    @StackTrace(false)
+    abstract static class StorageEvent extends Event implements EventSpan {
+
+        @Label("Label")
+        @Description("The class submitting the task, or the name of the pool")
+        String label;
+
+        @Label("Attempt")
+        int attempt;
+
+        @Label("Outcome")
+        String outcome;
+
+        private transient boolean ended;
+
+        @Override
+        public void end(@NonNull final EventOutcome outcome) {
+            if (this.ended) {
+                return;
+            }
+
+            this.ended = true;
+            this.end();
+
+            if (this.shouldCommit()) {
+                this.outcome = outcome.name().toLowerCase(Locale.ROOT);
+                this.commit();
+            }
+        }
+    }
+
+    @Name("net.dirtcraft.storageutils.TaskAttempt")
+    @Label("Task Attempt")
+    @Description("An attempt of a task, from beginning until committing its transaction")
+    static final class TaskAttemptEvent extends StorageEvent {}
+
+    @Name("net.dirtcraft.storageutils.Retry")
+    @Label("Retry")
+    @Description("The backoff before a failed attempt of a task is retried")
+    static final class RetryEvent extends StorageEvent {}
+
+    @Name("net.dirtcraft.storageutils.Rollback")
+    @Label("Rollback")
+    @Description("The rollback of a failed attempt, including its rollback callbacks")
+    static final class RollbackEvent extends StorageEvent {}
+
+    @Name("net.dirtcraft.storageutils.SessionOpen")
+    @Label("Session Open")
+    @Description("Opening a session, until its first transaction acquired a connection")
+    static final class SessionOpenEvent extends StorageEvent {}
+
+    @Name("net.dirtcraft.storageutils.PostCommit")
+    @Label("Post-Commit Callbacks")
+    @Description("The callbacks of a task queued upon commit")
+    static final class PostCommitEvent extends StorageEvent {}
+
+    @Name("net.dirtcraft.storageutils.ConnectionAcquire")
+    @Label("Connection Acquire")
+    @Description("Acquiring a connection from a pool")
+    static final class ConnectionAcquireEvent extends StorageEvent {}
+
+    @Name("net.dirtcraft.storageutils.SchemaApply")
+    @Label("Schema Apply")
+    @Description("Applying the schema of a storage")
+    static final class SchemaApplyEvent extends StorageEvent {}
+}
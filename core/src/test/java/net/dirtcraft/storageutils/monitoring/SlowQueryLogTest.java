@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2025 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * ALL RIGHTS RESERVED.
+ */
+
+package net.dirtcraft.storageutils.monitoring;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import net.dirtcraft.storageutils.logging.Log4jLoggerAdapter;
+import org.junit.jupiter.api.Test;
+
+class SlowQueryLogTest {
+
+    private static final int CAPACITY = 16;
+
+    private final SlowQueryLog log = new SlowQueryLog(new Log4jLoggerAdapter("slow-queries"),
+            1, TimeUnit.HOURS, 1, CAPACITY);
+
+    @Test
+    void aggregatesStatementsByTheirNormalizedForm() {
+        this.log.onStatement("SELECT * FROM bans WHERE id = 1", 0, 1, 10);
+        this.log.onStatement("SELECT * FROM bans WHERE id = 2", 0, 3, 30);
+
+        final SlowQueryLog.StatementStats stats = this.log.getSlowest(1).get(0);
+
+        assertEquals(2, stats.getCount());
+        assertEquals(40, stats.getTotalNanos());
+        assertEquals(30, stats.getMaxNanos());
+        assertEquals(3, stats.getMaxRows());
+        assertEquals("SELECT * FROM bans WHERE id = 2", stats.getSlowestSql());
+    }
+
+    @Test
+    void keepsTheSlowestStatementsWithinTheCapacity() throws InterruptedException {
+        this.log.onStatement("SELECT * FROM slow", 0, 0, TimeUnit.SECONDS.toNanos(1));
+
+        final List<Thread> threads = new ArrayList<>();
+
+        for (int t = 0; t < 4; t++) {
+            final int thread = t;
+
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    this.log.onStatement("SELECT * FROM fast_" + thread + '_' + i, 0, 0, i);
+                }
+            }));
+        }
+
+        threads.forEach(Thread::start);
+
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+
+        assertTrue(this.log.getSlowest(Integer.MAX_VALUE).size() <= CAPACITY);
+        assertEquals("SELECT * FROM slow", this.log.getSlowest(1).get(0).getNormalizedSql());
+
+        this.log.reset();
+
+        assertEquals(0, this.log.getSlowest(Integer.MAX_VALUE).size());
+    }
+
+    @Test
+    void rejectsAnEmptyTable() {
+        assertThrows(IllegalArgumentException.class, () -> new SlowQueryLog(
+                new Log4jLoggerAdapter("slow-queries"), 1, TimeUnit.HOURS, 1, 0));
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2025 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * ALL RIGHTS RESERVED.
+ */
+
+package net.dirtcraft.storageutils.gradle;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.gradle.api.Action;
+import org.gradle.api.GradleException;
+import org.gradle.api.Task;
+import org.gradle.api.logging.Logger;
+import org.gradle.api.tasks.compile.JavaCompile;
+import org.hibernate.bytecode.enhance.spi.Enhancer;
+
+/**
+ * Enhances the classes in the destination directory of a {@link JavaCompile} task in place.
+ * Classes which are neither entities, embeddables nor mapped superclasses are left untouched.
+ */
+class EnhanceAction implements Action<Task> {
+
+    private static final String CLASS_SUFFIX = ".class";
+
+    private final EnhancerExtension extension;
+
+    EnhanceAction(final EnhancerExtension extension) {
+        this.extension = extension;
+    }
+
+    @Override
+    public void execute(final Task task) {
+        final JavaCompile compile = (JavaCompile) task;
+        final Path classesDir = compile.getDestinationDirectory().get().getAsFile().toPath();
+
+        if (!Files.isDirectory(classesDir)) {
+            return;
+        }
+
+        final Logger logger = task.getLogger();
+        final List<Path> classFiles;
+
+        try (final Stream<Path> files = Files.walk(classesDir)) {
+            classFiles = files.filter(file -> file.toString().endsWith(CLASS_SUFFIX))
+                    .collect(Collectors.toList());
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        final boolean failOnError = this.extension.getFailOnError().get();
+        int enhanced = 0;
+
+        try (final URLClassLoader classLoader = this.createClassLoader(compile, classesDir)) {
+            final Enhancer enhancer = new Enhancer(new EntityEnhancementContext(classLoader,
+                    this.extension.getDirtyTracking().get(),
+                    this.extension.getLazyInitialization().get(),
+                    this.extension.getAssociationManagement().get()));
+
+            for (final Path classFile : classFiles) {
+                final String className = this.getClassName(classesDir, classFile);
+
+                try {
+                    final byte[] original = Files.readAllBytes(classFile);
+                    final byte[] result = enhancer.enhance(className, original);
+
+                    // already enhanced classes of incremental builds come back unchanged
+                    if (result != null && !Arrays.equals(original, result)) {
+                        Files.write(classFile, result);
+                        enhanced++;
+                        logger.debug("Enhanced {}.", className);
+                    }
+                } catch (final IOException | RuntimeException e) {
+                    if (failOnError) {
+                        throw new GradleException("Could not enhance " + className + '.', e);
+                    }
+
+                    logger.warn("Could not enhance {}, leaving it unenhanced.", className, e);
+                }
+            }
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        logger.info("Enhanced {} of {} classes.", enhanced, classFiles.size());
+    }
+
+    private URLClassLoader createClassLoader(final JavaCompile compile, final Path classesDir) {
+        final List<URL> urls = new ArrayList<>();
+
+        try {
+            urls.add(classesDir.toUri().toURL());
+
+            for (final File file : compile.getClasspath()) {
+                urls.add(file.toURI().toURL());
+            }
+        } catch (final MalformedURLException e) {
+            throw new GradleException("Invalid classpath entry.", e);
+        }
+
+        // the enhancer resolves javax.persistence annotations, hence delegate to the plugin first
+        return new URLClassLoader(urls.toArray(new URL[0]), Enhancer.class.getClassLoader());
+    }
+
+    private String getClassName(final Path classesDir, final Path classFile) {
+        final String relative = classesDir.relativize(classFile).toString();
+
+        return relative.substring(0, relative.length() - CLASS_SUFFIX.length())
+                .replace(File.separatorChar, '.');
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2025 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * ALL RIGHTS RESERVED.
+ */
+
+package net.dirtcraft.storageutils.gradle;
+
+import org.gradle.api.provider.Property;
+
+/**
+ * Configures the bytecode enhancement of entity classes, see {@link EnhancerPlugin}.
+ */
+public abstract class EnhancerExtension {
+
+    /**
+     * Whether entities track their dirty attributes themselves instead of Hibernate comparing
+     * snapshots on flush. Enabled by default.
+     *
+     * @return the property
+     */
+    public abstract Property<Boolean> getDirtyTracking();
+
+    /**
+     * Whether basic attributes annotated with {@code @Basic(fetch = FetchType.LAZY)} and to one
+     * associations annotated with {@code @LazyToOne(LazyToOneOption.NO_PROXY)} are loaded on
+     * first access. Enabled by default.
+     *
+     * @return the property
+     */
+    public abstract Property<Boolean> getLazyInitialization();
+
+    /**
+     * Whether setting one side of a bidirectional association also sets the other side.
+     * Disabled by default.
+     *
+     * @return the property
+     */
+    public abstract Property<Boolean> getAssociationManagement();
+
+    /**
+     * Whether a class failing to enhance fails the build. Otherwise it is left as is and Hibernate
+     * falls back to proxies and snapshots for it. Enabled by default.
+     *
+     * @return the property
+     */
+    public abstract Property<Boolean> getFailOnError();
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2025 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * ALL RIGHTS RESERVED.
+ */
+
+package net.dirtcraft.storageutils.gradle;
+
+import org.gradle.api.Plugin;
+import org.gradle.api.Project;
+import org.gradle.api.plugins.JavaPlugin;
+import org.gradle.api.tasks.compile.JavaCompile;
+
+/**
+ * Enhances the entity classes of the main source set with Hibernate's bytecode enhancer right
+ * after they have been compiled.
+ * <p>
+ * Enhanced entities track their dirty attributes themselves, so flushing no longer compares
+ * every managed entity against its snapshot, and support lazy loading of single attributes
+ * without proxies. Hibernate detects enhanced entities on its own, runtime enhancement is not
+ * supported by a native {@code Configuration}. {@code AbstractHibernateConnectionFactory} logs
+ * entities which are not enhanced. Usage:
+ * <pre>{@code
+ * plugins {
+ *     id 'net.dirtcraft.storageutils.enhancer'
+ * }
+ *
+ * storageUtilsEnhancer {
+ *     associationManagement = true
+ * }
+ * }</pre>
+ */
+public class EnhancerPlugin implements Plugin<Project> {
+
+    public static final String EXTENSION_NAME = "storageUtilsEnhancer";
+
+    @Override
+    public void apply(final Project project) {
+        final EnhancerExtension extension =
+                project.getExtensions().create(EXTENSION_NAME, EnhancerExtension.class);
+
+        extension.getDirtyTracking().convention(true);
+        extension.getLazyInitialization().convention(true);
+        extension.getAssociationManagement().convention(false);
+        extension.getFailOnError().convention(true);
+
+        project.getPluginManager().withPlugin("java",
+                plugin -> project.getTasks().named(JavaPlugin.COMPILE_JAVA_TASK_NAME,
+                        JavaCompile.class, task -> {
+                            // enhancing is part of compiling, hence the settings are inputs of it
+                            task.getInputs().property(EXTENSION_NAME + ".dirtyTracking",
+                                    extension.getDirtyTracking());
+                            task.getInputs().property(EXTENSION_NAME + ".lazyInitialization",
+                                    extension.getLazyInitialization());
+                            task.getInputs().property(EXTENSION_NAME + ".associationManagement",
+                                    extension.getAssociationManagement());
+                            task.getInputs().property(EXTENSION_NAME + ".failOnError",
+                                    extension.getFailOnError());
+                            task.doLast(new EnhanceAction(extension));
+                        }));
+    }
+}
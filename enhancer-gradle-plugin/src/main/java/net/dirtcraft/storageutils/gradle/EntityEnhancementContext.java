@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2025 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * ALL RIGHTS RESERVED.
+ */
+
+package net.dirtcraft.storageutils.gradle;
+
+import javassist.CtClass;
+import javassist.CtField;
+import org.hibernate.bytecode.enhance.spi.DefaultEnhancementContext;
+
+/**
+ * Enhancement context applying the features enabled in the {@link EnhancerExtension}.
+ */
+class EntityEnhancementContext extends DefaultEnhancementContext {
+
+    private final ClassLoader classLoader;
+    private final boolean dirtyTracking;
+    private final boolean lazyInitialization;
+    private final boolean associationManagement;
+
+    EntityEnhancementContext(final ClassLoader classLoader, final boolean dirtyTracking,
+            final boolean lazyInitialization, final boolean associationManagement) {
+        this.classLoader = classLoader;
+        this.dirtyTracking = dirtyTracking;
+        this.lazyInitialization = lazyInitialization;
+        this.associationManagement = associationManagement;
+    }
+
+    @Override
+    public ClassLoader getLoadingClassLoader() {
+        return this.classLoader;
+    }
+
+    @Override
+    public boolean doDirtyCheckingInline(final CtClass classDescriptor) {
+        return this.dirtyTracking;
+    }
+
+    @Override
+    public boolean hasLazyLoadableAttributes(final CtClass classDescriptor) {
+        return this.lazyInitialization;
+    }
+
+    @Override
+    public boolean isLazyLoadable(final CtField field) {
+        return this.lazyInitialization && super.isLazyLoadable(field);
+    }
+
+    @Override
+    public boolean doBiDirectionalAssociationManagement(final CtField field) {
+        return this.associationManagement;
+    }
+}
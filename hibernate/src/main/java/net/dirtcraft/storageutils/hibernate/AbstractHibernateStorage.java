@@ -0,0 +1,522 @@
+/*
+ * Copyright (c) 2025 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * ALL RIGHTS RESERVED.
+ */
+
+package net.dirtcraft.storageutils.hibernate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.BatchUpdateException;
+import java.sql.SQLTransactionRollbackException;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.persistence.PersistenceException;
+import net.dirtcraft.storageutils.StorageType;
+import net.dirtcraft.storageutils.config.RetrySettings;
+import net.dirtcraft.storageutils.hibernate.connection.AbstractHibernateConnectionFactory;
+import net.dirtcraft.storageutils.logging.LogLevel;
+import net.dirtcraft.storageutils.logging.LoggerAdapter;
+import net.dirtcraft.storageutils.monitoring.NPlusOneDetector;
+import net.dirtcraft.storageutils.monitoring.StorageStats;
+import net.dirtcraft.storageutils.monitoring.jfr.EventOutcome;
+import net.dirtcraft.storageutils.monitoring.jfr.EventSpan;
+import net.dirtcraft.storageutils.monitoring.jfr.StorageEvents;
+import net.dirtcraft.storageutils.resilience.CircuitBreaker;
+import net.dirtcraft.storageutils.resilience.Deadline;
+import net.dirtcraft.storageutils.resilience.StorageUnavailableException;
+import net.dirtcraft.storageutils.storage.HibernateStorage;
+import net.dirtcraft.storageutils.storage.implementation.HibernateStorageImplementation;
+import net.dirtcraft.storageutils.taskcontext.TaskContext;
+import net.dirtcraft.storageutils.util.SchemaReader;
+import net.dirtcraft.storageutils.warmup.WarmUp;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.hibernate.Session;
+import org.hibernate.Transaction;
+import org.hibernate.exception.JDBCConnectionException;
+
+public abstract class AbstractHibernateStorage<T extends TaskContext>
+        implements HibernateStorageImplementation<T> {
+
+    protected final LoggerAdapter logger;
+    protected final AbstractHibernateConnectionFactory connectionFactory;
+    @Nullable
+    protected final CircuitBreaker circuitBreaker;
+    @Nullable
+    protected volatile RetrySettings retrySettings;
+    @Nullable
+    protected volatile NPlusOneDetector nPlusOneDetector;
+
+    public AbstractHibernateStorage(final LoggerAdapter logger,
+            final AbstractHibernateConnectionFactory connectionFactory) {
+        this(logger, connectionFactory, null);
+    }
+
+    /**
+     * @param logger            the logger
+     * @param connectionFactory the connection factory
+     * @param circuitBreaker    the circuit breaker guarding
+     *                          {@link #performTask(HibernateStorage.ResultTask)}, e.g.
+     *                          {@code new CircuitBreaker(database, logger, 5, 5, SECONDS)}, or
+     *                          null for none
+     */
+    public AbstractHibernateStorage(final LoggerAdapter logger,
+            final AbstractHibernateConnectionFactory connectionFactory,
+            @Nullable final CircuitBreaker circuitBreaker) {
+        this.logger = logger;
+        this.connectionFactory = connectionFactory;
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    protected abstract int getRetriesUponConnectionLoss();
+
+    protected abstract int getRetriesUponException();
+
+    protected abstract long getSleepUponRetry();
+
+    protected abstract long getSleepUponRetryIncrement();
+
+    @NonNull
+    protected abstract T createTaskContext(@NonNull Session session);
+
+    @Override
+    public void init() throws Exception {
+        this.connectionFactory.init();
+
+        final EventSpan schemaSpan = StorageEvents.schemaApply(this);
+
+        try {
+            this.applySchema();
+        } catch (final Exception e) {
+            schemaSpan.end(EventOutcome.FAILURE);
+            throw e;
+        }
+
+        schemaSpan.end(EventOutcome.SUCCESS);
+    }
+
+    @Override
+    public void shutdown() {
+        try {
+            this.connectionFactory.shutdown();
+        } catch (final Exception e) {
+            this.logger.severe("Exception whilst disabling Hibernate storage.", e);
+        }
+    }
+
+    @Override
+    public void collectStats(final StorageStats.@NonNull Builder builder) {
+        this.connectionFactory.collectStats(builder);
+
+        if (this.circuitBreaker != null) {
+            builder.gauge("circuit.state", this.circuitBreaker.getState().ordinal())
+                    .counter("circuit.rejected", this.circuitBreaker.getRejected());
+        }
+    }
+
+    @Override
+    public @Nullable CircuitBreaker getCircuitBreaker() {
+        return this.circuitBreaker;
+    }
+
+    @Override
+    public int getPoolSize() {
+        return this.connectionFactory.getPoolSize();
+    }
+
+    @Override
+    public WarmUp.@Nullable ConnectionSource getWarmUpConnectionSource() {
+        return this.connectionFactory.getWarmUpConnectionSource();
+    }
+
+    /**
+     * Gets the retry settings. Unless overridden by {@link #setRetrySettings(RetrySettings)},
+     * they are taken from the abstract getters.
+     *
+     * @return the retry settings
+     */
+    @NonNull
+    public RetrySettings getRetrySettings() {
+        final RetrySettings retrySettings = this.retrySettings;
+
+        return retrySettings != null ? retrySettings
+                : new RetrySettings(this.getRetriesUponConnectionLoss(),
+                        this.getRetriesUponException(), this.getSleepUponRetry(),
+                        this.getSleepUponRetryIncrement());
+    }
+
+    /**
+     * Overrides the retry settings at runtime. Tasks which are already running keep their
+     * settings.
+     *
+     * @param retrySettings the retry settings, or null to use the abstract getters again
+     */
+    public void setRetrySettings(@Nullable final RetrySettings retrySettings) {
+        this.retrySettings = retrySettings;
+    }
+
+    @Nullable
+    public NPlusOneDetector getNPlusOneDetector() {
+        return this.nPlusOneDetector;
+    }
+
+    /**
+     * Sets the detector counting the statements of each task, see {@link NPlusOneDetector}.
+     *
+     * @param nPlusOneDetector the detector, or null to disable detection
+     */
+    public void setNPlusOneDetector(@Nullable final NPlusOneDetector nPlusOneDetector) {
+        this.nPlusOneDetector = nPlusOneDetector;
+    }
+
+    /**
+     * Perform a task in a context.session(). Session is started and committed automatically.
+     *
+     * @param task the task
+     */
+    @Override
+    public <R> R performTask(final HibernateStorage.@NonNull ResultTask<T, R> task) {
+        return this.performTask(task, null);
+    }
+
+    /**
+     * Perform a task in a context.session() within the given deadline. The remaining budget is
+     * applied as the transaction timeout, which Hibernate passes on as the query timeout of
+     * each statement. Cancelling the deadline cancels the running query, see
+     * {@link #cancelQuery(Session)}.
+     *
+     * @param task     the task
+     * @param deadline the deadline, or null for none
+     */
+    @Override
+    public <R> R performTask(final HibernateStorage.@NonNull ResultTask<T, R> task,
+            @Nullable final Deadline deadline) {
+        final RetrySettings retrySettings = this.getRetrySettings();
+        final int retriesUponConnectionLoss = retrySettings.getRetriesUponConnectionLoss();
+        final int retriesUponException = retrySettings.getRetriesUponException();
+        final NPlusOneDetector nPlusOneDetector = this.nPlusOneDetector;
+        final NPlusOneDetector.Scope scope =
+                nPlusOneDetector == null ? null : nPlusOneDetector.begin();
+        int connectionTryIndex = 0;
+        int attempt = 0;
+
+        while (true) {
+            if (deadline != null) {
+                deadline.check();
+            }
+
+            if (this.circuitBreaker != null) {
+                this.circuitBreaker.acquire();
+            }
+
+            final EventSpan sessionSpan = StorageEvents.sessionOpen(task, connectionTryIndex + 1);
+
+            Deadline.Registration registration = null;
+            // the failure of a task which was already reported to the circuit breaker
+            Exception recordedFailure = null;
+
+            try (final Session session = this.connectionFactory.openSession(scope)) {
+                int tryIndex = 0;
+
+                if (deadline != null) {
+                    registration = deadline.onCancel(() -> this.cancelQuery(session));
+                }
+
+                while (true) {
+                    final Transaction transaction = session.getTransaction();
+
+                    if (deadline != null) {
+                        deadline.check();
+
+                        if (deadline.isBounded()) {
+                            transaction.setTimeout(deadline.remainingSeconds());
+                        }
+                    }
+
+                    transaction.begin();
+                    sessionSpan.end(EventOutcome.SUCCESS);
+                    attempt++;
+
+                    final EventSpan attemptSpan = StorageEvents.taskAttempt(task, attempt);
+                    final T taskContext = this.createTaskContext(session);
+
+                    // beginning a transaction acquires the connection
+                    if (this.circuitBreaker != null) {
+                        this.circuitBreaker.onSuccess();
+                    }
+
+                    try {
+                        final R result = task.execute(taskContext);
+
+                        transaction.commit();
+                        attemptSpan.end(EventOutcome.SUCCESS);
+
+                        final EventSpan postCommitSpan = StorageEvents.postCommit(task, attempt);
+
+                        // execute tasks after transaction was successfully committed
+                        try {
+                            taskContext.executeTasks();
+                        } catch (final RuntimeException e) {
+                            postCommitSpan.end(EventOutcome.FAILURE);
+                            throw e;
+                        }
+
+                        postCommitSpan.end(EventOutcome.SUCCESS);
+
+                        if (scope != null) {
+                            nPlusOneDetector.complete(scope);
+                        }
+
+                        return result;
+                    } catch (final Exception e) {
+                        attemptSpan.end(getOutcome(deadline, EventOutcome.FAILURE));
+
+                        if (transaction.isActive()) {
+                            final EventSpan rollbackSpan = StorageEvents.rollback(task, attempt);
+
+                            transaction.rollback();
+                            taskContext.executeRollbackTasks();
+                            rollbackSpan.end(EventOutcome.SUCCESS);
+                        }
+
+                        if (e instanceof JDBCConnectionException && this.circuitBreaker != null) {
+                            this.circuitBreaker.onFailure();
+                            recordedFailure = e;
+
+                            // release the caller instead of retrying against a dead database
+                            if (this.circuitBreaker.isOpen()) {
+                                throw new StorageUnavailableException(
+                                        "Lost connection to the database.", e);
+                            }
+                        }
+
+                        // a timed out or cancelled statement is not retried
+                        if (deadline != null) {
+                            deadline.check(e);
+                        }
+
+                        if (e instanceof PersistenceException
+                                || e instanceof SQLTransactionRollbackException) {
+                            tryIndex++;
+
+                            if (tryIndex <= retriesUponException) {
+                                final long sleep = retrySettings.getSleepUponRetry() + (tryIndex
+                                        * retrySettings.getSleepUponRetryIncrement());
+                                final EventSpan retrySpan = StorageEvents.retry(task, attempt);
+
+                                // avoids boxing the arguments while debug logging is disabled
+                                if (this.logger.isEnabled(LogLevel.DEBUG)) {
+                                    this.logger.debug(
+                                            "Retrying task in {} ms after attempt {} failed: {}",
+                                            sleep, attempt, e);
+                                }
+
+                                try {
+                                    if (deadline == null) {
+                                        //noinspection BusyWait
+                                        Thread.sleep(sleep);
+                                    } else {
+                                        // the backoff counts against the budget
+                                        deadline.sleep(sleep);
+                                    }
+                                } catch (final InterruptedException ex) {
+                                    retrySpan.end(EventOutcome.CANCELLED);
+                                    throw new RuntimeException(ex);
+                                }
+
+                                retrySpan.end(getOutcome(deadline, EventOutcome.SUCCESS));
+
+                                if (scope != null) {
+                                    scope.reset();
+                                }
+
+                                continue;
+                            }
+
+                            this.logger.severe(
+                                    "Ran into persistence exception after trying {} times.",
+                                    tryIndex);
+                        }
+
+                        if (e instanceof RuntimeException) {
+                            throw (RuntimeException) e;
+                        }
+
+                        throw new CompletionException(e);
+                    }
+                }
+            } catch (final JDBCConnectionException e) {
+                // no-op if the connection was lost after the session had been opened
+                sessionSpan.end(EventOutcome.FAILURE);
+                connectionTryIndex++;
+
+                if (this.circuitBreaker != null && e != recordedFailure) {
+                    this.circuitBreaker.onFailure();
+
+                    if (this.circuitBreaker.isOpen()) {
+                        throw new StorageUnavailableException(
+                                "Could not connect to the database.", e);
+                    }
+                }
+
+                if (connectionTryIndex <= retriesUponConnectionLoss) {
+                    this.logger.debug("Reopening session after connection attempt {} failed.",
+                            connectionTryIndex);
+                    StorageEvents.retry(task, attempt)
+                            .end(getOutcome(deadline, EventOutcome.SUCCESS));
+
+                    if (scope != null) {
+                        scope.reset();
+                    }
+
+                    // we are doing this due to the reconnect properties if we fail to establish
+                    // a connection, hibernate will automatically try to reconnect
+                    continue;
+                }
+
+                this.logger.severe("Could not open session after trying {} times.",
+                        connectionTryIndex);
+                throw new CompletionException(e);
+            } finally {
+                // cancelling a closed session is a no-op, see cancelQuery
+                if (registration != null) {
+                    registration.close();
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the outcome of an operation with regard to the deadline of the task.
+     *
+     * @param deadline  the deadline, or null for none
+     * @param otherwise the outcome if the deadline neither passed nor was cancelled
+     * @return the outcome
+     */
+    @NonNull
+    private static EventOutcome getOutcome(@Nullable final Deadline deadline,
+            @NonNull final EventOutcome otherwise) {
+        if (deadline == null) {
+            return otherwise;
+        }
+
+        return deadline.isCancelled() ? EventOutcome.CANCELLED
+                : deadline.isExpired() ? EventOutcome.TIMEOUT : otherwise;
+    }
+
+    /**
+     * Cancels the query currently executed by the session, called from another thread.
+     * <p>
+     * Hibernate only cancels the statement of the last query. Statements executed by a flush,
+     * like the inserts and updates of a commit, are not interrupted and only end once the
+     * transaction timeout derived from the deadline passes.
+     *
+     * @param session the session
+     */
+    protected void cancelQuery(@NonNull final Session session) {
+        try {
+            session.cancelQuery();
+        } catch (final RuntimeException ignored) {
+            // no statement is running or the session has been closed in the meantime
+        }
+    }
+
+    @Nullable
+    protected InputStream getSchema() {
+        return null;
+    }
+
+    protected void applySchema() throws IOException {
+        List<String> statements;
+
+        try (final InputStream is = this.getSchema()) {
+            if (is == null) {
+                throw new IOException("Could not locate schema file.");
+            }
+
+            statements = SchemaReader.getStatements(is);
+        }
+
+        statements = SchemaReader.filterStatements(statements, this.getTables());
+
+        // drop MySQL specific syntax other databases do not understand
+        switch (this.connectionFactory.getStorageType()) {
+            case H2:
+                statements.replaceAll(SchemaReader::stripTableOptions);
+                break;
+            case SQLITE:
+                statements.replaceAll(SchemaReader::toSqlite);
+                break;
+            case POSTGRESQL:
+                statements.replaceAll(
+                        statement -> SchemaReader.toPostgreSql(statement.replace('`', '"')));
+                break;
+            default:
+                break;
+        }
+
+        if (statements.isEmpty()) {
+            return;
+        }
+
+        final List<String> finalStatements = statements;
+        final AtomicBoolean utf8mb4Unsupported = new AtomicBoolean(false);
+
+        try {
+            this.performTask(context -> {
+                final Session session = context.session();
+
+                for (final String query : finalStatements) {
+                    session.createNativeQuery(query).executeUpdate();
+                }
+
+                return null;
+            });
+        } catch (final CompletionException e) {
+            if (e.getCause() instanceof BatchUpdateException) {
+                if (!e.getMessage().contains("Unknown character set")) {
+                    throw e;
+                }
+
+                utf8mb4Unsupported.set(true);
+            }
+        }
+
+        // try again
+        if (utf8mb4Unsupported.get()) {
+            this.performTask(context -> {
+                final Session session = context.session();
+
+                for (final String query : finalStatements) {
+                    session.createNativeQuery(query.replace("utf8mb4", "utf8")).executeUpdate();
+                }
+
+                return null;
+            });
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    @NonNull
+    protected List<String> getTables() {
+        // embedded databases do not provide MySQL's information schema
+        if (this.connectionFactory.getStorageType().isEmbedded()) {
+            return this.performTask(
+                    context -> context.session().doReturningWork(SchemaReader::getTables));
+        }
+
+        // the database of the credentials contains several schemas in PostgreSQL
+        if (this.connectionFactory.getStorageType() == StorageType.POSTGRESQL) {
+            return this.performTask(context -> (List<String>) context.session().createNativeQuery(
+                    "SELECT table_name FROM information_schema.tables "
+                            + "WHERE table_schema = current_schema()").getResultList());
+        }
+
+        return this.performTask(context -> (List<String>) context.session().createNativeQuery(
+                "SELECT table_name FROM information_schema.tables WHERE table_schema = '"
+                        + this.connectionFactory.getDatabase() + '\'').getResultList());
+    }
+}
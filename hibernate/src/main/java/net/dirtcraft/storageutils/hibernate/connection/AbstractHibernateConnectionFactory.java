@@ -0,0 +1,498 @@
+/*
+ * Copyright (c) 2025 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * ALL RIGHTS RESERVED.
+ */
+
+package net.dirtcraft.storageutils.hibernate.connection;
+
+import com.zaxxer.hikari.HikariConfig;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.management.ObjectName;
+import net.dirtcraft.storageutils.StorageCredentials;
+import net.dirtcraft.storageutils.StorageType;
+import net.dirtcraft.storageutils.config.PoolSetting;
+import net.dirtcraft.storageutils.connection.AbstractConnectionFactory;
+import net.dirtcraft.storageutils.connection.pool.PoolLease;
+import net.dirtcraft.storageutils.connection.pool.SharedPoolKey;
+import net.dirtcraft.storageutils.connection.pool.SharedPoolRegistry;
+import net.dirtcraft.storageutils.logging.LoggerAdapter;
+import net.dirtcraft.storageutils.monitoring.JmxSupport;
+import net.dirtcraft.storageutils.monitoring.StatementObserver;
+import net.dirtcraft.storageutils.monitoring.StorageStats;
+import net.dirtcraft.storageutils.warmup.WarmUp;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.engine.jdbc.connections.spi.ConnectionProvider;
+import org.hibernate.engine.spi.Managed;
+import org.hibernate.engine.spi.PersistentAttributeInterceptable;
+import org.hibernate.engine.spi.SelfDirtinessTracker;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+
+public abstract class AbstractHibernateConnectionFactory extends AbstractConnectionFactory<SessionFactory> {
+
+    private static final AtomicInteger INSTANCES = new AtomicInteger();
+
+    protected final StorageType storageType;
+    protected final Configuration configuration;
+    protected final StandardServiceRegistry registry;
+    protected final List<StatementObserver> statementObservers = new CopyOnWriteArrayList<>();
+    protected final List<Class<?>> annotatedClasses = new ArrayList<>();
+    protected SessionFactory sessionFactory;
+    @Nullable
+    protected HibernateStatistics statistics;
+    @Nullable
+    protected ObjectName statisticsName;
+    @Nullable
+    protected PoolLease sharedPool;
+    @Nullable
+    protected String metadataCacheKey;
+    protected boolean metadataCacheHit;
+    // tells apart storages of the same class leasing the same shared pool
+    private final int instance = INSTANCES.incrementAndGet();
+
+    public AbstractHibernateConnectionFactory(final LoggerAdapter logger,
+            final StorageType storageType, final StorageCredentials credentials) {
+        super(logger, credentials, storageType.getDefaultPort());
+        this.storageType = storageType;
+        this.configuration = this.initConfig();
+        this.registry = this.initRegistry();
+    }
+
+    protected abstract void addAnnotatedClasses(@NonNull final Configuration configuration);
+
+    protected abstract void addProperties(@NonNull final Configuration configuration);
+
+    @Override
+    public void init() {
+        final long start = System.nanoTime();
+
+        this.sessionFactory = this.configuration.buildSessionFactory(this.registry);
+
+        final long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        final Path cacheFile = this.getMetadataCacheFile();
+
+        if (cacheFile == null || this.metadataCacheKey == null) {
+            this.logger.info("Built Hibernate session factory in {} ms.", millis);
+        } else if (this.metadataCacheHit) {
+            this.logger.info("Built Hibernate session factory in {} ms using the metadata cache.",
+                    millis);
+        } else {
+            this.logger.info("Built Hibernate session factory in {} ms, metadata cache was empty"
+                    + " or outdated.", millis);
+
+            try {
+                HibernateMetadataCache.write(cacheFile, this.metadataCacheKey,
+                        this.sessionFactory);
+            } catch (final IOException | RuntimeException e) {
+                this.logger.warn("Could not write metadata cache {}: {}", cacheFile,
+                        e.getMessage());
+            }
+        }
+
+        if (this.isStatisticsEnabled()) {
+            this.statistics = new HibernateStatistics(this.sessionFactory.getStatistics());
+            this.statisticsName = JmxSupport.objectName("Hibernate", this.getStatisticsName());
+            JmxSupport.register(this.statistics, this.statisticsName, this.logger);
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        JmxSupport.unregister(this.statisticsName);
+        this.sessionFactory.close();
+
+        if (this.sharedPool != null) {
+            this.sharedPool.close();
+        }
+    }
+
+    @Override
+    public @NonNull SessionFactory getConnection() {
+        return this.sessionFactory;
+    }
+
+    /**
+     * Opens a new session, tracking its statements if any observers are registered.
+     *
+     * @return the session
+     */
+    @NonNull
+    public Session openSession() {
+        return this.openSession(null);
+    }
+
+    /**
+     * Opens a new session, tracking its statements if any observers are registered or a session
+     * scoped observer is given.
+     *
+     * @param sessionObserver an observer notified about the statements of this session only
+     * @return the session
+     */
+    @NonNull
+    public Session openSession(@Nullable final StatementObserver sessionObserver) {
+        final List<StatementObserver> observers;
+
+        if (sessionObserver == null) {
+            if (this.statementObservers.isEmpty()) {
+                return this.sessionFactory.openSession();
+            }
+
+            observers = this.statementObservers;
+        } else {
+            observers = new ArrayList<>(this.statementObservers);
+            observers.add(sessionObserver);
+        }
+
+        final HibernateStatementTracker tracker = new HibernateStatementTracker(observers);
+        final Session session =
+                this.sessionFactory.withOptions().statementInspector(tracker).openSession();
+
+        session.addEventListeners(tracker);
+        return session;
+    }
+
+    /**
+     * Adds an observer notified about every statement executed by sessions opened through
+     * {@link #openSession()}.
+     *
+     * @param observer the observer
+     */
+    public void addStatementObserver(@NonNull final StatementObserver observer) {
+        this.statementObservers.add(observer);
+    }
+
+    public void removeStatementObserver(@NonNull final StatementObserver observer) {
+        this.statementObservers.remove(observer);
+    }
+
+    /**
+     * Adds the Hibernate statistics and, if the connection provider is Hikari, the pool metrics
+     * to the builder. Does nothing if statistics are disabled.
+     *
+     * @param builder the builder
+     */
+    public void collectStats(final StorageStats.@NonNull Builder builder) {
+        final HibernateStatistics statistics = this.statistics;
+
+        if (statistics == null) {
+            return;
+        }
+
+        final String poolName = this.sharedPool == null ? this.getStatisticsName()
+                : this.sharedPool.getPoolName();
+
+        statistics.collect(builder);
+
+        if (poolName != null) {
+            JmxSupport.collectHikariPool(poolName, builder);
+        }
+    }
+
+    /**
+     * Applies the runtime safe pool settings if the Hikari connection provider is used and its
+     * MBeans are registered, see {@link #isStatisticsEnabled()}. Shared pools are not updated.
+     *
+     * @param credentials the credentials to take the settings from
+     * @return the applied settings, none if the pool was not found or is shared
+     */
+    @NonNull
+    public Set<PoolSetting> applyPoolSettings(@NonNull final StorageCredentials credentials) {
+        // shared pools serve other consumers as well
+        if (this.sharedPool != null) {
+            return PoolSetting.NONE;
+        }
+
+        return JmxSupport.applyHikariPoolSettings(this.getStatisticsName(), credentials);
+    }
+
+    /**
+     * Gets the connection provider of the session factory as the source of a warm-up.
+     *
+     * @return the source, or null if the factory has not been initialised yet
+     */
+    public WarmUp.@Nullable ConnectionSource getWarmUpConnectionSource() {
+        if (this.sessionFactory == null) {
+            return null;
+        }
+
+        final ConnectionProvider provider = ((SessionFactoryImplementor) this.sessionFactory)
+                .getServiceRegistry().getService(ConnectionProvider.class);
+        final int minimumIdle = this.credentials.getMinIdleConnections();
+
+        return new WarmUp.ConnectionSource() {
+            @Override
+            public @NonNull Connection open() throws SQLException {
+                return provider.getConnection();
+            }
+
+            @Override
+            public void release(@NonNull final Connection connection) throws SQLException {
+                provider.closeConnection(connection);
+            }
+
+            @Override
+            public int getMinimumIdle() {
+                return minimumIdle;
+            }
+        };
+    }
+
+    @NonNull
+    public StorageType getStorageType() {
+        return this.storageType;
+    }
+
+    @Override
+    public @NonNull String driverJdbcIdentifier() {
+        return this.storageType.getJdbcDriverIdentifier();
+    }
+
+    @Override
+    public @NonNull String getDriverClass() {
+        return this.storageType.getDriver();
+    }
+
+    @NonNull
+    protected Configuration initConfig() {
+        final Configuration configuration = new Configuration() {
+
+            @Override
+            @SuppressWarnings("rawtypes")
+            public Configuration addAnnotatedClass(final Class annotatedClass) {
+                // recorded for the key of the metadata cache
+                AbstractHibernateConnectionFactory.this.annotatedClasses.add(annotatedClass);
+                return super.addAnnotatedClass(annotatedClass);
+            }
+        };
+
+        this.addAnnotatedClasses(configuration);
+        this.addProperties(configuration);
+
+        if (this.isStatisticsEnabled()) {
+            configuration.setProperty("hibernate.generate_statistics", "true");
+
+            // only has an effect if the Hikari connection provider is used
+            if (configuration.getProperty("hibernate.hikari.poolName") == null) {
+                configuration.setProperty("hibernate.hikari.poolName", this.getStatisticsName());
+            }
+
+            configuration.setProperty("hibernate.hikari.registerMbeans", "true");
+        }
+
+        if (this.isPoolShared()) {
+            this.sharedPool = SharedPoolRegistry.getInstance().lease(
+                    SharedPoolKey.of(this.driverJdbcIdentifier(), this.credentials.getAddress(),
+                            this.storageType.getDefaultPort(), this.getDatabase(),
+                            this.getUsername()), this.getPoolConsumerName(),
+                    this.createSharedPoolConfig(), this.getConnectionQuota());
+
+            // the pool is opened upon the first connection request
+            configuration.getProperties().put("hibernate.connection.datasource", this.sharedPool);
+            configuration.setProperty("hibernate.connection.provider_class",
+                    "org.hibernate.engine.jdbc.connections.internal"
+                            + ".DatasourceConnectionProviderImpl");
+        }
+
+        this.detectEnhancement();
+        this.applyMetadataCache(configuration);
+        return configuration;
+    }
+
+    /**
+     * Logs which annotated classes are bytecode enhanced. Enhancement has to happen at build
+     * time, see the {@code enhancer-gradle-plugin} subproject, Hibernate then detects the
+     * enhanced classes by their interfaces. The {@code hibernate.enhancer.*} settings only
+     * configure the runtime enhancement of a JPA container and do nothing here.
+     */
+    protected void detectEnhancement() {
+        final List<String> unenhanced = new ArrayList<>();
+        int enhanced = 0;
+        int dirtyTracking = 0;
+        int lazyInitialization = 0;
+
+        for (final Class<?> annotatedClass : this.annotatedClasses) {
+            if (!Managed.class.isAssignableFrom(annotatedClass)) {
+                unenhanced.add(annotatedClass.getSimpleName());
+                continue;
+            }
+
+            enhanced++;
+
+            if (SelfDirtinessTracker.class.isAssignableFrom(annotatedClass)) {
+                dirtyTracking++;
+            }
+
+            if (PersistentAttributeInterceptable.class.isAssignableFrom(annotatedClass)) {
+                lazyInitialization++;
+            }
+        }
+
+        if (enhanced == 0) {
+            return;
+        }
+
+        this.logger.info("{} of {} annotated classes are bytecode enhanced (dirty tracking: {},"
+                        + " lazy initialization: {}).", enhanced, this.annotatedClasses.size(),
+                dirtyTracking, lazyInitialization);
+
+        if (!unenhanced.isEmpty()) {
+            // mixing both falls back to snapshot comparison for the remaining classes
+            this.logger.warn("Annotated classes {} are not enhanced.", unenhanced);
+        }
+    }
+
+    /**
+     * Gets the file caching the settings Hibernate resolves by connecting to the database while
+     * building the session factory. The cache is invalidated if the annotated classes or the
+     * properties change.
+     *
+     * @return the file, or null to disable the cache
+     */
+    @Nullable
+    protected Path getMetadataCacheFile() {
+        return null;
+    }
+
+    private void applyMetadataCache(final Configuration configuration) {
+        final Path cacheFile = this.getMetadataCacheFile();
+
+        if (cacheFile == null) {
+            return;
+        }
+
+        try {
+            this.metadataCacheKey = HibernateMetadataCache.computeKey(this.annotatedClasses,
+                    configuration.getProperties());
+        } catch (final IOException e) {
+            this.logger.warn("Could not compute metadata cache key: {}", e.getMessage());
+            return;
+        }
+
+        final Properties cached = HibernateMetadataCache.read(cacheFile, this.metadataCacheKey);
+
+        if (cached != null) {
+            HibernateMetadataCache.apply(configuration, cached);
+            this.metadataCacheHit = true;
+        }
+    }
+
+    /**
+     * Whether connections are taken from a pool shared with other consumers connecting to the
+     * same database as the same user, see {@link SharedPoolRegistry}. Requires Hikari and a
+     * database which is not embedded.
+     *
+     * @return true, if the pool is shared
+     */
+    protected boolean isPoolShared() {
+        return false;
+    }
+
+    /**
+     * Gets the name identifying this consumer of a shared pool. Has to be unique among the
+     * consumers of the pool. Defaults to the class name and a sequence number of the instance.
+     *
+     * @return the name
+     */
+    @NonNull
+    protected String getPoolConsumerName() {
+        return this.getClass().getName() + '#' + this.instance;
+    }
+
+    /**
+     * Gets the maximum amount of connections borrowed at the same time from a shared pool.
+     *
+     * @return the quota, 0 for no limit
+     */
+    protected int getConnectionQuota() {
+        return this.credentials.getMaxPoolSize();
+    }
+
+    /**
+     * Creates the config used if the shared pool has not been opened by another consumer yet.
+     *
+     * @return the config
+     */
+    @NonNull
+    protected HikariConfig createSharedPoolConfig() {
+        if (this.storageType.isEmbedded()) {
+            throw new IllegalStateException("Embedded databases cannot share pools.");
+        }
+
+        final HikariConfig config = new HikariConfig();
+
+        config.setDriverClassName(this.getDriverClass());
+        config.setJdbcUrl(String.format("jdbc:%s://%s:%d/%s", this.driverJdbcIdentifier(),
+                this.address, this.port, this.getDatabase()));
+        config.setUsername(this.getUsername());
+        config.setPassword(this.getPassword());
+        config.setMaximumPoolSize(this.credentials.getMaxPoolSize());
+        config.setMinimumIdle(this.credentials.getMinIdleConnections());
+        config.setMaxLifetime(this.credentials.getMaxLifetime());
+        config.setKeepaliveTime(this.credentials.getKeepAliveTime());
+        config.setConnectionTimeout(this.credentials.getConnectionTimeout());
+        config.setLeakDetectionThreshold(this.credentials.getLeakDetectionThreshold());
+        config.setInitializationFailTimeout(-1);
+        config.setRegisterMbeans(this.isStatisticsEnabled());
+
+        for (final Map.Entry<String, String> property : this.credentials.getProperties()
+                .entrySet()) {
+            config.addDataSourceProperty(property.getKey(), property.getValue());
+        }
+
+        return config;
+    }
+
+    /**
+     * Whether Hibernate statistics and the pool MBeans are enabled. Statistics are registered
+     * via JMX and are available through {@link #collectStats(StorageStats.Builder)}.
+     *
+     * @return true, if statistics are enabled
+     */
+    protected boolean isStatisticsEnabled() {
+        return false;
+    }
+
+    /**
+     * Gets the name the statistics are registered under. Also used as the Hikari pool name if
+     * none is configured.
+     *
+     * @return the name
+     */
+    @NonNull
+    protected String getStatisticsName() {
+        final String poolName = this.configuration == null ? null
+                : this.configuration.getProperty("hibernate.hikari.poolName");
+
+        return poolName == null ? this.getDatabase() : poolName;
+    }
+
+    protected static void setPropertyIfAbsent(@NonNull final Configuration configuration,
+            @NonNull final String key, @NonNull final String value) {
+        if (configuration.getProperty(key) == null) {
+            configuration.setProperty(key, value);
+        }
+    }
+
+    @NonNull
+    protected StandardServiceRegistry initRegistry() {
+        return new StandardServiceRegistryBuilder().applySettings(
+                this.configuration.getProperties()).build();
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2025 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * ALL RIGHTS RESERVED.
+ */
+
+package net.dirtcraft.storageutils.hibernate.connection;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import net.dirtcraft.storageutils.StorageCredentials;
+import net.dirtcraft.storageutils.StorageType;
+import net.dirtcraft.storageutils.logging.LoggerAdapter;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.hibernate.cfg.Configuration;
+
+/**
+ * {@link AbstractHibernateConnectionFactory} for PostgreSQL. Configures the connection, the
+ * dialect and batching. Properties set by {@link #addPostgreSqlProperties(Configuration)} take
+ * precedence.
+ */
+public abstract class AbstractPostgreSqlHibernateConnectionFactory extends AbstractHibernateConnectionFactory {
+
+    public AbstractPostgreSqlHibernateConnectionFactory(final LoggerAdapter logger,
+            final StorageCredentials credentials) {
+        super(logger, StorageType.POSTGRESQL, credentials);
+    }
+
+    /**
+     * Adds further properties, like the connection provider.
+     *
+     * @param configuration the configuration
+     */
+    protected abstract void addPostgreSqlProperties(@NonNull final Configuration configuration);
+
+    @Override
+    protected void addProperties(@NonNull final Configuration configuration) {
+        this.addPostgreSqlProperties(configuration);
+
+        setPropertyIfAbsent(configuration, "hibernate.connection.driver_class",
+                this.getDriverClass());
+        setPropertyIfAbsent(configuration, "hibernate.connection.url",
+                String.format("jdbc:%s://%s:%d/%s", this.driverJdbcIdentifier(), this.address,
+                        this.port, this.getDatabase()));
+        setPropertyIfAbsent(configuration, "hibernate.connection.username", this.getUsername());
+        setPropertyIfAbsent(configuration, "hibernate.connection.password", this.getPassword());
+        setPropertyIfAbsent(configuration, "hibernate.dialect",
+                "org.hibernate.dialect.PostgreSQL95Dialect");
+        setPropertyIfAbsent(configuration, "hibernate.jdbc.batch_size", "50");
+        setPropertyIfAbsent(configuration, "hibernate.order_inserts", "true");
+        setPropertyIfAbsent(configuration, "hibernate.order_updates", "true");
+
+        // passed to the driver by both the default and the Hikari connection provider
+        for (final Map.Entry<String, String> property : this.getDriverProperties().entrySet()) {
+            setPropertyIfAbsent(configuration, "hibernate.connection." + property.getKey(),
+                    property.getValue());
+            setPropertyIfAbsent(configuration, "hibernate.hikari.dataSource." + property.getKey(),
+                    property.getValue());
+        }
+    }
+
+    /**
+     * Gets the pgjdbc connection properties.
+     *
+     * @return the properties
+     */
+    @NonNull
+    protected Map<String, String> getDriverProperties() {
+        final Map<String, String> properties =
+                new LinkedHashMap<>(this.credentials.getProperties());
+
+        // https://jdbc.postgresql.org/documentation/use/#connection-parameters
+        properties.putIfAbsent("reWriteBatchedInserts", "true");
+        properties.putIfAbsent("prepareThreshold", "3");
+        properties.putIfAbsent("preparedStatementCacheQueries", "256");
+        properties.putIfAbsent("preparedStatementCacheSizeMiB", "5");
+        properties.putIfAbsent("tcpKeepAlive", "true");
+        properties.putIfAbsent("socketTimeout", "30");
+        return properties;
+    }
+}
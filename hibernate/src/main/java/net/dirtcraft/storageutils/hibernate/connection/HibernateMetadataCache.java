@@ -0,0 +1,202 @@
+/*
+ * Copyright (c) 2025 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * ALL RIGHTS RESERVED.
+ */
+
+package net.dirtcraft.storageutils.hibernate.connection;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.engine.jdbc.env.spi.ExtractedDatabaseMetaData;
+import org.hibernate.engine.jdbc.spi.JdbcServices;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+
+/**
+ * Caches the settings Hibernate otherwise resolves by connecting to the database while building
+ * the session factory, keyed by a hash of the annotated classes and the properties.
+ */
+final class HibernateMetadataCache {
+
+    static final String USE_JDBC_METADATA_DEFAULTS = "hibernate.temp.use_jdbc_metadata_defaults";
+    private static final String KEY = "key";
+    private static final String[] CACHED_PROPERTIES =
+            {"hibernate.dialect", "hibernate.jdbc.use_get_generated_keys",
+                    "hibernate.jdbc.use_scrollable_resultset"};
+
+    private HibernateMetadataCache() {}
+
+    /**
+     * Computes the cache key. The password and non string properties are ignored.
+     *
+     * @param annotatedClasses the annotated classes
+     * @param properties       the properties
+     * @return the key
+     * @throws IOException if the bytecode of a class could not be read
+     */
+    @NonNull
+    static String computeKey(@NonNull final List<Class<?>> annotatedClasses,
+            @NonNull final Properties properties) throws IOException {
+        final MessageDigest digest;
+
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (final NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+
+        update(digest, String.valueOf(Configuration.class.getPackage().getImplementationVersion()));
+
+        final List<Class<?>> classes = new ArrayList<>(annotatedClasses);
+
+        classes.sort(Comparator.comparing(Class::getName));
+
+        for (final Class<?> clazz : classes) {
+            update(digest, clazz.getName());
+            digest.update(readBytecode(clazz));
+        }
+
+        final Map<String, String> sorted = new TreeMap<>();
+
+        for (final Map.Entry<Object, Object> entry : properties.entrySet()) {
+            if (entry.getKey() instanceof String && entry.getValue() instanceof String
+                    && !((String) entry.getKey()).endsWith("password")) {
+                sorted.put((String) entry.getKey(), (String) entry.getValue());
+            }
+        }
+
+        for (final Map.Entry<String, String> entry : sorted.entrySet()) {
+            update(digest, entry.getKey());
+            update(digest, entry.getValue());
+        }
+
+        final StringBuilder key = new StringBuilder();
+
+        for (final byte b : digest.digest()) {
+            key.append(String.format("%02x", b));
+        }
+
+        return key.toString();
+    }
+
+    /**
+     * Reads the cached settings.
+     *
+     * @param file the cache file
+     * @param key  the expected key
+     * @return the settings, or null if the file is missing or outdated
+     */
+    @Nullable
+    static Properties read(@NonNull final Path file, @NonNull final String key) {
+        if (!Files.exists(file)) {
+            return null;
+        }
+
+        final Properties cached = new Properties();
+
+        try (final InputStream is = Files.newInputStream(file)) {
+            cached.load(is);
+        } catch (final IOException e) {
+            return null;
+        }
+
+        return key.equals(cached.getProperty(KEY)) ? cached : null;
+    }
+
+    /**
+     * Writes the settings resolved by the session factory.
+     *
+     * @param file           the cache file
+     * @param key            the key
+     * @param sessionFactory the session factory built without the cache
+     * @throws IOException if the file could not be written
+     */
+    static void write(@NonNull final Path file, @NonNull final String key,
+            @NonNull final SessionFactory sessionFactory) throws IOException {
+        final JdbcServices jdbcServices =
+                ((SessionFactoryImplementor) sessionFactory).getJdbcServices();
+        final ExtractedDatabaseMetaData metaData = jdbcServices.getExtractedMetaDataSupport();
+        final Properties cached = new Properties();
+
+        cached.setProperty(KEY, key);
+        cached.setProperty(CACHED_PROPERTIES[0], jdbcServices.getDialect().getClass().getName());
+        cached.setProperty(CACHED_PROPERTIES[1],
+                String.valueOf(metaData.supportsGetGeneratedKeys()));
+        cached.setProperty(CACHED_PROPERTIES[2],
+                String.valueOf(metaData.supportsScrollableResults()));
+
+        final Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+
+        try (final OutputStream os = Files.newOutputStream(temp)) {
+            cached.store(os, "Hibernate metadata cache, safe to delete");
+        }
+
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Applies the cached settings. Properties configured explicitly take precedence.
+     *
+     * @param configuration the configuration
+     * @param cached        the cached settings
+     */
+    static void apply(@NonNull final Configuration configuration,
+            @NonNull final Properties cached) {
+        for (final String property : CACHED_PROPERTIES) {
+            if (configuration.getProperty(property) == null) {
+                configuration.setProperty(property, cached.getProperty(property));
+            }
+        }
+
+        // skips connecting to the database while building the session factory
+        configuration.setProperty(USE_JDBC_METADATA_DEFAULTS, "false");
+    }
+
+    private static void update(final MessageDigest digest, final String value) {
+        digest.update(value.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+    }
+
+    private static byte[] readBytecode(final Class<?> clazz) throws IOException {
+        final String resource = clazz.getName().replace('.', '/') + ".class";
+
+        try (final InputStream is = clazz.getClassLoader().getResourceAsStream(resource)) {
+            if (is == null) {
+                return new byte[0];
+            }
+
+            final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            final byte[] buffer = new byte[8192];
+            int read;
+
+            while ((read = is.read(buffer)) != -1) {
+                bytes.write(buffer, 0, read);
+            }
+
+            return bytes.toByteArray();
+        }
+    }
+}
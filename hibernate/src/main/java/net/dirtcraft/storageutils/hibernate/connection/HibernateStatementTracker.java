@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2025 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * ALL RIGHTS RESERVED.
+ */
+
+package net.dirtcraft.storageutils.hibernate.connection;
+
+import java.util.List;
+import net.dirtcraft.storageutils.monitoring.StatementObserver;
+import net.dirtcraft.storageutils.util.SqlNormalizer;
+import org.hibernate.BaseSessionEventListener;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Session scoped tracker which captures the statement text through the
+ * {@link StatementInspector} and times its execution through the session events.
+ * <p>
+ * Hibernate does not report row counts through these hooks, hence rows are always reported as
+ * unknown.
+ */
+final class HibernateStatementTracker extends BaseSessionEventListener
+        implements StatementInspector {
+
+    private static final long serialVersionUID = 1L;
+
+    private final transient List<StatementObserver> observers;
+    private String sql;
+    private long start;
+
+    HibernateStatementTracker(final List<StatementObserver> observers) {
+        this.observers = observers;
+    }
+
+    @Override
+    public String inspect(final String sql) {
+        this.sql = sql;
+        return sql;
+    }
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        this.start = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        this.notifyObservers();
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        this.start = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        this.notifyObservers();
+    }
+
+    private void notifyObservers() {
+        final String sql = this.sql;
+
+        if (sql == null) {
+            return;
+        }
+
+        final long duration = System.nanoTime() - this.start;
+        final int parameters = SqlNormalizer.countPlaceholders(sql);
+
+        for (final StatementObserver observer : this.observers) {
+            observer.onStatement(sql, parameters, -1, duration);
+        }
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2025 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * ALL RIGHTS RESERVED.
+ */
+
+package net.dirtcraft.storageutils.hibernate.connection;
+
+import net.dirtcraft.storageutils.monitoring.HibernateStatisticsMXBean;
+import net.dirtcraft.storageutils.monitoring.StorageStats;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.hibernate.stat.Statistics;
+
+/**
+ * Exposes Hibernate {@link Statistics} through JMX and {@link StorageStats}.
+ */
+final class HibernateStatistics implements HibernateStatisticsMXBean {
+
+    private final Statistics statistics;
+
+    HibernateStatistics(final Statistics statistics) {
+        this.statistics = statistics;
+    }
+
+    void collect(final StorageStats.@NonNull Builder builder) {
+        builder.counter(StorageStats.ENTITY_LOADS, this.statistics.getEntityLoadCount())
+                .counter(StorageStats.ENTITY_FETCHES, this.statistics.getEntityFetchCount())
+                .counter(StorageStats.ENTITY_INSERTS, this.statistics.getEntityInsertCount())
+                .counter(StorageStats.ENTITY_UPDATES, this.statistics.getEntityUpdateCount())
+                .counter(StorageStats.ENTITY_DELETES, this.statistics.getEntityDeleteCount())
+                .counter(StorageStats.COLLECTION_LOADS,
+                        this.statistics.getCollectionLoadCount())
+                .counter(StorageStats.FLUSHES, this.statistics.getFlushCount())
+                .counter(StorageStats.QUERIES, this.statistics.getQueryExecutionCount())
+                .counter(StorageStats.PREPARED_STATEMENTS,
+                        this.statistics.getPrepareStatementCount())
+                .counter(StorageStats.SESSIONS_OPENED, this.statistics.getSessionOpenCount())
+                .counter(StorageStats.TRANSACTIONS, this.statistics.getTransactionCount())
+                .counter(StorageStats.SUCCESSFUL_TRANSACTIONS,
+                        this.statistics.getSuccessfulTransactionCount())
+                .counter(StorageStats.OPTIMISTIC_FAILURES,
+                        this.statistics.getOptimisticFailureCount())
+                .counter(StorageStats.SECOND_LEVEL_CACHE_HITS,
+                        this.statistics.getSecondLevelCacheHitCount())
+                .counter(StorageStats.SECOND_LEVEL_CACHE_MISSES,
+                        this.statistics.getSecondLevelCacheMissCount())
+                .counter(StorageStats.SECOND_LEVEL_CACHE_PUTS,
+                        this.statistics.getSecondLevelCachePutCount())
+                .counter(StorageStats.QUERY_CACHE_HITS, this.statistics.getQueryCacheHitCount())
+                .counter(StorageStats.QUERY_CACHE_MISSES,
+                        this.statistics.getQueryCacheMissCount());
+    }
+
+    @Override
+    public long getEntityLoadCount() {
+        return this.statistics.getEntityLoadCount();
+    }
+
+    @Override
+    public long getEntityFetchCount() {
+        return this.statistics.getEntityFetchCount();
+    }
+
+    @Override
+    public long getEntityInsertCount() {
+        return this.statistics.getEntityInsertCount();
+    }
+
+    @Override
+    public long getEntityUpdateCount() {
+        return this.statistics.getEntityUpdateCount();
+    }
+
+    @Override
+    public long getEntityDeleteCount() {
+        return this.statistics.getEntityDeleteCount();
+    }
+
+    @Override
+    public long getCollectionLoadCount() {
+        return this.statistics.getCollectionLoadCount();
+    }
+
+    @Override
+    public long getFlushCount() {
+        return this.statistics.getFlushCount();
+    }
+
+    @Override
+    public long getQueryExecutionCount() {
+        return this.statistics.getQueryExecutionCount();
+    }
+
+    @Override
+    public long getQueryExecutionMaxTime() {
+        return this.statistics.getQueryExecutionMaxTime();
+    }
+
+    @Override
+    public long getPrepareStatementCount() {
+        return this.statistics.getPrepareStatementCount();
+    }
+
+    @Override
+    public long getSessionOpenCount() {
+        return this.statistics.getSessionOpenCount();
+    }
+
+    @Override
+    public long getTransactionCount() {
+        return this.statistics.getTransactionCount();
+    }
+
+    @Override
+    public long getSecondLevelCacheHitCount() {
+        return this.statistics.getSecondLevelCacheHitCount();
+    }
+
+    @Override
+    public long getSecondLevelCacheMissCount() {
+        return this.statistics.getSecondLevelCacheMissCount();
+    }
+
+    @Override
+    public double getSecondLevelCacheHitRatio() {
+        final long hits = this.statistics.getSecondLevelCacheHitCount();
+        final long total = hits + this.statistics.getSecondLevelCacheMissCount();
+
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    @Override
+    public void clear() {
+        this.statistics.clear();
+    }
+}
@@ -0,0 +1,281 @@
+/*
+ * Copyright (c) 2025 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * ALL RIGHTS RESERVED.
+ */
+
+package net.dirtcraft.storageutils.hibernate.converter;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import java.io.CharArrayReader;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+import javax.persistence.AttributeConverter;
+import javax.persistence.PersistenceException;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Stores an attribute as JSON in a binary column, compressed with Deflate once it exceeds a
+ * threshold. Subclasses only have to provide the type:
+ * <pre>{@code
+ * @Converter
+ * public class InventoryConverter extends CompressedJsonConverter<Inventory> {
+ *
+ *     public InventoryConverter() {
+ *         super(Inventory.class);
+ *     }
+ * }
+ *
+ * @Convert(converter = InventoryConverter.class)
+ * @Column(name = "inventory", columnDefinition = "MEDIUMBLOB")
+ * private Inventory inventory;
+ * }</pre>
+ * Values start with a header byte, {@link #FORMAT_JSON} for plain and {@link #FORMAT_DEFLATE}
+ * for compressed UTF-8 JSON. Since JSON never starts with either, values without a header are
+ * read as plain JSON, so existing text columns can be converted to a binary type in place,
+ * e.g. {@code ALTER TABLE players MODIFY inventory MEDIUMBLOB}, and are rewritten on their next
+ * save.
+ * <p>
+ * Byte and char buffers, the deflater and the inflater are kept per thread and reused. A save
+ * still allocates a {@link JsonWriter} and the returned array, a load a {@link JsonReader} with
+ * its read buffer, the reader and buffer wrappers around the reused arrays and the decoded value.
+ *
+ * @param <T> the type of the attribute
+ */
+public abstract class CompressedJsonConverter<T> implements AttributeConverter<T, byte[]> {
+
+    public static final byte FORMAT_JSON = 0x01;
+    public static final byte FORMAT_DEFLATE = 0x02;
+    public static final int DEFAULT_THRESHOLD = 512;
+
+    private static final int INITIAL_BUFFER_SIZE = 8192;
+    private static final int MAX_RETAINED_BUFFER_SIZE = 1024 * 1024;
+    private static final Gson DEFAULT_GSON = new Gson();
+    private static final ThreadLocal<Buffers> BUFFERS = ThreadLocal.withInitial(Buffers::new);
+
+    protected final TypeAdapter<T> adapter;
+    protected final int threshold;
+
+    /**
+     * @param type the type of the attribute
+     */
+    protected CompressedJsonConverter(@NonNull final Class<T> type) {
+        this(DEFAULT_GSON, TypeToken.get(type), DEFAULT_THRESHOLD);
+    }
+
+    /**
+     * @param gson      the Gson instance, e.g. with custom type adapters
+     * @param type      the type of the attribute, e.g. {@code new TypeToken<List<Item>>() {}}
+     * @param threshold the size of the JSON in bytes from which on it is compressed
+     */
+    protected CompressedJsonConverter(@NonNull final Gson gson,
+            @NonNull final TypeToken<T> type, final int threshold) {
+        this.adapter = gson.getAdapter(type);
+        this.threshold = threshold;
+    }
+
+    @Override
+    public byte @Nullable [] convertToDatabaseColumn(@Nullable final T attribute) {
+        if (attribute == null) {
+            return null;
+        }
+
+        final Buffers buffers = BUFFERS.get();
+        final Buffer json = buffers.json;
+
+        json.reset();
+
+        try {
+            final JsonWriter writer = new JsonWriter(buffers.writer);
+
+            this.adapter.write(writer, attribute);
+            writer.flush();
+        } catch (final IOException | RuntimeException e) {
+            // the writer may still hold a partially encoded value
+            BUFFERS.remove();
+            throw new PersistenceException("Could not serialize " + attribute.getClass() + '.', e);
+        }
+
+        if (json.size >= this.threshold) {
+            final Buffer compressed = buffers.compressed;
+            final Deflater deflater = buffers.deflater;
+
+            compressed.reset();
+            compressed.write(FORMAT_DEFLATE);
+            deflater.reset();
+            deflater.setInput(json.data, 0, json.size);
+            deflater.finish();
+
+            // incompressible values are stored as they are
+            while (!deflater.finished() && compressed.size <= json.size) {
+                compressed.ensureCapacity(compressed.size + 4096);
+                compressed.size += deflater.deflate(compressed.data, compressed.size,
+                        compressed.data.length - compressed.size);
+            }
+
+            if (deflater.finished() && compressed.size <= json.size) {
+                return Arrays.copyOf(compressed.data, compressed.size);
+            }
+        }
+
+        final byte[] value = new byte[json.size + 1];
+
+        value[0] = FORMAT_JSON;
+        System.arraycopy(json.data, 0, value, 1, json.size);
+        return value;
+    }
+
+    @Override
+    public @Nullable T convertToEntityAttribute(final byte @Nullable [] value) {
+        if (value == null || value.length == 0) {
+            return null;
+        }
+
+        final Buffers buffers = BUFFERS.get();
+
+        try {
+            switch (value[0]) {
+                case FORMAT_JSON:
+                    return this.read(buffers, value, 1, value.length - 1);
+                case FORMAT_DEFLATE: {
+                    final Buffer json = buffers.json;
+                    final Inflater inflater = buffers.inflater;
+
+                    json.reset();
+                    inflater.reset();
+                    inflater.setInput(value, 1, value.length - 1);
+
+                    while (!inflater.finished()) {
+                        json.ensureCapacity(json.size + 4096);
+
+                        final int inflated = inflater.inflate(json.data, json.size,
+                                json.data.length - json.size);
+
+                        if (inflated == 0 && (inflater.needsInput()
+                                || inflater.needsDictionary())) {
+                            throw new DataFormatException("Truncated value.");
+                        }
+
+                        json.size += inflated;
+                    }
+
+                    return this.read(buffers, json.data, 0, json.size);
+                }
+                default:
+                    // legacy value written before the converter was introduced
+                    return this.read(buffers, value, 0, value.length);
+            }
+        } catch (final IOException | DataFormatException | RuntimeException e) {
+            throw new PersistenceException("Could not deserialize value of format " + value[0]
+                    + '.', e);
+        }
+    }
+
+    @Nullable
+    private T read(@NonNull final Buffers buffers, final byte @NonNull [] bytes, final int offset,
+            final int length) throws IOException {
+        final CharsetDecoder decoder = buffers.decoder;
+        final ByteBuffer input = ByteBuffer.wrap(bytes, offset, length);
+        // UTF-8 never decodes to more chars than bytes
+        final char[] chars = buffers.chars(length);
+        final CharBuffer output = CharBuffer.wrap(chars);
+
+        decoder.reset();
+
+        CoderResult result = decoder.decode(input, output, true);
+
+        if (!result.isError()) {
+            result = decoder.flush(output);
+        }
+
+        if (result.isError()) {
+            result.throwException();
+        }
+
+        final JsonReader reader = new JsonReader(new CharArrayReader(chars, 0, output.position()));
+
+        // accepts legacy values written by lenient serializers
+        reader.setLenient(true);
+        return this.adapter.read(reader);
+    }
+
+    /**
+     * Growable byte array exposing its contents without copying.
+     */
+    private static final class Buffer extends OutputStream {
+
+        private byte[] data = new byte[INITIAL_BUFFER_SIZE];
+        private int size;
+
+        private void reset() {
+            this.size = 0;
+
+            // do not pin the memory of an exceptionally large value
+            if (this.data.length > MAX_RETAINED_BUFFER_SIZE) {
+                this.data = new byte[INITIAL_BUFFER_SIZE];
+            }
+        }
+
+        private void ensureCapacity(final int capacity) {
+            if (capacity > this.data.length) {
+                this.data = Arrays.copyOf(this.data, Math.max(capacity, this.data.length * 2));
+            }
+        }
+
+        @Override
+        public void write(final int b) {
+            this.ensureCapacity(this.size + 1);
+            this.data[this.size++] = (byte) b;
+        }
+
+        @Override
+        public void write(final byte @NonNull [] b, final int off, final int len) {
+            this.ensureCapacity(this.size + len);
+            System.arraycopy(b, off, this.data, this.size, len);
+            this.size += len;
+        }
+    }
+
+    /**
+     * The buffers of a thread, shared by all converters.
+     */
+    private static final class Buffers {
+
+        private final Buffer json = new Buffer();
+        private final Buffer compressed = new Buffer();
+        private final Writer writer = new OutputStreamWriter(this.json, StandardCharsets.UTF_8);
+        private final CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder();
+        // zlib framing, its checksum detects corrupted values
+        private final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        private final Inflater inflater = new Inflater();
+        private char[] chars = new char[INITIAL_BUFFER_SIZE];
+
+        @NonNull
+        private char[] chars(final int length) {
+            if (this.chars.length > MAX_RETAINED_BUFFER_SIZE) {
+                // do not pin the memory of an exceptionally large value
+                this.chars = new char[Math.max(length, INITIAL_BUFFER_SIZE)];
+            } else if (length > this.chars.length) {
+                this.chars = new char[Math.max(length, this.chars.length * 2)];
+            }
+
+            return this.chars;
+        }
+    }
+}
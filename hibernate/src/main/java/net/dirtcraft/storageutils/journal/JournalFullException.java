@@ -0,0 +1,21 @@
+/*
+ * Copyright (c) 2025 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * ALL RIGHTS RESERVED.
+ */
+
+package net.dirtcraft.storageutils.journal;
+
+import java.io.IOException;
+
+/**
+ * Thrown if a record cannot be appended because the journal reached its maximum disk usage.
+ */
+public class JournalFullException extends IOException {
+
+    private static final long serialVersionUID = 1L;
+
+    public JournalFullException(final String message) {
+        super(message);
+    }
+}
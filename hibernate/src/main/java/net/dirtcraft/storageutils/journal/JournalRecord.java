@@ -0,0 +1,29 @@
+/*
+ * Copyright (c) 2025 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * ALL RIGHTS RESERVED.
+ */
+
+package net.dirtcraft.storageutils.journal;
+
+/**
+ * A record read from a {@link WriteJournal}.
+ */
+public final class JournalRecord {
+
+    private final long sequence;
+    private final byte[] payload;
+
+    JournalRecord(final long sequence, final byte[] payload) {
+        this.sequence = sequence;
+        this.payload = payload;
+    }
+
+    public long getSequence() {
+        return this.sequence;
+    }
+
+    public byte[] getPayload() {
+        return this.payload;
+    }
+}
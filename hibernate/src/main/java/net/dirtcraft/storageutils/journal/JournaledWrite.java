@@ -0,0 +1,31 @@
+/*
+ * Copyright (c) 2025 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * ALL RIGHTS RESERVED.
+ */
+
+package net.dirtcraft.storageutils.journal;
+
+import net.dirtcraft.storageutils.taskcontext.TaskContext;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * A write which can be journaled and replayed later on.
+ * <p>
+ * Implementations must be idempotent, as a write may be applied again if the replayer is
+ * interrupted before the journal is committed.
+ *
+ * @param <T> the type of the task context
+ * @param <P> the type of the payload
+ */
+@FunctionalInterface
+public interface JournaledWrite<T extends TaskContext, P> {
+
+    /**
+     * Applies the write.
+     *
+     * @param context the task context
+     * @param payload the payload
+     */
+    void apply(@NonNull T context, @NonNull P payload) throws Exception;
+}
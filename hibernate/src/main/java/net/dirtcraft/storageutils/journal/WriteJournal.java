@@ -0,0 +1,691 @@
+/*
+ * Copyright (c) 2025 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * ALL RIGHTS RESERVED.
+ */
+
+package net.dirtcraft.storageutils.journal;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.zip.CRC32;
+import net.dirtcraft.storageutils.logging.LoggerAdapter;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Durable, segmented, append-only log backed by memory-mapped files.
+ * <p>
+ * Every record is checksummed and carries a sequence number, so torn writes at the tail are
+ * detected upon opening. Appends return once the record has been forced to disk; concurrent
+ * appends are forced together (group commit). The log consists of at most a fixed amount of
+ * segments; segments are deleted once all of their records have been committed through
+ * {@link #commit(long)}.
+ * <p>
+ * Segment layout: {@code [magic int][version int]} followed by records of the form
+ * {@code [length int][crc32 int][sequence long][payload]}. A length of 0 marks the end.
+ */
+public class WriteJournal implements Closeable {
+
+    private static final int MAGIC = 0x534A524E;
+    private static final int VERSION = 1;
+    private static final int SEGMENT_HEADER = 8;
+    private static final int RECORD_HEADER = 16;
+    private static final String SEGMENT_PREFIX = "journal-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final String CHECKPOINT_FILE = "checkpoint";
+
+    protected final LoggerAdapter logger;
+    protected final Path directory;
+    protected final int segmentSize;
+    protected final int maxSegments;
+    protected final long groupCommitWindowNanos;
+    // guarded by writeLock
+    private final Deque<Segment> segments = new ArrayDeque<>();
+    private final Object writeLock = new Object();
+    private final Object flushLock = new Object();
+    private final Object readLock = new Object();
+    private final Thread flusher;
+    // guarded by writeLock
+    private long lastSequence;
+    // guarded by flushLock
+    private long requestedSequence;
+    private volatile long durableSequence;
+    private volatile long checkpoint;
+    private volatile boolean closed;
+    // guarded by readLock
+    private Segment readSegment;
+    private int readPosition;
+    private long readSequence;
+
+    /**
+     * Opens or creates a journal.
+     *
+     * @param logger            the logger
+     * @param directory         the directory to store the segments in
+     * @param segmentSize       the size of a segment in bytes
+     * @param maxSegments       the maximum amount of segments, bounding the disk usage
+     * @param groupCommitWindow the time to wait for further appends before forcing to disk
+     * @param unit              the unit of the group commit window
+     * @throws IOException if the journal could not be opened
+     */
+    public WriteJournal(final LoggerAdapter logger, final Path directory, final int segmentSize,
+            final int maxSegments, final long groupCommitWindow, final TimeUnit unit)
+            throws IOException {
+        if (segmentSize <= SEGMENT_HEADER + RECORD_HEADER) {
+            throw new IllegalArgumentException("segmentSize is too small");
+        }
+
+        if (maxSegments < 2) {
+            throw new IllegalArgumentException("maxSegments must be at least 2");
+        }
+
+        this.logger = logger;
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.maxSegments = maxSegments;
+        this.groupCommitWindowNanos = unit.toNanos(groupCommitWindow);
+
+        Files.createDirectories(directory);
+        this.checkpoint = this.readCheckpoint();
+        this.recover();
+        this.durableSequence = this.lastSequence;
+        this.rewind();
+
+        this.flusher = new Thread(this::flushLoop, "storage-journal-flusher");
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+    }
+
+    private static int checksum(final long sequence, final byte[] payload, final int offset,
+            final int length) {
+        final CRC32 crc = new CRC32();
+        final ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES);
+
+        buffer.putLong(0, sequence);
+        crc.update(buffer.array(), 0, Long.BYTES);
+        crc.update(payload, offset, length);
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Appends a record and waits until it is durable.
+     *
+     * @param payload the payload
+     * @return the sequence number of the record
+     * @throws JournalFullException if the maximum amount of segments is reached
+     * @throws IOException          if the record could not be written
+     */
+    public long append(final byte @NonNull [] payload) throws IOException {
+        final int size = RECORD_HEADER + payload.length;
+
+        if (size > this.segmentSize - SEGMENT_HEADER) {
+            throw new IOException("Record of " + payload.length + " bytes exceeds segment size.");
+        }
+
+        final long sequence;
+
+        synchronized (this.writeLock) {
+            if (this.closed) {
+                throw new IOException("Journal is closed.");
+            }
+
+            Segment segment = this.segments.getLast();
+
+            if (segment.remaining() < size) {
+                if (this.segments.size() >= this.maxSegments) {
+                    throw new JournalFullException(
+                            "Journal reached its maximum of " + this.maxSegments + " segments.");
+                }
+
+                segment.sealed = true;
+                segment = this.createSegment(this.lastSequence + 1);
+                this.segments.addLast(segment);
+            }
+
+            sequence = ++this.lastSequence;
+            segment.write(sequence, payload);
+        }
+
+        this.awaitDurable(sequence);
+        return sequence;
+    }
+
+    /**
+     * Reads the next records after the ones previously read.
+     *
+     * @param max the maximum amount of records
+     * @return the records, empty if there are no further records
+     */
+    @NonNull
+    public List<JournalRecord> read(final int max) {
+        synchronized (this.readLock) {
+            final List<JournalRecord> records = new ArrayList<>();
+
+            while (records.size() < max) {
+                if (this.readSegment.deleted) {
+                    this.readSegment = this.firstSegment();
+                    this.readPosition = SEGMENT_HEADER;
+                }
+
+                // the write position is published after the record, a record below it is complete
+                if (this.readPosition < this.readSegment.writePosition) {
+                    final JournalRecord record =
+                            this.readSegment.read(this.readPosition, this.readSequence + 1);
+
+                    // only if the mapped file was modified by someone else
+                    if (record == null) {
+                        break;
+                    }
+
+                    this.readPosition += RECORD_HEADER + record.getPayload().length;
+                    this.readSequence = record.getSequence();
+                    records.add(record);
+                    continue;
+                }
+
+                final Segment next = this.nextSegment(this.readSegment);
+
+                if (next == null) {
+                    break;
+                }
+
+                // the segment is sealed once it has a successor, but may have received records
+                // since the check above
+                if (this.readPosition < this.readSegment.writePosition) {
+                    continue;
+                }
+
+                this.readSegment = next;
+                this.readPosition = SEGMENT_HEADER;
+            }
+
+            return records;
+        }
+    }
+
+    /**
+     * Resets the read position to the first record after the checkpoint.
+     */
+    public void rewind() {
+        synchronized (this.readLock) {
+            this.readSegment = this.firstSegment();
+            this.readPosition = SEGMENT_HEADER;
+            this.readSequence = this.checkpoint;
+
+            // skip records which have already been committed
+            JournalRecord record;
+
+            while ((record = this.readSegment.read(this.readPosition, -1)) != null
+                    && record.getSequence() <= this.checkpoint) {
+                this.readPosition += RECORD_HEADER + record.getPayload().length;
+
+                if (this.readPosition >= this.readSegment.writePosition) {
+                    final Segment next = this.nextSegment(this.readSegment);
+
+                    if (next == null) {
+                        break;
+                    }
+
+                    this.readSegment = next;
+                    this.readPosition = SEGMENT_HEADER;
+                }
+            }
+        }
+    }
+
+    /**
+     * Marks all records up to the given sequence as applied and deletes segments which only
+     * contain applied records.
+     *
+     * @param sequence the sequence of the last applied record
+     * @throws IOException if the checkpoint could not be written
+     */
+    public void commit(final long sequence) throws IOException {
+        if (sequence <= this.checkpoint) {
+            return;
+        }
+
+        this.writeCheckpoint(sequence);
+        this.checkpoint = sequence;
+
+        final List<Segment> obsolete = new ArrayList<>();
+
+        synchronized (this.writeLock) {
+            while (this.segments.size() > 1) {
+                final Segment first = this.segments.getFirst();
+
+                if (!first.sealed || first.lastSequence > sequence) {
+                    break;
+                }
+
+                this.segments.removeFirst();
+                first.deleted = true;
+                obsolete.add(first);
+            }
+        }
+
+        for (final Segment segment : obsolete) {
+            segment.delete();
+        }
+    }
+
+    /**
+     * Checks whether all appended records have been committed.
+     *
+     * @return true, if there are no pending records
+     */
+    public boolean isEmpty() {
+        return this.getPending() == 0;
+    }
+
+    /**
+     * Gets the amount of appended records which have not been committed yet.
+     *
+     * @return the amount of pending records
+     */
+    public long getPending() {
+        synchronized (this.writeLock) {
+            return this.lastSequence - this.checkpoint;
+        }
+    }
+
+    /**
+     * Gets the disk space currently used by the segments.
+     *
+     * @return the size in bytes
+     */
+    public long getDiskUsage() {
+        synchronized (this.writeLock) {
+            return (long) this.segments.size() * this.segmentSize;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (this.writeLock) {
+            if (this.closed) {
+                return;
+            }
+
+            this.closed = true;
+        }
+
+        synchronized (this.flushLock) {
+            this.flushLock.notifyAll();
+        }
+
+        try {
+            this.flusher.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        synchronized (this.writeLock) {
+            for (final Segment segment : this.segments) {
+                segment.buffer.force();
+                segment.channel.close();
+            }
+        }
+    }
+
+    private void awaitDurable(final long sequence) throws IOException {
+        if (this.durableSequence >= sequence) {
+            return;
+        }
+
+        synchronized (this.flushLock) {
+            if (this.requestedSequence < sequence) {
+                this.requestedSequence = sequence;
+                this.flushLock.notifyAll();
+            }
+
+            while (this.durableSequence < sequence) {
+                if (this.closed) {
+                    throw new IOException("Journal was closed before the record was durable.");
+                }
+
+                try {
+                    this.flushLock.wait();
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException("Interrupted whilst waiting for the journal.", e);
+                }
+            }
+        }
+    }
+
+    private void flushLoop() {
+        while (true) {
+            synchronized (this.flushLock) {
+                while (this.requestedSequence <= this.durableSequence && !this.closed) {
+                    try {
+                        this.flushLock.wait();
+                    } catch (final InterruptedException e) {
+                        return;
+                    }
+                }
+
+                if (this.closed) {
+                    return;
+                }
+            }
+
+            // give concurrent appenders the chance to join this flush
+            if (this.groupCommitWindowNanos > 0) {
+                LockSupport.parkNanos(this.groupCommitWindowNanos);
+            }
+
+            final long target;
+            final List<Segment> dirty = new ArrayList<>();
+
+            synchronized (this.writeLock) {
+                target = this.lastSequence;
+
+                for (final Segment segment : this.segments) {
+                    if (segment.dirty) {
+                        segment.dirty = false;
+                        dirty.add(segment);
+                    }
+                }
+            }
+
+            for (final Segment segment : dirty) {
+                segment.buffer.force();
+            }
+
+            synchronized (this.flushLock) {
+                this.durableSequence = target;
+                this.flushLock.notifyAll();
+            }
+        }
+    }
+
+    private void recover() throws IOException {
+        final List<Path> files = new ArrayList<>();
+
+        try (final DirectoryStream<Path> stream = Files.newDirectoryStream(this.directory,
+                SEGMENT_PREFIX + '*' + SEGMENT_SUFFIX)) {
+            for (final Path file : stream) {
+                files.add(file);
+            }
+        }
+
+        // names contain the zero padded first sequence, hence they sort chronologically
+        Collections.sort(files);
+
+        long expected = -1;
+
+        for (final Path file : files) {
+            final Segment segment = this.openSegment(file, expected);
+
+            if (segment == null) {
+                continue;
+            }
+
+            if (segment.lastSequence >= segment.firstSequence) {
+                expected = segment.lastSequence + 1;
+            }
+
+            if (!this.segments.isEmpty()) {
+                this.segments.getLast().sealed = true;
+            }
+
+            this.segments.addLast(segment);
+        }
+
+        // delete segments which were committed before the last shutdown
+        while (this.segments.size() > 1 && this.segments.getFirst().lastSequence
+                <= this.checkpoint) {
+            this.segments.removeFirst().delete();
+        }
+
+        if (this.segments.isEmpty()) {
+            this.segments.addLast(this.createSegment(this.checkpoint + 1));
+        }
+
+        this.lastSequence = Math.max(this.checkpoint, this.segments.getLast().lastSequence);
+
+        if (this.lastSequence > this.checkpoint) {
+            this.logger.info("Recovered {} pending journal records.",
+                    this.lastSequence - this.checkpoint);
+        }
+    }
+
+    @Nullable
+    private Segment openSegment(final Path file, final long expected) throws IOException {
+        final String name = file.getFileName().toString();
+        final long firstSequence;
+
+        try {
+            firstSequence = Long.parseLong(name.substring(SEGMENT_PREFIX.length(),
+                    name.length() - SEGMENT_SUFFIX.length()));
+        } catch (final NumberFormatException e) {
+            this.logger.warn("Ignoring unknown journal file {}.", name);
+            return null;
+        }
+
+        final FileChannel channel = FileChannel.open(file, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        final MappedByteBuffer buffer =
+                channel.map(FileChannel.MapMode.READ_WRITE, 0, this.segmentSize);
+
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            this.logger.warn("Ignoring journal segment {} with invalid header.", name);
+            channel.close();
+            return null;
+        }
+
+        final Segment segment = new Segment(file, channel, buffer, firstSequence);
+
+        // scan the records, a torn write at the end is detected by its checksum
+        int position = SEGMENT_HEADER;
+        long next = expected == -1 ? firstSequence : expected;
+        JournalRecord record;
+
+        while ((record = segment.read(position, next)) != null) {
+            position += RECORD_HEADER + record.getPayload().length;
+            segment.lastSequence = record.getSequence();
+            next = record.getSequence() + 1;
+        }
+
+        if (position < this.segmentSize - 4 && buffer.getInt(position) != 0) {
+            this.logger.warn("Discarding corrupted tail of journal segment {} at offset {}.",
+                    name, position);
+            buffer.putInt(position, 0);
+            buffer.force();
+        }
+
+        segment.writePosition = position;
+        return segment;
+    }
+
+    private Segment createSegment(final long firstSequence) throws IOException {
+        final Path file = this.directory.resolve(
+                String.format("%s%020d%s", SEGMENT_PREFIX, firstSequence, SEGMENT_SUFFIX));
+        final FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        final MappedByteBuffer buffer =
+                channel.map(FileChannel.MapMode.READ_WRITE, 0, this.segmentSize);
+
+        buffer.putInt(0, MAGIC);
+        buffer.putInt(4, VERSION);
+        buffer.force();
+
+        final Segment segment = new Segment(file, channel, buffer, firstSequence);
+        segment.writePosition = SEGMENT_HEADER;
+        return segment;
+    }
+
+    private Segment firstSegment() {
+        synchronized (this.writeLock) {
+            return this.segments.getFirst();
+        }
+    }
+
+    @Nullable
+    private Segment nextSegment(final Segment segment) {
+        synchronized (this.writeLock) {
+            boolean found = false;
+
+            for (final Segment candidate : this.segments) {
+                if (found) {
+                    return candidate;
+                }
+
+                found = candidate == segment;
+            }
+
+            return null;
+        }
+    }
+
+    private long readCheckpoint() throws IOException {
+        final Path file = this.directory.resolve(CHECKPOINT_FILE);
+
+        if (!Files.exists(file)) {
+            return 0;
+        }
+
+        final ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file));
+
+        if (buffer.remaining() != Long.BYTES + Integer.BYTES) {
+            throw new IOException("Journal checkpoint is corrupted.");
+        }
+
+        final long sequence = buffer.getLong();
+
+        if (checksum(sequence, new byte[0], 0, 0) != buffer.getInt()) {
+            throw new IOException("Journal checkpoint is corrupted.");
+        }
+
+        return sequence;
+    }
+
+    private void writeCheckpoint(final long sequence) throws IOException {
+        final Path file = this.directory.resolve(CHECKPOINT_FILE);
+        final Path temp = this.directory.resolve(CHECKPOINT_FILE + ".tmp");
+        final ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES + Integer.BYTES);
+
+        buffer.putLong(sequence).putInt(checksum(sequence, new byte[0], 0, 0)).flip();
+
+        try (final FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+
+            channel.force(true);
+        }
+
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private final class Segment {
+
+        private final Path file;
+        private final FileChannel channel;
+        private final MappedByteBuffer buffer;
+        private final long firstSequence;
+        private volatile int writePosition;
+        private volatile long lastSequence;
+        private volatile boolean sealed;
+        private volatile boolean deleted;
+        private boolean dirty;
+
+        private Segment(final Path file, final FileChannel channel,
+                final MappedByteBuffer buffer, final long firstSequence) {
+            this.file = file;
+            this.channel = channel;
+            this.buffer = buffer;
+            this.firstSequence = firstSequence;
+            this.lastSequence = firstSequence - 1;
+        }
+
+        private int remaining() {
+            return WriteJournal.this.segmentSize - this.writePosition;
+        }
+
+        private void write(final long sequence, final byte[] payload) {
+            final ByteBuffer view = this.buffer.duplicate();
+
+            view.position(this.writePosition + 4);
+            view.putInt(checksum(sequence, payload, 0, payload.length));
+            view.putLong(sequence);
+            view.put(payload);
+
+            // terminate the log before publishing the length of the new record
+            if (view.remaining() >= 4) {
+                view.putInt(0);
+            }
+
+            this.buffer.putInt(this.writePosition, payload.length);
+            this.writePosition += RECORD_HEADER + payload.length;
+            this.lastSequence = sequence;
+            this.dirty = true;
+        }
+
+        /**
+         * Reads a record.
+         *
+         * @param position the position of the record
+         * @param expected the expected sequence, or -1 to accept any
+         * @return the record, or null if there is no valid record at the position
+         */
+        @Nullable
+        private JournalRecord read(final int position, final long expected) {
+            if (position + RECORD_HEADER > WriteJournal.this.segmentSize) {
+                return null;
+            }
+
+            final ByteBuffer view = this.buffer.duplicate();
+            final int length = view.getInt(position);
+
+            if (length <= 0 || position + RECORD_HEADER + length > WriteJournal.this.segmentSize) {
+                return null;
+            }
+
+            final int crc = view.getInt(position + 4);
+            final long sequence = view.getLong(position + 8);
+
+            if (expected != -1 && sequence != expected) {
+                return null;
+            }
+
+            final byte[] payload = new byte[length];
+
+            view.position(position + RECORD_HEADER);
+            view.get(payload);
+
+            return checksum(sequence, payload, 0, length) == crc ? new JournalRecord(sequence,
+                    payload) : null;
+        }
+
+        private void delete() {
+            try {
+                this.channel.close();
+                Files.deleteIfExists(this.file);
+            } catch (final IOException e) {
+                // some platforms do not allow deleting mapped files, retried on the next start
+                WriteJournal.this.logger.warn("Could not delete journal segment {}: {}",
+                        this.file.getFileName(), e.getMessage());
+            }
+        }
+    }
+}
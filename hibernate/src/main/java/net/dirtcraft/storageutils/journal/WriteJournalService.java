@@ -0,0 +1,356 @@
+/*
+ * Copyright (c) 2025 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * ALL RIGHTS RESERVED.
+ */
+
+package net.dirtcraft.storageutils.journal;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import net.dirtcraft.storageutils.logging.LoggerAdapter;
+import net.dirtcraft.storageutils.resilience.CircuitBreaker;
+import net.dirtcraft.storageutils.resilience.StorageUnavailableException;
+import net.dirtcraft.storageutils.storage.HibernateStorage;
+import net.dirtcraft.storageutils.taskcontext.TaskContext;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.hibernate.exception.JDBCConnectionException;
+
+/**
+ * Performs writes through a {@link HibernateStorage} and journals them if the database is
+ * unavailable.
+ * <p>
+ * Journaled writes are replayed in order by a background thread once the database is reachable
+ * again. While the journal contains pending writes, new writes are journaled as well, so that
+ * they are not applied before older ones.
+ *
+ * @param <T> the type of the task context
+ */
+public class WriteJournalService<T extends TaskContext> {
+
+    private static final String TYPE_KEY = "t";
+    private static final String PAYLOAD_KEY = "p";
+
+    protected final LoggerAdapter logger;
+    protected final HibernateStorage<T> storage;
+    protected final WriteJournal journal;
+    protected final Gson gson;
+    protected final long replayIntervalMillis;
+    protected final int batchSize;
+    private final Map<String, Registration<T, ?>> registrations = new ConcurrentHashMap<>();
+    private final Object replayLock = new Object();
+    private final Thread replayer;
+    private volatile boolean running = true;
+
+    /**
+     * @param logger         the logger
+     * @param storage        the storage to perform the writes with
+     * @param journal        the journal
+     * @param gson           the gson instance used to serialize payloads
+     * @param batchSize      the maximum amount of writes replayed in a single transaction
+     * @param replayInterval the interval in which replaying is attempted while writes are pending
+     * @param unit           the unit of the replay interval
+     */
+    public WriteJournalService(final LoggerAdapter logger, final HibernateStorage<T> storage,
+            final WriteJournal journal, final Gson gson, final int batchSize,
+            final long replayInterval, final TimeUnit unit) {
+        this.logger = logger;
+        this.storage = storage;
+        this.journal = journal;
+        this.gson = gson;
+        this.batchSize = batchSize;
+        this.replayIntervalMillis = unit.toMillis(replayInterval);
+
+        this.replayer = new Thread(this::replayLoop, "storage-journal-replayer");
+        this.replayer.setDaemon(true);
+        this.replayer.start();
+    }
+
+    /**
+     * Checks whether an exception indicates that the database is unavailable.
+     *
+     * @param throwable the exception
+     * @return true, if the database is unavailable
+     */
+    public static boolean isOutage(@NonNull final Throwable throwable) {
+        for (Throwable cause = throwable; cause != null; cause = cause.getCause()) {
+            if (cause instanceof StorageUnavailableException
+                    || cause instanceof JDBCConnectionException
+                    || (cause instanceof SQLException
+                    && CircuitBreaker.isConnectionFailure((SQLException) cause))) {
+                return true;
+            }
+
+            if (cause.getCause() == cause) {
+                break;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Registers a write type. Must be done before writes of this type are performed, including
+     * writes journaled before a restart.
+     *
+     * @param type         the unique name of the type
+     * @param payloadClass the class of the payload
+     * @param write        the write
+     * @param <P>          the type of the payload
+     */
+    public <P> void register(@NonNull final String type, @NonNull final Class<P> payloadClass,
+            @NonNull final JournaledWrite<T, P> write) {
+        if (this.registrations.putIfAbsent(type, new Registration<>(payloadClass, write))
+                != null) {
+            throw new IllegalArgumentException("Write type '" + type + "' is already registered.");
+        }
+
+        // journaled writes of this type may have been waiting for the registration
+        this.wakeUp();
+    }
+
+    /**
+     * Performs a write. Journals it instead if the database is unavailable or older writes are
+     * still pending.
+     *
+     * @param type    the type of the write
+     * @param payload the payload
+     * @param <P>     the type of the payload
+     * @return whether the write was applied or journaled
+     * @throws IOException if the write could not be journaled
+     */
+    @NonNull
+    public <P> Outcome write(@NonNull final String type, @NonNull final P payload)
+            throws IOException {
+        final Registration<T, P> registration = this.getRegistration(type);
+
+        if (!registration.payloadClass.isInstance(payload)) {
+            throw new IllegalArgumentException(
+                    "Payload of write type '" + type + "' must be a " + registration.payloadClass
+                            .getName() + '.');
+        }
+
+        if (this.journal.isEmpty()) {
+            try {
+                this.storage.performTask(context -> {
+                    registration.write.apply(context, payload);
+                });
+                return Outcome.APPLIED;
+            } catch (final RuntimeException e) {
+                if (!isOutage(e)) {
+                    throw e;
+                }
+            }
+        }
+
+        this.journal.append(this.serialize(type, registration, payload));
+        this.wakeUp();
+        return Outcome.JOURNALED;
+    }
+
+    /**
+     * Gets the amount of journaled writes which have not been replayed yet.
+     *
+     * @return the amount of pending writes
+     */
+    public long getPending() {
+        return this.journal.getPending();
+    }
+
+    /**
+     * Stops the replayer. Pending writes stay in the journal and are replayed after a restart.
+     */
+    public void shutdown() {
+        this.running = false;
+        this.wakeUp();
+
+        try {
+            this.replayer.join(TimeUnit.SECONDS.toMillis(30));
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <P> Registration<T, P> getRegistration(final String type) {
+        final Registration<T, P> registration = (Registration<T, P>) this.registrations.get(type);
+
+        if (registration == null) {
+            throw new IllegalArgumentException("Unknown write type '" + type + "'.");
+        }
+
+        return registration;
+    }
+
+    private <P> byte[] serialize(final String type, final Registration<T, P> registration,
+            final P payload) {
+        final JsonObject envelope = new JsonObject();
+
+        envelope.addProperty(TYPE_KEY, type);
+        envelope.add(PAYLOAD_KEY, this.gson.toJsonTree(payload, registration.payloadClass));
+        return this.gson.toJson(envelope).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private void wakeUp() {
+        synchronized (this.replayLock) {
+            this.replayLock.notifyAll();
+        }
+    }
+
+    private void replayLoop() {
+        while (this.running) {
+            boolean progress = false;
+
+            try {
+                progress = this.replayBatch();
+            } catch (final Exception e) {
+                this.journal.rewind();
+
+                if (isOutage(e)) {
+                    this.logger.warn("Database still unavailable, {} journaled writes pending.",
+                            this.journal.getPending());
+                } else {
+                    this.logger.severe("Could not replay journaled writes.", e);
+                }
+            }
+
+            if (progress) {
+                continue;
+            }
+
+            synchronized (this.replayLock) {
+                try {
+                    this.replayLock.wait(this.replayIntervalMillis);
+                } catch (final InterruptedException e) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Replays a batch of journaled writes in a single transaction.
+     *
+     * @return true, if writes were replayed
+     */
+    private boolean replayBatch() throws IOException {
+        final List<JournalRecord> records = this.journal.read(this.batchSize);
+
+        if (records.isEmpty()) {
+            return false;
+        }
+
+        // writes of unknown types are kept until they are registered
+        for (final JournalRecord record : records) {
+            final String type = this.typeOf(record);
+
+            if (type != null && !this.registrations.containsKey(type)) {
+                this.journal.rewind();
+                return false;
+            }
+        }
+
+        try {
+            this.storage.performTask(context -> {
+                for (final JournalRecord record : records) {
+                    this.apply(context, record);
+                }
+            });
+        } catch (final RuntimeException e) {
+            if (isOutage(e)) {
+                throw e;
+            }
+
+            // isolate the failing writes, so that a single one does not block the journal
+            for (final JournalRecord record : records) {
+                try {
+                    this.storage.performTask(context -> {
+                        this.apply(context, record);
+                    });
+                } catch (final RuntimeException ex) {
+                    if (isOutage(ex)) {
+                        throw ex;
+                    }
+
+                    this.logger.severe("Dropping journaled write " + record.getSequence()
+                            + " as it could not be applied.", ex);
+                }
+
+                this.journal.commit(record.getSequence());
+            }
+
+            return true;
+        }
+
+        this.journal.commit(records.get(records.size() - 1).getSequence());
+
+        if (this.journal.isEmpty()) {
+            this.logger.info("Replayed all journaled writes.");
+        }
+
+        return true;
+    }
+
+    private JsonObject parse(final JournalRecord record) {
+        try {
+            return this.gson.fromJson(new String(record.getPayload(), StandardCharsets.UTF_8),
+                    JsonObject.class);
+        } catch (final JsonParseException e) {
+            // checksums guard against corruption, hence this can only be a foreign format
+            throw new IllegalStateException(
+                    "Journaled write " + record.getSequence() + " is malformed.", e);
+        }
+    }
+
+    @Nullable
+    private String typeOf(final JournalRecord record) {
+        try {
+            return this.parse(record).get(TYPE_KEY).getAsString();
+        } catch (final RuntimeException e) {
+            // malformed writes are dropped when applying them
+            return null;
+        }
+    }
+
+    private void apply(final T context, final JournalRecord record) throws Exception {
+        final JsonObject envelope = this.parse(record);
+        final Registration<T, Object> registration =
+                this.getRegistration(envelope.get(TYPE_KEY).getAsString());
+        final JsonElement payload = envelope.get(PAYLOAD_KEY);
+
+        registration.write.apply(context, this.gson.fromJson(payload, registration.payloadClass));
+    }
+
+    public enum Outcome {
+
+        /**
+         * The write was applied to the database.
+         */
+        APPLIED,
+        /**
+         * The write was journaled and will be applied once the database is available.
+         */
+        JOURNALED
+    }
+
+    private static final class Registration<T extends TaskContext, P> {
+
+        private final Class<P> payloadClass;
+        private final JournaledWrite<T, P> write;
+
+        private Registration(final Class<P> payloadClass, final JournaledWrite<T, P> write) {
+            this.payloadClass = payloadClass;
+            this.write = write;
+        }
+    }
+}
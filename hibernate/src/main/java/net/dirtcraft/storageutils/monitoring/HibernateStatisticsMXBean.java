@@ -0,0 +1,45 @@
+/*
+ * Copyright (c) 2025 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * ALL RIGHTS RESERVED.
+ */
+
+package net.dirtcraft.storageutils.monitoring;
+
+/**
+ * JMX view of the Hibernate statistics of a session factory.
+ */
+public interface HibernateStatisticsMXBean {
+
+    long getEntityLoadCount();
+
+    long getEntityFetchCount();
+
+    long getEntityInsertCount();
+
+    long getEntityUpdateCount();
+
+    long getEntityDeleteCount();
+
+    long getCollectionLoadCount();
+
+    long getFlushCount();
+
+    long getQueryExecutionCount();
+
+    long getQueryExecutionMaxTime();
+
+    long getPrepareStatementCount();
+
+    long getSessionOpenCount();
+
+    long getTransactionCount();
+
+    long getSecondLevelCacheHitCount();
+
+    long getSecondLevelCacheMissCount();
+
+    double getSecondLevelCacheHitRatio();
+
+    void clear();
+}
@@ -0,0 +1,419 @@
+/*
+ * Copyright (c) 2025 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * ALL RIGHTS RESERVED.
+ */
+
+package net.dirtcraft.storageutils.storage;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import net.dirtcraft.storageutils.counter.CounterAggregator;
+import net.dirtcraft.storageutils.executor.LaneMetrics;
+import net.dirtcraft.storageutils.executor.PriorityTaskExecutor;
+import net.dirtcraft.storageutils.executor.TaskPriority;
+import net.dirtcraft.storageutils.logging.LoggerAdapter;
+import net.dirtcraft.storageutils.monitoring.BlockingCallWatchdog;
+import net.dirtcraft.storageutils.monitoring.StorageStats;
+import net.dirtcraft.storageutils.pagination.KeysetQuery;
+import net.dirtcraft.storageutils.pagination.Page;
+import net.dirtcraft.storageutils.partition.PartitionManager;
+import net.dirtcraft.storageutils.resilience.CircuitBreaker;
+import net.dirtcraft.storageutils.resilience.Deadline;
+import net.dirtcraft.storageutils.resilience.DeadlineExceededException;
+import net.dirtcraft.storageutils.resilience.StorageUnavailableException;
+import net.dirtcraft.storageutils.storage.implementation.HibernateStorageImplementation;
+import net.dirtcraft.storageutils.taskcontext.TaskContext;
+import net.dirtcraft.storageutils.warmup.WarmUp;
+import net.dirtcraft.storageutils.warmup.WarmUpPlan;
+import net.dirtcraft.storageutils.warmup.WarmUpReport;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+public class HibernateStorage<T extends TaskContext> extends Storage<HibernateStorageImplementation<T>> {
+
+    // for implementations not knowing the size of their pool
+    private static final int DEFAULT_LANE_POOL_SIZE = 10;
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 30;
+
+    protected final PriorityTaskExecutor executor;
+    @Nullable
+    protected volatile BlockingCallWatchdog watchdog;
+    @Nullable
+    protected volatile CounterAggregator counters;
+    @Nullable
+    protected volatile PartitionManager partitions;
+
+    /**
+     * Creates a storage whose lane quotas fit into the connection pool of the implementation.
+     *
+     * @param logger         the logger
+     * @param implementation the implementation
+     */
+    public HibernateStorage(final LoggerAdapter logger,
+            final HibernateStorageImplementation<T> implementation) {
+        this(logger, implementation, PriorityTaskExecutor.withDefaults(logger,
+                implementation.getPoolSize() > 0 ? implementation.getPoolSize()
+                        : DEFAULT_LANE_POOL_SIZE));
+    }
+
+    public HibernateStorage(final LoggerAdapter logger,
+            final HibernateStorageImplementation<T> implementation,
+            final PriorityTaskExecutor executor) {
+        super(logger, implementation);
+        this.executor = executor;
+
+        final CircuitBreaker circuitBreaker = implementation.getCircuitBreaker();
+
+        if (circuitBreaker != null) {
+            circuitBreaker.addListener(this::onCircuitStateChange);
+        }
+    }
+
+    /**
+     * Releases all queued tasks once the circuit opens, so they fail immediately instead of
+     * each waiting for a connection in turn.
+     *
+     * @param from the previous state
+     * @param to   the new state
+     */
+    protected void onCircuitStateChange(final CircuitBreaker.@NonNull State from,
+            final CircuitBreaker.@NonNull State to) {
+        if (to != CircuitBreaker.State.OPEN) {
+            return;
+        }
+
+        final int released = this.executor.failQueued(
+                new StorageUnavailableException("Database is unavailable."));
+
+        if (released > 0) {
+            this.logger.warn("Released {} queued tasks as the database is unavailable.",
+                    released);
+        }
+    }
+
+    @Override
+    protected void collectStats(final StorageStats.@NonNull Builder builder) {
+        super.collectStats(builder);
+
+        for (final LaneMetrics metrics : this.executor.getMetrics().values()) {
+            final String prefix = "lane." + metrics.getPriority().name().toLowerCase(Locale.ROOT);
+
+            builder.counter(prefix + ".submitted", metrics.getSubmitted())
+                    .counter(prefix + ".completed", metrics.getCompleted())
+                    .counter(prefix + ".failed", metrics.getFailed())
+                    .counter(prefix + ".rejected", metrics.getRejected())
+                    .counter(prefix + ".shed", metrics.getShed())
+                    .gauge(prefix + ".queued", metrics.getQueued())
+                    .gauge(prefix + ".active", metrics.getActive())
+                    .gauge(prefix + ".queueLatencyMillis",
+                            metrics.getQueueLatency(TimeUnit.MILLISECONDS));
+        }
+    }
+
+    /**
+     * Enables the aggregation of hot counters, see {@link CounterAggregator}. Flushes are
+     * performed as tasks. Calling it again returns the existing aggregator.
+     *
+     * @param interval       the interval at which increments are flushed
+     * @param unit           the unit of the interval
+     * @param maxPendingRows the amount of rows with pending increments triggering a flush
+     * @return the aggregator
+     */
+    @NonNull
+    public synchronized CounterAggregator enableCounters(final long interval,
+            @NonNull final TimeUnit unit, final int maxPendingRows) {
+        CounterAggregator counters = this.counters;
+
+        if (counters == null) {
+            counters = new CounterAggregator(this.logger,
+                    upsert -> this.implementation.performTask(context -> context.upsert(upsert)),
+                    interval, unit, maxPendingRows);
+            this.counters = counters;
+        }
+
+        return counters;
+    }
+
+    @Nullable
+    public CounterAggregator getCounters() {
+        return this.counters;
+    }
+
+    /**
+     * Enables the maintenance of time-partitioned tables, see {@link PartitionManager}. The
+     * maintenance is performed as a task. Calling it again returns the existing manager.
+     *
+     * @param interval the interval at which the tables are maintained
+     * @param unit     the unit of the interval
+     * @return the manager
+     */
+    @NonNull
+    public synchronized PartitionManager enablePartitioning(final long interval,
+            @NonNull final TimeUnit unit) {
+        PartitionManager partitions = this.partitions;
+
+        if (partitions == null) {
+            partitions = new PartitionManager(this.logger,
+                    maintenance -> this.implementation.performTask(
+                            (Task<T>) context -> context.session().doWork(maintenance::run)),
+                    Function.identity(), interval, unit);
+            this.partitions = partitions;
+        }
+
+        return partitions;
+    }
+
+    @Nullable
+    public PartitionManager getPartitions() {
+        return this.partitions;
+    }
+
+    /**
+     * Warms up the storage in the background, see {@link WarmUp}. Has to be called after
+     * {@link #init()}. Players should only be accepted once the returned future is completed.
+     *
+     * @param plan the plan
+     * @return a future completed with the report once the warm-up is done
+     */
+    @NonNull
+    public CompletableFuture<WarmUpReport> warmUp(@NonNull final WarmUpPlan plan) {
+        return WarmUp.start(this.logger, plan, this.implementation.getWarmUpConnectionSource(),
+                Function.identity());
+    }
+
+    @Override
+    public void shutdown() {
+        final CounterAggregator counters = this.counters;
+        final PartitionManager partitions = this.partitions;
+
+        if (partitions != null) {
+            partitions.close();
+        }
+
+        // flush before the database becomes unavailable
+        if (counters != null) {
+            counters.close();
+        }
+
+        this.executor.shutdown(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        super.shutdown();
+    }
+
+    /**
+     * Performs a task on the database.
+     *
+     * @param task the task
+     */
+    public void performTask(@NonNull final Task<T> task) {
+        final BlockingCallWatchdog.Probe probe =
+                BlockingCallWatchdog.enter(this.watchdog, "HibernateStorage.performTask");
+
+        try {
+            this.implementation.performTask(task);
+        } finally {
+            BlockingCallWatchdog.exit(probe);
+        }
+    }
+
+    /**
+     * Performs a result task on the database.
+     *
+     * @param task the result task
+     */
+    public <R> R performTask(@NonNull final ResultTask<T, R> task) {
+        final BlockingCallWatchdog.Probe probe =
+                BlockingCallWatchdog.enter(this.watchdog, "HibernateStorage.performTask");
+
+        try {
+            return this.implementation.performTask(task);
+        } finally {
+            BlockingCallWatchdog.exit(probe);
+        }
+    }
+
+    /**
+     * Fetches a page of a keyset query in HQL in a transaction of its own.
+     *
+     * @param query the query
+     * @param type  the type of the items
+     * @param token the token of the page, or null for the first page
+     * @param size  the maximum amount of items
+     * @param <E>   the type of the items
+     * @return the page
+     * @throws IllegalArgumentException if the token is invalid or belongs to another query
+     * @see KeysetQuery
+     */
+    @NonNull
+    public <E> Page<E> page(@NonNull final KeysetQuery<E> query, @NonNull final Class<E> type,
+            @Nullable final String token, final int size) {
+        return this.performTask(
+                (ResultTask<T, Page<E>>) context -> context.page(query, type, token, size));
+    }
+
+    /**
+     * Performs a task on the database within the given deadline.
+     *
+     * @param task     the task
+     * @param deadline the deadline
+     * @throws DeadlineExceededException if the deadline passed, including retries
+     */
+    public void performTask(@NonNull final Task<T> task, @NonNull final Deadline deadline) {
+        final BlockingCallWatchdog.Probe probe =
+                BlockingCallWatchdog.enter(this.watchdog, "HibernateStorage.performTask");
+
+        try {
+            this.implementation.performTask(task, deadline);
+        } finally {
+            BlockingCallWatchdog.exit(probe);
+        }
+    }
+
+    /**
+     * Performs a result task on the database within the given deadline.
+     *
+     * @param task     the result task
+     * @param deadline the deadline
+     * @throws DeadlineExceededException if the deadline passed, including retries
+     */
+    public <R> R performTask(@NonNull final ResultTask<T, R> task,
+            @NonNull final Deadline deadline) {
+        final BlockingCallWatchdog.Probe probe =
+                BlockingCallWatchdog.enter(this.watchdog, "HibernateStorage.performTask");
+
+        try {
+            return this.implementation.performTask(task, deadline);
+        } finally {
+            BlockingCallWatchdog.exit(probe);
+        }
+    }
+
+    /**
+     * Performs a task on the database in the lane of the given priority. Cancelling the future
+     * cancels the running query.
+     *
+     * @param priority the priority
+     * @param task     the task
+     * @return a future completed once the task has been performed
+     */
+    @NonNull
+    public CompletableFuture<Void> performTaskAsync(@NonNull final TaskPriority priority,
+            @NonNull final Task<T> task) {
+        return this.performTaskAsync(priority, task, Deadline.unbounded());
+    }
+
+    /**
+     * Performs a result task on the database in the lane of the given priority. Cancelling the
+     * future cancels the running query.
+     *
+     * @param priority the priority
+     * @param task     the result task
+     * @return a future completed with the result of the task
+     */
+    @NonNull
+    public <R> CompletableFuture<R> performTaskAsync(@NonNull final TaskPriority priority,
+            @NonNull final ResultTask<T, R> task) {
+        return this.performTaskAsync(priority, task, Deadline.unbounded());
+    }
+
+    /**
+     * Performs a task on the database in the lane of the given priority within the given
+     * deadline. Time spent in the queue counts against it. Cancelling the future cancels the
+     * running query.
+     *
+     * @param priority the priority
+     * @param task     the task
+     * @param deadline the deadline
+     * @return a future completed once the task has been performed
+     */
+    @NonNull
+    public CompletableFuture<Void> performTaskAsync(@NonNull final TaskPriority priority,
+            @NonNull final Task<T> task, @NonNull final Deadline deadline) {
+        return this.performTaskAsync(priority, (ResultTask<T, Void>) task, deadline);
+    }
+
+    /**
+     * Performs a result task on the database in the lane of the given priority within the given
+     * deadline. Time spent in the queue counts against it. Cancelling the future cancels the
+     * running query.
+     *
+     * @param priority the priority
+     * @param task     the result task
+     * @param deadline the deadline
+     * @return a future completed with the result of the task
+     */
+    @NonNull
+    public <R> CompletableFuture<R> performTaskAsync(@NonNull final TaskPriority priority,
+            @NonNull final ResultTask<T, R> task, @NonNull final Deadline deadline) {
+        final CompletableFuture<R> future = this.executor.submit(priority,
+                () -> this.implementation.performTask(task, deadline));
+
+        future.whenComplete((result, throwable) -> {
+            if (future.isCancelled()) {
+                deadline.cancel();
+            }
+        });
+        return future;
+    }
+
+    @Nullable
+    public BlockingCallWatchdog getWatchdog() {
+        return this.watchdog;
+    }
+
+    /**
+     * Sets the watchdog detecting blocking calls from guarded threads.
+     *
+     * @param watchdog the watchdog, or null to disable detection
+     */
+    public void setWatchdog(@Nullable final BlockingCallWatchdog watchdog) {
+        this.watchdog = watchdog;
+    }
+
+    @NonNull
+    public PriorityTaskExecutor getExecutor() {
+        return this.executor;
+    }
+
+    /**
+     * Gets the current metrics of all priority lanes.
+     *
+     * @return the metrics per priority
+     */
+    @NonNull
+    public Map<TaskPriority, LaneMetrics> getLaneMetrics() {
+        return this.executor.getMetrics();
+    }
+
+    @FunctionalInterface
+    public interface ResultTask<T extends TaskContext, R> {
+
+        /**
+         * Performs this operation on the given task context.
+         *
+         * @param context the task context
+         * @return the result
+         */
+        R execute(@NonNull T context) throws Exception;
+    }
+
+    @FunctionalInterface
+    public interface Task<T extends TaskContext> extends ResultTask<T, Void> {
+
+        /**
+         * Performs this operation on the given task context. Does not return a result.
+         *
+         * @param context the task context
+         */
+        void executeNoResult(@NonNull T context) throws Exception;
+
+        @Override
+        default Void execute(@NonNull final T context) throws Exception {
+            this.executeNoResult(context);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2025 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * ALL RIGHTS RESERVED.
+ */
+
+package net.dirtcraft.storageutils.storage.implementation;
+
+import net.dirtcraft.storageutils.resilience.CircuitBreaker;
+import net.dirtcraft.storageutils.resilience.Deadline;
+import net.dirtcraft.storageutils.storage.HibernateStorage;
+import net.dirtcraft.storageutils.taskcontext.TaskContext;
+import net.dirtcraft.storageutils.warmup.WarmUp;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+public interface HibernateStorageImplementation<T extends TaskContext> extends StorageImplementation {
+
+    <R> R performTask(HibernateStorage.@NonNull ResultTask<T, R> task);
+
+    /**
+     * Performs a task within the given deadline. Implementations not supporting deadlines only
+     * check it before the task is performed.
+     *
+     * @param task     the task
+     * @param deadline the deadline, or null for none
+     * @return the result of the task
+     */
+    default <R> R performTask(final HibernateStorage.@NonNull ResultTask<T, R> task,
+            @Nullable final Deadline deadline) {
+        if (deadline != null) {
+            deadline.check();
+        }
+
+        return this.performTask(task);
+    }
+
+    /**
+     * Gets the circuit breaker guarding the database connection.
+     *
+     * @return the circuit breaker, or null if there is none
+     */
+    @Nullable
+    default CircuitBreaker getCircuitBreaker() {
+        return null;
+    }
+
+    /**
+     * Gets the maximum amount of connections tasks can use at the same time. The lane quotas of
+     * {@link HibernateStorage} are derived from it.
+     *
+     * @return the pool size, or 0 if it is unknown
+     */
+    default int getPoolSize() {
+        return 0;
+    }
+
+    /**
+     * Gets the pool connections are taken from during a warm-up.
+     *
+     * @return the source, or null if only the warm-up actions can be run
+     */
+    default WarmUp.@Nullable ConnectionSource getWarmUpConnectionSource() {
+        return null;
+    }
+}
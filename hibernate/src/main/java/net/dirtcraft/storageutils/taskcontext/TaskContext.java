@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2025 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * ALL RIGHTS RESERVED.
+ */
+
+package net.dirtcraft.storageutils.taskcontext;
+
+import net.dirtcraft.storageutils.pagination.KeysetQuery;
+import net.dirtcraft.storageutils.pagination.Page;
+import net.dirtcraft.storageutils.sql.upsert.Upsert;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.hibernate.Session;
+import org.hibernate.query.Query;
+
+public interface TaskContext {
+
+    /**
+     * Gets the context.session(). Safe resource, warnings can be ignored.
+     *
+     * @return the session
+     */
+    @NonNull
+    Session session();
+
+    /**
+     * Queues a runnable task upon commit.
+     *
+     * @param runnable the runnable
+     */
+    void queue(@NonNull Runnable runnable);
+
+    /**
+     * Executes the runnable tasks upon commit.
+     */
+    void executeTasks();
+
+    /**
+     * Queues a runnable task upon rollback.
+     *
+     * @param runnable the runnable
+     */
+    void onRollback(@NonNull final Runnable runnable);
+
+    /**
+     * Executes the runnable tasks upon rollback.
+     */
+    void executeRollbackTasks();
+
+    /**
+     * Executes an upsert within the transaction of the task. Pending changes of the session are
+     * flushed first, entities already loaded by the session do not reflect the upsert.
+     *
+     * @param upsert the upsert
+     * @return the sum of the affected rows as reported by the driver
+     * @see Upsert
+     */
+    default int upsert(@NonNull final Upsert upsert) {
+        this.session().flush();
+        return this.session().doReturningWork(upsert::execute);
+    }
+
+    /**
+     * Fetches a page of a keyset query in HQL within the transaction of the task.
+     *
+     * @param query the query
+     * @param type  the type of the items
+     * @param token the token of the page, or null for the first page
+     * @param size  the maximum amount of items
+     * @param <E>   the type of the items
+     * @return the page
+     * @see KeysetQuery
+     */
+    @NonNull
+    default <E> Page<E> page(@NonNull final KeysetQuery<E> query, @NonNull final Class<E> type,
+            @Nullable final String token, final int size) {
+        return query.fetch(token, size, (hql, parameters, limit) -> {
+            final Query<E> typedQuery =
+                    this.session().createQuery(hql, type).setMaxResults(limit);
+
+            parameters.forEach(typedQuery::setParameter);
+            return typedQuery.getResultList();
+        });
+    }
+}
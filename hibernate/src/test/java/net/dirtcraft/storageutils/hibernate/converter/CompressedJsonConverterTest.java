@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2025 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * ALL RIGHTS RESERVED.
+ */
+
+package net.dirtcraft.storageutils.hibernate.converter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import javax.persistence.PersistenceException;
+import org.junit.jupiter.api.Test;
+
+class CompressedJsonConverterTest {
+
+    private final ItemsConverter converter = new ItemsConverter(
+            CompressedJsonConverter.DEFAULT_THRESHOLD);
+
+    @Test
+    void keepsNull() {
+        assertNull(this.converter.convertToDatabaseColumn(null));
+        assertNull(this.converter.convertToEntityAttribute(null));
+        assertNull(this.converter.convertToEntityAttribute(new byte[0]));
+    }
+
+    @Test
+    void readsLegacyValuesWithoutHeader() {
+        assertEquals(Arrays.asList("stone", "dirt"), this.converter.convertToEntityAttribute(
+                "[\"stone\", \"dirt\"]".getBytes(StandardCharsets.UTF_8)));
+        // written by a lenient serializer
+        assertEquals(Collections.singletonList("stone"),
+                this.converter.convertToEntityAttribute(
+                        "['stone']".getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void storesSmallValuesPlain() {
+        final List<String> items = Arrays.asList("stone", "\u00e4pfel", null);
+        final byte[] value = this.converter.convertToDatabaseColumn(items);
+
+        assertEquals(CompressedJsonConverter.FORMAT_JSON, value[0]);
+        assertEquals("[\"stone\",\"\u00e4pfel\",null]",
+                new String(value, 1, value.length - 1, StandardCharsets.UTF_8));
+        assertEquals(items, this.converter.convertToEntityAttribute(value));
+    }
+
+    @Test
+    void compressesLargeValues() {
+        final List<String> items = items(100);
+        final byte[] value = this.converter.convertToDatabaseColumn(items);
+
+        assertEquals(CompressedJsonConverter.FORMAT_DEFLATE, value[0]);
+        assertTrue(value.length < new Gson().toJson(items).length() / 2);
+        assertEquals(items, this.converter.convertToEntityAttribute(value));
+    }
+
+    @Test
+    void storesIncompressibleValuesPlain() {
+        // the compressed value would be larger than the JSON
+        final ItemsConverter converter = new ItemsConverter(0);
+        final byte[] value = converter.convertToDatabaseColumn(Collections.singletonList("a"));
+
+        assertEquals(CompressedJsonConverter.FORMAT_JSON, value[0]);
+        assertEquals(Collections.singletonList("a"), converter.convertToEntityAttribute(value));
+    }
+
+    @Test
+    void roundTripsValuesLargerThanTheRetainedBuffers() {
+        final List<String> large = items(30_000);
+        final byte[] value = this.converter.convertToDatabaseColumn(large);
+
+        assertTrue(new Gson().toJson(large).length() > 1024 * 1024);
+        assertEquals(large, this.converter.convertToEntityAttribute(value));
+
+        // the buffers are shrunk again
+        final List<String> small = Collections.singletonList("stone");
+
+        assertEquals(small, this.converter.convertToEntityAttribute(
+                this.converter.convertToDatabaseColumn(small)));
+        assertEquals(large, this.converter.convertToEntityAttribute(value));
+    }
+
+    @Test
+    void rejectsCorruptedValues() {
+        final byte[] value = this.converter.convertToDatabaseColumn(items(100));
+        final byte[] corrupted = value.clone();
+
+        corrupted[value.length / 2] ^= 0x55;
+
+        assertThrows(PersistenceException.class,
+                () -> this.converter.convertToEntityAttribute(corrupted));
+        assertThrows(PersistenceException.class,
+                () -> this.converter.convertToEntityAttribute(
+                        Arrays.copyOf(value, value.length - 8)));
+        assertThrows(PersistenceException.class,
+                () -> this.converter.convertToEntityAttribute(
+                        new byte[] {CompressedJsonConverter.FORMAT_JSON, (byte) 0xff}));
+        assertThrows(PersistenceException.class,
+                () -> this.converter.convertToEntityAttribute(
+                        "[\"stone\"".getBytes(StandardCharsets.UTF_8)));
+
+        // the buffers of the thread are still usable
+        assertEquals(items(100), this.converter.convertToEntityAttribute(value));
+    }
+
+    private static List<String> items(final int amount) {
+        final List<String> items = new ArrayList<>(amount);
+
+        for (int i = 0; i < amount; i++) {
+            items.add("minecraft:diamond_sword{damage:" + i + ",enchantments:[sharpness]}");
+        }
+
+        return items;
+    }
+
+    private static final class ItemsConverter extends CompressedJsonConverter<List<String>> {
+
+        private ItemsConverter(final int threshold) {
+            super(new Gson(), new TypeToken<List<String>>() {}, threshold);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2025 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * ALL RIGHTS RESERVED.
+ */
+
+package net.dirtcraft.storageutils.journal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import net.dirtcraft.storageutils.logging.Log4jLoggerAdapter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class WriteJournalTest {
+
+    private static final int RECORDS = 5_000;
+    // a handful of records per segment, so the reader often catches up with a rollover
+    private static final int SEGMENT_SIZE = 8 + 4 * (16 + Long.BYTES);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void readerFollowsTheAppenderAcrossSegments() throws Exception {
+        try (final WriteJournal journal = new WriteJournal(new Log4jLoggerAdapter("journal"),
+                this.directory, SEGMENT_SIZE, 16, 0, TimeUnit.MILLISECONDS)) {
+            final AtomicReference<Throwable> failure = new AtomicReference<>();
+            final Thread appender = new Thread(() -> {
+                try {
+                    for (long i = 1; i <= RECORDS; i++) {
+                        final byte[] payload = ByteBuffer.allocate(Long.BYTES).putLong(i).array();
+
+                        // waits for the reader to commit
+                        while (true) {
+                            try {
+                                journal.append(payload);
+                                break;
+                            } catch (final JournalFullException e) {
+                                Thread.yield();
+                            }
+                        }
+                    }
+                } catch (final IOException | RuntimeException e) {
+                    failure.set(e);
+                }
+            });
+            final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(60);
+            long read = 0;
+
+            appender.start();
+
+            while (read < RECORDS && failure.get() == null && System.nanoTime() < deadline) {
+                final List<JournalRecord> records = journal.read(1);
+
+                for (final JournalRecord record : records) {
+                    assertEquals(++read, record.getSequence());
+                    assertEquals(read, ByteBuffer.wrap(record.getPayload()).getLong());
+                }
+
+                if (!records.isEmpty()) {
+                    journal.commit(read);
+                }
+            }
+
+            appender.join();
+
+            assertEquals(null, failure.get());
+            assertEquals(RECORDS, read);
+            assertTrue(journal.isEmpty());
+        }
+    }
+
+    @Test
+    void resumesReadingAfterReopening() throws IOException {
+        try (final WriteJournal journal = new WriteJournal(new Log4jLoggerAdapter("journal"),
+                this.directory, SEGMENT_SIZE, 16, 0, TimeUnit.MILLISECONDS)) {
+            for (int i = 0; i < 10; i++) {
+                journal.append(new byte[Long.BYTES]);
+            }
+
+            journal.commit(journal.read(6).get(5).getSequence());
+        }
+
+        try (final WriteJournal journal = new WriteJournal(new Log4jLoggerAdapter("journal"),
+                this.directory, SEGMENT_SIZE, 16, 0, TimeUnit.MILLISECONDS)) {
+            final List<JournalRecord> records = journal.read(10);
+
+            assertEquals(4, records.size());
+            assertEquals(7, records.get(0).getSequence());
+            assertEquals(10, records.get(3).getSequence());
+            assertEquals(4, journal.getPending());
+        }
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2025 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * ALL RIGHTS RESERVED.
+ */
+
+package net.dirtcraft.storageutils.loadtest;
+
+import java.io.PrintStream;
+import net.dirtcraft.storageutils.logging.LoggerAdapter;
+
+/**
+ * Logs to the console, replacing each '{}' with the next argument.
+ */
+public class ConsoleLoggerAdapter implements LoggerAdapter {
+
+    private static String format(final String s, final Object... args) {
+        final StringBuilder builder = new StringBuilder(s.length() + 32);
+        int argIndex = 0;
+        int start = 0;
+        int index;
+
+        while (argIndex < args.length && (index = s.indexOf("{}", start)) != -1) {
+            builder.append(s, start, index).append(args[argIndex++]);
+            start = index + 2;
+        }
+
+        return builder.append(s, start, s.length()).toString();
+    }
+
+    @Override
+    public void info(final String s, final Object... args) {
+        this.log(System.out, "INFO", s, args);
+    }
+
+    @Override
+    public void warn(final String s, final Object... args) {
+        this.log(System.err, "WARN", s, args);
+    }
+
+    @Override
+    public void severe(final String s, final Object... args) {
+        this.log(System.err, "SEVERE", s, args);
+    }
+
+    @Override
+    public void severe(final String s, final Throwable t) {
+        this.log(System.err, "SEVERE", s);
+        t.printStackTrace();
+    }
+
+    private void log(final PrintStream stream, final String level, final String s,
+            final Object... args) {
+        stream.println("[" + level + "] " + format(s, args));
+    }
+}
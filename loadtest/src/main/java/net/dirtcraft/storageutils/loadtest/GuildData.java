@@ -0,0 +1,44 @@
+/*
+ * Copyright (c) 2025 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * ALL RIGHTS RESERVED.
+ */
+
+package net.dirtcraft.storageutils.loadtest;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+/**
+ * A row shared by many players, updated under a row lock by the contended workload.
+ */
+@Entity
+@Table(name = "loadtest_guild")
+public class GuildData {
+
+    @Id
+    @Column(name = "id")
+    private int id;
+    @Column(name = "balance")
+    private long balance;
+
+    protected GuildData() {}
+
+    public GuildData(final int id) {
+        this.id = id;
+    }
+
+    public int getId() {
+        return this.id;
+    }
+
+    public long getBalance() {
+        return this.balance;
+    }
+
+    public void deposit(final long amount) {
+        this.balance += amount;
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2025 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * ALL RIGHTS RESERVED.
+ */
+
+package net.dirtcraft.storageutils.loadtest;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import net.dirtcraft.storageutils.loadtest.Workload.Operation;
+import net.dirtcraft.storageutils.util.LatencyHistogram;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * Records the latencies of the virtual players while a stage is measured.
+ * <p>
+ * Latencies are recorded twice: from the time an action was supposed to start, which includes
+ * the time it waited for the previous actions of the player, and from the time it actually
+ * started. Only the former reflects what players experience once the database falls behind,
+ * the latter suffers from coordinated omission and is kept for comparison.
+ */
+public class LoadRecorder {
+
+    private final Map<Operation, LatencyHistogram> corrected = new EnumMap<>(Operation.class);
+    private final Map<Operation, LatencyHistogram> service = new EnumMap<>(Operation.class);
+    private final LongAdder operations = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private volatile boolean recording;
+
+    public LoadRecorder() {
+        for (final Operation operation : Operation.values()) {
+            this.corrected.put(operation, new LatencyHistogram());
+            this.service.put(operation, new LatencyHistogram());
+        }
+    }
+
+    /**
+     * Records a completed action, if a stage is being measured.
+     *
+     * @param operation     the operation
+     * @param intendedStart the time the action was scheduled for
+     * @param start         the time the action started
+     * @param end           the time the action completed
+     * @param success       whether the action succeeded
+     */
+    public void record(@NonNull final Operation operation, final long intendedStart,
+            final long start, final long end, final boolean success) {
+        if (!this.recording) {
+            return;
+        }
+
+        this.operations.increment();
+
+        if (!success) {
+            this.errors.increment();
+            return;
+        }
+
+        this.corrected.get(operation).recordNanos(end - intendedStart);
+        this.service.get(operation).recordNanos(end - start);
+    }
+
+    /**
+     * Discards all recorded values and starts measuring.
+     */
+    public void start() {
+        for (final Operation operation : Operation.values()) {
+            this.corrected.get(operation).reset();
+            this.service.get(operation).reset();
+        }
+
+        this.operations.reset();
+        this.errors.reset();
+        this.recording = true;
+    }
+
+    /**
+     * Stops measuring and summarizes the stage.
+     *
+     * @param players      the amount of concurrent players
+     * @param elapsedNanos the measured time
+     * @param targetRate   the amount of actions per second the players tried to perform
+     * @return the result
+     */
+    @NonNull
+    public StageResult stop(final int players, final long elapsedNanos, final double targetRate) {
+        this.recording = false;
+
+        final LatencyHistogram corrected = new LatencyHistogram();
+        final LatencyHistogram service = new LatencyHistogram();
+        final Map<String, StageResult.Latency> perOperation = new LinkedHashMap<>();
+
+        for (final Operation operation : Operation.values()) {
+            final LatencyHistogram histogram = this.corrected.get(operation);
+
+            corrected.add(histogram);
+            service.add(this.service.get(operation));
+
+            if (histogram.getCount() > 0) {
+                perOperation.put(operation.name(), new StageResult.Latency(histogram));
+            }
+        }
+
+        final double seconds = elapsedNanos / (double) TimeUnit.SECONDS.toNanos(1);
+
+        return new StageResult(players, seconds, this.operations.sum(), this.errors.sum(),
+                this.operations.sum() / seconds, targetRate, new StageResult.Latency(corrected),
+                new StageResult.Latency(service), perOperation);
+    }
+}
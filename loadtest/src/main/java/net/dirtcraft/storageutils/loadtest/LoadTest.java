@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2025 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * ALL RIGHTS RESERVED.
+ */
+
+package net.dirtcraft.storageutils.loadtest;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import net.dirtcraft.storageutils.StorageCredentials;
+import net.dirtcraft.storageutils.logging.LoggerAdapter;
+
+/**
+ * Drives a workload of virtual players through {@code performTask} while ramping up the amount
+ * of concurrent players stage by stage, and writes a JSON report per run.
+ * <p>
+ * Percentiles are taken from {@code LatencyHistogram}, hence they are accurate to within 25%.
+ * Compare reports of runs with identical settings on the same machine only.
+ */
+public final class LoadTest {
+
+    private static final int POPULATE_BATCH_SIZE = 500;
+
+    private LoadTest() {}
+
+    public static void main(final String[] args) throws Exception {
+        final LoadTestSettings settings = LoadTestSettings.parse(args);
+        final LoggerAdapter logger = new ConsoleLoggerAdapter();
+        final StorageCredentials credentials = new StorageCredentials(settings.address,
+                settings.database, settings.username, settings.password, settings.poolSize,
+                settings.poolSize, 1_800_000, 0, 5_000, Collections.emptyMap());
+        final LoadTestStorage storage = new LoadTestStorage(logger,
+                new LoadTestConnectionFactory(logger, settings.target, credentials));
+
+        storage.init();
+
+        final LoadRecorder recorder = new LoadRecorder();
+        final List<VirtualPlayer> players = new ArrayList<>();
+        final List<Thread> threads = new ArrayList<>();
+        final List<StageResult> results = new ArrayList<>();
+
+        try {
+            populate(storage, settings);
+            logger.info("Running {} against {} with {} actions per second per player.",
+                    settings.workload, settings.target, settings.actionsPerSecond);
+            logger.info(" players      ops/s     target  errors   p50(ms)   p99(ms)"
+                    + "  p999(ms)   max(ms)  svc p99");
+
+            for (final int stage : settings.stages) {
+                while (players.size() < stage) {
+                    final VirtualPlayer player =
+                            new VirtualPlayer(settings, storage, recorder, players.size());
+                    final Thread thread = new Thread(player, "player-" + players.size());
+
+                    thread.setDaemon(true);
+                    thread.start();
+                    players.add(player);
+                    threads.add(thread);
+                }
+
+                TimeUnit.SECONDS.sleep(settings.warmupSeconds);
+                recorder.start();
+
+                final long start = System.nanoTime();
+
+                TimeUnit.SECONDS.sleep(settings.stageSeconds - settings.warmupSeconds);
+
+                final StageResult result = recorder.stop(stage, System.nanoTime() - start,
+                        stage * settings.actionsPerSecond);
+
+                results.add(result);
+                logger.info("{}", result);
+            }
+        } finally {
+            players.forEach(VirtualPlayer::stop);
+
+            for (final Thread thread : threads) {
+                thread.join(TimeUnit.SECONDS.toMillis(10));
+            }
+
+            storage.shutdown();
+        }
+
+        writeReport(settings, results);
+        logger.info("Wrote report to {}.", settings.report.toAbsolutePath());
+    }
+
+    private static void populate(final LoadTestStorage storage, final LoadTestSettings settings) {
+        final int players = settings.getMaxPlayers();
+
+        for (int from = 0; from < players; from += POPULATE_BATCH_SIZE) {
+            final int start = from;
+            final int end = Math.min(players, from + POPULATE_BATCH_SIZE);
+
+            storage.performTask(context -> {
+                for (int i = start; i < end; i++) {
+                    context.session().persist(
+                            new PlayerData(VirtualPlayer.getUuid(settings, i), "player-" + i));
+                }
+
+                return null;
+            });
+        }
+
+        storage.performTask(context -> {
+            for (int i = 0; i < settings.hotRows; i++) {
+                context.session().persist(new GuildData(i));
+            }
+
+            return null;
+        });
+    }
+
+    private static void writeReport(final LoadTestSettings settings,
+            final List<StageResult> results) throws IOException {
+        final Gson gson = new GsonBuilder().setPrettyPrinting().create();
+        final Report report = new Report(settings, results);
+
+        try (final Writer writer = Files.newBufferedWriter(settings.report,
+                StandardCharsets.UTF_8)) {
+            gson.toJson(report, writer);
+        }
+    }
+
+    private static final class Report {
+
+        private final String createdAt = Instant.now().toString();
+        private final String javaVersion = System.getProperty("java.version");
+        private final int processors = Runtime.getRuntime().availableProcessors();
+        private final LoadTestSettings settings;
+        private final List<StageResult> stages;
+
+        private Report(final LoadTestSettings settings, final List<StageResult> stages) {
+            this.settings = settings;
+            this.stages = stages;
+        }
+    }
+}
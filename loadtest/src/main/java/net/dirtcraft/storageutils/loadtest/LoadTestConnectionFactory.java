@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2025 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * ALL RIGHTS RESERVED.
+ */
+
+package net.dirtcraft.storageutils.loadtest;
+
+import net.dirtcraft.storageutils.StorageCredentials;
+import net.dirtcraft.storageutils.StorageType;
+import net.dirtcraft.storageutils.hibernate.connection.AbstractHibernateConnectionFactory;
+import net.dirtcraft.storageutils.logging.LoggerAdapter;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.hibernate.cfg.Configuration;
+
+/**
+ * Connects to an in-memory H2 database or a MariaDB or MySQL server through a Hikari pool, the
+ * same way production storages do. The harness does not launch servers, a MariaDB or MySQL
+ * target has to be running already, with the configured database and user.
+ */
+public class LoadTestConnectionFactory extends AbstractHibernateConnectionFactory {
+
+    public LoadTestConnectionFactory(final LoggerAdapter logger, final StorageType storageType,
+            final StorageCredentials credentials) {
+        super(logger, storageType, credentials);
+    }
+
+    @Override
+    protected void addAnnotatedClasses(@NonNull final Configuration configuration) {
+        configuration.addAnnotatedClass(PlayerData.class);
+        configuration.addAnnotatedClass(GuildData.class);
+    }
+
+    @Override
+    protected void addProperties(@NonNull final Configuration configuration) {
+        final String url;
+        final String dialect;
+
+        if (this.storageType == StorageType.H2) {
+            url = "jdbc:h2:mem:" + this.credentials.getDatabase() + ";MODE=MySQL;DB_CLOSE_DELAY=-1";
+            dialect = "org.hibernate.dialect.H2Dialect";
+        } else {
+            url = String.format("jdbc:%s://%s/%s", this.driverJdbcIdentifier(),
+                    this.credentials.getAddress(), this.credentials.getDatabase());
+            dialect = "org.hibernate.dialect.MySQL57InnoDBDialect";
+        }
+
+        configuration.setProperty("hibernate.connection.provider_class",
+                "org.hibernate.hikaricp.internal.HikariCPConnectionProvider");
+        configuration.setProperty("hibernate.connection.driver_class",
+                this.storageType.getDriver());
+        configuration.setProperty("hibernate.connection.url", url);
+        configuration.setProperty("hibernate.connection.username",
+                this.credentials.getUsername());
+        configuration.setProperty("hibernate.connection.password",
+                this.credentials.getPassword());
+        configuration.setProperty("hibernate.dialect", dialect);
+        configuration.setProperty("hibernate.hikari.maximumPoolSize",
+                String.valueOf(this.credentials.getMaxPoolSize()));
+        configuration.setProperty("hibernate.hikari.minimumIdle",
+                String.valueOf(this.credentials.getMinIdleConnections()));
+        configuration.setProperty("hibernate.hikari.connectionTimeout",
+                String.valueOf(this.credentials.getConnectionTimeout()));
+        // every run starts from the same state
+        configuration.setProperty("hibernate.hbm2ddl.auto", "create");
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2025 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * ALL RIGHTS RESERVED.
+ */
+
+package net.dirtcraft.storageutils.loadtest;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import net.dirtcraft.storageutils.StorageType;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * The settings of a load test run, parsed from {@code --name value} arguments. All settings but
+ * the password and the report path are part of the report, so runs can only be compared if their
+ * settings match.
+ */
+public class LoadTestSettings {
+
+    Workload workload = Workload.READ_HEAVY;
+    StorageType target = StorageType.H2;
+    String address = "localhost";
+    String database = "loadtest";
+    String username = "root";
+    transient String password = "";
+    int poolSize = 10;
+    int[] stages = {50, 100, 250, 500};
+    int stageSeconds = 30;
+    int warmupSeconds = 5;
+    double actionsPerSecond = 2;
+    int actionsPerSession = 20;
+    int hotRows = 1;
+    long seed = 42;
+    transient Path report = Paths.get("loadtest-report.json");
+
+    /**
+     * Parses the settings.
+     *
+     * @param args the arguments
+     * @return the settings
+     * @throws IllegalArgumentException if an argument is unknown or invalid
+     */
+    @NonNull
+    public static LoadTestSettings parse(@NonNull final String[] args) {
+        final LoadTestSettings settings = new LoadTestSettings();
+
+        for (int i = 0; i < args.length; i += 2) {
+            if (!args[i].startsWith("--") || i + 1 >= args.length) {
+                throw new IllegalArgumentException("Expected --name value, got " + args[i] + '.');
+            }
+
+            settings.set(args[i].substring(2), args[i + 1]);
+        }
+
+        if (settings.target != StorageType.H2 && settings.target != StorageType.MARIADB
+                && settings.target != StorageType.MYSQL) {
+            throw new IllegalArgumentException("Unsupported target " + settings.target + '.');
+        }
+
+        if (settings.warmupSeconds >= settings.stageSeconds) {
+            throw new IllegalArgumentException("The warm-up has to be shorter than a stage.");
+        }
+
+        return settings;
+    }
+
+    /**
+     * Gets the highest amount of concurrent players.
+     *
+     * @return the amount of players
+     */
+    public int getMaxPlayers() {
+        return Arrays.stream(this.stages).max().orElse(0);
+    }
+
+    /**
+     * Gets the interval at which a player starts actions.
+     *
+     * @return the interval in nanoseconds
+     */
+    public long getIntervalNanos() {
+        return (long) (1_000_000_000L / this.actionsPerSecond);
+    }
+
+    private void set(final String name, final String value) {
+        switch (name) {
+            case "workload":
+                this.workload = Workload.parse(value);
+                break;
+            case "target":
+                this.target = StorageType.parse(value, StorageType.H2);
+                break;
+            case "address":
+                this.address = value;
+                break;
+            case "database":
+                this.database = value;
+                break;
+            case "user":
+                this.username = value;
+                break;
+            case "password":
+                this.password = value;
+                break;
+            case "pool-size":
+                this.poolSize = Integer.parseInt(value);
+                break;
+            case "players":
+                this.stages = Arrays.stream(value.split(",")).map(String::trim)
+                        .mapToInt(Integer::parseInt).sorted().toArray();
+                break;
+            case "stage-seconds":
+                this.stageSeconds = Integer.parseInt(value);
+                break;
+            case "warmup-seconds":
+                this.warmupSeconds = Integer.parseInt(value);
+                break;
+            case "rate":
+                this.actionsPerSecond = Double.parseDouble(value);
+                break;
+            case "actions-per-session":
+                this.actionsPerSession = Integer.parseInt(value);
+                break;
+            case "hot-rows":
+                this.hotRows = Integer.parseInt(value);
+                break;
+            case "seed":
+                this.seed = Long.parseLong(value);
+                break;
+            case "report":
+                this.report = Paths.get(value);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown setting --" + name + '.');
+        }
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2025 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * ALL RIGHTS RESERVED.
+ */
+
+package net.dirtcraft.storageutils.loadtest;
+
+import net.dirtcraft.storageutils.hibernate.AbstractHibernateStorage;
+import net.dirtcraft.storageutils.logging.LoggerAdapter;
+import net.dirtcraft.storageutils.taskcontext.StandardTaskContext;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.hibernate.Session;
+
+/**
+ * The storage driven by the virtual players, using the default retry behaviour of production
+ * storages.
+ */
+public class LoadTestStorage extends AbstractHibernateStorage<StandardTaskContext> {
+
+    public LoadTestStorage(final LoggerAdapter logger,
+            final LoadTestConnectionFactory connectionFactory) {
+        super(logger, connectionFactory);
+    }
+
+    @Override
+    protected int getRetriesUponConnectionLoss() {
+        return 3;
+    }
+
+    @Override
+    protected int getRetriesUponException() {
+        return 3;
+    }
+
+    @Override
+    protected long getSleepUponRetry() {
+        return 50;
+    }
+
+    @Override
+    protected long getSleepUponRetryIncrement() {
+        return 50;
+    }
+
+    @Override
+    protected @NonNull StandardTaskContext createTaskContext(@NonNull final Session session) {
+        return new StandardTaskContext(session);
+    }
+
+    @Override
+    protected void applySchema() {
+        // the tables are created by Hibernate, see LoadTestConnectionFactory
+    }
+}
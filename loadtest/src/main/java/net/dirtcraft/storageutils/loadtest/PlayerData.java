@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2025 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * ALL RIGHTS RESERVED.
+ */
+
+package net.dirtcraft.storageutils.loadtest;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+/**
+ * The row each virtual player loads upon joining and saves while playing.
+ */
+@Entity
+@Table(name = "loadtest_player")
+public class PlayerData {
+
+    @Id
+    @Column(name = "uuid")
+    private String uuid;
+    @Column(name = "name")
+    private String name;
+    @Column(name = "coins")
+    private long coins;
+    @Column(name = "playtime")
+    private long playtime;
+    @Column(name = "last_seen")
+    private long lastSeen;
+
+    protected PlayerData() {}
+
+    public PlayerData(final String uuid, final String name) {
+        this.uuid = uuid;
+        this.name = name;
+    }
+
+    public String getUuid() {
+        return this.uuid;
+    }
+
+    public String getName() {
+        return this.name;
+    }
+
+    public long getCoins() {
+        return this.coins;
+    }
+
+    public void addCoins(final long coins) {
+        this.coins += coins;
+    }
+
+    public long getPlaytime() {
+        return this.playtime;
+    }
+
+    public void addPlaytime(final long playtime) {
+        this.playtime += playtime;
+    }
+
+    public long getLastSeen() {
+        return this.lastSeen;
+    }
+
+    public void setLastSeen(final long lastSeen) {
+        this.lastSeen = lastSeen;
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2025 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * ALL RIGHTS RESERVED.
+ */
+
+package net.dirtcraft.storageutils.loadtest;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import net.dirtcraft.storageutils.util.LatencyHistogram;
+
+/**
+ * The result of a stage, serialized into the report.
+ */
+public class StageResult {
+
+    final int players;
+    final double seconds;
+    final long operations;
+    final long errors;
+    final double throughput;
+    final double targetThroughput;
+    final Latency latency;
+    final Latency serviceTime;
+    final Map<String, Latency> operationLatency;
+
+    StageResult(final int players, final double seconds, final long operations,
+            final long errors, final double throughput, final double targetThroughput,
+            final Latency latency, final Latency serviceTime,
+            final Map<String, Latency> operationLatency) {
+        this.players = players;
+        this.seconds = seconds;
+        this.operations = operations;
+        this.errors = errors;
+        this.throughput = throughput;
+        this.targetThroughput = targetThroughput;
+        this.latency = latency;
+        this.serviceTime = serviceTime;
+        this.operationLatency = operationLatency;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%7d %10.1f %10.1f %7d %9.2f %9.2f %9.2f %9.2f %9.2f", this.players,
+                this.throughput, this.targetThroughput, this.errors, this.latency.p50Ms,
+                this.latency.p99Ms, this.latency.p999Ms, this.latency.maxMs,
+                this.serviceTime.p99Ms);
+    }
+
+    /**
+     * Latency percentiles in milliseconds.
+     */
+    static final class Latency {
+
+        final long count;
+        final double meanMs;
+        final double p50Ms;
+        final double p99Ms;
+        final double p999Ms;
+        final double maxMs;
+
+        Latency(final LatencyHistogram histogram) {
+            this.count = histogram.getCount();
+            this.meanMs = toMillis(histogram.getMean(TimeUnit.NANOSECONDS));
+            this.p50Ms = toMillis(histogram.getPercentile(50, TimeUnit.NANOSECONDS));
+            this.p99Ms = toMillis(histogram.getPercentile(99, TimeUnit.NANOSECONDS));
+            this.p999Ms = toMillis(histogram.getPercentile(99.9, TimeUnit.NANOSECONDS));
+            this.maxMs = toMillis(histogram.getMax(TimeUnit.NANOSECONDS));
+        }
+
+        private static double toMillis(final long nanos) {
+            return nanos / 1_000_000D;
+        }
+    }
+}
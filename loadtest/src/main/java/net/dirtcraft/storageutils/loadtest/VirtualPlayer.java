@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2025 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * ALL RIGHTS RESERVED.
+ */
+
+package net.dirtcraft.storageutils.loadtest;
+
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.locks.LockSupport;
+import net.dirtcraft.storageutils.loadtest.Workload.Operation;
+import org.hibernate.LockMode;
+
+/**
+ * A player joining, performing the actions of the workload and quitting in a loop.
+ * <p>
+ * Actions are scheduled at a fixed rate regardless of how long previous actions took, like real
+ * players who keep playing while the server waits for the database. The random is seeded per
+ * player, so every run performs the same sequence of actions.
+ */
+public class VirtualPlayer implements Runnable {
+
+    protected final LoadTestSettings settings;
+    protected final LoadTestStorage storage;
+    protected final LoadRecorder recorder;
+    protected final String uuid;
+    private final Random random;
+    private volatile boolean running = true;
+
+    public VirtualPlayer(final LoadTestSettings settings, final LoadTestStorage storage,
+            final LoadRecorder recorder, final int index) {
+        this.settings = settings;
+        this.storage = storage;
+        this.recorder = recorder;
+        this.uuid = getUuid(settings, index);
+        this.random = new Random(settings.seed + index);
+    }
+
+    static String getUuid(final LoadTestSettings settings, final int index) {
+        return new UUID(settings.seed, index).toString();
+    }
+
+    public void stop() {
+        this.running = false;
+    }
+
+    @Override
+    public void run() {
+        final long interval = this.settings.getIntervalNanos();
+        // spread the players across the interval instead of starting them all at once
+        long intendedStart = System.nanoTime() + (long) (this.random.nextDouble() * interval);
+        int action = 0;
+
+        while (this.running) {
+            final long delay = intendedStart - System.nanoTime();
+
+            if (delay > 0) {
+                LockSupport.parkNanos(delay);
+                continue;
+            }
+
+            final Operation operation;
+
+            if (action == 0) {
+                operation = Operation.JOIN;
+            } else if (action > this.settings.actionsPerSession) {
+                operation = Operation.QUIT;
+                action = -1;
+            } else {
+                operation = this.settings.workload.nextAction(this.random);
+            }
+
+            action++;
+
+            final long start = System.nanoTime();
+            boolean success = false;
+
+            try {
+                this.perform(operation);
+                success = true;
+            } catch (final RuntimeException ignored) {
+                // counted as error
+            }
+
+            this.recorder.record(operation, intendedStart, start, System.nanoTime(), success);
+            intendedStart += interval;
+        }
+    }
+
+    protected void perform(final Operation operation) {
+        switch (operation) {
+            case JOIN:
+                this.storage.performTask(context -> {
+                    if (context.session().get(PlayerData.class, this.uuid) == null) {
+                        context.session().persist(new PlayerData(this.uuid, "player"));
+                    }
+
+                    return null;
+                });
+                break;
+            case READ:
+                final String other = getUuid(this.settings,
+                        this.random.nextInt(this.settings.getMaxPlayers()));
+
+                this.storage.performTask(
+                        context -> context.session().get(PlayerData.class, other));
+                break;
+            case SAVE:
+                final long coins = 1 + this.random.nextInt(100);
+
+                this.storage.performTask(context -> {
+                    final PlayerData data = context.session().get(PlayerData.class, this.uuid);
+
+                    data.addCoins(coins);
+                    data.addPlaytime(this.settings.getIntervalNanos() / 1_000_000L);
+                    return null;
+                });
+                break;
+            case CONTEND:
+                final int guild = this.random.nextInt(this.settings.hotRows);
+
+                this.storage.performTask(context -> {
+                    context.session().get(GuildData.class, guild, LockMode.PESSIMISTIC_WRITE)
+                            .deposit(1);
+                    return null;
+                });
+                break;
+            case QUIT:
+                this.storage.performTask(context -> {
+                    context.session().get(PlayerData.class, this.uuid)
+                            .setLastSeen(System.currentTimeMillis());
+                    return null;
+                });
+                break;
+            default:
+                throw new IllegalArgumentException(operation.name());
+        }
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2025 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * ALL RIGHTS RESERVED.
+ */
+
+package net.dirtcraft.storageutils.loadtest;
+
+import java.util.Random;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * The mix of actions virtual players perform between joining and quitting.
+ */
+public enum Workload {
+
+    /**
+     * Players mostly look up other players, e.g. for leaderboards and profiles.
+     */
+    READ_HEAVY(90, 10, 0),
+    /**
+     * Players mostly save their own data, e.g. after earning coins.
+     */
+    WRITE_HEAVY(20, 80, 0),
+    /**
+     * Half of the actions update a few shared rows under a row lock, e.g. guild balances.
+     */
+    CONTENDED_ROW(20, 30, 50);
+
+    private final int readWeight;
+    private final int saveWeight;
+    private final int contendWeight;
+
+    Workload(final int readWeight, final int saveWeight, final int contendWeight) {
+        this.readWeight = readWeight;
+        this.saveWeight = saveWeight;
+        this.contendWeight = contendWeight;
+    }
+
+    /**
+     * Parses a workload from its name, e.g. {@code read-heavy}.
+     *
+     * @param name the name
+     * @return the workload
+     */
+    @NonNull
+    public static Workload parse(@NonNull final String name) {
+        return valueOf(name.trim().toUpperCase().replace('-', '_'));
+    }
+
+    /**
+     * Picks the next action.
+     *
+     * @param random the random of the player
+     * @return the action
+     */
+    @NonNull
+    public Operation nextAction(@NonNull final Random random) {
+        final int value =
+                random.nextInt(this.readWeight + this.saveWeight + this.contendWeight);
+
+        if (value < this.readWeight) {
+            return Operation.READ;
+        }
+
+        return value < this.readWeight + this.saveWeight ? Operation.SAVE : Operation.CONTEND;
+    }
+
+    /**
+     * The operations of a virtual player, each performed as a task of its own.
+     */
+    public enum Operation {
+
+        JOIN,
+        READ,
+        SAVE,
+        CONTEND,
+        QUIT
+    }
+}
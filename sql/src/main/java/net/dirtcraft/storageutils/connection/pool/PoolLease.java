@@ -0,0 +1,218 @@
+/*
+ * Copyright (c) 2025 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * ALL RIGHTS RESERVED.
+ */
+
+package net.dirtcraft.storageutils.connection.pool;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import java.io.Closeable;
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Logger;
+import javax.sql.DataSource;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A consumer's reference to a shared pool, see {@link SharedPoolRegistry}.
+ * <p>
+ * Acts as a {@link DataSource} limiting the consumer to its connection quota, so a single
+ * consumer cannot starve the others. Can be passed to Hibernate via
+ * {@code hibernate.connection.datasource}.
+ */
+public class PoolLease implements DataSource, Closeable {
+
+    final SharedPoolKey key;
+    final String consumer;
+    final HikariConfig config;
+    private final SharedPoolRegistry registry;
+    @Nullable
+    private final Semaphore quota;
+    @Nullable
+    private volatile HikariDataSource dataSource;
+    private volatile boolean closed;
+
+    PoolLease(final SharedPoolRegistry registry, final SharedPoolKey key, final String consumer,
+            final HikariConfig config, final int quota) {
+        this.registry = registry;
+        this.key = key;
+        this.consumer = consumer;
+        this.config = config;
+        this.quota = quota > 0 ? new Semaphore(quota, true) : null;
+    }
+
+    /**
+     * Opens the shared pool if this lease does not reference it yet.
+     *
+     * @return the shared pool
+     */
+    @NonNull
+    public synchronized HikariDataSource open() {
+        if (this.closed) {
+            throw new IllegalStateException("Lease of '" + this.consumer + "' is closed.");
+        }
+
+        HikariDataSource dataSource = this.dataSource;
+
+        if (dataSource == null) {
+            dataSource = this.registry.acquire(this);
+            this.dataSource = dataSource;
+        }
+
+        return dataSource;
+    }
+
+    @NonNull
+    public SharedPoolKey getKey() {
+        return this.key;
+    }
+
+    @NonNull
+    public String getConsumer() {
+        return this.consumer;
+    }
+
+    /**
+     * Gets the name of the shared pool, which differs from the name of the consumer.
+     *
+     * @return the pool name, or null if the lease has not been opened yet
+     */
+    @Nullable
+    public String getPoolName() {
+        final HikariDataSource dataSource = this.dataSource;
+
+        return dataSource == null ? null : dataSource.getPoolName();
+    }
+
+    /**
+     * Gets the amount of further connections the consumer may borrow.
+     *
+     * @return the available connections, -1 if there is no quota
+     */
+    public int getAvailableQuota() {
+        return this.quota == null ? -1 : this.quota.availablePermits();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        final HikariDataSource dataSource = this.open();
+
+        if (this.quota == null) {
+            return dataSource.getConnection();
+        }
+
+        try {
+            if (!this.quota.tryAcquire(dataSource.getConnectionTimeout(),
+                    TimeUnit.MILLISECONDS)) {
+                throw new SQLTransientConnectionException(
+                        "Consumer '" + this.consumer + "' exhausted its connection quota.");
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException(
+                    "Interrupted whilst waiting for the connection quota.", e);
+        }
+
+        final Connection connection;
+
+        try {
+            connection = dataSource.getConnection();
+        } catch (final SQLException | RuntimeException e) {
+            this.quota.release();
+            throw e;
+        }
+
+        return this.releaseOnClose(connection, this.quota);
+    }
+
+    @Override
+    public Connection getConnection(final String username, final String password)
+            throws SQLException {
+        throw new SQLFeatureNotSupportedException("Shared pools use fixed credentials.");
+    }
+
+    /**
+     * Releases this consumer's reference. The pool is shut down once the last reference is
+     * released.
+     */
+    @Override
+    public synchronized void close() {
+        if (this.closed) {
+            return;
+        }
+
+        this.closed = true;
+
+        if (this.dataSource != null) {
+            this.registry.release(this);
+            this.dataSource = null;
+        }
+    }
+
+    @Override
+    public PrintWriter getLogWriter() throws SQLException {
+        return this.open().getLogWriter();
+    }
+
+    @Override
+    public void setLogWriter(final PrintWriter out) throws SQLException {
+        this.open().setLogWriter(out);
+    }
+
+    @Override
+    public void setLoginTimeout(final int seconds) throws SQLException {
+        this.open().setLoginTimeout(seconds);
+    }
+
+    @Override
+    public int getLoginTimeout() throws SQLException {
+        return this.open().getLoginTimeout();
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        throw new SQLFeatureNotSupportedException();
+    }
+
+    @Override
+    public <T> T unwrap(final Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return iface.cast(this);
+        }
+
+        return this.open().unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(final Class<?> iface) throws SQLException {
+        return iface.isInstance(this) || this.open().isWrapperFor(iface);
+    }
+
+    private Connection releaseOnClose(final Connection connection, final Semaphore quota) {
+        final AtomicBoolean released = new AtomicBoolean();
+
+        return (Connection) Proxy.newProxyInstance(PoolLease.class.getClassLoader(),
+                new Class<?>[] {Connection.class}, (proxy, method, args) -> {
+                    if ("close".equals(method.getName()) && released.compareAndSet(false, true)) {
+                        quota.release();
+                    }
+
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (final InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2025 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * ALL RIGHTS RESERVED.
+ */
+
+package net.dirtcraft.storageutils.connection.pool;
+
+import java.util.Locale;
+import java.util.Objects;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * Identifies a shared pool. Consumers connecting to the same database as the same user share
+ * a pool, regardless of how they spell the address.
+ */
+public final class SharedPoolKey {
+
+    private final String driverJdbcIdentifier;
+    private final String host;
+    private final int port;
+    private final String database;
+    private final String username;
+
+    private SharedPoolKey(final String driverJdbcIdentifier, final String host, final int port,
+            final String database, final String username) {
+        this.driverJdbcIdentifier = driverJdbcIdentifier;
+        this.host = host;
+        this.port = port;
+        this.database = database;
+        this.username = username;
+    }
+
+    /**
+     * Creates a normalized key.
+     *
+     * @param driverJdbcIdentifier the JDBC identifier of the driver, e.g. {@code mariadb}
+     * @param address              the address, optionally including the port
+     * @param defaultPort          the port to use if the address does not contain one
+     * @param database             the database
+     * @param username             the username
+     * @return the key
+     */
+    @NonNull
+    public static SharedPoolKey of(@NonNull final String driverJdbcIdentifier,
+            @NonNull final String address, final int defaultPort, @NonNull final String database,
+            @NonNull final String username) {
+        final String[] addressSplit = address.trim().split(":");
+        String host = addressSplit[0].toLowerCase(Locale.ROOT);
+        int port = defaultPort;
+
+        if (addressSplit.length > 1) {
+            try {
+                port = Integer.parseInt(addressSplit[1]);
+            } catch (final NumberFormatException ignored) {
+                // the connection factories fall back to the default port as well
+            }
+        }
+
+        if (host.isEmpty() || "127.0.0.1".equals(host)) {
+            host = "localhost";
+        }
+
+        return new SharedPoolKey(driverJdbcIdentifier.toLowerCase(Locale.ROOT), host, port,
+                database, username);
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+
+        if (!(o instanceof SharedPoolKey)) {
+            return false;
+        }
+
+        final SharedPoolKey that = (SharedPoolKey) o;
+
+        return this.port == that.port && this.driverJdbcIdentifier.equals(
+                that.driverJdbcIdentifier) && this.host.equals(that.host) && this.database.equals(
+                that.database) && this.username.equals(that.username);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.driverJdbcIdentifier, this.host, this.port, this.database,
+                this.username);
+    }
+
+    @Override
+    public String toString() {
+        return this.driverJdbcIdentifier + "://" + this.username + '@' + this.host + ':'
+                + this.port + '/' + this.database;
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2025 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * ALL RIGHTS RESERVED.
+ */
+
+package net.dirtcraft.storageutils.connection.pool;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * Process wide registry of Hikari pools shared by all consumers connecting to the same database
+ * as the same user.
+ * <p>
+ * Pools are reference counted: the first lease opens the pool, closing the last lease shuts it
+ * down. The pool is sized to the sum of the pool sizes requested by its consumers, so each
+ * consumer can borrow up to its quota at any time as long as the quota does not exceed its pool
+ * size. Consumers keep their tables apart using the {@code {prefix}} placeholder of
+ * {@code SqlStorage}.
+ */
+public final class SharedPoolRegistry {
+
+    private static final SharedPoolRegistry INSTANCE = new SharedPoolRegistry();
+
+    // guarded by this
+    private final Map<SharedPoolKey, SharedPool> pools = new HashMap<>();
+    private int sequence;
+
+    private SharedPoolRegistry() {}
+
+    @NonNull
+    public static SharedPoolRegistry getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Creates a lease for a consumer. The pool is only opened once the lease is used.
+     *
+     * @param key      the key of the pool
+     * @param consumer the unique name of the consumer
+     * @param config   the config used if the pool has to be opened, its password has to match
+     *                 the one of the shared pool
+     * @param quota    the maximum amount of connections the consumer may borrow at the same
+     *                 time, 0 for no limit, which lets the consumer starve the others
+     * @return the lease
+     */
+    @NonNull
+    public PoolLease lease(@NonNull final SharedPoolKey key, @NonNull final String consumer,
+            @NonNull final HikariConfig config, final int quota) {
+        return new PoolLease(this, key, consumer, config, quota);
+    }
+
+    /**
+     * Gets the keys of the currently open pools.
+     *
+     * @return the keys
+     */
+    @NonNull
+    public synchronized Set<SharedPoolKey> getPools() {
+        return Collections.unmodifiableSet(new HashSet<>(this.pools.keySet()));
+    }
+
+    /**
+     * Gets the consumers of a pool.
+     *
+     * @param key the key of the pool
+     * @return the consumers, empty if the pool is not open
+     */
+    @NonNull
+    public synchronized Set<String> getConsumers(@NonNull final SharedPoolKey key) {
+        final SharedPool pool = this.pools.get(key);
+
+        return pool == null ? Collections.emptySet()
+                : Collections.unmodifiableSet(new HashSet<>(pool.consumers.keySet()));
+    }
+
+    synchronized HikariDataSource acquire(final PoolLease lease) {
+        SharedPool pool = this.pools.get(lease.key);
+        final HikariConfig config = lease.config;
+
+        if (pool == null) {
+            // the name is part of the JMX object names of the pool
+            config.setPoolName("shared-" + ++this.sequence + '-'
+                    + lease.key.toString().replaceAll("[^A-Za-z0-9_.-]", "_"));
+            pool = new SharedPool(new HikariDataSource(config), config.getPassword());
+            pool.consumers.put(lease.consumer, config.getMaximumPoolSize());
+            this.pools.put(lease.key, pool);
+            return pool.dataSource;
+        }
+
+        final String password = config.getPassword() == null ? "" : config.getPassword();
+
+        if (!pool.password.equals(password)) {
+            throw new IllegalStateException(
+                    "Consumer '" + lease.consumer + "' uses a different password for "
+                            + lease.key + '.');
+        }
+
+        if (pool.consumers.containsKey(lease.consumer)) {
+            throw new IllegalStateException(
+                    "Consumer '" + lease.consumer + "' already leases " + lease.key + '.');
+        }
+
+        pool.consumers.put(lease.consumer, config.getMaximumPoolSize());
+        pool.resize();
+        return pool.dataSource;
+    }
+
+    synchronized void release(final PoolLease lease) {
+        final SharedPool pool = this.pools.get(lease.key);
+
+        if (pool == null || pool.consumers.remove(lease.consumer) == null) {
+            return;
+        }
+
+        if (pool.consumers.isEmpty()) {
+            this.pools.remove(lease.key);
+            pool.dataSource.close();
+        } else {
+            pool.resize();
+        }
+    }
+
+    private static final class SharedPool {
+
+        private final HikariDataSource dataSource;
+        private final String password;
+        // the pool size requested by each consumer
+        private final Map<String, Integer> consumers = new HashMap<>();
+
+        private SharedPool(final HikariDataSource dataSource, final String password) {
+            this.dataSource = dataSource;
+            this.password = password == null ? "" : password;
+        }
+
+        private void resize() {
+            final int size = this.consumers.values().stream().mapToInt(Integer::intValue).sum();
+
+            this.dataSource.getHikariConfigMXBean().setMaximumPoolSize(size);
+        }
+    }
+}
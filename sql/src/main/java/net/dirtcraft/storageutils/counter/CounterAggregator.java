@@ -0,0 +1,213 @@
+/*
+ * Copyright (c) 2025 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * ALL RIGHTS RESERVED.
+ */
+
+package net.dirtcraft.storageutils.counter;
+
+import java.io.Closeable;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import net.dirtcraft.storageutils.logging.LoggerAdapter;
+import net.dirtcraft.storageutils.sql.upsert.Upsert;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Accumulates increments of hot counters in memory and writes them as one batched increment
+ * upsert per table, instead of a task locking the same rows for every increment.
+ * <pre>{@code
+ * CounterTable stats = storage.enableCounters(5, TimeUnit.SECONDS, 10_000)
+ *         .register("{prefix}player_stats", new String[] {"uuid"}, "blocks_mined", "kills");
+ * stats.increment("kills", 1, uuid);
+ * }</pre>
+ * Increments are flushed periodically, once the amount of rows with pending increments reaches
+ * a threshold and when the storage shuts down. Increments of failed flushes are kept for the
+ * next one, flushes triggered by the threshold are suspended until a flush succeeds again.
+ * Increments not flushed before the process dies are lost.
+ */
+public class CounterAggregator implements Closeable {
+
+    private static final long CLOSE_TIMEOUT_SECONDS = 30;
+
+    protected final LoggerAdapter logger;
+    protected final Flusher flusher;
+    protected final int maxPendingRows;
+    private final Map<String, CounterTable> tables = new ConcurrentHashMap<>();
+    private final AtomicInteger pendingRows = new AtomicInteger();
+    private final AtomicBoolean flushQueued = new AtomicBoolean();
+    private final ScheduledExecutorService scheduler;
+    private volatile boolean closed;
+    // threshold flushes would otherwise hammer a database which is down
+    private volatile boolean failing;
+
+    /**
+     * @param logger         the logger
+     * @param flusher        executes the upserts, e.g. in a task
+     * @param interval       the interval at which increments are flushed
+     * @param unit           the unit of the interval
+     * @param maxPendingRows the amount of rows with pending increments triggering a flush
+     */
+    public CounterAggregator(final LoggerAdapter logger, final Flusher flusher,
+            final long interval, final TimeUnit unit, final int maxPendingRows) {
+        this.logger = logger;
+        this.flusher = flusher;
+        this.maxPendingRows = maxPendingRows;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "counter-flusher");
+
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.scheduler.scheduleWithFixedDelay(this::flushQuietly, interval, interval, unit);
+    }
+
+    /**
+     * Registers a table. The table needs a unique key over the key columns.
+     *
+     * @param table          the table, may contain the {@code {prefix}} placeholder if flushed
+     *                       through {@code SqlStorage}
+     * @param keyColumns     the key columns
+     * @param counterColumns the numeric counter columns
+     * @return the table
+     */
+    @NonNull
+    public CounterTable register(@NonNull final String table, @NonNull final String[] keyColumns,
+            @NonNull final String... counterColumns) {
+        if (keyColumns.length == 0 || counterColumns.length == 0) {
+            throw new IllegalArgumentException("At least one key and counter column required.");
+        }
+
+        final CounterTable counterTable =
+                new CounterTable(this, table, keyColumns, counterColumns);
+
+        if (this.tables.putIfAbsent(table, counterTable) != null) {
+            throw new IllegalStateException(table + " is already registered.");
+        }
+
+        return counterTable;
+    }
+
+    @Nullable
+    public CounterTable getTable(@NonNull final String table) {
+        return this.tables.get(table);
+    }
+
+    /**
+     * Gets the amount of rows with pending increments across all tables.
+     *
+     * @return the amount of rows
+     */
+    public int getPendingRows() {
+        return this.pendingRows.get();
+    }
+
+    /**
+     * Flushes the pending increments of all tables on the calling thread.
+     *
+     * @return the amount of flushed rows
+     * @throws Exception if a flush failed, the increments are kept for the next flush
+     */
+    public synchronized int flush() throws Exception {
+        Exception failure = null;
+        int flushed = 0;
+
+        for (final CounterTable table : this.tables.values()) {
+            try {
+                flushed += table.flush(this.flusher);
+            } catch (final Exception e) {
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+
+        this.failing = failure != null;
+
+        if (failure != null) {
+            throw failure;
+        }
+
+        return flushed;
+    }
+
+    /**
+     * Stops the periodic flush and flushes the remaining increments.
+     */
+    @Override
+    public void close() {
+        if (this.closed) {
+            return;
+        }
+
+        this.closed = true;
+        this.scheduler.shutdown();
+
+        try {
+            this.scheduler.awaitTermination(CLOSE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        try {
+            this.flush();
+        } catch (final Exception e) {
+            this.logger.severe("Could not flush " + this.pendingRows.get()
+                    + " rows of pending counter increments, they are lost.", e);
+        }
+    }
+
+    void onRowAdded() {
+        if (this.pendingRows.incrementAndGet() < this.maxPendingRows || this.closed
+                || this.failing || !this.flushQueued.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            this.scheduler.execute(() -> {
+                this.flushQueued.set(false);
+                this.flushQuietly();
+            });
+        } catch (final RejectedExecutionException e) {
+            // closed concurrently, the final flush takes care of it
+            this.flushQueued.set(false);
+        }
+    }
+
+    void onRowRemoved() {
+        this.pendingRows.decrementAndGet();
+    }
+
+    private void flushQuietly() {
+        try {
+            this.flush();
+        } catch (final Exception e) {
+            this.logger.warn("Could not flush counter increments, retrying with the next flush:"
+                    + " {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Writes the upsert of a flush.
+     */
+    @FunctionalInterface
+    public interface Flusher {
+
+        /**
+         * Executes the upsert, either completely or not at all.
+         *
+         * @param upsert the upsert
+         * @throws Exception if the upsert failed
+         */
+        void flush(@NonNull Upsert upsert) throws Exception;
+    }
+}
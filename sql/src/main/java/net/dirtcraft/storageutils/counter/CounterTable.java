@@ -0,0 +1,308 @@
+/*
+ * Copyright (c) 2025 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * ALL RIGHTS RESERVED.
+ */
+
+package net.dirtcraft.storageutils.counter;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import net.dirtcraft.storageutils.sql.upsert.Upsert;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * The pending increments of the counter columns of a table, see {@link CounterAggregator}.
+ * <p>
+ * Key values are compared using {@code equals}, hence use strings or numbers instead of arrays.
+ */
+public final class CounterTable {
+
+    private final CounterAggregator aggregator;
+    private final String table;
+    private final String[] keyColumns;
+    private final List<String> counterColumns;
+    private final Map<List<Object>, Row> rows = new ConcurrentHashMap<>();
+    // writers in progress per epoch, a flush waits for the writers of the previous epoch
+    private final AtomicLongArray[] writers = {
+            new AtomicLongArray(StripedCounter.STRIPES * StripedCounter.PADDING),
+            new AtomicLongArray(StripedCounter.STRIPES * StripedCounter.PADDING)};
+    // guards the hand-over of rows between the maps below, neither the increments nor the I/O
+    private final Object flushLock = new Object();
+    private volatile int epoch;
+    private Map<List<Object>, Row> draining = Collections.emptyMap();
+    private Map<List<Object>, long[]> inFlight = Collections.emptyMap();
+
+    CounterTable(final CounterAggregator aggregator, final String table,
+            final String[] keyColumns, final String[] counterColumns) {
+        this.aggregator = aggregator;
+        this.table = table;
+        this.keyColumns = keyColumns.clone();
+        this.counterColumns = Collections.unmodifiableList(Arrays.asList(counterColumns.clone()));
+    }
+
+    @NonNull
+    public String getTable() {
+        return this.table;
+    }
+
+    @NonNull
+    public List<String> getCounterColumns() {
+        return this.counterColumns;
+    }
+
+    /**
+     * Adds a delta to a counter.
+     *
+     * @param column the counter column
+     * @param delta  the delta
+     * @param key    the values of the key columns
+     */
+    public void increment(@NonNull final String column, final long delta,
+            @NonNull final Object... key) {
+        this.add(this.indexOf(column), this.toKey(key), delta);
+    }
+
+    /**
+     * Gets the increments of a counter which have not been committed yet, including those of a
+     * running flush until its flusher returned. Never waits for the database.
+     *
+     * @param column the counter column
+     * @param key    the values of the key columns
+     * @return the pending delta
+     */
+    public long getPending(@NonNull final String column, @NonNull final Object... key) {
+        final int index = this.indexOf(column);
+        final List<Object> rowKey = this.toKey(key);
+
+        synchronized (this.flushLock) {
+            final Row row = this.rows.get(rowKey);
+            final Row draining = this.draining.get(rowKey);
+            final long[] inFlight = this.inFlight.get(rowKey);
+            long pending = row == null ? 0 : row.counters[index].sum();
+
+            if (draining != null) {
+                pending += draining.counters[index].sum();
+            }
+
+            if (inFlight != null) {
+                pending += inFlight[index];
+            }
+
+            return pending;
+        }
+    }
+
+    /**
+     * Merges the pending increments into a value read from the database, so callers read their
+     * own writes before they are flushed. Read the value right before merging it, a value read
+     * before a concurrent flush committed misses the increments of that flush, one read after
+     * it committed but before its flusher returned counts them twice.
+     *
+     * @param persisted the value read from the database
+     * @param column    the counter column
+     * @param key       the values of the key columns
+     * @return the current value
+     */
+    public long merge(final long persisted, @NonNull final String column,
+            @NonNull final Object... key) {
+        return persisted + this.getPending(column, key);
+    }
+
+    /**
+     * Gets the amount of rows with pending increments.
+     *
+     * @return the amount of rows
+     */
+    public int getPendingRows() {
+        return this.rows.size();
+    }
+
+    /**
+     * Drains the pending increments and passes them to the flusher as a single upsert. Restores
+     * the increments if the flusher fails. Only called by the aggregator, one flush at a time.
+     *
+     * @param flusher the flusher
+     * @return the amount of flushed rows
+     * @throws Exception if the flusher failed
+     */
+    int flush(final CounterAggregator.Flusher flusher) throws Exception {
+        final Map<List<Object>, Row> removed = new HashMap<>();
+
+        synchronized (this.flushLock) {
+            for (final Row row : this.rows.values()) {
+                if (this.rows.remove(row.key, row)) {
+                    this.aggregator.onRowRemoved();
+                    removed.put(row.key, row);
+                }
+            }
+
+            this.draining = removed;
+        }
+
+        // writers which may still hold a removed row all started in the previous epoch
+        final AtomicLongArray previous = this.writers[this.epoch++ & 1];
+
+        this.awaitWriters(previous);
+
+        final Map<List<Object>, long[]> drained = new HashMap<>();
+
+        synchronized (this.flushLock) {
+            for (final Row row : removed.values()) {
+                this.drain(row, drained);
+            }
+
+            this.inFlight = drained;
+            this.draining = Collections.emptyMap();
+        }
+
+        if (drained.isEmpty()) {
+            return 0;
+        }
+
+        final Upsert upsert = Upsert.into(this.table).key(this.keyColumns)
+                .increment(this.counterColumns.toArray(new String[0]));
+
+        for (final Map.Entry<List<Object>, long[]> entry : drained.entrySet()) {
+            final Object[] values = new Object[this.keyColumns.length + this.counterColumns.size()];
+
+            entry.getKey().toArray(values);
+
+            for (int i = 0; i < entry.getValue().length; i++) {
+                values[this.keyColumns.length + i] = entry.getValue()[i];
+            }
+
+            upsert.row(values);
+        }
+
+        boolean flushed = false;
+
+        // the round trip runs without the lock, so readers never wait for the database
+        try {
+            flusher.flush(upsert);
+            flushed = true;
+        } finally {
+            // readers see the increments either in flight or restored, never both
+            synchronized (this.flushLock) {
+                if (!flushed) {
+                    for (final Map.Entry<List<Object>, long[]> entry : drained.entrySet()) {
+                        for (int i = 0; i < entry.getValue().length; i++) {
+                            if (entry.getValue()[i] != 0) {
+                                this.add(i, entry.getKey(), entry.getValue()[i]);
+                            }
+                        }
+                    }
+                }
+
+                this.inFlight = Collections.emptyMap();
+            }
+        }
+
+        return drained.size();
+    }
+
+    private void add(final int index, final List<Object> key, final long delta) {
+        final int cell = StripedCounter.index() * StripedCounter.PADDING;
+        AtomicLongArray gauge;
+
+        while (true) {
+            final int epoch = this.epoch;
+
+            gauge = this.writers[epoch & 1];
+            gauge.incrementAndGet(cell);
+
+            // a flush which started in between may not wait for this gauge anymore
+            if (this.epoch == epoch) {
+                break;
+            }
+
+            gauge.decrementAndGet(cell);
+        }
+
+        try {
+            Row row = this.rows.get(key);
+
+            if (row == null) {
+                final Row created = new Row(key, this.counterColumns.size());
+
+                row = this.rows.putIfAbsent(key, created);
+
+                if (row == null) {
+                    row = created;
+                    this.aggregator.onRowAdded();
+                }
+            }
+
+            row.counters[index].add(delta);
+        } finally {
+            gauge.decrementAndGet(cell);
+        }
+    }
+
+    private void awaitWriters(final AtomicLongArray writers) {
+        // each thread increments and decrements the same cell, hence no cell is ever negative
+        for (int i = 0; i < StripedCounter.STRIPES; i++) {
+            while (writers.get(i * StripedCounter.PADDING) != 0) {
+                Thread.yield();
+            }
+        }
+    }
+
+    private void drain(final Row row, final Map<List<Object>, long[]> drained) {
+        long[] deltas = null;
+
+        for (int i = 0; i < row.counters.length; i++) {
+            final long delta = row.counters[i].drain();
+
+            if (delta == 0) {
+                continue;
+            }
+
+            if (deltas == null) {
+                deltas = drained.computeIfAbsent(row.key, key -> new long[row.counters.length]);
+            }
+
+            deltas[i] += delta;
+        }
+    }
+
+    private int indexOf(final String column) {
+        final int index = this.counterColumns.indexOf(column);
+
+        if (index == -1) {
+            throw new IllegalArgumentException(
+                    column + " is not a counter column of " + this.table + '.');
+        }
+
+        return index;
+    }
+
+    private List<Object> toKey(final Object[] key) {
+        if (key.length != this.keyColumns.length) {
+            throw new IllegalArgumentException(
+                    "Expected " + this.keyColumns.length + " key values, got " + key.length + '.');
+        }
+
+        return Arrays.asList(key.clone());
+    }
+
+    private static final class Row {
+
+        private final List<Object> key;
+        private final StripedCounter[] counters;
+
+        private Row(final List<Object> key, final int columns) {
+            this.key = key;
+            this.counters = new StripedCounter[columns];
+
+            for (int i = 0; i < columns; i++) {
+                this.counters[i] = new StripedCounter();
+            }
+        }
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2025 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * ALL RIGHTS RESERVED.
+ */
+
+package net.dirtcraft.storageutils.counter;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Counter which spreads contended updates across cells like {@link
+ * java.util.concurrent.atomic.LongAdder}, but can be drained atomically: every update is either
+ * part of the drained sum or remains in the counter.
+ */
+final class StripedCounter {
+
+    // one cell per cache line
+    static final int PADDING = 8;
+    static final int STRIPES =
+            Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors() - 1))
+                    << 1;
+
+    private final AtomicLong base = new AtomicLong();
+    private volatile AtomicLongArray cells;
+
+    static int index() {
+        final long id = Thread.currentThread().getId();
+
+        return (int) ((id * 0x9E3779B97F4A7C15L) >>> 32) & (STRIPES - 1);
+    }
+
+    void add(final long delta) {
+        AtomicLongArray cells = this.cells;
+
+        if (cells == null) {
+            final long value = this.base.get();
+
+            if (this.base.compareAndSet(value, value + delta)) {
+                return;
+            }
+
+            // contended, stripe from now on
+            cells = this.getOrCreateCells();
+        }
+
+        cells.getAndAdd(index() * PADDING, delta);
+    }
+
+    long sum() {
+        long sum = this.base.get();
+        final AtomicLongArray cells = this.cells;
+
+        if (cells != null) {
+            for (int i = 0; i < STRIPES; i++) {
+                sum += cells.get(i * PADDING);
+            }
+        }
+
+        return sum;
+    }
+
+    long drain() {
+        long sum = this.base.getAndSet(0);
+        final AtomicLongArray cells = this.cells;
+
+        if (cells != null) {
+            for (int i = 0; i < STRIPES; i++) {
+                sum += cells.getAndSet(i * PADDING, 0);
+            }
+        }
+
+        return sum;
+    }
+
+    private synchronized AtomicLongArray getOrCreateCells() {
+        if (this.cells == null) {
+            this.cells = new AtomicLongArray(STRIPES * PADDING);
+        }
+
+        return this.cells;
+    }
+}
@@ -0,0 +1,420 @@
+/*
+ * Copyright (c) 2025 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * ALL RIGHTS RESERVED.
+ */
+
+package net.dirtcraft.storageutils.pagination;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Pages through an ordered query by seeking past the sort key of the last item instead of
+ * skipping rows with an offset, so every page costs the same given an index over the sort key.
+ * <pre>{@code
+ * KeysetQuery<Ban> query = KeysetQuery.<Ban>select("SELECT * FROM {prefix}bans")
+ *         .where("player = ?", uuid)
+ *         .desc("created", Ban::getCreated)
+ *         .desc("id", Ban::getId);
+ * Page<Ban> page = storage.page(query, request.getToken(), 50, Ban::fromRow);
+ * }</pre>
+ * The sort key has to be unique, usually by ending with the primary key, and its columns must
+ * not be null. The tokens of a page are opaque and only valid for queries with the same sort
+ * key.
+ * <p>
+ * Seek predicates are row value comparisons such as {@code (created, id) < (?, ?)} if all keys
+ * are sorted in the same direction. Otherwise, and always in HQL, they are expanded to the
+ * equivalent {@code created < ? OR (created = ? AND id > ?)}.
+ *
+ * @param <E> the type of the items
+ */
+public class KeysetQuery<E> {
+
+    private static final String PARAMETER_PREFIX = "keyset";
+
+    protected final String select;
+    protected final List<Key<E>> keys = new ArrayList<>();
+    protected final List<Object> parameters = new ArrayList<>();
+    protected final Map<String, Object> namedParameters = new LinkedHashMap<>();
+    @Nullable
+    protected String filter;
+
+    protected KeysetQuery(final String select) {
+        this.select = select;
+    }
+
+    /**
+     * Creates a query.
+     *
+     * @param select the query without a where, order by or limit clause, e.g.
+     *               {@code SELECT * FROM {prefix}bans} or {@code SELECT b FROM Ban b}
+     * @param <E>    the type of the items
+     * @return the query
+     */
+    @NonNull
+    public static <E> KeysetQuery<E> select(@NonNull final String select) {
+        return new KeysetQuery<>(select);
+    }
+
+    /**
+     * Sets the filter of the query.
+     *
+     * @param predicate  the predicate
+     * @param parameters the values of the positional parameters in SQL, HQL has to use named
+     *                   parameters instead, see {@link #parameter(String, Object)}
+     * @return this query
+     */
+    @NonNull
+    public KeysetQuery<E> where(@NonNull final String predicate,
+            @NonNull final Object... parameters) {
+        this.filter = predicate;
+        this.parameters.clear();
+        this.parameters.addAll(Arrays.asList(parameters));
+        return this;
+    }
+
+    /**
+     * Sets a named parameter of the filter in HQL.
+     *
+     * @param name  the name
+     * @param value the value
+     * @return this query
+     */
+    @NonNull
+    public KeysetQuery<E> parameter(@NonNull final String name, @NonNull final Object value) {
+        this.namedParameters.put(name, value);
+        return this;
+    }
+
+    /**
+     * Adds an ascending sort key.
+     *
+     * @param expression the column or property
+     * @param extractor  extracts the value of the key from an item
+     * @return this query
+     */
+    @NonNull
+    public KeysetQuery<E> asc(@NonNull final String expression,
+            @NonNull final Function<? super E, ?> extractor) {
+        this.keys.add(new Key<>(expression, false, extractor));
+        return this;
+    }
+
+    /**
+     * Adds a descending sort key.
+     *
+     * @param expression the column or property
+     * @param extractor  extracts the value of the key from an item
+     * @return this query
+     */
+    @NonNull
+    public KeysetQuery<E> desc(@NonNull final String expression,
+            @NonNull final Function<? super E, ?> extractor) {
+        this.keys.add(new Key<>(expression, true, extractor));
+        return this;
+    }
+
+    /**
+     * Fetches a page using SQL.
+     *
+     * @param connection         the connection
+     * @param statementProcessor the statement processor
+     * @param token              the token of the page, or null for the first page
+     * @param size               the maximum amount of items
+     * @param mapper             maps the rows to items
+     * @return the page
+     * @throws SQLException if the page could not be fetched
+     */
+    @NonNull
+    public Page<E> fetch(@NonNull final Connection connection,
+            @NonNull final Function<String, String> statementProcessor,
+            @Nullable final String token, final int size, @NonNull final RowMapper<E> mapper)
+            throws SQLException {
+        final PageToken pageToken = this.decode(token, size);
+        final List<Integer> bindings = new ArrayList<>();
+        final String sql = statementProcessor.apply(this.toSql(pageToken, size + 1, bindings));
+        final List<E> items = new ArrayList<>();
+
+        try (final PreparedStatement statement = connection.prepareStatement(sql)) {
+            int index = 1;
+
+            for (final Object parameter : this.parameters) {
+                statement.setObject(index++, parameter);
+            }
+
+            for (final int binding : bindings) {
+                final Object value = pageToken.values[binding];
+
+                // not every driver supports binding instants
+                statement.setObject(index++,
+                        value instanceof Instant ? Timestamp.from((Instant) value) : value);
+            }
+
+            try (final ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    items.add(mapper.map(resultSet));
+                }
+            }
+        }
+
+        return this.toPage(pageToken, items, size);
+    }
+
+    /**
+     * Fetches a page using HQL, see {@code TaskContext#page}.
+     *
+     * @param token    the token of the page, or null for the first page
+     * @param size     the maximum amount of items
+     * @param executor executes the query
+     * @return the page
+     */
+    @NonNull
+    public Page<E> fetch(@Nullable final String token, final int size,
+            @NonNull final QueryExecutor<E> executor) {
+        final PageToken pageToken = this.decode(token, size);
+        final List<Integer> bindings = new ArrayList<>();
+        final String query = this.toHql(pageToken, bindings);
+        final Map<String, Object> parameters = new LinkedHashMap<>(this.namedParameters);
+
+        for (int i = 0; i < bindings.size(); i++) {
+            parameters.put(PARAMETER_PREFIX + i, pageToken.values[bindings.get(i)]);
+        }
+
+        return this.toPage(pageToken,
+                new ArrayList<>(executor.execute(query, parameters, size + 1)), size);
+    }
+
+    /**
+     * Builds the SQL statement of a page.
+     *
+     * @param token    the token of the page, or null for the first page
+     * @param limit    the maximum amount of rows
+     * @param bindings receives the indices of the key values to bind after the parameters of
+     *                 the filter
+     * @return the statement
+     */
+    @NonNull
+    String toSql(@Nullable final PageToken token, final int limit,
+            @NonNull final List<Integer> bindings) {
+        return this.toQuery(token, true, bindings) + " LIMIT " + limit;
+    }
+
+    @NonNull
+    String toHql(@Nullable final PageToken token, @NonNull final List<Integer> bindings) {
+        return this.toQuery(token, false, bindings);
+    }
+
+    @NonNull
+    private String toQuery(@Nullable final PageToken token, final boolean sql,
+            @NonNull final List<Integer> bindings) {
+        final boolean backward = token != null && token.backward;
+        final List<String> predicates = new ArrayList<>();
+
+        if (this.filter != null) {
+            predicates.add('(' + this.filter + ')');
+        }
+
+        if (token != null) {
+            predicates.add(this.seek(backward, sql, bindings));
+        }
+
+        final StringBuilder builder = new StringBuilder(this.select);
+
+        if (!predicates.isEmpty()) {
+            builder.append(" WHERE ").append(String.join(" AND ", predicates));
+        }
+
+        builder.append(" ORDER BY ");
+
+        for (int i = 0; i < this.keys.size(); i++) {
+            final Key<E> key = this.keys.get(i);
+
+            if (i > 0) {
+                builder.append(", ");
+            }
+
+            // a backward page is read in reverse and flipped afterwards
+            builder.append(key.expression).append(key.descending != backward ? " DESC" : " ASC");
+        }
+
+        return builder.toString();
+    }
+
+    /**
+     * Builds the predicate selecting the items after the key of a token.
+     *
+     * @param backward whether to select the items before the key instead
+     * @param sql      whether to build SQL, which uses positional parameters and supports row
+     *                 value comparisons
+     * @param bindings receives the indices of the key values in the order of the parameters
+     * @return the predicate
+     */
+    @NonNull
+    private String seek(final boolean backward, final boolean sql,
+            @NonNull final List<Integer> bindings) {
+        final boolean descending = this.keys.get(0).descending;
+        boolean uniform = true;
+
+        for (final Key<E> key : this.keys) {
+            uniform &= key.descending == descending;
+        }
+
+        if (sql && uniform) {
+            final List<String> expressions = new ArrayList<>();
+            final List<String> placeholders = new ArrayList<>();
+
+            for (int i = 0; i < this.keys.size(); i++) {
+                expressions.add(this.keys.get(i).expression);
+                placeholders.add("?");
+                bindings.add(i);
+            }
+
+            return '(' + String.join(", ", expressions) + ") "
+                    + (descending != backward ? '<' : '>') + " ("
+                    + String.join(", ", placeholders) + ')';
+        }
+
+        final List<String> alternatives = new ArrayList<>();
+
+        for (int i = 0; i < this.keys.size(); i++) {
+            final List<String> conditions = new ArrayList<>();
+
+            for (int j = 0; j <= i; j++) {
+                final Key<E> key = this.keys.get(j);
+                final String operator =
+                        j < i ? " = " : key.descending != backward ? " < " : " > ";
+
+                conditions.add(key.expression + operator
+                        + (sql ? "?" : ':' + PARAMETER_PREFIX + bindings.size()));
+                bindings.add(j);
+            }
+
+            alternatives.add(conditions.size() > 1
+                    ? '(' + String.join(" AND ", conditions) + ')' : conditions.get(0));
+        }
+
+        return '(' + String.join(" OR ", alternatives) + ')';
+    }
+
+    @Nullable
+    private PageToken decode(@Nullable final String token, final int size) {
+        if (this.keys.isEmpty()) {
+            throw new IllegalStateException("At least one sort key required.");
+        }
+
+        if (size <= 0) {
+            throw new IllegalArgumentException("Page size has to be positive.");
+        }
+
+        if (token == null) {
+            return null;
+        }
+
+        final PageToken pageToken = PageToken.decode(token);
+
+        if (pageToken.fingerprint != this.getFingerprint()
+                || pageToken.values.length != this.keys.size()) {
+            throw new IllegalArgumentException("Page token belongs to another query.");
+        }
+
+        return pageToken;
+    }
+
+    @NonNull
+    private Page<E> toPage(@Nullable final PageToken token, @NonNull final List<E> items,
+            final int size) {
+        final boolean backward = token != null && token.backward;
+        final boolean more = items.size() > size;
+
+        if (more) {
+            items.remove(size);
+        }
+
+        if (backward) {
+            Collections.reverse(items);
+        }
+
+        if (items.isEmpty()) {
+            return new Page<>(items, null, null);
+        }
+
+        // there are items beyond the page in the direction it was read in, and the page was
+        // reached from the other direction
+        final boolean hasNext = backward || more;
+        final boolean hasPrevious = backward ? more : token != null;
+
+        return new Page<>(items, hasNext ? this.encode(items.get(items.size() - 1), false) : null,
+                hasPrevious ? this.encode(items.get(0), true) : null);
+    }
+
+    @NonNull
+    private String encode(@NonNull final E item, final boolean backward) {
+        final Object[] values = new Object[this.keys.size()];
+
+        for (int i = 0; i < values.length; i++) {
+            values[i] = this.keys.get(i).extractor.apply(item);
+        }
+
+        return new PageToken(this.getFingerprint(), backward, values).encode();
+    }
+
+    private int getFingerprint() {
+        int fingerprint = 1;
+
+        for (final Key<E> key : this.keys) {
+            fingerprint = 31 * fingerprint + key.expression.hashCode();
+            fingerprint = 31 * fingerprint + (key.descending ? 1 : 0);
+        }
+
+        return fingerprint;
+    }
+
+    protected static final class Key<E> {
+
+        final String expression;
+        final boolean descending;
+        final Function<? super E, ?> extractor;
+
+        private Key(final String expression, final boolean descending,
+                final Function<? super E, ?> extractor) {
+            this.expression = expression;
+            this.descending = descending;
+            this.extractor = extractor;
+        }
+    }
+
+    /**
+     * Executes a query with named parameters, which keeps this class independent of Hibernate.
+     *
+     * @param <E> the type of the items
+     */
+    @FunctionalInterface
+    public interface QueryExecutor<E> {
+
+        /**
+         * Executes a query.
+         *
+         * @param query      the query
+         * @param parameters the values of the named parameters
+         * @param limit      the maximum amount of results
+         * @return the results
+         */
+        @NonNull
+        List<E> execute(@NonNull String query, @NonNull Map<String, Object> parameters,
+                int limit);
+    }
+}
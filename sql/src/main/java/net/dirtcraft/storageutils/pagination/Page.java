@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2025 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * ALL RIGHTS RESERVED.
+ */
+
+package net.dirtcraft.storageutils.pagination;
+
+import java.util.List;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A page of a {@link KeysetQuery}.
+ *
+ * @param <E> the type of the items
+ */
+public final class Page<E> {
+
+    private final List<E> items;
+    @Nullable
+    private final String nextToken;
+    @Nullable
+    private final String previousToken;
+
+    Page(final List<E> items, @Nullable final String nextToken,
+            @Nullable final String previousToken) {
+        this.items = items;
+        this.nextToken = nextToken;
+        this.previousToken = previousToken;
+    }
+
+    /**
+     * Gets the items in the order of the query.
+     *
+     * @return the items
+     */
+    @NonNull
+    public List<E> getItems() {
+        return this.items;
+    }
+
+    /**
+     * Gets the token of the following page.
+     *
+     * @return the token, or null if this is the last page
+     */
+    @Nullable
+    public String getNextToken() {
+        return this.nextToken;
+    }
+
+    /**
+     * Gets the token of the preceding page.
+     *
+     * @return the token, or null if this is the first page
+     */
+    @Nullable
+    public String getPreviousToken() {
+        return this.previousToken;
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) 2025 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * ALL RIGHTS RESERVED.
+ */
+
+package net.dirtcraft.storageutils.pagination;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Date;
+import java.util.UUID;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * A continuation token, the sort key of the first or last item of a page encoded as URL-safe
+ * Base64 of a JSON object. The values are tagged with their type, so they are bound with the
+ * same type again.
+ */
+final class PageToken {
+
+    final int fingerprint;
+    final boolean backward;
+    final Object[] values;
+
+    PageToken(final int fingerprint, final boolean backward, final Object[] values) {
+        this.fingerprint = fingerprint;
+        this.backward = backward;
+        this.values = values;
+    }
+
+    @NonNull
+    static PageToken decode(@NonNull final String token) {
+        try {
+            final JsonObject object = JsonParser.parseString(new String(
+                    Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8))
+                    .getAsJsonObject();
+            final JsonArray array = object.getAsJsonArray("v");
+            final Object[] values = new Object[array.size()];
+
+            for (int i = 0; i < values.length; i++) {
+                final JsonArray value = array.get(i).getAsJsonArray();
+
+                values[i] = decodeValue(value.get(0).getAsString(), value.get(1).getAsString());
+            }
+
+            return new PageToken(object.get("f").getAsInt(), object.get("b").getAsBoolean(),
+                    values);
+        } catch (final RuntimeException e) {
+            throw new IllegalArgumentException("Invalid page token.", e);
+        }
+    }
+
+    @NonNull
+    String encode() {
+        final JsonObject object = new JsonObject();
+        final JsonArray array = new JsonArray();
+
+        for (final Object value : this.values) {
+            array.add(encodeValue(value));
+        }
+
+        object.addProperty("f", this.fingerprint);
+        object.addProperty("b", this.backward);
+        object.add("v", array);
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(object.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    @NonNull
+    private static JsonElement encodeValue(final Object value) {
+        final String type;
+        final String string;
+
+        if (value instanceof String) {
+            type = "s";
+            string = (String) value;
+        } else if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            type = "i";
+            string = value.toString();
+        } else if (value instanceof Long) {
+            type = "l";
+            string = value.toString();
+        } else if (value instanceof Double || value instanceof Float) {
+            type = "d";
+            string = value.toString();
+        } else if (value instanceof BigDecimal) {
+            type = "n";
+            string = value.toString();
+        } else if (value instanceof Boolean) {
+            type = "z";
+            string = value.toString();
+        } else if (value instanceof UUID) {
+            type = "u";
+            string = value.toString();
+        } else if (value instanceof Timestamp) {
+            // keeps the nanoseconds
+            type = "t";
+            string = ((Timestamp) value).toInstant().toString();
+        } else if (value instanceof java.sql.Date) {
+            type = "q";
+            string = value.toString();
+        } else if (value instanceof Date) {
+            type = "j";
+            string = String.valueOf(((Date) value).getTime());
+        } else if (value instanceof Instant) {
+            type = "a";
+            string = value.toString();
+        } else if (value instanceof LocalDate) {
+            type = "c";
+            string = value.toString();
+        } else if (value instanceof LocalDateTime) {
+            type = "e";
+            string = value.toString();
+        } else {
+            throw new IllegalArgumentException("Unsupported sort key value " + value + '.');
+        }
+
+        final JsonArray array = new JsonArray();
+
+        array.add(type);
+        array.add(string);
+        return array;
+    }
+
+    @NonNull
+    private static Object decodeValue(@NonNull final String type, @NonNull final String string) {
+        switch (type) {
+            case "s":
+                return string;
+            case "i":
+                return Integer.valueOf(string);
+            case "l":
+                return Long.valueOf(string);
+            case "d":
+                return Double.valueOf(string);
+            case "n":
+                return new BigDecimal(string);
+            case "z":
+                return Boolean.valueOf(string);
+            case "u":
+                return UUID.fromString(string);
+            case "t":
+                return Timestamp.from(Instant.parse(string));
+            case "q":
+                return java.sql.Date.valueOf(string);
+            case "j":
+                return new Date(Long.parseLong(string));
+            case "a":
+                return Instant.parse(string);
+            case "c":
+                return LocalDate.parse(string);
+            case "e":
+                return LocalDateTime.parse(string);
+            default:
+                throw new IllegalArgumentException("Unknown type " + type + '.');
+        }
+    }
+}
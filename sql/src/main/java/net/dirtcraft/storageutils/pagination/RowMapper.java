@@ -0,0 +1,22 @@
+/*
+ * Copyright (c) 2025 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * ALL RIGHTS RESERVED.
+ */
+
+package net.dirtcraft.storageutils.pagination;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * Maps the current row of a result set to an item.
+ *
+ * @param <E> the type of the item
+ */
+@FunctionalInterface
+public interface RowMapper<E> {
+
+    E map(@NonNull ResultSet resultSet) throws SQLException;
+}
@@ -0,0 +1,30 @@
+/*
+ * Copyright (c) 2025 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * ALL RIGHTS RESERVED.
+ */
+
+package net.dirtcraft.storageutils.partition;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * Archives an expired partition before it is dropped, e.g. by exchanging it with an archive
+ * table using {@code ALTER TABLE ... EXCHANGE PARTITION ... WITH TABLE ...}.
+ */
+@FunctionalInterface
+public interface PartitionArchiver {
+
+    /**
+     * Archives the partition. The partition is only dropped if this returns normally.
+     *
+     * @param connection the connection
+     * @param table      the table
+     * @param partition  the name of the partition
+     * @throws SQLException if the partition could not be archived
+     */
+    void archive(@NonNull Connection connection, @NonNull String table,
+            @NonNull String partition) throws SQLException;
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2025 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * ALL RIGHTS RESERVED.
+ */
+
+package net.dirtcraft.storageutils.partition;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * The period of time covered by a single partition.
+ */
+public enum PartitionInterval {
+
+    DAY {
+        @Override
+        public @NonNull LocalDate floor(@NonNull final LocalDate date) {
+            return date;
+        }
+
+        @Override
+        public @NonNull LocalDate plus(@NonNull final LocalDate date, final long periods) {
+            return date.plusDays(periods);
+        }
+    },
+    WEEK {
+        @Override
+        public @NonNull LocalDate floor(@NonNull final LocalDate date) {
+            return date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        }
+
+        @Override
+        public @NonNull LocalDate plus(@NonNull final LocalDate date, final long periods) {
+            return date.plusWeeks(periods);
+        }
+    },
+    MONTH {
+        @Override
+        public @NonNull LocalDate floor(@NonNull final LocalDate date) {
+            return date.withDayOfMonth(1);
+        }
+
+        @Override
+        public @NonNull LocalDate plus(@NonNull final LocalDate date, final long periods) {
+            return date.plusMonths(periods);
+        }
+    };
+
+    /**
+     * Gets the start of the period containing the date.
+     *
+     * @param date the date
+     * @return the start of the period
+     */
+    @NonNull
+    public abstract LocalDate floor(@NonNull LocalDate date);
+
+    /**
+     * Adds periods to the start of a period.
+     *
+     * @param date    the start of a period
+     * @param periods the amount of periods, may be negative
+     * @return the start of the resulting period
+     */
+    @NonNull
+    public abstract LocalDate plus(@NonNull LocalDate date, long periods);
+}
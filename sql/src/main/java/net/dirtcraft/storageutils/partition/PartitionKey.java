@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2025 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * ALL RIGHTS RESERVED.
+ */
+
+package net.dirtcraft.storageutils.partition;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * The type of the column a table is partitioned by.
+ */
+public enum PartitionKey {
+
+    /**
+     * A {@code DATE} or {@code DATETIME} column, partitioned by {@code RANGE COLUMNS}.
+     */
+    DATETIME(true) {
+        @Override
+        @NonNull
+        String bound(@NonNull final LocalDate date, @NonNull final ZoneId zone) {
+            return '\'' + date.atStartOfDay().format(DATETIME_FORMAT) + '\'';
+        }
+    },
+    /**
+     * A {@code TIMESTAMP} column, partitioned by {@code UNIX_TIMESTAMP} of the column.
+     */
+    TIMESTAMP(false) {
+        @Override
+        @NonNull
+        String expression(@NonNull final String column) {
+            return "UNIX_TIMESTAMP(" + column + ')';
+        }
+
+        @Override
+        @NonNull
+        String bound(@NonNull final LocalDate date, @NonNull final ZoneId zone) {
+            return String.valueOf(date.atStartOfDay(zone).toEpochSecond());
+        }
+    },
+    /**
+     * An integer column holding seconds since the epoch.
+     */
+    EPOCH_SECONDS(false) {
+        @Override
+        @NonNull
+        String bound(@NonNull final LocalDate date, @NonNull final ZoneId zone) {
+            return String.valueOf(date.atStartOfDay(zone).toEpochSecond());
+        }
+    },
+    /**
+     * An integer column holding milliseconds since the epoch.
+     */
+    EPOCH_MILLIS(false) {
+        @Override
+        @NonNull
+        String bound(@NonNull final LocalDate date, @NonNull final ZoneId zone) {
+            return String.valueOf(date.atStartOfDay(zone).toInstant().toEpochMilli());
+        }
+    };
+
+    private static final DateTimeFormatter DATETIME_FORMAT =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final boolean columns;
+
+    PartitionKey(final boolean columns) {
+        this.columns = columns;
+    }
+
+    /**
+     * Gets the partitioning function, e.g. {@code RANGE COLUMNS(`created`)}.
+     *
+     * @param column the quoted column
+     * @return the partitioning function
+     */
+    @NonNull
+    String function(@NonNull final String column) {
+        return this.columns ? "RANGE COLUMNS(" + column + ')'
+                : "RANGE (" + this.expression(column) + ')';
+    }
+
+    @NonNull
+    String expression(@NonNull final String column) {
+        return column;
+    }
+
+    /**
+     * Gets the value all rows of a partition are less than.
+     *
+     * @param date the exclusive upper bound
+     * @param zone the zone the bound is at the start of the day in
+     * @return the value literal
+     */
+    @NonNull
+    abstract String bound(@NonNull LocalDate date, @NonNull ZoneId zone);
+
+    @NonNull
+    String maxValue() {
+        return this.columns ? "VALUES LESS THAN (MAXVALUE)" : "VALUES LESS THAN MAXVALUE";
+    }
+}
@@ -0,0 +1,423 @@
+/*
+ * Copyright (c) 2025 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * ALL RIGHTS RESERVED.
+ */
+
+package net.dirtcraft.storageutils.partition;
+
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import net.dirtcraft.storageutils.StorageType;
+import net.dirtcraft.storageutils.logging.LoggerAdapter;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Maintains time-based RANGE partitions of append-only tables on MariaDB and MySQL, so expired
+ * rows are removed by dropping their partition instead of a locking {@code DELETE}, and queries
+ * filtering by time only read the matching partitions.
+ * <pre>{@code
+ * storage.enablePartitioning(1, TimeUnit.HOURS)
+ *         .register(PartitionedTable.of("{prefix}chat_log", "created")
+ *                 .interval(PartitionInterval.DAY)
+ *                 .retention(30));
+ * }</pre>
+ * Partitions are named {@code p<yyyyMMdd>} after the date their rows are less than. Upcoming
+ * partitions are split off the catch-all partition {@value #MAX_PARTITION}, which is created
+ * when a table is partitioned. Tables are maintained once registered and periodically after.
+ */
+public class PartitionManager implements Closeable {
+
+    public static final String MAX_PARTITION = "pmax";
+    private static final DateTimeFormatter NAME_FORMAT = DateTimeFormatter.BASIC_ISO_DATE;
+    private static final long CLOSE_TIMEOUT_SECONDS = 30;
+
+    protected final LoggerAdapter logger;
+    protected final Executor executor;
+    protected final Function<String, String> statementProcessor;
+    private final Map<String, PartitionedTable> tables = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler;
+    private volatile boolean closed;
+
+    /**
+     * @param logger             the logger
+     * @param executor           provides the connection, e.g. in a task
+     * @param statementProcessor the statement processor applied to the table names
+     * @param interval           the interval at which the tables are maintained
+     * @param unit               the unit of the interval
+     */
+    public PartitionManager(final LoggerAdapter logger, final Executor executor,
+            final Function<String, String> statementProcessor, final long interval,
+            final TimeUnit unit) {
+        this.logger = logger;
+        this.executor = executor;
+        this.statementProcessor = statementProcessor;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "partition-manager");
+
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.scheduler.scheduleWithFixedDelay(this::maintainQuietly, interval, interval, unit);
+    }
+
+    /**
+     * Registers a table and maintains it in the background.
+     *
+     * @param table the table
+     * @return this manager
+     */
+    @NonNull
+    public PartitionManager register(@NonNull final PartitionedTable table) {
+        if (this.tables.putIfAbsent(table.getTable(), table) != null) {
+            throw new IllegalStateException(table.getTable() + " is already registered.");
+        }
+
+        try {
+            this.scheduler.execute(this::maintainQuietly);
+        } catch (final RejectedExecutionException e) {
+            // closed concurrently
+        }
+
+        return this;
+    }
+
+    @Nullable
+    public PartitionedTable getTable(@NonNull final String table) {
+        return this.tables.get(table);
+    }
+
+    /**
+     * Maintains all tables on the calling thread.
+     *
+     * @throws Exception if a table could not be maintained, the others are maintained anyway
+     */
+    public synchronized void maintain() throws Exception {
+        this.executor.execute(connection -> {
+            final StorageType type = StorageType.fromJdbcUrl(connection.getMetaData().getURL());
+
+            if (type != StorageType.MARIADB && type != StorageType.MYSQL) {
+                throw new SQLException("Partitioning is only supported by MariaDB and MySQL.");
+            }
+
+            SQLException failure = null;
+
+            for (final PartitionedTable table : this.tables.values()) {
+                try {
+                    this.maintain(connection, table, LocalDate.now(table.zone));
+                } catch (final SQLException e) {
+                    if (failure == null) {
+                        failure = e;
+                    } else {
+                        failure.addSuppressed(e);
+                    }
+                }
+            }
+
+            if (failure != null) {
+                throw failure;
+            }
+        });
+    }
+
+    /**
+     * Stops the periodic maintenance.
+     */
+    @Override
+    public void close() {
+        if (this.closed) {
+            return;
+        }
+
+        this.closed = true;
+        this.scheduler.shutdown();
+
+        try {
+            this.scheduler.awaitTermination(CLOSE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Creates the upcoming and drops the expired partitions of a table.
+     *
+     * @param connection the connection
+     * @param table      the table
+     * @param today      the current date in the zone of the table
+     * @throws SQLException if the table could not be maintained
+     */
+    protected void maintain(@NonNull final Connection connection,
+            @NonNull final PartitionedTable table, @NonNull final LocalDate today)
+            throws SQLException {
+        final String name = this.statementProcessor.apply(table.table);
+        final List<String> partitions = getPartitions(connection, name);
+
+        if (partitions == null) {
+            this.logger.warn("Partitioned table {} does not exist.", name);
+            return;
+        }
+
+        final LocalDate current = table.interval.floor(today);
+
+        if (partitions.isEmpty()) {
+            if (!table.partitionExisting) {
+                this.logger.warn("Table {} is not partitioned.", name);
+                return;
+            }
+
+            // the first partition holds all existing rows
+            final List<LocalDate> bounds = new ArrayList<>();
+
+            bounds.add(current);
+            bounds.addAll(getUpcomingBounds(table, current, current));
+            execute(connection, "ALTER TABLE " + quote(name) + " PARTITION BY "
+                    + table.key.function(quote(table.column)) + " ("
+                    + definePartitions(table, bounds, true) + ')');
+            this.logger.info("Partitioned table {} into {} partitions.", name,
+                    bounds.size() + 1);
+            return;
+        }
+
+        final NavigableMap<LocalDate, String> bounds = new TreeMap<>();
+
+        for (final String partition : partitions) {
+            final LocalDate bound = parseBound(partition);
+
+            if (bound != null) {
+                bounds.put(bound, partition);
+            }
+        }
+
+        final List<LocalDate> upcoming = getUpcomingBounds(table, current,
+                bounds.isEmpty() ? current : bounds.lastKey());
+
+        if (!upcoming.isEmpty()) {
+            execute(connection, partitions.contains(MAX_PARTITION)
+                    ? "ALTER TABLE " + quote(name) + " REORGANIZE PARTITION " + MAX_PARTITION
+                            + " INTO (" + definePartitions(table, upcoming, true) + ')'
+                    : "ALTER TABLE " + quote(name) + " ADD PARTITION ("
+                            + definePartitions(table, upcoming, false) + ')');
+        }
+
+        final List<String> dropped = new ArrayList<>();
+
+        for (final String partition : getExpired(table, current, bounds)) {
+            if (table.archiver != null) {
+                try {
+                    table.archiver.archive(connection, name, partition);
+                } catch (final SQLException e) {
+                    // keep the partition and the ones after it
+                    this.logger.warn("Could not archive partition {} of {}: {}", partition,
+                            name, e.getMessage());
+                    break;
+                }
+            }
+
+            dropped.add(partition);
+        }
+
+        if (!dropped.isEmpty()) {
+            execute(connection, "ALTER TABLE " + quote(name) + " DROP PARTITION "
+                    + String.join(", ", dropped));
+        }
+
+        if (!upcoming.isEmpty() || !dropped.isEmpty()) {
+            this.logger.info("Created {} and dropped {} partitions of {}.", upcoming.size(),
+                    dropped.size(), name);
+        }
+    }
+
+    private void maintainQuietly() {
+        if (this.tables.isEmpty()) {
+            return;
+        }
+
+        try {
+            this.maintain();
+        } catch (final Exception e) {
+            this.logger.warn("Could not maintain partitions, retrying with the next run: {}",
+                    e.getMessage());
+        }
+    }
+
+    /**
+     * Gets the bounds of the partitions of the upcoming periods above the highest bound.
+     *
+     * @param table   the table
+     * @param current the start of the current period
+     * @param highest the highest existing bound
+     * @return the bounds in ascending order
+     */
+    @NonNull
+    static List<LocalDate> getUpcomingBounds(@NonNull final PartitionedTable table,
+            @NonNull final LocalDate current, @NonNull final LocalDate highest) {
+        final List<LocalDate> bounds = new ArrayList<>();
+
+        // the partition of the current period is bounded by the start of the next one
+        for (int i = 1; i <= table.precreate + 1; i++) {
+            final LocalDate bound = table.interval.plus(current, i);
+
+            if (bound.isAfter(highest)) {
+                bounds.add(bound);
+            }
+        }
+
+        return bounds;
+    }
+
+    /**
+     * Gets the partitions whose rows have all expired.
+     *
+     * @param table   the table
+     * @param current the start of the current period
+     * @param bounds  the partitions by their bounds
+     * @return the expired partitions in ascending order, empty without retention
+     */
+    @NonNull
+    static Collection<String> getExpired(@NonNull final PartitionedTable table,
+            @NonNull final LocalDate current,
+            @NonNull final NavigableMap<LocalDate, String> bounds) {
+        if (table.retention <= 0) {
+            return Collections.emptyList();
+        }
+
+        // rows of a partition are less than its bound, all of them have expired
+        final LocalDate cutoff = table.interval.plus(current, -table.retention);
+
+        return bounds.headMap(cutoff, true).values();
+    }
+
+    /**
+     * Defines partitions for the bounds.
+     *
+     * @param table    the table
+     * @param bounds   the bounds in ascending order
+     * @param catchAll whether to define the catch-all partition after them
+     * @return the partition definitions
+     */
+    @NonNull
+    static String definePartitions(@NonNull final PartitionedTable table,
+            @NonNull final List<LocalDate> bounds, final boolean catchAll) {
+        final List<String> definitions = new ArrayList<>();
+
+        for (final LocalDate bound : bounds) {
+            definitions.add("PARTITION p" + bound.format(NAME_FORMAT) + " VALUES LESS THAN ("
+                    + table.key.bound(bound, table.zone) + ')');
+        }
+
+        if (catchAll) {
+            definitions.add("PARTITION " + MAX_PARTITION + ' ' + table.key.maxValue());
+        }
+
+        return String.join(", ", definitions);
+    }
+
+    @Nullable
+    static LocalDate parseBound(@NonNull final String partition) {
+        if (partition.length() != 9 || partition.charAt(0) != 'p') {
+            return null;
+        }
+
+        try {
+            return LocalDate.parse(partition.substring(1), NAME_FORMAT);
+        } catch (final DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Gets the partitions of a table.
+     *
+     * @param connection the connection
+     * @param table      the table
+     * @return the partitions in order, empty if the table is not partitioned, or null if it
+     *         does not exist
+     * @throws SQLException if the partitions could not be read
+     */
+    @Nullable
+    private static List<String> getPartitions(@NonNull final Connection connection,
+            @NonNull final String table) throws SQLException {
+        try (final PreparedStatement statement = connection.prepareStatement(
+                "SELECT PARTITION_NAME FROM information_schema.PARTITIONS WHERE TABLE_SCHEMA"
+                        + " = DATABASE() AND TABLE_NAME = ? ORDER BY PARTITION_ORDINAL_POSITION")) {
+            statement.setString(1, table);
+
+            try (final ResultSet resultSet = statement.executeQuery()) {
+                if (!resultSet.next()) {
+                    return null;
+                }
+
+                final List<String> partitions = new ArrayList<>();
+
+                do {
+                    final String partition = resultSet.getString(1);
+
+                    // an unpartitioned table has a single row without a name
+                    if (partition != null) {
+                        partitions.add(partition);
+                    }
+                } while (resultSet.next());
+
+                return partitions;
+            }
+        }
+    }
+
+    private static void execute(@NonNull final Connection connection,
+            @NonNull final String sql) throws SQLException {
+        try (final Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    @NonNull
+    private static String quote(@NonNull final String identifier) {
+        return '`' + identifier.replace("`", "``") + '`';
+    }
+
+    /**
+     * Runs the maintenance on a connection.
+     */
+    @FunctionalInterface
+    public interface Executor {
+
+        /**
+         * Runs the maintenance, e.g. within a task.
+         *
+         * @param maintenance the maintenance
+         * @throws Exception if the maintenance failed
+         */
+        void execute(@NonNull Maintenance maintenance) throws Exception;
+    }
+
+    /**
+     * Maintenance performed on a connection.
+     */
+    @FunctionalInterface
+    public interface Maintenance {
+
+        void run(@NonNull Connection connection) throws SQLException;
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2025 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * ALL RIGHTS RESERVED.
+ */
+
+package net.dirtcraft.storageutils.partition;
+
+import java.time.ZoneId;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Declares a table as partitioned by time, see {@link PartitionManager}. The partition column
+ * has to be part of every unique key of the table, including the primary key.
+ */
+public class PartitionedTable {
+
+    protected final String table;
+    protected final String column;
+    protected PartitionKey key = PartitionKey.DATETIME;
+    protected PartitionInterval interval = PartitionInterval.MONTH;
+    protected ZoneId zone = ZoneId.systemDefault();
+    protected int precreate = 2;
+    protected int retention;
+    @Nullable
+    protected PartitionArchiver archiver;
+    protected boolean partitionExisting;
+
+    protected PartitionedTable(final String table, final String column) {
+        this.table = table;
+        this.column = column;
+    }
+
+    /**
+     * Declares a table.
+     *
+     * @param table  the table, may contain the {@code {prefix}} placeholder if maintained
+     *               through {@code SqlStorage}
+     * @param column the column the table is partitioned by
+     * @return the table
+     */
+    @NonNull
+    public static PartitionedTable of(@NonNull final String table, @NonNull final String column) {
+        return new PartitionedTable(table, column);
+    }
+
+    /**
+     * Sets the type of the partition column, {@link PartitionKey#DATETIME} by default.
+     *
+     * @param key the type
+     * @return this table
+     */
+    @NonNull
+    public PartitionedTable key(@NonNull final PartitionKey key) {
+        this.key = key;
+        return this;
+    }
+
+    /**
+     * Sets the period covered by a partition, {@link PartitionInterval#MONTH} by default.
+     *
+     * @param interval the period
+     * @return this table
+     */
+    @NonNull
+    public PartitionedTable interval(@NonNull final PartitionInterval interval) {
+        this.interval = interval;
+        return this;
+    }
+
+    /**
+     * Sets the zone periods start in, the system default by default.
+     *
+     * @param zone the zone
+     * @return this table
+     */
+    @NonNull
+    public PartitionedTable zone(@NonNull final ZoneId zone) {
+        this.zone = zone;
+        return this;
+    }
+
+    /**
+     * Sets the amount of upcoming periods which have a partition in advance, 2 by default.
+     *
+     * @param periods the amount of periods
+     * @return this table
+     */
+    @NonNull
+    public PartitionedTable precreate(final int periods) {
+        this.precreate = periods;
+        return this;
+    }
+
+    /**
+     * Sets the amount of past periods which are kept besides the current one. Partitions of
+     * older periods are dropped.
+     *
+     * @param periods the amount of periods, 0 to keep all partitions, which is the default
+     * @return this table
+     */
+    @NonNull
+    public PartitionedTable retention(final int periods) {
+        this.retention = periods;
+        return this;
+    }
+
+    /**
+     * Sets the archiver called before an expired partition is dropped.
+     *
+     * @param archiver the archiver, or null to drop partitions right away
+     * @return this table
+     */
+    @NonNull
+    public PartitionedTable archiver(@Nullable final PartitionArchiver archiver) {
+        this.archiver = archiver;
+        return this;
+    }
+
+    /**
+     * Sets whether the table is partitioned if it is not yet. This rebuilds the table and locks
+     * it meanwhile, which is only instant for tables created just before.
+     *
+     * @param partitionExisting whether to partition the table
+     * @return this table
+     */
+    @NonNull
+    public PartitionedTable partitionExisting(final boolean partitionExisting) {
+        this.partitionExisting = partitionExisting;
+        return this;
+    }
+
+    @NonNull
+    public String getTable() {
+        return this.table;
+    }
+}
@@ -0,0 +1,270 @@
+/*
+ * Copyright (c) 2025 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * ALL RIGHTS RESERVED.
+ */
+
+package net.dirtcraft.storageutils.sql;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import net.dirtcraft.storageutils.counter.CounterAggregator;
+import net.dirtcraft.storageutils.logging.LoggerAdapter;
+import net.dirtcraft.storageutils.monitoring.StorageStats;
+import net.dirtcraft.storageutils.pagination.KeysetQuery;
+import net.dirtcraft.storageutils.pagination.Page;
+import net.dirtcraft.storageutils.pagination.RowMapper;
+import net.dirtcraft.storageutils.partition.PartitionManager;
+import net.dirtcraft.storageutils.sql.connection.SQLConnectionFactory;
+import net.dirtcraft.storageutils.sql.connection.hikari.AbstractHikariConnectionFactory;
+import net.dirtcraft.storageutils.sql.copy.PostgreSqlCopy;
+import net.dirtcraft.storageutils.sql.export.ExportReport;
+import net.dirtcraft.storageutils.sql.export.TableExport;
+import net.dirtcraft.storageutils.sql.export.TableExporter;
+import net.dirtcraft.storageutils.sql.upsert.Upsert;
+import net.dirtcraft.storageutils.warmup.WarmUp;
+import net.dirtcraft.storageutils.warmup.WarmUpPlan;
+import net.dirtcraft.storageutils.warmup.WarmUpReport;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+public class SqlStorage {
+
+    protected final LoggerAdapter logger;
+    protected final SQLConnectionFactory sqlConnectionFactory;
+    protected final Function<String, String> statementProcessor;
+    @Nullable
+    private StorageStats lastSnapshot;
+    @Nullable
+    private volatile CounterAggregator counters;
+    @Nullable
+    private volatile PartitionManager partitions;
+
+    public SqlStorage(final LoggerAdapter logger, final SQLConnectionFactory sqlConnectionFactory,
+            final String tablePrefix) {
+        this.logger = logger;
+        this.sqlConnectionFactory = sqlConnectionFactory;
+        this.statementProcessor = sqlConnectionFactory.getStatementProcessor()
+                .compose(s -> s.replace("{prefix}", tablePrefix));
+    }
+
+    public SQLConnectionFactory getConnectionFactory() {
+        return this.sqlConnectionFactory;
+    }
+
+    public Function<String, String> getStatementProcessor() {
+        return this.statementProcessor;
+    }
+
+    /**
+     * Loads rows into a table using PostgreSQL's {@code COPY}, which is considerably faster than
+     * batched inserts. Only supported by PostgreSQL.
+     *
+     * @param table   the table, may contain the {@code {prefix}} placeholder
+     * @param columns the columns in the order the values of the rows are given in
+     * @param rows    the rows
+     * @return the amount of loaded rows
+     * @throws SQLException if the rows could not be loaded
+     * @see PostgreSqlCopy
+     */
+    public long copy(@NonNull final String table, @NonNull final List<String> columns,
+            @NonNull final Iterable<Object[]> rows) throws SQLException {
+        try (final Connection connection = this.sqlConnectionFactory.getConnection()) {
+            return PostgreSqlCopy.copy(connection, this.statementProcessor, table, columns, rows);
+        }
+    }
+
+    /**
+     * Executes an upsert in a transaction of its own.
+     *
+     * @param upsert the upsert
+     * @return the sum of the affected rows as reported by the driver
+     * @throws SQLException if the upsert failed, no rows are written in this case
+     * @see Upsert
+     */
+    public int upsert(@NonNull final Upsert upsert) throws SQLException {
+        try (final Connection connection = this.sqlConnectionFactory.getConnection()) {
+            final boolean autoCommit = connection.getAutoCommit();
+
+            connection.setAutoCommit(false);
+
+            try {
+                final int affected = upsert.execute(connection, this.statementProcessor);
+
+                connection.commit();
+                return affected;
+            } catch (final SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        }
+    }
+
+    /**
+     * Exports a table to compressed files in the background, see {@link TableExporter}.
+     *
+     * @param export the export
+     * @return a future completed with the report once all chunks have been processed
+     */
+    @NonNull
+    public CompletableFuture<ExportReport> export(@NonNull final TableExport export) {
+        return TableExporter.start(this.logger, this.sqlConnectionFactory,
+                this.statementProcessor, export);
+    }
+
+    /**
+     * Fetches a page of a keyset query, see {@link KeysetQuery}.
+     *
+     * @param query  the query, may contain the {@code {prefix}} placeholder
+     * @param token  the token of the page, or null for the first page
+     * @param size   the maximum amount of items
+     * @param mapper maps the rows to items
+     * @param <E>    the type of the items
+     * @return the page
+     * @throws SQLException if the page could not be fetched
+     * @throws IllegalArgumentException if the token is invalid or belongs to another query
+     */
+    @NonNull
+    public <E> Page<E> page(@NonNull final KeysetQuery<E> query, @Nullable final String token,
+            final int size, @NonNull final RowMapper<E> mapper) throws SQLException {
+        try (final Connection connection = this.sqlConnectionFactory.getConnection()) {
+            return query.fetch(connection, this.statementProcessor, token, size, mapper);
+        }
+    }
+
+    /**
+     * Enables the aggregation of hot counters, see {@link CounterAggregator}. Each flush is an
+     * upsert in a transaction of its own. Calling it again returns the existing aggregator.
+     *
+     * @param interval       the interval at which increments are flushed
+     * @param unit           the unit of the interval
+     * @param maxPendingRows the amount of rows with pending increments triggering a flush
+     * @return the aggregator
+     */
+    @NonNull
+    public synchronized CounterAggregator enableCounters(final long interval,
+            @NonNull final TimeUnit unit, final int maxPendingRows) {
+        CounterAggregator counters = this.counters;
+
+        if (counters == null) {
+            counters = new CounterAggregator(this.logger, this::upsert, interval, unit,
+                    maxPendingRows);
+            this.counters = counters;
+        }
+
+        return counters;
+    }
+
+    @Nullable
+    public CounterAggregator getCounters() {
+        return this.counters;
+    }
+
+    /**
+     * Enables the maintenance of time-partitioned tables, see {@link PartitionManager}. Calling
+     * it again returns the existing manager.
+     *
+     * @param interval the interval at which the tables are maintained
+     * @param unit     the unit of the interval
+     * @return the manager
+     */
+    @NonNull
+    public synchronized PartitionManager enablePartitioning(final long interval,
+            @NonNull final TimeUnit unit) {
+        PartitionManager partitions = this.partitions;
+
+        if (partitions == null) {
+            partitions = new PartitionManager(this.logger, maintenance -> {
+                try (final Connection connection = this.sqlConnectionFactory.getConnection()) {
+                    maintenance.run(connection);
+                }
+            }, this.statementProcessor, interval, unit);
+            this.partitions = partitions;
+        }
+
+        return partitions;
+    }
+
+    @Nullable
+    public PartitionManager getPartitions() {
+        return this.partitions;
+    }
+
+    /**
+     * Warms up the pool in the background, see {@link WarmUp}. Has to be called after
+     * {@link #init()}. Players should only be accepted once the returned future is completed.
+     *
+     * @param plan the plan
+     * @return a future completed with the report once the warm-up is done
+     */
+    @NonNull
+    public CompletableFuture<WarmUpReport> warmUp(@NonNull final WarmUpPlan plan) {
+        final SQLConnectionFactory factory = this.sqlConnectionFactory;
+        final int minimumIdle = factory instanceof AbstractHikariConnectionFactory
+                ? ((AbstractHikariConnectionFactory) factory).getMinimumIdle() : 1;
+
+        return WarmUp.start(this.logger, plan, new WarmUp.ConnectionSource() {
+            @Override
+            public @NonNull Connection open() throws SQLException {
+                return factory.getConnection();
+            }
+
+            @Override
+            public void release(@NonNull final Connection connection) throws SQLException {
+                connection.close();
+            }
+
+            @Override
+            public int getMinimumIdle() {
+                return minimumIdle;
+            }
+        }, this.statementProcessor);
+    }
+
+    /**
+     * Takes a snapshot of the pool statistics. Deltas are relative to the previous snapshot.
+     *
+     * @return the snapshot
+     */
+    @NonNull
+    public synchronized StorageStats snapshot() {
+        final StorageStats.Builder builder = StorageStats.builder();
+
+        if (this.sqlConnectionFactory instanceof AbstractHikariConnectionFactory) {
+            ((AbstractHikariConnectionFactory) this.sqlConnectionFactory).collectStats(builder);
+        }
+
+        this.lastSnapshot = builder.build(this.lastSnapshot);
+        return this.lastSnapshot;
+    }
+
+    public void init() {
+        this.sqlConnectionFactory.init();
+    }
+
+    public void shutdown() {
+        final CounterAggregator counters = this.counters;
+        final PartitionManager partitions = this.partitions;
+
+        if (partitions != null) {
+            partitions.close();
+        }
+
+        // flush before the pool is closed
+        if (counters != null) {
+            counters.close();
+        }
+
+        try {
+            this.sqlConnectionFactory.shutdown();
+        } catch (final Exception e) {
+            this.logger.severe("Exception whilst disabling SQL storage", e);
+        }
+    }
+}
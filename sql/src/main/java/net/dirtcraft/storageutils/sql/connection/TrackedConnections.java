@@ -0,0 +1,273 @@
+/*
+ * Copyright (c) 2025 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * ALL RIGHTS RESERVED.
+ */
+
+package net.dirtcraft.storageutils.sql.connection;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import net.dirtcraft.storageutils.monitoring.StatementObserver;
+import net.dirtcraft.storageutils.util.SqlNormalizer;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Wraps JDBC connections so every executed statement is reported to {@link StatementObserver}s
+ * with its text, bound parameter count, rows and execution time.
+ * <p>
+ * Queries are reported once their result set or statement is closed, so the amount of read rows
+ * is known.
+ */
+public final class TrackedConnections {
+
+    private TrackedConnections() {}
+
+    /**
+     * Wraps a connection.
+     *
+     * @param connection the connection
+     * @param observers  the observers to notify
+     * @return the tracked connection
+     */
+    @NonNull
+    public static Connection wrap(@NonNull final Connection connection,
+            @NonNull final List<StatementObserver> observers) {
+        return (Connection) Proxy.newProxyInstance(TrackedConnections.class.getClassLoader(),
+                new Class<?>[] {Connection.class},
+                new ConnectionHandler(connection, observers));
+    }
+
+    private static Object invoke(final Object target, final Method method, final Object[] args)
+            throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (final InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static final class ConnectionHandler implements InvocationHandler {
+
+        private final Connection connection;
+        private final List<StatementObserver> observers;
+        private final List<StatementHandler> statements = new ArrayList<>();
+
+        private ConnectionHandler(final Connection connection,
+                final List<StatementObserver> observers) {
+            this.connection = connection;
+            this.observers = observers;
+        }
+
+        @Override
+        public Object invoke(final Object proxy, final Method method, final Object[] args)
+                throws Throwable {
+            final String name = method.getName();
+
+            if ("close".equals(name)) {
+                for (final StatementHandler statement : this.statements) {
+                    statement.reportPending();
+                }
+
+                this.statements.clear();
+            }
+
+            final Object result = TrackedConnections.invoke(this.connection, method, args);
+
+            if (result instanceof Statement) {
+                final String sql = "prepareStatement".equals(name) || "prepareCall".equals(name)
+                        ? (String) args[0] : null;
+                final Class<?> type = result instanceof CallableStatement ? CallableStatement.class
+                        : result instanceof PreparedStatement ? PreparedStatement.class
+                                : Statement.class;
+                final StatementHandler handler =
+                        new StatementHandler(this, (Statement) result, sql);
+
+                this.statements.add(handler);
+                return Proxy.newProxyInstance(TrackedConnections.class.getClassLoader(),
+                        new Class<?>[] {type}, handler);
+            }
+
+            return result;
+        }
+    }
+
+    private static final class StatementHandler implements InvocationHandler {
+
+        private final ConnectionHandler connection;
+        private final Statement statement;
+        @Nullable
+        private final String preparedSql;
+        private int parameters;
+        private int batchParameters;
+        @Nullable
+        private PendingQuery pending;
+
+        private StatementHandler(final ConnectionHandler connection, final Statement statement,
+                @Nullable final String preparedSql) {
+            this.connection = connection;
+            this.statement = statement;
+            this.preparedSql = preparedSql;
+        }
+
+        @Override
+        public Object invoke(final Object proxy, final Method method, final Object[] args)
+                throws Throwable {
+            final String name = method.getName();
+
+            if (name.startsWith("execute")) {
+                return this.execute(method, args);
+            }
+
+            if (name.startsWith("set") && method.getDeclaringClass() != Statement.class
+                    && args != null && args.length >= 2 && args[0] instanceof Integer) {
+                this.parameters = Math.max(this.parameters, (Integer) args[0]);
+            } else if ("clearParameters".equals(name)) {
+                this.parameters = 0;
+            } else if ("addBatch".equals(name) && args == null) {
+                this.batchParameters += this.parameters;
+            } else if ("clearBatch".equals(name)) {
+                this.batchParameters = 0;
+            } else if ("close".equals(name)) {
+                this.reportPending();
+                this.connection.statements.remove(this);
+            }
+
+            return TrackedConnections.invoke(this.statement, method, args);
+        }
+
+        private Object execute(final Method method, final Object[] args) throws Throwable {
+            final String name = method.getName();
+            final String sql = args != null && args.length > 0 && args[0] instanceof String
+                    ? (String) args[0] : this.preparedSql;
+
+            this.reportPending();
+
+            final long start = System.nanoTime();
+            final Object result = TrackedConnections.invoke(this.statement, method, args);
+            final long duration = System.nanoTime() - start;
+
+            if (sql == null) {
+                return result;
+            }
+
+            final int parameters = this.preparedSql == null ? SqlNormalizer.countPlaceholders(sql)
+                    : name.endsWith("Batch") ? this.batchParameters : this.parameters;
+
+            if (result instanceof ResultSet) {
+                final PendingQuery pending = new PendingQuery(sql, parameters, duration);
+
+                this.pending = pending;
+                return Proxy.newProxyInstance(TrackedConnections.class.getClassLoader(),
+                        new Class<?>[] {ResultSet.class}, new ResultSetHandler((ResultSet) result,
+                                pending, this.connection.observers));
+            }
+
+            long rows = -1;
+
+            if (result instanceof Number) {
+                rows = ((Number) result).longValue();
+            } else if (result instanceof int[]) {
+                rows = 0;
+
+                for (final int count : (int[]) result) {
+                    rows += Math.max(0, count);
+                }
+            } else if (result instanceof long[]) {
+                rows = 0;
+
+                for (final long count : (long[]) result) {
+                    rows += Math.max(0, count);
+                }
+            } else if (Boolean.FALSE.equals(result)) {
+                rows = this.statement.getUpdateCount();
+            }
+
+            if (name.endsWith("Batch")) {
+                this.batchParameters = 0;
+            }
+
+            for (final StatementObserver observer : this.connection.observers) {
+                observer.onStatement(sql, parameters, rows, duration);
+            }
+
+            return result;
+        }
+
+        private void reportPending() {
+            if (this.pending != null) {
+                this.pending.report(this.connection.observers);
+                this.pending = null;
+            }
+        }
+    }
+
+    private static final class ResultSetHandler implements InvocationHandler {
+
+        private final ResultSet resultSet;
+        private final PendingQuery pending;
+        private final List<StatementObserver> observers;
+
+        private ResultSetHandler(final ResultSet resultSet, final PendingQuery pending,
+                final List<StatementObserver> observers) {
+            this.resultSet = resultSet;
+            this.pending = pending;
+            this.observers = observers;
+        }
+
+        @Override
+        public Object invoke(final Object proxy, final Method method, final Object[] args)
+                throws Throwable {
+            final String name = method.getName();
+
+            if ("close".equals(name)) {
+                this.pending.report(this.observers);
+            }
+
+            final Object result = TrackedConnections.invoke(this.resultSet, method, args);
+
+            if ("next".equals(name) && Boolean.TRUE.equals(result)) {
+                this.pending.rows++;
+            }
+
+            return result;
+        }
+    }
+
+    private static final class PendingQuery {
+
+        private final String sql;
+        private final int parameters;
+        private final long durationNanos;
+        private long rows;
+        private boolean reported;
+
+        private PendingQuery(final String sql, final int parameters, final long durationNanos) {
+            this.sql = sql;
+            this.parameters = parameters;
+            this.durationNanos = durationNanos;
+        }
+
+        private void report(final List<StatementObserver> observers) {
+            if (this.reported) {
+                return;
+            }
+
+            this.reported = true;
+
+            for (final StatementObserver observer : observers) {
+                observer.onStatement(this.sql, this.parameters, this.rows, this.durationNanos);
+            }
+        }
+    }
+}
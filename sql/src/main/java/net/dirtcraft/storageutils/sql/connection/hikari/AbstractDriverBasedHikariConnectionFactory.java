@@ -12,6 +12,8 @@ import java.sql.DriverManager;
 import java.sql.SQLException;
 import java.util.Enumeration;
 import net.dirtcraft.storageutils.StorageCredentials;
+import net.dirtcraft.storageutils.StorageType;
+import org.checkerframework.checker.nullness.qual.NonNull;
 
 /**
  * Extension of {@link AbstractHikariConnectionFactory} that uses the driver class name to
@@ -41,6 +43,20 @@ public abstract class AbstractDriverBasedHikariConnectionFactory extends Abstrac
 
     protected abstract String driverJdbcIdentifier();
 
+    @NonNull
+    @Override
+    protected HikariConfig createConfig() {
+        final StorageType type =
+                StorageType.fromJdbcUrl("jdbc:" + this.driverJdbcIdentifier() + ':');
+
+        // drivers are optional dependencies
+        if (type != null) {
+            type.requireDriver();
+        }
+
+        return super.createConfig();
+    }
+
     @Override
     protected void configureDatabase(final HikariConfig config, final String address,
             final String port, final String databaseName, final String username,
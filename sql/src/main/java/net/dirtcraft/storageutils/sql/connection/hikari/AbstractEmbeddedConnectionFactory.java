@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2025 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * ALL RIGHTS RESERVED.
+ */
+
+package net.dirtcraft.storageutils.sql.connection.hikari;
+
+import com.zaxxer.hikari.HikariConfig;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import net.dirtcraft.storageutils.StorageCredentials;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * Extension of {@link AbstractDriverBasedHikariConnectionFactory} for databases running inside
+ * this process. The address of the credentials is ignored, the database name is the file the
+ * database is stored in.
+ */
+public abstract class AbstractEmbeddedConnectionFactory extends AbstractDriverBasedHikariConnectionFactory {
+
+    protected AbstractEmbeddedConnectionFactory(final StorageCredentials configuration) {
+        super(configuration);
+    }
+
+    /**
+     * Builds the JDBC url for the database file.
+     *
+     * @param file the database file
+     * @return the JDBC url
+     */
+    @NonNull
+    protected abstract String jdbcUrl(@NonNull Path file);
+
+    /**
+     * Resolves the file the database is stored in. Relative to the working directory by default.
+     *
+     * @param databaseName the database name of the credentials
+     * @return the database file
+     */
+    @NonNull
+    protected Path getDatabaseFile(@NonNull final String databaseName) {
+        return Paths.get(databaseName).toAbsolutePath();
+    }
+
+    @Override
+    protected String defaultPort() {
+        return "0";
+    }
+
+    @Override
+    protected void configureDatabase(final HikariConfig config, final String address,
+            final String port, final String databaseName, final String username,
+            final String password) {
+        config.setDriverClassName(this.driverClassName());
+        config.setJdbcUrl(this.jdbcUrl(this.getDatabaseFile(databaseName)));
+        config.setUsername(username);
+        config.setPassword(password);
+    }
+
+    @Override
+    protected void configurePool(final HikariConfig config) {
+        // there is no network in between, connections neither go stale nor need to be kept alive
+        config.setMaxLifetime(0);
+        config.setKeepaliveTime(0);
+    }
+
+    @Override
+    protected void overrideProperties(final Map<String, Object> properties) {
+        // socket timeouts of the super class do not apply to embedded databases
+    }
+}
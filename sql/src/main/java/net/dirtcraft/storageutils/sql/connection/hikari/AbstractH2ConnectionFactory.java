@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) 2025 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * ALL RIGHTS RESERVED.
+ */
+
+package net.dirtcraft.storageutils.sql.connection.hikari;
+
+import java.nio.file.Path;
+import java.util.function.Function;
+import net.dirtcraft.storageutils.StorageCredentials;
+import net.dirtcraft.storageutils.util.SchemaReader;
+
+/**
+ * Connection factory for an embedded H2 database in MySQL compatibility mode, so that schemas
+ * and queries written for MySQL work unchanged.
+ */
+public abstract class AbstractH2ConnectionFactory extends AbstractEmbeddedConnectionFactory {
+
+    public AbstractH2ConnectionFactory(final StorageCredentials configuration) {
+        super(configuration);
+    }
+
+    @Override
+    public Function<String, String> getStatementProcessor() {
+        // use backticks for quotes
+        return s -> SchemaReader.stripTableOptions(s.replace('\'', '`'));
+    }
+
+    @Override
+    protected String jdbcUrl(final Path file) {
+        // H2 appends the .mv.db extension itself
+        final String path = file.toString().replaceFirst("\\.mv\\.db$", "");
+
+        // the pool closes the database, not the shutdown hook of H2
+        return "jdbc:h2:file:" + path
+                + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;CASE_INSENSITIVE_IDENTIFIERS=TRUE"
+                + ";DB_CLOSE_ON_EXIT=FALSE";
+    }
+
+    @Override
+    protected String driverClassName() {
+        return "org.h2.Driver";
+    }
+
+    @Override
+    protected String driverJdbcIdentifier() {
+        return "h2";
+    }
+}
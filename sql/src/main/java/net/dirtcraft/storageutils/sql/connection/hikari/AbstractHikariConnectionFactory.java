@@ -0,0 +1,414 @@
+/*
+ * Copyright (c) 2025 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * ALL RIGHTS RESERVED.
+ */
+
+package net.dirtcraft.storageutils.sql.connection.hikari;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariConfigMXBean;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import net.dirtcraft.storageutils.StorageCredentials;
+import net.dirtcraft.storageutils.config.PoolSetting;
+import net.dirtcraft.storageutils.connection.pool.PoolLease;
+import net.dirtcraft.storageutils.connection.pool.SharedPoolKey;
+import net.dirtcraft.storageutils.connection.pool.SharedPoolRegistry;
+import net.dirtcraft.storageutils.monitoring.BlockingCallWatchdog;
+import net.dirtcraft.storageutils.monitoring.StatementObserver;
+import net.dirtcraft.storageutils.monitoring.StorageStats;
+import net.dirtcraft.storageutils.monitoring.jfr.EventOutcome;
+import net.dirtcraft.storageutils.monitoring.jfr.EventSpan;
+import net.dirtcraft.storageutils.monitoring.jfr.StorageEvents;
+import net.dirtcraft.storageutils.resilience.CircuitBreaker;
+import net.dirtcraft.storageutils.sql.connection.SQLConnectionFactory;
+import net.dirtcraft.storageutils.sql.connection.TrackedConnections;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Abstract {@link SQLConnectionFactory} using a {@link HikariDataSource}.
+ */
+public abstract class AbstractHikariConnectionFactory implements SQLConnectionFactory {
+
+    protected final StorageCredentials configuration;
+    protected final List<StatementObserver> statementObservers = new CopyOnWriteArrayList<>();
+    protected HikariDataSource hikari;
+    @Nullable
+    protected PoolLease sharedPool;
+    @Nullable
+    protected volatile BlockingCallWatchdog watchdog;
+    @Nullable
+    protected volatile CircuitBreaker circuitBreaker;
+
+    public AbstractHikariConnectionFactory(final StorageCredentials configuration) {
+        this.configuration = configuration;
+    }
+
+    // dumb plugins seem to keep doing stupid stuff with shading of SLF4J and Log4J.
+    // detect this and print a more useful error message.
+    protected abstract void handleClassloadingError(final Throwable throwable);
+
+    /**
+     * Gets the default port used by the database
+     *
+     * @return the default port
+     */
+    protected abstract String defaultPort();
+
+    /**
+     * Configures the {@link HikariConfig} with the relevant database properties.
+     *
+     * <p>Each driver does this slightly differently...</p>
+     *
+     * @param config       the hikari config
+     * @param address      the database address
+     * @param port         the database port
+     * @param databaseName the database name
+     * @param username     the database username
+     * @param password     the database password
+     */
+    protected abstract void configureDatabase(HikariConfig config, String address, String port,
+            String databaseName, String username, String password);
+
+    @NonNull
+    protected abstract String getPoolName();
+
+    @Override
+    public void init() {
+        final HikariConfig config = this.createConfig();
+
+        if (this.isPoolShared()) {
+            this.sharedPool = SharedPoolRegistry.getInstance().lease(this.getSharedPoolKey(config),
+                    this.getPoolName(), config, this.getConnectionQuota());
+            this.hikari = this.sharedPool.open();
+        } else {
+            this.hikari = new HikariDataSource(config);
+        }
+
+        this.postInitialize();
+    }
+
+    /**
+     * Creates the config of the pool.
+     *
+     * @return the config
+     */
+    @NonNull
+    protected HikariConfig createConfig() {
+        final HikariConfig config;
+
+        try {
+            config = new HikariConfig();
+        } catch (final LinkageError e) {
+            this.handleClassloadingError(e);
+            throw e;
+        }
+
+        // set pool name so the logging output can be linked back to us
+        config.setPoolName(this.getPoolName());
+
+        // get the database info/credentials from the config file
+        final String[] addressSplit = this.configuration.getAddress().split(":");
+        final String address = addressSplit[0];
+        final String port = addressSplit.length > 1 ? addressSplit[1] : this.defaultPort();
+
+        // allow the implementation to configure the HikariConfig appropriately with these values
+        try {
+            this.configureDatabase(config, address, port, this.configuration.getDatabase(),
+                    this.configuration.getUsername(), this.configuration.getPassword());
+        } catch (final NoSuchMethodError e) {
+            this.handleClassloadingError(e);
+        }
+
+        // get the extra connection properties from the config
+        final Map<String, Object> properties = new HashMap<>(this.configuration.getProperties());
+
+        // allow the implementation to override/make changes to these properties
+        this.overrideProperties(properties);
+
+        // set the properties
+        this.setProperties(config, properties);
+
+        // configure the connection pool
+        config.setMaximumPoolSize(this.configuration.getMaxPoolSize());
+        config.setMinimumIdle(this.configuration.getMinIdleConnections());
+        config.setMaxLifetime(this.configuration.getMaxLifetime());
+        config.setKeepaliveTime(this.configuration.getKeepAliveTime());
+        config.setConnectionTimeout(this.configuration.getConnectionTimeout());
+        config.setLeakDetectionThreshold(this.configuration.getLeakDetectionThreshold());
+
+        // allow the implementation to tune the pool for its database
+        this.configurePool(config);
+
+        // don't perform any initial connection validation - we subsequently call #getConnection
+        // to set up the schema anyway
+        config.setInitializationFailTimeout(-1);
+
+        // exposes the pool under com.zaxxer.hikari:type=Pool (<pool name>)
+        config.setRegisterMbeans(this.isStatisticsEnabled());
+        return config;
+    }
+
+    @Override
+    public void shutdown() {
+        if (this.sharedPool != null) {
+            this.sharedPool.close();
+        } else if (this.hikari != null) {
+            this.hikari.close();
+        }
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (this.hikari == null) {
+            throw new SQLException("Unable to get a connection from the pool. (hikari is null)");
+        }
+
+        final CircuitBreaker circuitBreaker = this.circuitBreaker;
+        // entered first, it throws in THROW mode before anything else was acquired
+        final BlockingCallWatchdog.Probe probe =
+                BlockingCallWatchdog.enter(this.watchdog, "SQLConnectionFactory.getConnection");
+        final Connection connection;
+
+        try {
+            if (circuitBreaker != null && !circuitBreaker.tryAcquire()) {
+                throw new SQLTransientConnectionException(
+                        "Unable to get a connection from the pool. (circuit breaker is open)");
+            }
+
+            final EventSpan span = StorageEvents.connectionAcquire(this.getPoolName());
+            EventOutcome outcome = EventOutcome.FAILURE;
+            boolean recorded = false;
+
+            try {
+                connection = this.sharedPool != null ? this.sharedPool.getConnection()
+                        : this.hikari.getConnection();
+                outcome = EventOutcome.SUCCESS;
+
+                if (circuitBreaker != null) {
+                    circuitBreaker.onSuccess();
+                    recorded = true;
+                }
+            } catch (final SQLException e) {
+                if (e instanceof SQLTransientConnectionException) {
+                    outcome = EventOutcome.TIMEOUT;
+                }
+
+                if (circuitBreaker != null && CircuitBreaker.isConnectionFailure(e)) {
+                    circuitBreaker.onFailure();
+                    recorded = true;
+                }
+
+                throw e;
+            } finally {
+                span.end(outcome);
+
+                // any other failure resolves a half open probe, so it does not stay pending
+                if (!recorded && circuitBreaker != null
+                        && circuitBreaker.getState() == CircuitBreaker.State.HALF_OPEN) {
+                    circuitBreaker.onFailure();
+                }
+            }
+        } finally {
+            BlockingCallWatchdog.exit(probe);
+        }
+
+        if (connection == null) {
+            throw new SQLException(
+                    "Unable to get a connection from the pool. (getConnection returned null)");
+        }
+
+        if (!this.statementObservers.isEmpty()) {
+            return TrackedConnections.wrap(connection, this.statementObservers);
+        }
+
+        return connection;
+    }
+
+    /**
+     * Adds the pool metrics to the builder. Does nothing if statistics are disabled or the pool
+     * has not been initialised yet.
+     *
+     * @param builder the builder
+     */
+    public void collectStats(final StorageStats.@NonNull Builder builder) {
+        if (!this.isStatisticsEnabled() || this.hikari == null) {
+            return;
+        }
+
+        final HikariPoolMXBean pool = this.hikari.getHikariPoolMXBean();
+
+        if (pool == null) {
+            return;
+        }
+
+        builder.gauge(StorageStats.POOL_ACTIVE, pool.getActiveConnections())
+                .gauge(StorageStats.POOL_IDLE, pool.getIdleConnections())
+                .gauge(StorageStats.POOL_TOTAL, pool.getTotalConnections())
+                .gauge(StorageStats.POOL_AWAITING, pool.getThreadsAwaitingConnection());
+    }
+
+    /**
+     * Gets the minimum of idle connections of the pool, which may be shared.
+     *
+     * @return the minimum of idle connections
+     */
+    public int getMinimumIdle() {
+        return this.hikari == null ? this.configuration.getMinIdleConnections()
+                : this.hikari.getMinimumIdle();
+    }
+
+    /**
+     * Applies the pool size, minimum idle connections, connection timeout and leak detection
+     * threshold to the running pool. Existing connections are kept.
+     *
+     * @param credentials the credentials to take the settings from
+     * @return the applied settings, none if the pool is not running or shared
+     */
+    @NonNull
+    public Set<PoolSetting> applyPoolSettings(@NonNull final StorageCredentials credentials) {
+        // shared pools serve other consumers as well
+        if (this.hikari == null || this.sharedPool != null) {
+            return PoolSetting.NONE;
+        }
+
+        final HikariConfigMXBean config = this.hikari.getHikariConfigMXBean();
+
+        // never let the minimum exceed the maximum in between
+        if (credentials.getMaxPoolSize() < config.getMinimumIdle()) {
+            config.setMinimumIdle(credentials.getMinIdleConnections());
+            config.setMaximumPoolSize(credentials.getMaxPoolSize());
+        } else {
+            config.setMaximumPoolSize(credentials.getMaxPoolSize());
+            config.setMinimumIdle(credentials.getMinIdleConnections());
+        }
+
+        config.setConnectionTimeout(credentials.getConnectionTimeout());
+        config.setLeakDetectionThreshold(credentials.getLeakDetectionThreshold());
+        return PoolSetting.ALL;
+    }
+
+    /**
+     * Whether the pool is shared with other consumers connecting to the same database as the
+     * same user, see {@link SharedPoolRegistry}. The pool name has to be unique among them.
+     *
+     * @return true, if the pool is shared
+     */
+    protected boolean isPoolShared() {
+        return false;
+    }
+
+    /**
+     * Gets the maximum amount of connections borrowed at the same time from a shared pool.
+     *
+     * @return the quota, 0 for no limit
+     */
+    protected int getConnectionQuota() {
+        return this.configuration.getMaxPoolSize();
+    }
+
+    /**
+     * Gets the key of the shared pool.
+     *
+     * @param config the config of the pool
+     * @return the key
+     */
+    @NonNull
+    protected SharedPoolKey getSharedPoolKey(@NonNull final HikariConfig config) {
+        // jdbc:<identifier>:...
+        final String jdbcUrl = config.getJdbcUrl();
+        final String identifier = jdbcUrl.substring(5, jdbcUrl.indexOf(':', 5));
+
+        return SharedPoolKey.of(identifier, this.configuration.getAddress(),
+                Integer.parseInt(this.defaultPort()), this.configuration.getDatabase(),
+                this.configuration.getUsername());
+    }
+
+    /**
+     * Whether the pool MBeans are registered and pool metrics are collected.
+     *
+     * @return true, if statistics are enabled
+     */
+    protected boolean isStatisticsEnabled() {
+        return false;
+    }
+
+    /**
+     * Sets the circuit breaker guarding {@link #getConnection()}. While it is open, connection
+     * requests fail immediately instead of waiting for the connection timeout.
+     *
+     * @param circuitBreaker the circuit breaker, or null to disable it
+     */
+    public void setCircuitBreaker(@Nullable final CircuitBreaker circuitBreaker) {
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    /**
+     * Sets the watchdog detecting connection requests from guarded threads.
+     *
+     * @param watchdog the watchdog, or null to disable detection
+     */
+    public void setWatchdog(@Nullable final BlockingCallWatchdog watchdog) {
+        this.watchdog = watchdog;
+    }
+
+    /**
+     * Adds an observer notified about every statement executed on connections returned by
+     * {@link #getConnection()}.
+     *
+     * @param observer the observer
+     */
+    public void addStatementObserver(@NonNull final StatementObserver observer) {
+        this.statementObservers.add(observer);
+    }
+
+    public void removeStatementObserver(@NonNull final StatementObserver observer) {
+        this.statementObservers.remove(observer);
+    }
+
+    /**
+     * Allows the connection factory instance to override certain properties before they are set.
+     *
+     * @param properties the current properties
+     */
+    protected void overrideProperties(final Map<String, Object> properties) {
+        // https://github.com/brettwooldridge/HikariCP/wiki/Rapid-Recovery
+        properties.putIfAbsent("socketTimeout", String.valueOf(TimeUnit.SECONDS.toMillis(30)));
+    }
+
+    /**
+     * Allows the connection factory instance to override the pool settings taken from the
+     * credentials.
+     *
+     * @param config the hikari config
+     */
+    protected void configurePool(final HikariConfig config) {}
+
+    /**
+     * Sets the given connection properties onto the config.
+     *
+     * @param config     the hikari config
+     * @param properties the properties
+     */
+    protected void setProperties(final HikariConfig config, final Map<String, Object> properties) {
+        for (final Map.Entry<String, Object> property : properties.entrySet()) {
+            config.addDataSourceProperty(property.getKey(), property.getValue());
+        }
+    }
+
+    /**
+     * Called after the Hikari pool has been initialised
+     */
+    protected void postInitialize() {}
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2025 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * ALL RIGHTS RESERVED.
+ */
+
+package net.dirtcraft.storageutils.sql.connection.hikari;
+
+import java.util.Map;
+import java.util.function.Function;
+import net.dirtcraft.storageutils.StorageCredentials;
+import net.dirtcraft.storageutils.util.SchemaReader;
+
+public abstract class AbstractPostgreSqlConnectionFactory extends AbstractDriverBasedHikariConnectionFactory {
+
+    public AbstractPostgreSqlConnectionFactory(final StorageCredentials configuration) {
+        super(configuration);
+    }
+
+    @Override
+    public Function<String, String> getStatementProcessor() {
+        // use double quotes for quotes
+        return s -> SchemaReader.toPostgreSql(s.replace('\'', '"'));
+    }
+
+    @Override
+    protected String defaultPort() {
+        return "5432";
+    }
+
+    @Override
+    protected void overrideProperties(final Map<String, Object> properties) {
+        // https://jdbc.postgresql.org/documentation/use/#connection-parameters
+        properties.putIfAbsent("reWriteBatchedInserts", "true");
+        properties.putIfAbsent("prepareThreshold", "3");
+        properties.putIfAbsent("preparedStatementCacheQueries", "256");
+        properties.putIfAbsent("preparedStatementCacheSizeMiB", "5");
+        properties.putIfAbsent("tcpKeepAlive", "true");
+        properties.putIfAbsent("ApplicationName", this.getPoolName());
+
+        // pgjdbc expects seconds instead of the milliseconds of the super class
+        properties.putIfAbsent("socketTimeout", "30");
+
+        super.overrideProperties(properties);
+    }
+
+    @Override
+    protected String driverClassName() {
+        return "org.postgresql.Driver";
+    }
+
+    @Override
+    protected String driverJdbcIdentifier() {
+        return "postgresql";
+    }
+}
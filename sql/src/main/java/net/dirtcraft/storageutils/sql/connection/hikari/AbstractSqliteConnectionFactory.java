@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2025 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * ALL RIGHTS RESERVED.
+ */
+
+package net.dirtcraft.storageutils.sql.connection.hikari;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariConfigMXBean;
+import java.nio.file.Path;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import net.dirtcraft.storageutils.StorageCredentials;
+import net.dirtcraft.storageutils.config.PoolSetting;
+import net.dirtcraft.storageutils.util.SchemaReader;
+
+/**
+ * Connection factory for an embedded SQLite database.
+ * <p>
+ * SQLite only allows a single writer at a time, hence the pool consists of a single connection
+ * and the database runs in WAL mode. MySQL create table statements are translated on the fly.
+ */
+public abstract class AbstractSqliteConnectionFactory extends AbstractEmbeddedConnectionFactory {
+
+    public AbstractSqliteConnectionFactory(final StorageCredentials configuration) {
+        super(configuration);
+    }
+
+    @Override
+    public Function<String, String> getStatementProcessor() {
+        // use backticks for quotes
+        return s -> SchemaReader.toSqlite(s.replace('\'', '`'));
+    }
+
+    @Override
+    protected String jdbcUrl(final Path file) {
+        return "jdbc:sqlite:" + file;
+    }
+
+    @Override
+    protected void configurePool(final HikariConfig config) {
+        super.configurePool(config);
+
+        // concurrent writers would only wait for the database lock of each other
+        config.setMaximumPoolSize(1);
+        config.setMinimumIdle(1);
+    }
+
+    @Override
+    public Set<PoolSetting> applyPoolSettings(final StorageCredentials credentials) {
+        if (this.hikari == null || this.sharedPool != null) {
+            return PoolSetting.NONE;
+        }
+
+        final HikariConfigMXBean config = this.hikari.getHikariConfigMXBean();
+
+        // the pool size is fixed to a single connection
+        config.setConnectionTimeout(credentials.getConnectionTimeout());
+        config.setLeakDetectionThreshold(credentials.getLeakDetectionThreshold());
+        return EnumSet.of(PoolSetting.CONNECTION_TIMEOUT, PoolSetting.LEAK_DETECTION_THRESHOLD);
+    }
+
+    @Override
+    protected void overrideProperties(final Map<String, Object> properties) {
+        // https://www.sqlite.org/wal.html
+        properties.putIfAbsent("journal_mode", "WAL");
+        properties.putIfAbsent("synchronous", "NORMAL");
+        properties.putIfAbsent("foreign_keys", "true");
+        properties.putIfAbsent("busy_timeout", "5000");
+
+        super.overrideProperties(properties);
+    }
+
+    @Override
+    protected String driverClassName() {
+        return "org.sqlite.JDBC";
+    }
+
+    @Override
+    protected String driverJdbcIdentifier() {
+        return "sqlite";
+    }
+}
@@ -0,0 +1,217 @@
+/*
+ * Copyright (c) 2025 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * ALL RIGHTS RESERVED.
+ */
+
+package net.dirtcraft.storageutils.sql.copy;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.function.Function;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+
+/**
+ * Streams rows into a PostgreSQL table using {@code COPY ... FROM STDIN} in text format.
+ * <p>
+ * Rows are encoded and sent in chunks while they are added, hence arbitrary amounts of rows can
+ * be loaded without holding them in memory. The copy is only applied once {@link #finish()} is
+ * called; closing an unfinished copy cancels it.
+ */
+public class PostgreSqlCopy implements AutoCloseable {
+
+    private static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    protected final CopyIn copyIn;
+    protected final int columns;
+    private final StringBuilder buffer;
+    private final int bufferSize;
+    private long rows;
+
+    protected PostgreSqlCopy(final CopyIn copyIn, final int columns, final int bufferSize) {
+        this.copyIn = copyIn;
+        this.columns = columns;
+        this.bufferSize = bufferSize;
+        this.buffer = new StringBuilder(bufferSize + 1024);
+    }
+
+    /**
+     * Starts a copy into the given table. Identifiers are quoted with {@code '} and passed
+     * through the statement processor, like all other statements.
+     *
+     * @param connection         the connection, pooled connections are unwrapped
+     * @param statementProcessor the statement processor
+     * @param table              the table
+     * @param columns            the columns in the order the values of the rows are given in
+     * @return the copy
+     * @throws SQLException if the copy could not be started
+     */
+    @NonNull
+    public static PostgreSqlCopy open(@NonNull final Connection connection,
+            @NonNull final Function<String, String> statementProcessor,
+            @NonNull final String table, @NonNull final List<String> columns)
+            throws SQLException {
+        if (columns.isEmpty()) {
+            throw new IllegalArgumentException("At least one column is required.");
+        }
+
+        final StringBuilder sql = new StringBuilder("COPY '").append(table).append("' (");
+
+        for (int i = 0; i < columns.size(); i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+
+            sql.append('\'').append(columns.get(i)).append('\'');
+        }
+
+        sql.append(") FROM STDIN");
+
+        final CopyIn copyIn = connection.unwrap(PGConnection.class).getCopyAPI()
+                .copyIn(statementProcessor.apply(sql.toString()));
+
+        return new PostgreSqlCopy(copyIn, columns.size(), DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Copies all rows into the given table.
+     *
+     * @param connection         the connection
+     * @param statementProcessor the statement processor
+     * @param table              the table
+     * @param columns            the columns
+     * @param rows               the rows
+     * @return the amount of copied rows
+     * @throws SQLException if the copy failed
+     */
+    public static long copy(@NonNull final Connection connection,
+            @NonNull final Function<String, String> statementProcessor,
+            @NonNull final String table, @NonNull final List<String> columns,
+            @NonNull final Iterable<Object[]> rows) throws SQLException {
+        try (final PostgreSqlCopy copy = open(connection, statementProcessor, table, columns)) {
+            for (final Object[] row : rows) {
+                copy.addRow(row);
+            }
+
+            return copy.finish();
+        }
+    }
+
+    /**
+     * Adds a row. Supports nulls, booleans, byte arrays and any value whose string
+     * representation PostgreSQL can parse.
+     *
+     * @param values the values in column order
+     * @throws SQLException if the buffered rows could not be sent
+     */
+    public void addRow(@Nullable final Object... values) throws SQLException {
+        if (values == null || values.length != this.columns) {
+            throw new IllegalArgumentException("Expected " + this.columns + " values.");
+        }
+
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                this.buffer.append('\t');
+            }
+
+            this.appendValue(values[i]);
+        }
+
+        this.buffer.append('\n');
+        this.rows++;
+
+        if (this.buffer.length() >= this.bufferSize) {
+            this.flush();
+        }
+    }
+
+    /**
+     * Sends the remaining rows and completes the copy.
+     *
+     * @return the amount of copied rows as reported by the database
+     * @throws SQLException if the copy failed
+     */
+    public long finish() throws SQLException {
+        this.flush();
+        return this.copyIn.endCopy();
+    }
+
+    /**
+     * Gets the amount of rows added so far.
+     *
+     * @return the amount of rows
+     */
+    public long getRows() {
+        return this.rows;
+    }
+
+    @Override
+    public void close() throws SQLException {
+        if (this.copyIn.isActive()) {
+            this.copyIn.cancelCopy();
+        }
+    }
+
+    private void flush() throws SQLException {
+        if (this.buffer.length() == 0) {
+            return;
+        }
+
+        final byte[] bytes = this.buffer.toString().getBytes(StandardCharsets.UTF_8);
+
+        this.copyIn.writeToCopy(bytes, 0, bytes.length);
+        this.buffer.setLength(0);
+    }
+
+    private void appendValue(@Nullable final Object value) {
+        if (value == null) {
+            this.buffer.append("\\N");
+            return;
+        }
+
+        if (value instanceof Boolean) {
+            this.buffer.append((Boolean) value ? 't' : 'f');
+            return;
+        }
+
+        if (value instanceof byte[]) {
+            // hex format of bytea, the backslash has to be escaped itself
+            this.buffer.append("\\\\x");
+
+            for (final byte b : (byte[]) value) {
+                this.buffer.append(HEX[(b >> 4) & 0xF]).append(HEX[b & 0xF]);
+            }
+
+            return;
+        }
+
+        final String string = value.toString();
+
+        for (int i = 0; i < string.length(); i++) {
+            final char c = string.charAt(i);
+
+            switch (c) {
+                case '\\':
+                    this.buffer.append("\\\\");
+                    break;
+                case '\t':
+                    this.buffer.append("\\t");
+                    break;
+                case '\n':
+                    this.buffer.append("\\n");
+                    break;
+                case '\r':
+                    this.buffer.append("\\r");
+                    break;
+                default:
+                    this.buffer.append(c);
+            }
+        }
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) 2025 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * ALL RIGHTS RESERVED.
+ */
+
+package net.dirtcraft.storageutils.sql.export;
+
+import com.google.gson.stream.JsonWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.sql.Blob;
+import java.sql.Clob;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.Base64;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * The file format of an export. Files are gzip compressed and encoded in UTF-8. Binary values are
+ * Base64 encoded and timestamps are written as ISO-8601 instants.
+ */
+public enum ExportFormat {
+
+    /**
+     * One JSON object per line, keyed by the column labels.
+     */
+    NDJSON("ndjson") {
+        @Override
+        RowWriter open(final Writer writer, final String[] columns) {
+            final JsonWriter json = new JsonWriter(writer);
+
+            // allows a top-level value per line as well as NaN and infinite numbers
+            json.setLenient(true);
+
+            return values -> {
+                json.beginObject();
+
+                for (int i = 0; i < columns.length; i++) {
+                    json.name(columns[i]);
+
+                    final Object value = values[i];
+
+                    if (value == null) {
+                        json.nullValue();
+                    } else if (value instanceof Boolean) {
+                        json.value((boolean) value);
+                    } else if (value instanceof Number && !(value instanceof BigDecimal)) {
+                        json.value((Number) value);
+                    } else if (value instanceof BigDecimal) {
+                        // keeps the scale and avoids a lossy conversion
+                        json.jsonValue(((BigDecimal) value).toPlainString());
+                    } else {
+                        json.value(toText(value));
+                    }
+                }
+
+                json.endObject();
+                writer.write('\n');
+            };
+        }
+    },
+    /**
+     * RFC 4180 comma-separated values with a header row. Null and empty strings are both
+     * written as empty fields.
+     */
+    CSV("csv") {
+        @Override
+        RowWriter open(final Writer writer, final String[] columns) throws IOException {
+            final RowWriter rowWriter = values -> {
+                for (int i = 0; i < values.length; i++) {
+                    if (i > 0) {
+                        writer.write(',');
+                    }
+
+                    if (values[i] != null) {
+                        writeField(writer, toText(values[i]));
+                    }
+                }
+
+                writer.write("\r\n");
+            };
+
+            rowWriter.write(columns);
+            return rowWriter;
+        }
+    };
+
+    private final String extension;
+
+    ExportFormat(final String extension) {
+        this.extension = extension;
+    }
+
+    @NonNull
+    static String toText(@NonNull final Object value) throws IOException {
+        try {
+            if (value instanceof byte[]) {
+                return Base64.getEncoder().encodeToString((byte[]) value);
+            } else if (value instanceof Timestamp) {
+                return ((Timestamp) value).toInstant().toString();
+            } else if (value instanceof Blob) {
+                final Blob blob = (Blob) value;
+
+                return Base64.getEncoder().encodeToString(blob.getBytes(1, (int) blob.length()));
+            } else if (value instanceof Clob) {
+                final Clob clob = (Clob) value;
+
+                return clob.getSubString(1, (int) clob.length());
+            }
+        } catch (final SQLException e) {
+            throw new IOException("Could not read large object.", e);
+        }
+
+        // java.sql.Date and Time format as ISO-8601 already
+        return value.toString();
+    }
+
+    private static void writeField(@NonNull final Writer writer, @NonNull final String field)
+            throws IOException {
+        boolean quote = false;
+
+        for (int i = 0; i < field.length() && !quote; i++) {
+            final char c = field.charAt(i);
+
+            quote = c == ',' || c == '"' || c == '\r' || c == '\n';
+        }
+
+        if (!quote) {
+            writer.write(field);
+            return;
+        }
+
+        writer.write('"');
+        writer.write(field.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    /**
+     * Gets the file extension, excluding the compression.
+     *
+     * @return the extension
+     */
+    @NonNull
+    public String getExtension() {
+        return this.extension;
+    }
+
+    /**
+     * Starts writing rows. The writer is neither flushed nor closed.
+     *
+     * @param writer  the writer
+     * @param columns the column labels
+     * @return the row writer
+     * @throws IOException if the header could not be written
+     */
+    abstract RowWriter open(Writer writer, String[] columns) throws IOException;
+
+    @FunctionalInterface
+    interface RowWriter {
+
+        void write(@Nullable Object @NonNull [] values) throws IOException;
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2025 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * ALL RIGHTS RESERVED.
+ */
+
+package net.dirtcraft.storageutils.sql.export;
+
+/**
+ * The outcome of an export. Failed chunks are logged and exported when the export is run again.
+ */
+public final class ExportReport {
+
+    private final long durationMillis;
+    private final int chunks;
+    private final int exportedChunks;
+    private final int skippedChunks;
+    private final int failedChunks;
+    private final long rows;
+    private final long bytes;
+
+    ExportReport(final long durationMillis, final int chunks, final int exportedChunks,
+            final int skippedChunks, final int failedChunks, final long rows, final long bytes) {
+        this.durationMillis = durationMillis;
+        this.chunks = chunks;
+        this.exportedChunks = exportedChunks;
+        this.skippedChunks = skippedChunks;
+        this.failedChunks = failedChunks;
+        this.rows = rows;
+        this.bytes = bytes;
+    }
+
+    public long getDurationMillis() {
+        return this.durationMillis;
+    }
+
+    public int getChunks() {
+        return this.chunks;
+    }
+
+    public int getExportedChunks() {
+        return this.exportedChunks;
+    }
+
+    /**
+     * Gets the amount of chunks which were exported by a previous run.
+     *
+     * @return the amount of chunks
+     */
+    public int getSkippedChunks() {
+        return this.skippedChunks;
+    }
+
+    public int getFailedChunks() {
+        return this.failedChunks;
+    }
+
+    /**
+     * Gets the amount of rows exported by this run.
+     *
+     * @return the amount of rows
+     */
+    public long getRows() {
+        return this.rows;
+    }
+
+    /**
+     * Gets the compressed size of the files written by this run.
+     *
+     * @return the size in bytes
+     */
+    public long getBytes() {
+        return this.bytes;
+    }
+
+    /**
+     * Checks whether all chunks of the table have been exported.
+     *
+     * @return true, if no chunk failed
+     */
+    public boolean isComplete() {
+        return this.failedChunks == 0;
+    }
+
+    @Override
+    public String toString() {
+        return "ExportReport{" + "durationMillis=" + this.durationMillis + ", chunks="
+                + this.chunks + ", exportedChunks=" + this.exportedChunks + ", skippedChunks="
+                + this.skippedChunks + ", failedChunks=" + this.failedChunks + ", rows="
+                + this.rows + ", bytes=" + this.bytes + '}';
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2025 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * ALL RIGHTS RESERVED.
+ */
+
+package net.dirtcraft.storageutils.sql.export;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * Describes the export of a table, see {@link TableExporter}.
+ * <pre>{@code
+ * storage.export(TableExport.of("{prefix}bans", "id", Paths.get("backups", "2025-01-01"))
+ *         .format(ExportFormat.CSV)
+ *         .parallelism(2)
+ *         .rowsPerSecond(20_000))
+ *         .thenAccept(report -> logger.info("Exported bans: {}", report));
+ * }</pre>
+ */
+public class TableExport {
+
+    protected final String table;
+    protected final String key;
+    protected final Path directory;
+    protected final List<String> columns = new ArrayList<>();
+    protected ExportFormat format = ExportFormat.NDJSON;
+    protected long chunkSize = 100_000;
+    protected int parallelism = 4;
+    protected double rowsPerSecond;
+    protected int fetchSize = 1000;
+
+    protected TableExport(final String table, final String key, final Path directory) {
+        this.table = table;
+        this.key = key;
+        this.directory = directory;
+    }
+
+    /**
+     * Creates an export.
+     *
+     * @param table     the table, may contain the {@code {prefix}} placeholder
+     * @param key       the integral, indexed column the table is split by, usually the primary
+     *                  key
+     * @param directory the directory the files are written to, running an export into the same
+     *                  directory again resumes it
+     * @return the export
+     */
+    @NonNull
+    public static TableExport of(@NonNull final String table, @NonNull final String key,
+            @NonNull final Path directory) {
+        return new TableExport(table, key, directory);
+    }
+
+    /**
+     * Sets the exported columns.
+     *
+     * @param columns the columns, all by default
+     * @return this export
+     */
+    @NonNull
+    public TableExport columns(@NonNull final String... columns) {
+        this.columns.clear();
+        this.columns.addAll(Arrays.asList(columns));
+        return this;
+    }
+
+    @NonNull
+    public TableExport format(@NonNull final ExportFormat format) {
+        this.format = format;
+        return this;
+    }
+
+    /**
+     * Sets the amount of rows each chunk covers, which may be exceeded by rows inserted after
+     * the first run or by duplicate keys. Every chunk is written to a file of its own.
+     *
+     * @param chunkSize the amount of rows, 100,000 by default
+     * @return this export
+     */
+    @NonNull
+    public TableExport chunkSize(final long chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size has to be positive.");
+        }
+
+        this.chunkSize = chunkSize;
+        return this;
+    }
+
+    /**
+     * Sets the amount of chunks read at the same time, each of them holds a pooled connection.
+     *
+     * @param parallelism the amount, 4 by default
+     * @return this export
+     */
+    @NonNull
+    public TableExport parallelism(final int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("Parallelism has to be positive.");
+        }
+
+        this.parallelism = parallelism;
+        return this;
+    }
+
+    /**
+     * Limits the rate rows are read at across all chunks.
+     *
+     * @param rowsPerSecond the maximum rate, 0 by default for no limit
+     * @return this export
+     */
+    @NonNull
+    public TableExport rowsPerSecond(final double rowsPerSecond) {
+        this.rowsPerSecond = rowsPerSecond;
+        return this;
+    }
+
+    /**
+     * Sets the amount of rows fetched per round trip. Ignored by MySQL, whose driver streams
+     * row by row.
+     *
+     * @param fetchSize the amount, 1,000 by default
+     * @return this export
+     */
+    @NonNull
+    public TableExport fetchSize(final int fetchSize) {
+        this.fetchSize = fetchSize;
+        return this;
+    }
+}
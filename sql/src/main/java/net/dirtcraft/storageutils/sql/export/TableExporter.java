@@ -0,0 +1,493 @@
+/*
+ * Copyright (c) 2025 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * ALL RIGHTS RESERVED.
+ */
+
+package net.dirtcraft.storageutils.sql.export;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.zip.GZIPOutputStream;
+import net.dirtcraft.storageutils.StorageType;
+import net.dirtcraft.storageutils.logging.LoggerAdapter;
+import net.dirtcraft.storageutils.sql.connection.SQLConnectionFactory;
+import net.dirtcraft.storageutils.util.TokenBucket;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Exports a table to gzip compressed files without locking it, as an alternative to
+ * {@code mysqldump}.
+ * <p>
+ * The table is split into ranges of its key holding a chunk of rows each, which are read in
+ * parallel over pooled connections and streamed to a file per range in constant memory. The
+ * ranges are derived from the keys present on the first run, so sparse keys, like snowflake
+ * IDs, do not result in empty chunks. Each range is read in a
+ * read-only, consistent-snapshot transaction of its own, so reads take no locks, but ranges may
+ * reflect different points in time.
+ * <p>
+ * The ranges are recorded in a manifest on the first run. A chunk is written to a
+ * temporary file which is only moved into place once complete, hence running an export into
+ * the same directory again skips the completed chunks and retries the rest.
+ */
+public final class TableExporter {
+
+    private static final String MANIFEST_SUFFIX = ".manifest.json";
+    private static final String PART_SUFFIX = ".part";
+    private static final int BUFFER_SIZE = 64 * 1024;
+    // acquiring permits in batches keeps the rate limiter off the hot path
+    private static final int PERMITS_PER_ACQUIRE = 100;
+
+    private TableExporter() {}
+
+    /**
+     * Starts an export on a background thread.
+     *
+     * @param logger             the logger
+     * @param factory            the connection factory
+     * @param statementProcessor the statement processor
+     * @param export             the export
+     * @return a future completed with the report once all chunks have been processed, it is
+     *         completed exceptionally if the export could not be started
+     */
+    @NonNull
+    public static CompletableFuture<ExportReport> start(@NonNull final LoggerAdapter logger,
+            @NonNull final SQLConnectionFactory factory,
+            @NonNull final Function<String, String> statementProcessor,
+            @NonNull final TableExport export) {
+        final CompletableFuture<ExportReport> future = new CompletableFuture<>();
+        final Thread thread = new Thread(() -> {
+            try {
+                future.complete(run(logger, factory, statementProcessor, export));
+            } catch (final Throwable t) {
+                future.completeExceptionally(t);
+            }
+        }, "storage-export");
+
+        thread.setDaemon(true);
+        thread.start();
+        return future;
+    }
+
+    /**
+     * Runs an export, blocking the calling thread until all chunks have been processed.
+     *
+     * @param logger             the logger
+     * @param factory            the connection factory
+     * @param statementProcessor the statement processor
+     * @param export             the export
+     * @return the report
+     * @throws IOException  if the manifest could not be read or written, or belongs to another
+     *                      export
+     * @throws SQLException if the bounds of the key could not be read
+     */
+    @NonNull
+    public static ExportReport run(@NonNull final LoggerAdapter logger,
+            @NonNull final SQLConnectionFactory factory,
+            @NonNull final Function<String, String> statementProcessor,
+            @NonNull final TableExport export) throws IOException, SQLException {
+        final long start = System.currentTimeMillis();
+        final String name = getFileName(statementProcessor.apply(export.table));
+
+        Files.createDirectories(export.directory);
+
+        final long[] recorded = readManifest(export, name);
+        final long[] bounds = recorded != null ? recorded : writeManifest(export, name,
+                readBounds(factory, statementProcessor, export));
+        final int chunks = getChunks(bounds);
+        final TokenBucket limiter =
+                export.rowsPerSecond > 0 ? new TokenBucket(export.rowsPerSecond) : null;
+        final String sql = statementProcessor.apply(getSelect(export));
+        final List<Path> paths = new ArrayList<>();
+        final List<Future<Long>> futures = new ArrayList<>();
+        final ExecutorService executor = Executors.newFixedThreadPool(export.parallelism,
+                new ExportThreadFactory());
+        int skipped = 0;
+        int failed = 0;
+        long rows = 0;
+        long bytes = 0;
+
+        try {
+            for (int i = 0; i < chunks; i++) {
+                final Path path = export.directory.resolve(String.format("%s.%05d.%s.gz", name, i,
+                        export.format.getExtension()));
+                final long lower = getLower(bounds, i);
+                final long upper = getUpper(bounds, i);
+
+                if (Files.exists(path)) {
+                    skipped++;
+                    continue;
+                }
+
+                paths.add(path);
+                futures.add(executor.submit(
+                        () -> exportChunk(factory, sql, export, lower, upper, path, limiter)));
+            }
+
+            for (int i = 0; i < futures.size(); i++) {
+                try {
+                    rows += futures.get(i).get();
+                    bytes += Files.size(paths.get(i));
+                } catch (final ExecutionException e) {
+                    failed++;
+                    logger.warn("Could not export {}: {}", paths.get(i).getFileName(),
+                            e.getCause().toString());
+                }
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Export of " + name + " was interrupted.");
+        } finally {
+            executor.shutdownNow();
+        }
+
+        final ExportReport report = new ExportReport(System.currentTimeMillis() - start, chunks,
+                futures.size() - failed, skipped, failed, rows, bytes);
+
+        logger.info("Exported {}: {}", name, report);
+        return report;
+    }
+
+    private static long exportChunk(@NonNull final SQLConnectionFactory factory,
+            @NonNull final String sql, @NonNull final TableExport export, final long lower,
+            final long upper, @NonNull final Path path, @Nullable final TokenBucket limiter)
+            throws IOException, SQLException {
+        final Path part = path.resolveSibling(path.getFileName() + PART_SUFFIX);
+        long rows = 0;
+
+        try (final Connection connection = factory.getConnection()) {
+            final StorageType type = StorageType.fromJdbcUrl(connection.getMetaData().getURL());
+            final boolean autoCommit = connection.getAutoCommit();
+            final boolean readOnly = connection.isReadOnly();
+            final int isolation = connection.getTransactionIsolation();
+
+            connection.setAutoCommit(false);
+            connection.setReadOnly(true);
+
+            // SQLite only supports serializable transactions
+            if (connection.getMetaData().supportsTransactionIsolationLevel(
+                    Connection.TRANSACTION_REPEATABLE_READ)) {
+                connection.setTransactionIsolation(Connection.TRANSACTION_REPEATABLE_READ);
+            }
+
+            try {
+                if (type == StorageType.MARIADB || type == StorageType.MYSQL) {
+                    try (final Statement statement = connection.createStatement()) {
+                        statement.execute("START TRANSACTION WITH CONSISTENT SNAPSHOT");
+                    }
+                }
+
+                try (final PreparedStatement statement = connection.prepareStatement(sql,
+                        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+                    // MySQL's driver only streams results with this magic value
+                    statement.setFetchSize(
+                            type == StorageType.MYSQL ? Integer.MIN_VALUE : export.fetchSize);
+                    statement.setLong(1, lower);
+                    statement.setLong(2, upper);
+
+                    try (final ResultSet resultSet = statement.executeQuery();
+                            final Writer writer = new BufferedWriter(new OutputStreamWriter(
+                                    new GZIPOutputStream(Files.newOutputStream(part),
+                                            BUFFER_SIZE), StandardCharsets.UTF_8), BUFFER_SIZE)) {
+                        final ResultSetMetaData metaData = resultSet.getMetaData();
+                        final String[] columns = new String[metaData.getColumnCount()];
+                        final Object[] values = new Object[columns.length];
+                        int permits = 0;
+
+                        for (int i = 0; i < columns.length; i++) {
+                            columns[i] = metaData.getColumnLabel(i + 1);
+                        }
+
+                        final ExportFormat.RowWriter rowWriter =
+                                export.format.open(writer, columns);
+
+                        while (resultSet.next()) {
+                            for (int i = 0; i < values.length; i++) {
+                                values[i] = resultSet.getObject(i + 1);
+                            }
+
+                            rowWriter.write(values);
+                            rows++;
+
+                            if (limiter != null && ++permits == PERMITS_PER_ACQUIRE) {
+                                acquire(limiter, permits);
+                                permits = 0;
+                            }
+                        }
+
+                        if (limiter != null && permits > 0) {
+                            acquire(limiter, permits);
+                        }
+                    }
+                }
+
+                connection.commit();
+            } catch (final IOException | SQLException | RuntimeException e) {
+                // the cleanup must not replace the cause of the failure
+                try {
+                    Files.deleteIfExists(part);
+                } catch (final IOException | RuntimeException ex) {
+                    e.addSuppressed(ex);
+                }
+
+                try {
+                    connection.rollback();
+                } catch (final SQLException | RuntimeException ex) {
+                    e.addSuppressed(ex);
+                }
+
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+                connection.setReadOnly(readOnly);
+                connection.setTransactionIsolation(isolation);
+            }
+        }
+
+        Files.move(part, path, StandardCopyOption.ATOMIC_MOVE);
+        return rows;
+    }
+
+    private static void acquire(@NonNull final TokenBucket limiter, final int permits)
+            throws InterruptedIOException {
+        try {
+            limiter.acquire(permits);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while throttled.");
+        }
+    }
+
+    /**
+     * Gets the amount of chunks.
+     *
+     * @param bounds the lower bounds of the chunks followed by the maximum of the key
+     * @return the amount of chunks
+     */
+    static int getChunks(final long @NonNull [] bounds) {
+        return Math.max(0, bounds.length - 1);
+    }
+
+    /**
+     * Gets the inclusive lower bound of a chunk.
+     *
+     * @param bounds the lower bounds of the chunks followed by the maximum of the key
+     * @param chunk  the index of the chunk
+     * @return the lower bound
+     */
+    static long getLower(final long @NonNull [] bounds, final int chunk) {
+        return bounds[chunk];
+    }
+
+    /**
+     * Gets the inclusive upper bound of a chunk.
+     *
+     * @param bounds the lower bounds of the chunks followed by the maximum of the key
+     * @param chunk  the index of the chunk
+     * @return the upper bound
+     */
+    static long getUpper(final long @NonNull [] bounds, final int chunk) {
+        // the last chunk includes the maximum
+        return chunk + 2 == bounds.length ? bounds[chunk + 1] : bounds[chunk + 1] - 1;
+    }
+
+    /**
+     * Reads the lower bounds of the chunks, each starting a chunk size of keys after the
+     * previous one, followed by the maximum of the key.
+     *
+     * @param factory            the connection factory
+     * @param statementProcessor the statement processor
+     * @param export             the export
+     * @return the bounds, empty if the table is empty
+     * @throws SQLException if the bounds could not be read
+     */
+    @NonNull
+    static long[] readBounds(@NonNull final SQLConnectionFactory factory,
+            @NonNull final Function<String, String> statementProcessor,
+            @NonNull final TableExport export) throws SQLException {
+        final String range = statementProcessor.apply(
+                "SELECT MIN('" + export.key + "'), MAX('" + export.key + "') FROM '"
+                        + export.table + '\'');
+        // the key a chunk size of keys after the given one, always greater than it
+        final String next = statementProcessor.apply(
+                "SELECT '" + export.key + "' FROM '" + export.table + "' WHERE '" + export.key
+                        + "' > ? ORDER BY '" + export.key + "' LIMIT 1 OFFSET "
+                        + (export.chunkSize - 1));
+        final List<Long> bounds = new ArrayList<>();
+        final long max;
+
+        try (final Connection connection = factory.getConnection()) {
+            try (final Statement statement = connection.createStatement();
+                    final ResultSet resultSet = statement.executeQuery(range)) {
+                resultSet.next();
+
+                final long min = resultSet.getLong(1);
+
+                // an empty table has no bounds
+                if (resultSet.wasNull()) {
+                    return new long[0];
+                }
+
+                bounds.add(min);
+                max = resultSet.getLong(2);
+            }
+
+            try (final PreparedStatement statement = connection.prepareStatement(next)) {
+                long lower = bounds.get(0);
+
+                while (true) {
+                    statement.setLong(1, lower);
+
+                    try (final ResultSet resultSet = statement.executeQuery()) {
+                        if (!resultSet.next()) {
+                            break;
+                        }
+
+                        lower = resultSet.getLong(1);
+                    }
+
+                    bounds.add(lower);
+                }
+            }
+        }
+
+        bounds.add(max);
+        return bounds.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    /**
+     * Reads the bounds of the chunks recorded by a previous run.
+     *
+     * @param export the export
+     * @param name   the file name of the table
+     * @return the bounds, empty if the table was empty, or null if there is no manifest
+     * @throws IOException if the manifest could not be read or belongs to another export
+     */
+    private static long @Nullable [] readManifest(@NonNull final TableExport export,
+            @NonNull final String name) throws IOException {
+        final Path path = export.directory.resolve(name + MANIFEST_SUFFIX);
+
+        if (!Files.exists(path)) {
+            return null;
+        }
+
+        final JsonObject manifest;
+
+        try {
+            manifest = JsonParser.parseString(
+                    new String(Files.readAllBytes(path), StandardCharsets.UTF_8)).getAsJsonObject();
+        } catch (final RuntimeException e) {
+            throw new IOException("Invalid export manifest " + path + '.', e);
+        }
+
+        if (!export.table.equals(manifest.get("table").getAsString())
+                || !export.key.equals(manifest.get("key").getAsString())
+                || !export.format.name().equals(manifest.get("format").getAsString())
+                || export.chunkSize != manifest.get("chunkSize").getAsLong()
+                || !manifest.has("bounds")) {
+            throw new IOException(
+                    path.getParent() + " contains an export of " + name + " with other settings.");
+        }
+
+        final JsonArray array = manifest.getAsJsonArray("bounds");
+        final long[] bounds = new long[array.size()];
+
+        for (int i = 0; i < bounds.length; i++) {
+            bounds[i] = array.get(i).getAsLong();
+        }
+
+        return bounds;
+    }
+
+    @NonNull
+    private static long[] writeManifest(@NonNull final TableExport export,
+            @NonNull final String name, final long @NonNull [] bounds) throws IOException {
+        final Path path = export.directory.resolve(name + MANIFEST_SUFFIX);
+        final Path part = path.resolveSibling(path.getFileName() + PART_SUFFIX);
+        final JsonObject manifest = new JsonObject();
+
+        manifest.addProperty("table", export.table);
+        manifest.addProperty("key", export.key);
+        manifest.addProperty("format", export.format.name());
+        manifest.addProperty("chunkSize", export.chunkSize);
+
+        final JsonArray array = new JsonArray();
+
+        for (final long bound : bounds) {
+            array.add(bound);
+        }
+
+        manifest.add("bounds", array);
+
+        Files.write(part, manifest.toString().getBytes(StandardCharsets.UTF_8));
+        Files.move(part, path, StandardCopyOption.ATOMIC_MOVE);
+        return bounds;
+    }
+
+    @NonNull
+    private static String getSelect(@NonNull final TableExport export) {
+        final StringBuilder sql = new StringBuilder("SELECT ");
+
+        if (export.columns.isEmpty()) {
+            sql.append('*');
+        }
+
+        for (int i = 0; i < export.columns.size(); i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+
+            sql.append('\'').append(export.columns.get(i)).append('\'');
+        }
+
+        return sql.append(" FROM '").append(export.table).append("' WHERE '").append(export.key)
+                .append("' BETWEEN ? AND ? ORDER BY '").append(export.key).append('\'')
+                .toString();
+    }
+
+    @NonNull
+    private static String getFileName(@NonNull final String table) {
+        return table.replaceAll("[`'\"]", "").replaceAll("[^A-Za-z0-9_.-]", "_");
+    }
+
+    private static final class ExportThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(@NonNull final Runnable runnable) {
+            final Thread thread = new Thread(runnable, "storage-export-"
+                    + this.counter.incrementAndGet());
+
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
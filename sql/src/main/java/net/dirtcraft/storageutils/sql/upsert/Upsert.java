@@ -0,0 +1,522 @@
+/*
+ * Copyright (c) 2025 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * ALL RIGHTS RESERVED.
+ */
+
+package net.dirtcraft.storageutils.sql.upsert;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import net.dirtcraft.storageutils.StorageType;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Inserts rows or updates them if a row with the same key exists, in a single round trip per
+ * batch of rows instead of loading and merging every row.
+ * <pre>{@code
+ * Upsert.into("{prefix}player_stats").key("uuid").update("name").increment("kills")
+ *         .row(uuid, name, 1)
+ *         .row(otherUuid, otherName, 3);
+ * }</pre>
+ * Values of a row are given in the order the columns were declared in. The statement is
+ * chosen based on the database: {@code ON DUPLICATE KEY UPDATE} for MariaDB, MySQL and H2,
+ * {@code ON CONFLICT} for PostgreSQL and SQLite. H2 has to run in MySQL mode, as configured by
+ * its connection factory. Rows are split into multi-row statements which stay below the packet
+ * limit of the server and the parameter limit of the driver.
+ */
+public class Upsert {
+
+    /**
+     * The default maximum size of a statement, the default {@code max_allowed_packet} of MySQL
+     * 5.7. The actual limit is queried from MariaDB and MySQL servers.
+     */
+    public static final int DEFAULT_MAX_STATEMENT_BYTES = 4 * 1024 * 1024;
+    public static final int DEFAULT_MAX_ROWS_PER_STATEMENT = 1000;
+    private static final int PACKET_MARGIN = 1024;
+    private static final Map<String, Integer> PACKET_LIMITS = new ConcurrentHashMap<>();
+
+    protected final String table;
+    protected final List<String> columns = new ArrayList<>();
+    protected final List<Mode> modes = new ArrayList<>();
+    protected final List<Object[]> rows = new ArrayList<>();
+    private int maxStatementBytes;
+    private int maxRowsPerStatement = DEFAULT_MAX_ROWS_PER_STATEMENT;
+
+    protected Upsert(final String table) {
+        this.table = table;
+    }
+
+    /**
+     * Starts an upsert into the given table.
+     *
+     * @param table the table, may contain the {@code {prefix}} placeholder if executed through
+     *              {@code SqlStorage}
+     * @return the upsert
+     */
+    @NonNull
+    public static Upsert into(@NonNull final String table) {
+        return new Upsert(table);
+    }
+
+    /**
+     * Adds the columns of the unique key identifying existing rows.
+     *
+     * @param columns the columns
+     * @return this upsert
+     */
+    @NonNull
+    public Upsert key(@NonNull final String... columns) {
+        return this.addColumns(Mode.KEY, columns);
+    }
+
+    /**
+     * Adds columns which are overwritten with the new value if the row exists.
+     *
+     * @param columns the columns
+     * @return this upsert
+     */
+    @NonNull
+    public Upsert update(@NonNull final String... columns) {
+        return this.addColumns(Mode.UPDATE, columns);
+    }
+
+    /**
+     * Adds numeric columns the new value is added to if the row exists, i.e.
+     * {@code col = col + VALUES(col)}.
+     *
+     * @param columns the columns
+     * @return this upsert
+     */
+    @NonNull
+    public Upsert increment(@NonNull final String... columns) {
+        return this.addColumns(Mode.INCREMENT, columns);
+    }
+
+    /**
+     * Adds columns which are only written when the row is inserted, e.g. the first join.
+     *
+     * @param columns the columns
+     * @return this upsert
+     */
+    @NonNull
+    public Upsert insertOnly(@NonNull final String... columns) {
+        return this.addColumns(Mode.INSERT_ONLY, columns);
+    }
+
+    /**
+     * Adds a row.
+     *
+     * @param values the values in the order the columns were declared in
+     * @return this upsert
+     */
+    @NonNull
+    public Upsert row(@NonNull final Object... values) {
+        if (values.length != this.columns.size()) {
+            throw new IllegalArgumentException(
+                    "Expected " + this.columns.size() + " values, got " + values.length + '.');
+        }
+
+        this.rows.add(values);
+        return this;
+    }
+
+    /**
+     * Adds rows.
+     *
+     * @param rows the rows
+     * @return this upsert
+     */
+    @NonNull
+    public Upsert rows(@NonNull final Iterable<Object[]> rows) {
+        for (final Object[] row : rows) {
+            this.row(row);
+        }
+
+        return this;
+    }
+
+    /**
+     * Limits the size of a statement, overriding the limit queried from the server.
+     *
+     * @param maxStatementBytes the maximum size in bytes
+     * @return this upsert
+     */
+    @NonNull
+    public Upsert maxStatementBytes(final int maxStatementBytes) {
+        this.maxStatementBytes = maxStatementBytes;
+        return this;
+    }
+
+    /**
+     * Limits the amount of rows of a statement, which bounds how long row locks are held.
+     *
+     * @param maxRowsPerStatement the maximum amount of rows
+     * @return this upsert
+     */
+    @NonNull
+    public Upsert maxRowsPerStatement(final int maxRowsPerStatement) {
+        if (maxRowsPerStatement < 1) {
+            throw new IllegalArgumentException("At least one row per statement is required.");
+        }
+
+        this.maxRowsPerStatement = maxRowsPerStatement;
+        return this;
+    }
+
+    public int getRowCount() {
+        return this.rows.size();
+    }
+
+    /**
+     * Executes the upsert within the current transaction of the connection.
+     *
+     * @param connection the connection
+     * @return the sum of the affected rows as reported by the driver, MariaDB and MySQL count
+     * updated rows twice
+     * @throws SQLException if the upsert failed
+     */
+    public int execute(@NonNull final Connection connection) throws SQLException {
+        return this.execute(connection, Function.identity());
+    }
+
+    /**
+     * Executes the upsert within the current transaction of the connection.
+     *
+     * @param connection         the connection
+     * @param statementProcessor the statement processor, e.g. replacing the table prefix
+     * @return the sum of the affected rows as reported by the driver
+     * @throws SQLException if the upsert failed
+     */
+    public int execute(@NonNull final Connection connection,
+            @NonNull final Function<String, String> statementProcessor) throws SQLException {
+        if (this.rows.isEmpty()) {
+            return 0;
+        }
+
+        final String url = connection.getMetaData().getURL();
+        final StorageType type = StorageType.fromJdbcUrl(url);
+
+        if (type == null) {
+            throw new SQLFeatureNotSupportedException("Upserts are not supported for " + url);
+        }
+
+        if (!this.modes.contains(Mode.KEY)) {
+            throw new IllegalStateException("At least one key column is required.");
+        }
+
+        final int maxBytes = this.maxStatementBytes > 0 ? this.maxStatementBytes
+                : getPacketLimit(connection, type, url);
+        final int maxRows = Math.min(this.maxRowsPerStatement,
+                getParameterLimit(type) / this.columns.size());
+        final String suffix = this.buildSuffix(type);
+        final long fixedBytes = this.table.length() + suffix.length() + 32L
+                + this.columns.stream().mapToInt(column -> column.length() + 4).sum();
+        // PostgreSQL rejects statements affecting the same row twice
+        final Set<List<Object>> keys = type == StorageType.POSTGRESQL ? new HashSet<>() : null;
+        int affected = 0;
+        int start = 0;
+
+        while (start < this.rows.size()) {
+            int end = start;
+            long bytes = fixedBytes;
+
+            if (keys != null) {
+                keys.clear();
+            }
+
+            while (end < this.rows.size() && end - start < maxRows) {
+                final Object[] row = this.rows.get(end);
+                final long rowBytes = this.estimateBytes(row);
+
+                if (end > start && bytes + rowBytes > maxBytes
+                        || keys != null && !keys.add(this.keyOf(row))) {
+                    break;
+                }
+
+                bytes += rowBytes;
+                end++;
+            }
+
+            affected += this.executeStatement(connection, statementProcessor, type, suffix, start,
+                    end);
+            start = end;
+        }
+
+        return affected;
+    }
+
+    /**
+     * Builds the statement for the given amount of rows.
+     *
+     * @param type the type of the database
+     * @param rows the amount of rows
+     * @return the statement
+     */
+    @NonNull
+    public String toSql(@NonNull final StorageType type, final int rows) {
+        return this.buildSql(type, rows, this.buildSuffix(type));
+    }
+
+    private static int getParameterLimit(final StorageType type) {
+        switch (type) {
+            case POSTGRESQL:
+                return Short.MAX_VALUE;
+            case SQLITE:
+                return 32766;
+            default:
+                return 65535;
+        }
+    }
+
+    private static int getPacketLimit(final Connection connection, final StorageType type,
+            final String url) throws SQLException {
+        if (type != StorageType.MARIADB && type != StorageType.MYSQL) {
+            return DEFAULT_MAX_STATEMENT_BYTES;
+        }
+
+        final Integer cached = PACKET_LIMITS.get(url);
+
+        if (cached != null) {
+            return cached;
+        }
+
+        int limit = DEFAULT_MAX_STATEMENT_BYTES;
+
+        try (final Statement statement = connection.createStatement();
+             final ResultSet resultSet = statement.executeQuery(
+                     "SELECT @@max_allowed_packet")) {
+            if (resultSet.next()) {
+                limit = (int) Math.min(Integer.MAX_VALUE,
+                        Math.max(PACKET_MARGIN * 2, resultSet.getLong(1) - PACKET_MARGIN));
+            }
+        }
+
+        PACKET_LIMITS.put(url, limit);
+        return limit;
+    }
+
+    private Upsert addColumns(final Mode mode, final String... columns) {
+        if (!this.rows.isEmpty()) {
+            throw new IllegalStateException("Columns have to be declared before the rows.");
+        }
+
+        for (final String column : columns) {
+            if (this.columns.contains(column)) {
+                throw new IllegalArgumentException("Column " + column + " is declared twice.");
+            }
+
+            this.columns.add(column);
+            this.modes.add(mode);
+        }
+
+        return this;
+    }
+
+    private List<Object> keyOf(final Object[] row) {
+        final List<Object> key = new ArrayList<>();
+
+        for (int i = 0; i < row.length; i++) {
+            if (this.modes.get(i) == Mode.KEY) {
+                key.add(row[i] instanceof byte[] ? Arrays.toString((byte[]) row[i]) : row[i]);
+            }
+        }
+
+        return key;
+    }
+
+    private String buildSuffix(final StorageType type) {
+        final StringBuilder suffix = new StringBuilder();
+        final boolean duplicateKey = type != StorageType.POSTGRESQL
+                && type != StorageType.SQLITE;
+
+        if (duplicateKey) {
+            suffix.append(" ON DUPLICATE KEY UPDATE ");
+        } else {
+            suffix.append(" ON CONFLICT (");
+
+            boolean first = true;
+
+            for (int i = 0; i < this.columns.size(); i++) {
+                if (this.modes.get(i) == Mode.KEY) {
+                    if (!first) {
+                        suffix.append(", ");
+                    }
+
+                    this.appendIdentifier(suffix, type, this.columns.get(i));
+                    first = false;
+                }
+            }
+
+            suffix.append(')');
+        }
+
+        boolean first = true;
+
+        for (int i = 0; i < this.columns.size(); i++) {
+            final Mode mode = this.modes.get(i);
+
+            if (mode != Mode.UPDATE && mode != Mode.INCREMENT) {
+                continue;
+            }
+
+            final String column = this.columns.get(i);
+
+            if (first) {
+                suffix.append(duplicateKey ? "" : " DO UPDATE SET ");
+                first = false;
+            } else {
+                suffix.append(", ");
+            }
+
+            this.appendIdentifier(suffix, type, column).append(" = ");
+
+            if (mode == Mode.INCREMENT) {
+                if (!duplicateKey) {
+                    // the existing row is referenced by the name of the table without its schema
+                    this.appendIdentifier(suffix, type,
+                            this.table.substring(this.table.lastIndexOf('.') + 1)).append('.');
+                }
+
+                this.appendIdentifier(suffix, type, column).append(" + ");
+            }
+
+            if (duplicateKey) {
+                this.appendIdentifier(suffix.append("VALUES("), type, column).append(')');
+            } else {
+                this.appendIdentifier(suffix.append("EXCLUDED."), type, column);
+            }
+        }
+
+        if (first) {
+            if (duplicateKey) {
+                // nothing to update, keep the existing row
+                final String key = this.columns.get(this.modes.indexOf(Mode.KEY));
+
+                this.appendIdentifier(this.appendIdentifier(suffix, type, key).append(" = "),
+                        type, key);
+            } else {
+                suffix.append(" DO NOTHING");
+            }
+        }
+
+        return suffix.toString();
+    }
+
+    private StringBuilder appendIdentifier(final StringBuilder builder, final StorageType type,
+            final String identifier) {
+        // backticks for the MySQL syntax, which H2 accepts in MySQL mode, standard quotes else
+        final char quote =
+                type == StorageType.POSTGRESQL || type == StorageType.SQLITE ? '"' : '`';
+        int start = 0;
+        int end;
+
+        // each part of a qualified name, e.g. schema.table, is quoted on its own
+        while ((end = identifier.indexOf('.', start)) != -1) {
+            builder.append(quote).append(identifier, start, end).append(quote).append('.');
+            start = end + 1;
+        }
+
+        return builder.append(quote).append(identifier, start, identifier.length())
+                .append(quote);
+    }
+
+    private long estimateBytes(final Object[] row) {
+        // placeholders and separators, values are assumed to be sent as literals
+        long bytes = 4L + row.length * 3L;
+
+        for (final Object value : row) {
+            if (value == null) {
+                bytes += 4;
+            } else if (value instanceof CharSequence) {
+                // at most three bytes per char in UTF-8, escaping at most doubles a byte
+                bytes += ((CharSequence) value).length() * 3L + 2;
+            } else if (value instanceof byte[]) {
+                bytes += ((byte[]) value).length * 2L + 3;
+            } else {
+                bytes += value.toString().length() + 2;
+            }
+        }
+
+        return bytes;
+    }
+
+    private String buildSql(final StorageType type, final int rows, final String suffix) {
+        final StringBuilder sql = new StringBuilder("INSERT INTO ");
+
+        this.appendIdentifier(sql, type, this.table).append(" (");
+
+        for (int i = 0; i < this.columns.size(); i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+
+            this.appendIdentifier(sql, type, this.columns.get(i));
+        }
+
+        sql.append(") VALUES ");
+
+        for (int row = 0; row < rows; row++) {
+            if (row > 0) {
+                sql.append(", ");
+            }
+
+            sql.append('(');
+
+            for (int i = 0; i < this.columns.size(); i++) {
+                sql.append(i > 0 ? ", ?" : "?");
+            }
+
+            sql.append(')');
+        }
+
+        return sql.append(suffix).toString();
+    }
+
+    private int executeStatement(final Connection connection,
+            final Function<String, String> statementProcessor, final StorageType type,
+            final String suffix, final int start, final int end) throws SQLException {
+        final String sql = this.buildSql(type, end - start, suffix);
+        int index = 1;
+
+        try (final PreparedStatement statement =
+                connection.prepareStatement(statementProcessor.apply(sql))) {
+            for (int row = start; row < end; row++) {
+                for (final Object value : this.rows.get(row)) {
+                    if (value == null) {
+                        statement.setNull(index++, Types.NULL);
+                    } else {
+                        statement.setObject(index++, value);
+                    }
+                }
+            }
+
+            return statement.executeUpdate();
+        }
+    }
+
+    /**
+     * How a column is treated if the row exists.
+     */
+    protected enum Mode {
+
+        KEY,
+        UPDATE,
+        INCREMENT,
+        INSERT_ONLY
+    }
+}
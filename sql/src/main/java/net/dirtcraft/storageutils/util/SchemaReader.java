@@ -0,0 +1,260 @@
+/*
+ * Copyright (c) 2025 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * ALL RIGHTS RESERVED.
+ */
+
+package net.dirtcraft.storageutils.util;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+public final class SchemaReader {
+
+    private static final Pattern ALTER_TABLE_PATTERN =
+            Pattern.compile("^ALTER TABLE [`\"']([^`\"']+)[`\"'].*");
+    private static final Pattern CREATE_INDEX_PATTERN =
+            Pattern.compile("^CREATE INDEX.* ON [`\"']([^`\"']+)[`\"'].*");
+    private static final Pattern CREATE_TABLE_PATTERN =
+            Pattern.compile("^CREATE TABLE [`\"']([^`\"']+)[`\"'].*");
+    private static final List<Pattern> TABLE_PATTERNS =
+            Arrays.asList(ALTER_TABLE_PATTERN, CREATE_INDEX_PATTERN, CREATE_TABLE_PATTERN);
+    private static final Pattern TABLE_OPTIONS_PATTERN = Pattern.compile(
+            "(?i)\\)(\\s*,?\\s*(ENGINE|(DEFAULT\\s+)?(CHARSET|CHARACTER\\s+SET|COLLATE)"
+                    + "|AUTO_INCREMENT|ROW_FORMAT|COMMENT)\\s*=?\\s*('[^']*'|`[^`]*`|\\S+))+\\s*$");
+    private static final Pattern COLUMN_CHARSET_PATTERN = Pattern.compile(
+            "(?i)\\s+(CHARACTER\\s+SET|CHARSET|COLLATE)\\s+\\w+");
+    private static final Pattern AUTO_INCREMENT_PATTERN = Pattern.compile(
+            "(?i)\\b(TINY|SMALL|MEDIUM|BIG)?INT(EGER)?(\\s*\\(\\d+\\))?(\\s+UNSIGNED)?"
+                    + "(\\s+NOT\\s+NULL)?\\s+AUTO_INCREMENT\\b");
+    private static final Pattern UNSIGNED_PATTERN = Pattern.compile(
+            "(?i)([\"`]?\\w+[\"`]?)\\s+(TINY|SMALL|MEDIUM|BIG)?INT(EGER)?(\\s*\\(\\d+\\))?"
+                    + "\\s+UNSIGNED\\b");
+    private static final Pattern INTEGER_PATTERN =
+            Pattern.compile("(?i)\\b(TINY|SMALL|MEDIUM|BIG)?INT(EGER)?\\b(\\s*\\(\\d+\\))?");
+    private static final Pattern UNTRANSLATED_PATTERN =
+            Pattern.compile("(?i)\\b(AUTO_INCREMENT|UNSIGNED)\\b");
+
+    private SchemaReader() {}
+
+    /**
+     * Parses a schema file to a list of SQL statements
+     *
+     * @param is the input stream to read from
+     * @return a list of statements
+     * @throws IOException if an error occurs whilst reading the file
+     */
+    public static List<String> getStatements(final InputStream is) throws IOException {
+        final List<String> queries = new LinkedList<>();
+
+        try (final BufferedReader reader = new BufferedReader(
+                new InputStreamReader(is, StandardCharsets.UTF_8))) {
+            StringBuilder sb = new StringBuilder();
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.startsWith("--") || line.startsWith("#")) {
+                    continue;
+                }
+
+                sb.append(line);
+
+                // check for end of declaration
+                if (line.endsWith(";")) {
+                    sb.deleteCharAt(sb.length() - 1);
+
+                    final String result = sb.toString().trim().replaceAll(" +", " ");
+                    if (!result.isEmpty()) {
+                        queries.add(result);
+                    }
+
+                    // reset
+                    sb = new StringBuilder();
+                }
+            }
+        }
+
+        return queries;
+    }
+
+    @NonNull
+    public static String tableFromStatement(final String statement) {
+        for (final Pattern pattern : TABLE_PATTERNS) {
+            final Matcher matcher = pattern.matcher(statement);
+
+            if (matcher.matches()) {
+                return matcher.group(1).toLowerCase(Locale.ROOT);
+            }
+        }
+
+        throw new IllegalArgumentException("Unknown statement type: " + statement);
+    }
+
+    /**
+     * Gets the tables of the database and schema the connection points to using the JDBC
+     * metadata instead of database specific queries. System tables, like the ones of the
+     * {@code INFORMATION_SCHEMA}, are not included, unless the connection points to that schema.
+     *
+     * @param connection the connection
+     * @return the lower case table names
+     * @throws SQLException if the metadata could not be read
+     */
+    @NonNull
+    public static List<String> getTables(final Connection connection) throws SQLException {
+        final DatabaseMetaData metaData = connection.getMetaData();
+        final List<String> tables = new ArrayList<>();
+
+        // MySQL and MariaDB have no schemas within a catalog and return null here
+        try (final ResultSet resultSet = metaData.getTables(connection.getCatalog(),
+                connection.getSchema(), "%", new String[] {"TABLE"})) {
+            while (resultSet.next()) {
+                tables.add(resultSet.getString("TABLE_NAME").toLowerCase(Locale.ROOT));
+            }
+        }
+
+        return tables;
+    }
+
+    /**
+     * Removes MySQL specific table and column options, like the engine and character sets, from
+     * a create table statement. Other statements are returned as is.
+     *
+     * @param statement the statement
+     * @return the statement without MySQL specific options
+     */
+    @NonNull
+    public static String stripTableOptions(@NonNull final String statement) {
+        if (!CREATE_TABLE_PATTERN.matcher(statement).matches()) {
+            return statement;
+        }
+
+        final String stripped = TABLE_OPTIONS_PATTERN.matcher(statement).replaceFirst(")");
+
+        return COLUMN_CHARSET_PATTERN.matcher(stripped).replaceAll("");
+    }
+
+    /**
+     * Translates a MySQL create table statement for SQLite. Besides stripping the table options,
+     * auto increment columns are turned into integer columns, which alias the row id if they are
+     * the primary key.
+     *
+     * @param statement the statement
+     * @return the translated statement
+     */
+    @NonNull
+    public static String toSqlite(@NonNull final String statement) {
+        if (!CREATE_TABLE_PATTERN.matcher(statement).matches()) {
+            return statement;
+        }
+
+        return AUTO_INCREMENT_PATTERN.matcher(stripTableOptions(statement))
+                .replaceAll("INTEGER$5");
+    }
+
+    /**
+     * Translates a MySQL create table statement for PostgreSQL. Besides stripping the table
+     * options, auto increment columns are turned into identity columns, unsigned columns into
+     * the next larger type with a check constraint on the table and integer types without an
+     * equivalent are replaced.
+     *
+     * @param statement the statement with double quoted identifiers
+     * @return the translated statement
+     * @throws IllegalArgumentException if the statement uses auto increment or unsigned columns
+     *                                  in a way which cannot be translated
+     */
+    @NonNull
+    public static String toPostgreSql(@NonNull final String statement) {
+        if (!CREATE_TABLE_PATTERN.matcher(statement).matches()) {
+            return statement;
+        }
+
+        final StringBuffer translated = new StringBuffer();
+        Matcher matcher = AUTO_INCREMENT_PATTERN.matcher(stripTableOptions(statement));
+
+        while (matcher.find()) {
+            // identity columns are never null, there are no numeric ones
+            final String type = "BIG".equalsIgnoreCase(matcher.group(1)) ? "BIGINT"
+                    : toPostgreSqlInteger(matcher.group(1), matcher.group(4) != null);
+
+            matcher.appendReplacement(translated, type + " GENERATED BY DEFAULT AS IDENTITY");
+        }
+
+        matcher.appendTail(translated);
+        matcher = UNSIGNED_PATTERN.matcher(translated.toString());
+        translated.setLength(0);
+
+        final StringBuilder checks = new StringBuilder();
+
+        while (matcher.find()) {
+            matcher.appendReplacement(translated, Matcher.quoteReplacement(matcher.group(1) + ' '
+                    + toPostgreSqlInteger(matcher.group(2), true)));
+            checks.append(", CHECK (").append(matcher.group(1)).append(" >= 0)");
+        }
+
+        matcher.appendTail(translated);
+        translated.insert(translated.lastIndexOf(")"), checks);
+        matcher = INTEGER_PATTERN.matcher(translated.toString());
+        translated.setLength(0);
+
+        while (matcher.find()) {
+            matcher.appendReplacement(translated, toPostgreSqlInteger(matcher.group(1), false));
+        }
+
+        matcher.appendTail(translated);
+
+        if (UNTRANSLATED_PATTERN.matcher(translated).find()) {
+            throw new IllegalArgumentException("Could not translate the auto increment or"
+                    + " unsigned columns of " + statement + " for PostgreSQL.");
+        }
+
+        return translated.toString();
+    }
+
+    private static String toPostgreSqlInteger(final String prefix, final boolean unsigned) {
+        if (prefix == null) {
+            return unsigned ? "BIGINT" : "INTEGER";
+        }
+
+        switch (prefix.toUpperCase(Locale.ROOT)) {
+            case "TINY":
+                return "SMALLINT";
+            case "SMALL":
+                return unsigned ? "INTEGER" : "SMALLINT";
+            case "MEDIUM":
+                return "INTEGER";
+            default:
+                return unsigned ? "NUMERIC(20)" : "BIGINT";
+        }
+    }
+
+    /**
+     * Filters which statements should be executed based on the current list of tables in the
+     * database
+     *
+     * @param statements    the statements to filter
+     * @param currentTables the current tables in the database
+     * @return the filtered list of statements
+     */
+    public static List<String> filterStatements(final Collection<String> statements,
+            final Collection<String> currentTables) {
+        return statements.stream()
+                .filter(statement -> !currentTables.contains(tableFromStatement(statement)))
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,241 @@
+/*
+ * Copyright (c) 2025 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * ALL RIGHTS RESERVED.
+ */
+
+package net.dirtcraft.storageutils.counter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import net.dirtcraft.storageutils.logging.Log4jLoggerAdapter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class CounterTableTest {
+
+    private static final int THREADS = 4;
+    private static final int INCREMENTS = 200_000;
+    private static final int KEYS = 16;
+
+    private Connection connection;
+    private CounterAggregator aggregator;
+    private CounterTable table;
+    private volatile boolean failing;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        this.connection = DriverManager.getConnection("jdbc:h2:mem:counters;MODE=MySQL");
+
+        try (final Statement statement = this.connection.createStatement()) {
+            statement.execute("CREATE TABLE stats (id INT PRIMARY KEY, kills BIGINT NOT NULL,"
+                    + " deaths BIGINT NOT NULL)");
+        }
+
+        // flushed explicitly only
+        this.aggregator = new CounterAggregator(new Log4jLoggerAdapter("counters"), upsert -> {
+            if (this.failing) {
+                throw new SQLException("Database is down.");
+            }
+
+            upsert.execute(this.connection);
+        }, 1, TimeUnit.HOURS, Integer.MAX_VALUE);
+        this.table = this.aggregator.register("stats", new String[] {"id"}, "kills", "deaths");
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        this.aggregator.close();
+        this.connection.close();
+    }
+
+    @Test
+    void flushWritesAndClearsIncrements() throws Exception {
+        this.table.increment("kills", 2, 1);
+        this.table.increment("kills", 3, 1);
+        this.table.increment("deaths", 1, 2);
+
+        assertEquals(5, this.table.getPending("kills", 1));
+        assertEquals(2, this.table.getPendingRows());
+        assertEquals(2, this.aggregator.flush());
+        assertEquals(0, this.table.getPending("kills", 1));
+        assertEquals(0, this.table.getPendingRows());
+        assertEquals(5, this.read("kills", 1));
+        assertEquals(0, this.read("deaths", 1));
+        assertEquals(1, this.read("deaths", 2));
+
+        this.table.increment("kills", 4, 1);
+
+        assertEquals(1, this.aggregator.flush());
+        assertEquals(9, this.read("kills", 1));
+        assertEquals(9, this.table.merge(this.read("kills", 1), "kills", 1));
+    }
+
+    @Test
+    void failedFlushKeepsIncrements() throws Exception {
+        this.table.increment("kills", 2, 1);
+        this.failing = true;
+
+        assertThrows(SQLException.class, this.aggregator::flush);
+        assertEquals(2, this.table.getPending("kills", 1));
+
+        this.table.increment("kills", 3, 1);
+        this.failing = false;
+
+        assertEquals(1, this.aggregator.flush());
+        assertEquals(0, this.table.getPending("kills", 1));
+        assertEquals(5, this.read("kills", 1));
+    }
+
+    @Test
+    void incrementDuringFlushIsKeptForTheNextFlush() throws Exception {
+        final AtomicReference<CounterTable> table = new AtomicReference<>();
+        final AtomicBoolean incremented = new AtomicBoolean();
+        final CounterAggregator aggregator =
+                new CounterAggregator(new Log4jLoggerAdapter("counters"), upsert -> {
+                    // the drained row is gone, hence the increment starts a new one
+                    if (incremented.compareAndSet(false, true)) {
+                        table.get().increment("kills", 7, 1);
+                    }
+
+                    upsert.execute(this.connection);
+                }, 1, TimeUnit.HOURS, Integer.MAX_VALUE);
+
+        try {
+            table.set(aggregator.register("stats", new String[] {"id"}, "kills", "deaths"));
+            table.get().increment("kills", 1, 1);
+
+            assertEquals(1, aggregator.flush());
+            assertEquals(1, this.read("kills", 1));
+            assertEquals(7, table.get().getPending("kills", 1));
+            assertEquals(1, aggregator.flush());
+            assertEquals(8, this.read("kills", 1));
+        } finally {
+            aggregator.close();
+        }
+    }
+
+    @Test
+    void readsPendingIncrementsWithoutWaitingForTheFlush() throws Exception {
+        final CountDownLatch flushing = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final CounterAggregator aggregator =
+                new CounterAggregator(new Log4jLoggerAdapter("counters"), upsert -> {
+                    flushing.countDown();
+                    release.await();
+                    upsert.execute(this.connection);
+                }, 1, TimeUnit.HOURS, Integer.MAX_VALUE);
+
+        try {
+            final CounterTable table =
+                    aggregator.register("stats", new String[] {"id"}, "kills", "deaths");
+            final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+            table.increment("kills", 2, 1);
+
+            try {
+                final Future<Integer> flush = executor.submit(aggregator::flush);
+
+                assertTrue(flushing.await(10, TimeUnit.SECONDS));
+
+                // the round trip is still running
+                table.increment("kills", 3, 1);
+
+                assertEquals(5, table.getPending("kills", 1));
+
+                release.countDown();
+
+                assertEquals(1, (int) flush.get(10, TimeUnit.SECONDS));
+                assertEquals(3, table.getPending("kills", 1));
+                assertEquals(2, this.read("kills", 1));
+            } finally {
+                release.countDown();
+                executor.shutdownNow();
+            }
+        } finally {
+            aggregator.close();
+        }
+    }
+
+    @Test
+    void concurrentIncrementsAreFlushedExactlyOnce() throws Exception {
+        final List<Thread> threads = new ArrayList<>();
+
+        for (int t = 0; t < THREADS; t++) {
+            final Thread thread = new Thread(() -> {
+                for (int i = 0; i < INCREMENTS; i++) {
+                    this.table.increment(i % 2 == 0 ? "kills" : "deaths", 1, i % KEYS);
+                }
+            });
+
+            threads.add(thread);
+            thread.start();
+        }
+
+        int flushes = 0;
+
+        while (threads.stream().anyMatch(Thread::isAlive)) {
+            // every other flush fails and has to restore its increments
+            this.failing = flushes++ % 2 == 1;
+
+            try {
+                this.aggregator.flush();
+            } catch (final SQLException ignored) {
+                // retried with the next flush
+            }
+        }
+
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+
+        this.failing = false;
+        this.aggregator.flush();
+
+        // even keys only receive kills, odd keys only deaths
+        final long expected = (long) THREADS * INCREMENTS / KEYS;
+
+        for (int key = 0; key < KEYS; key++) {
+            assertEquals(0, this.table.getPending("kills", key));
+            assertEquals(expected, this.read(key % 2 == 0 ? "kills" : "deaths", key));
+            assertEquals(0, this.read(key % 2 == 0 ? "deaths" : "kills", key));
+        }
+
+        assertEquals(0, this.aggregator.getPendingRows());
+    }
+
+    @Test
+    void rejectsUnknownColumnsAndKeys() {
+        assertThrows(IllegalArgumentException.class, () -> this.table.increment("score", 1, 1));
+        assertThrows(IllegalArgumentException.class, () -> this.table.increment("kills", 1));
+        assertThrows(IllegalStateException.class,
+                () -> this.aggregator.register("stats", new String[] {"id"}, "kills"));
+        assertSame(this.table, this.aggregator.getTable("stats"));
+    }
+
+    private long read(final String column, final int id) throws SQLException {
+        try (final Statement statement = this.connection.createStatement();
+                final ResultSet resultSet = statement.executeQuery(
+                        "SELECT " + column + " FROM stats WHERE id = " + id)) {
+            return resultSet.next() ? resultSet.getLong(1) : 0;
+        }
+    }
+}
@@ -0,0 +1,263 @@
+/*
+ * Copyright (c) 2025 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * ALL RIGHTS RESERVED.
+ */
+
+package net.dirtcraft.storageutils.pagination;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertIterableEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class KeysetQueryTest {
+
+    private static final int ROWS = 23;
+    private static final int PAGE_SIZE = 5;
+
+    private Connection connection;
+    private List<Ban> bans;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        this.connection = DriverManager.getConnection("jdbc:h2:mem:keyset;MODE=MySQL");
+        this.bans = new ArrayList<>();
+
+        try (final Statement statement = this.connection.createStatement()) {
+            statement.execute("CREATE TABLE bans (id INT PRIMARY KEY, player INT NOT NULL,"
+                    + " created BIGINT NOT NULL)");
+        }
+
+        try (final PreparedStatement statement = this.connection.prepareStatement(
+                "INSERT INTO bans (id, player, created) VALUES (?, ?, ?)")) {
+            for (int id = 1; id <= ROWS; id++) {
+                // several bans share the same time, the id breaks the ties
+                final Ban ban = new Ban(id, id % 2, id / 3);
+
+                statement.setInt(1, ban.id);
+                statement.setInt(2, ban.player);
+                statement.setLong(3, ban.created);
+                statement.addBatch();
+                this.bans.add(ban);
+            }
+
+            statement.executeBatch();
+        }
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        this.connection.close();
+    }
+
+    @Test
+    void buildsRowValueComparisonsForUniformKeys() {
+        final KeysetQuery<Ban> query = KeysetQuery.<Ban>select("SELECT * FROM bans")
+                .where("player = ?", 1)
+                .desc("created", Ban::getCreated)
+                .desc("id", Ban::getId);
+        final List<Integer> bindings = new ArrayList<>();
+
+        assertEquals("SELECT * FROM bans WHERE (player = ?) ORDER BY created DESC, id DESC"
+                + " LIMIT 6", query.toSql(null, 6, bindings));
+        assertIterableEquals(Collections.emptyList(), bindings);
+        assertEquals("SELECT * FROM bans WHERE (player = ?) AND (created, id) < (?, ?)"
+                        + " ORDER BY created DESC, id DESC LIMIT 6",
+                query.toSql(new PageToken(0, false, new Object[] {1L, 2}), 6, bindings));
+        assertIterableEquals(Arrays.asList(0, 1), bindings);
+
+        bindings.clear();
+
+        // a backward page is read in reverse
+        assertEquals("SELECT * FROM bans WHERE (player = ?) AND (created, id) > (?, ?)"
+                        + " ORDER BY created ASC, id ASC LIMIT 6",
+                query.toSql(new PageToken(0, true, new Object[] {1L, 2}), 6, bindings));
+        assertIterableEquals(Arrays.asList(0, 1), bindings);
+    }
+
+    @Test
+    void expandsPredicatesForMixedKeysAndHql() {
+        final KeysetQuery<Ban> mixed = KeysetQuery.<Ban>select("SELECT * FROM bans")
+                .desc("created", Ban::getCreated)
+                .asc("id", Ban::getId);
+        final List<Integer> bindings = new ArrayList<>();
+
+        assertEquals("SELECT * FROM bans WHERE (created < ? OR (created = ? AND id > ?))"
+                        + " ORDER BY created DESC, id ASC LIMIT 6",
+                mixed.toSql(new PageToken(0, false, new Object[] {1L, 2}), 6, bindings));
+        assertIterableEquals(Arrays.asList(0, 0, 1), bindings);
+
+        final KeysetQuery<Ban> hql = KeysetQuery.<Ban>select("SELECT b FROM Ban b")
+                .asc("b.created", Ban::getCreated)
+                .asc("b.id", Ban::getId);
+
+        bindings.clear();
+
+        assertEquals("SELECT b FROM Ban b WHERE (b.created > :keyset0 OR (b.created = :keyset1"
+                        + " AND b.id > :keyset2)) ORDER BY b.created ASC, b.id ASC",
+                hql.toHql(new PageToken(0, false, new Object[] {1L, 2}), bindings));
+        assertIterableEquals(Arrays.asList(0, 0, 1), bindings);
+    }
+
+    @Test
+    void pagesThroughUniformKeysInBothDirections() throws SQLException {
+        this.assertPages(KeysetQuery.<Ban>select("SELECT * FROM bans")
+                        .desc("created", Ban::getCreated)
+                        .desc("id", Ban::getId),
+                Comparator.comparingLong(Ban::getCreated).thenComparingInt(Ban::getId)
+                        .reversed());
+    }
+
+    @Test
+    void pagesThroughMixedKeysInBothDirections() throws SQLException {
+        this.assertPages(KeysetQuery.<Ban>select("SELECT * FROM bans")
+                        .where("player = ?", 1)
+                        .desc("created", Ban::getCreated)
+                        .asc("id", Ban::getId),
+                Comparator.comparingLong(Ban::getCreated).reversed()
+                        .thenComparingInt(Ban::getId));
+    }
+
+    @Test
+    void pagesThroughHqlWithNamedParameters() {
+        final KeysetQuery<Ban> query = KeysetQuery.<Ban>select("SELECT b FROM Ban b")
+                .where("b.player = :player")
+                .parameter("player", 0)
+                .asc("b.created", Ban::getCreated)
+                .asc("b.id", Ban::getId);
+        final KeysetQuery.QueryExecutor<Ban> executor = (hql, parameters, limit) -> {
+            assertEquals(0, parameters.get("player"));
+
+            // emulates the seek predicate of the query
+            return this.bans.stream().filter(ban -> ban.player == 0)
+                    .filter(ban -> !parameters.containsKey("keyset0")
+                            || ban.created > (long) parameters.get("keyset0")
+                            || ban.created == (long) parameters.get("keyset1")
+                            && ban.id > (int) parameters.get("keyset2"))
+                    .limit(limit).collect(Collectors.toList());
+        };
+        final List<Integer> ids = new ArrayList<>();
+        String token = null;
+
+        do {
+            final Page<Ban> page = query.fetch(token, PAGE_SIZE, executor);
+
+            page.getItems().forEach(ban -> ids.add(ban.id));
+            token = page.getNextToken();
+        } while (token != null);
+
+        assertIterableEquals(IntStream.rangeClosed(1, ROWS).filter(id -> id % 2 == 0).boxed()
+                .collect(Collectors.toList()), ids);
+    }
+
+    @Test
+    void rejectsTokensOfOtherQueriesAndInvalidSizes() throws SQLException {
+        final KeysetQuery<Ban> query = KeysetQuery.<Ban>select("SELECT * FROM bans")
+                .asc("id", Ban::getId);
+        final String token = this.fetch(query, null).getNextToken();
+        final KeysetQuery<Ban> other = KeysetQuery.<Ban>select("SELECT * FROM bans")
+                .desc("id", Ban::getId);
+
+        assertThrows(IllegalArgumentException.class, () -> this.fetch(other, token));
+        assertThrows(IllegalArgumentException.class, () -> query.fetch(this.connection,
+                Function.identity(), null, 0, resultSet -> null));
+        assertThrows(IllegalStateException.class,
+                () -> this.fetch(KeysetQuery.select("SELECT * FROM bans"), null));
+    }
+
+    @Test
+    void returnsNoTokensForAnEmptyPage() throws SQLException {
+        final Page<Ban> page = this.fetch(KeysetQuery.<Ban>select("SELECT * FROM bans")
+                .where("player = ?", 2)
+                .asc("id", Ban::getId), null);
+
+        assertEquals(0, page.getItems().size());
+        assertNull(page.getNextToken());
+        assertNull(page.getPreviousToken());
+    }
+
+    private void assertPages(final KeysetQuery<Ban> query, final Comparator<Ban> order)
+            throws SQLException {
+        final List<Ban> expected = this.bans.stream()
+                .filter(ban -> !query.parameters.contains(1) || ban.player == 1)
+                .sorted(order).collect(Collectors.toList());
+        final List<List<Integer>> pages = new ArrayList<>();
+        final List<String> previousTokens = new ArrayList<>();
+        Page<Ban> page = this.fetch(query, null);
+
+        assertNull(page.getPreviousToken());
+
+        while (true) {
+            pages.add(ids(page.getItems()));
+            previousTokens.add(page.getPreviousToken());
+
+            if (page.getNextToken() == null) {
+                break;
+            }
+
+            page = this.fetch(query, page.getNextToken());
+        }
+
+        assertIterableEquals(ids(expected),
+                pages.stream().flatMap(List::stream).collect(Collectors.toList()));
+
+        // going back from each page returns the page before it
+        for (int i = pages.size() - 1; i > 0; i--) {
+            final Page<Ban> previous = this.fetch(query, previousTokens.get(i));
+
+            assertIterableEquals(pages.get(i - 1), ids(previous.getItems()));
+            assertEquals(i > 1, previous.getPreviousToken() != null);
+        }
+    }
+
+    private Page<Ban> fetch(final KeysetQuery<Ban> query, final String token)
+            throws SQLException {
+        return query.fetch(this.connection, Function.identity(), token, PAGE_SIZE,
+                resultSet -> new Ban(resultSet.getInt("id"), resultSet.getInt("player"),
+                        resultSet.getLong("created")));
+    }
+
+    private static List<Integer> ids(final List<Ban> bans) {
+        return bans.stream().map(Ban::getId).collect(Collectors.toList());
+    }
+
+    private static final class Ban {
+
+        private final int id;
+        private final int player;
+        private final long created;
+
+        private Ban(final int id, final int player, final long created) {
+            this.id = id;
+            this.player = player;
+            this.created = created;
+        }
+
+        private int getId() {
+            return this.id;
+        }
+
+        private long getCreated() {
+            return this.created;
+        }
+    }
+}
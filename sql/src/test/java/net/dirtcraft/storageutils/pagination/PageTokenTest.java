@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2025 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * ALL RIGHTS RESERVED.
+ */
+
+package net.dirtcraft.storageutils.pagination;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Date;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class PageTokenTest {
+
+    @Test
+    void roundTripsValuesWithTheirType() {
+        final Timestamp timestamp = Timestamp.valueOf("2025-03-01 12:30:45.123456789");
+        final Object[] values = {"a \"quoted\" name", 42, 42L, 1.5, new BigDecimal("10.50"), true,
+                UUID.randomUUID(), timestamp, java.sql.Date.valueOf("2025-03-01"),
+                new Date(1_740_000_000_123L), Instant.parse("2025-03-01T12:30:45.5Z"),
+                LocalDate.of(2025, 3, 1), LocalDateTime.of(2025, 3, 1, 12, 30, 45, 1)};
+        final PageToken decoded = PageToken.decode(new PageToken(-7, true, values).encode());
+
+        assertEquals(-7, decoded.fingerprint);
+        assertTrue(decoded.backward);
+        assertEquals(values.length, decoded.values.length);
+
+        for (int i = 0; i < values.length; i++) {
+            assertEquals(values[i], decoded.values[i]);
+            assertEquals(values[i].getClass(), decoded.values[i].getClass());
+        }
+
+        assertEquals(timestamp.getNanos(), ((Timestamp) decoded.values[7]).getNanos());
+    }
+
+    @Test
+    void widensSmallIntegers() {
+        final PageToken decoded = PageToken.decode(
+                new PageToken(1, false, new Object[] {(short) 3, (byte) 4, 2.5f}).encode());
+
+        assertFalse(decoded.backward);
+        assertEquals(3, decoded.values[0]);
+        assertEquals(4, decoded.values[1]);
+        assertEquals(2.5, decoded.values[2]);
+    }
+
+    @Test
+    void encodesUrlSafe() {
+        final String token = new PageToken(Integer.MAX_VALUE, false,
+                new Object[] {"???>>>~~~", "\u00fc\u00f6\u00e4"}).encode();
+
+        assertTrue(token.matches("[A-Za-z0-9_-]+"), token);
+    }
+
+    @Test
+    void rejectsInvalidTokens() {
+        assertThrows(IllegalArgumentException.class, () -> PageToken.decode("not a token"));
+        assertThrows(IllegalArgumentException.class, () -> PageToken.decode(
+                Base64.getUrlEncoder().encodeToString(
+                        "{\"f\":1,\"b\":false,\"v\":[[\"x\",\"1\"]]}".getBytes(
+                                StandardCharsets.UTF_8))));
+        assertThrows(IllegalArgumentException.class,
+                () -> new PageToken(1, false, new Object[] {new Object()}).encode());
+    }
+}
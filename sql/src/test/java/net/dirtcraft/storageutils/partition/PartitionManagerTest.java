@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2025 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * ALL RIGHTS RESERVED.
+ */
+
+package net.dirtcraft.storageutils.partition;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertIterableEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import org.junit.jupiter.api.Test;
+
+class PartitionManagerTest {
+
+    private static final LocalDate JANUARY = LocalDate.of(2025, 1, 1);
+    private static final LocalDate FEBRUARY = LocalDate.of(2025, 2, 1);
+    private static final LocalDate MARCH = LocalDate.of(2025, 3, 1);
+    private static final LocalDate APRIL = LocalDate.of(2025, 4, 1);
+
+    @Test
+    void definesPartitionsNamedAfterTheirBound() {
+        final PartitionedTable table = PartitionedTable.of("events", "created");
+
+        assertEquals("PARTITION p20250201 VALUES LESS THAN ('2025-02-01 00:00:00'),"
+                        + " PARTITION p20250301 VALUES LESS THAN ('2025-03-01 00:00:00'),"
+                        + " PARTITION pmax VALUES LESS THAN (MAXVALUE)",
+                PartitionManager.definePartitions(table, Arrays.asList(FEBRUARY, MARCH), true));
+    }
+
+    @Test
+    void definesEpochBoundsInTheZoneOfTheTable() {
+        final PartitionedTable table = PartitionedTable.of("events", "created")
+                .key(PartitionKey.EPOCH_SECONDS).zone(ZoneOffset.UTC);
+
+        assertEquals("PARTITION p20250201 VALUES LESS THAN (1738368000)",
+                PartitionManager.definePartitions(table, Collections.singletonList(FEBRUARY),
+                        false));
+        assertEquals("PARTITION p20250201 VALUES LESS THAN (1738368000000)",
+                PartitionManager.definePartitions(table.key(PartitionKey.EPOCH_MILLIS),
+                        Collections.singletonList(FEBRUARY), false));
+        assertEquals("PARTITION p20250201 VALUES LESS THAN (1738364400)",
+                PartitionManager.definePartitions(table.key(PartitionKey.EPOCH_SECONDS)
+                                .zone(ZoneOffset.ofHours(1)),
+                        Collections.singletonList(FEBRUARY), false));
+        assertTrue(PartitionManager.definePartitions(table, Collections.emptyList(), true)
+                .endsWith("pmax VALUES LESS THAN MAXVALUE"));
+    }
+
+    @Test
+    void parsesTheBoundOfPartitionNames() {
+        assertEquals(FEBRUARY, PartitionManager.parseBound("p20250201"));
+        assertNull(PartitionManager.parseBound(PartitionManager.MAX_PARTITION));
+        assertNull(PartitionManager.parseBound("p2025020x"));
+        assertNull(PartitionManager.parseBound("q20250201"));
+        assertNull(PartitionManager.parseBound("p202502011"));
+    }
+
+    @Test
+    void createsTheUpcomingPartitionsAboveTheHighestBound() {
+        final PartitionedTable table = PartitionedTable.of("events", "created").precreate(2);
+
+        // the current period needs a partition as well
+        assertIterableEquals(Arrays.asList(FEBRUARY, MARCH, APRIL),
+                PartitionManager.getUpcomingBounds(table, JANUARY, JANUARY));
+        assertIterableEquals(Collections.singletonList(APRIL),
+                PartitionManager.getUpcomingBounds(table, JANUARY, MARCH));
+        assertIterableEquals(Collections.emptyList(),
+                PartitionManager.getUpcomingBounds(table, JANUARY, APRIL));
+    }
+
+    @Test
+    void alignsWeeklyPartitionsToMondays() {
+        final PartitionedTable table = PartitionedTable.of("events", "created")
+                .interval(PartitionInterval.WEEK).precreate(0);
+        final LocalDate current = PartitionInterval.WEEK.floor(LocalDate.of(2025, 1, 15));
+
+        assertEquals(LocalDate.of(2025, 1, 13), current);
+        assertIterableEquals(Collections.singletonList(LocalDate.of(2025, 1, 20)),
+                PartitionManager.getUpcomingBounds(table, current, current));
+    }
+
+    @Test
+    void dropsPartitionsWhoseRowsAllExpired() {
+        final NavigableMap<LocalDate, String> bounds = new TreeMap<>();
+
+        bounds.put(FEBRUARY, "p20250201");
+        bounds.put(MARCH, "p20250301");
+        bounds.put(APRIL, "p20250401");
+
+        final PartitionedTable table = PartitionedTable.of("events", "created").retention(3);
+
+        // rows of March are kept until the end of June
+        assertIterableEquals(Arrays.asList("p20250201", "p20250301"),
+                PartitionManager.getExpired(table, LocalDate.of(2025, 6, 1), bounds));
+        assertIterableEquals(Collections.emptyList(),
+                PartitionManager.getExpired(table, LocalDate.of(2025, 4, 1), bounds));
+        assertIterableEquals(Collections.emptyList(),
+                PartitionManager.getExpired(table.retention(0), LocalDate.of(2026, 1, 1),
+                        bounds));
+    }
+}
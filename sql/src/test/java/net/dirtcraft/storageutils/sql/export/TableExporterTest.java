@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2025 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * ALL RIGHTS RESERVED.
+ */
+
+package net.dirtcraft.storageutils.sql.export;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.function.Function;
+import java.util.zip.GZIPInputStream;
+import net.dirtcraft.storageutils.logging.Log4jLoggerAdapter;
+import net.dirtcraft.storageutils.sql.connection.SQLConnectionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class TableExporterTest {
+
+    private static final String URL = "jdbc:h2:mem:export;MODE=MySQL";
+    private static final long HUGE = 1L << 40;
+    // sparse keys, like snowflake IDs
+    private static final long[] KEYS = {1, 2, 5, 100, 101, 1000, 5000, 5001, HUGE, HUGE + 7};
+
+    private final SQLConnectionFactory factory = new TestConnectionFactory();
+    // keeps the in-memory database alive
+    private Connection connection;
+
+    @TempDir
+    Path directory;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        this.connection = DriverManager.getConnection(URL);
+
+        try (final Statement statement = this.connection.createStatement()) {
+            statement.execute("CREATE TABLE players (id BIGINT PRIMARY KEY, name VARCHAR(32))");
+        }
+
+        try (final PreparedStatement statement = this.connection.prepareStatement(
+                "INSERT INTO players (id, name) VALUES (?, ?)")) {
+            for (final long key : KEYS) {
+                statement.setLong(1, key);
+                statement.setString(2, "player" + key);
+                statement.addBatch();
+            }
+
+            statement.executeBatch();
+        }
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        this.connection.close();
+    }
+
+    @Test
+    void coversEveryKeyWithoutOverlap() {
+        final long[] bounds = {1, 100, 5000, HUGE + 7, HUGE + 7};
+
+        assertEquals(4, TableExporter.getChunks(bounds));
+        assertEquals(1, TableExporter.getLower(bounds, 0));
+        assertEquals(99, TableExporter.getUpper(bounds, 0));
+        assertEquals(100, TableExporter.getLower(bounds, 1));
+        assertEquals(4999, TableExporter.getUpper(bounds, 1));
+        assertEquals(HUGE + 6, TableExporter.getUpper(bounds, 2));
+
+        // the last chunk includes the maximum
+        assertEquals(HUGE + 7, TableExporter.getLower(bounds, 3));
+        assertEquals(HUGE + 7, TableExporter.getUpper(bounds, 3));
+    }
+
+    @Test
+    void handlesEmptyAndSingleRowTables() {
+        assertEquals(0, TableExporter.getChunks(new long[0]));
+
+        final long[] bounds = {42, 42};
+
+        assertEquals(1, TableExporter.getChunks(bounds));
+        assertEquals(42, TableExporter.getLower(bounds, 0));
+        assertEquals(42, TableExporter.getUpper(bounds, 0));
+    }
+
+    @Test
+    void readsBoundsFromThePresentKeys() throws SQLException {
+        assertArrayEquals(new long[] {1, 100, 5000, HUGE + 7, HUGE + 7},
+                this.readBounds(3));
+        assertArrayEquals(new long[] {1, HUGE + 7}, this.readBounds(KEYS.length));
+        assertArrayEquals(new long[] {1, 5000, HUGE + 7}, this.readBounds(6));
+
+        try (final Statement statement = this.connection.createStatement()) {
+            statement.execute("DELETE FROM players");
+        }
+
+        assertArrayEquals(new long[0], this.readBounds(3));
+    }
+
+    @Test
+    void exportsEveryRowOnceAndSkipsCompletedChunks() throws IOException, SQLException {
+        final TableExport export = TableExport.of("players", "id", this.directory)
+                .chunkSize(3).parallelism(2);
+        final ExportReport report = this.run(export);
+
+        assertEquals(4, report.getChunks());
+        assertEquals(4, report.getExportedChunks());
+        assertEquals(KEYS.length, report.getRows());
+        assertTrue(report.isComplete());
+        assertEquals(3, this.countLines("players.00000.ndjson.gz"));
+        assertEquals(1, this.countLines("players.00003.ndjson.gz"));
+
+        // a lost chunk is exported again from the recorded bounds
+        Files.delete(this.directory.resolve("players.00001.ndjson.gz"));
+
+        try (final Statement statement = this.connection.createStatement()) {
+            statement.execute("INSERT INTO players (id, name) VALUES (102, 'late')");
+        }
+
+        final ExportReport resumed = this.run(export);
+
+        assertEquals(4, resumed.getChunks());
+        assertEquals(1, resumed.getExportedChunks());
+        assertEquals(3, resumed.getSkippedChunks());
+        assertEquals(4, resumed.getRows());
+        assertTrue(resumed.isComplete());
+    }
+
+    private long[] readBounds(final long chunkSize) throws SQLException {
+        return TableExporter.readBounds(this.factory, this.factory.getStatementProcessor(),
+                TableExport.of("players", "id", this.directory).chunkSize(chunkSize));
+    }
+
+    private ExportReport run(final TableExport export) throws IOException, SQLException {
+        return TableExporter.run(new Log4jLoggerAdapter("export"), this.factory,
+                this.factory.getStatementProcessor(), export);
+    }
+
+    private long countLines(final String file) throws IOException {
+        try (final BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(this.directory.resolve(file))),
+                StandardCharsets.UTF_8))) {
+            return reader.lines().count();
+        }
+    }
+
+    private static final class TestConnectionFactory implements SQLConnectionFactory {
+
+        @Override
+        public void init() {}
+
+        @Override
+        public void shutdown() {}
+
+        @Override
+        public Function<String, String> getStatementProcessor() {
+            return sql -> sql.replace('\'', '`');
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return DriverManager.getConnection(URL);
+        }
+    }
+}
@@ -1,14 +0,0 @@
-/*
- * Copyright (c) 2025 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
- *
- * ALL RIGHTS RESERVED.
- */
-
-package net.dirtcraft.storageutils.storage.implementation;
-
-public interface StorageImplementation {
-
-    void init() throws Exception;
-
-    void shutdown();
-}